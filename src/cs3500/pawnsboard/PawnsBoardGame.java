@@ -1,5 +1,6 @@
 package cs3500.pawnsboard;
 
+import cs3500.pawnsboard.controller.AsyncEventLogger;
 import cs3500.pawnsboard.controller.DeckLoader;
 import cs3500.pawnsboard.controller.GameOrchestrator;
 import cs3500.pawnsboard.controller.HumanGUIController;
@@ -9,8 +10,11 @@ import cs3500.pawnsboard.model.Card;
 import cs3500.pawnsboard.model.ControlBoardStrategy;
 import cs3500.pawnsboard.model.FillFirstStrategy;
 import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.LinearEvaluator;
 import cs3500.pawnsboard.model.MaximizeRowScoreStrategy;
 import cs3500.pawnsboard.model.MinimaxStrategy;
+import cs3500.pawnsboard.model.OpeningBook;
+import cs3500.pawnsboard.model.OpeningBookStrategy;
 import cs3500.pawnsboard.model.QueensBloodGame;
 import cs3500.pawnsboard.model.Role;
 import cs3500.pawnsboard.model.Strategy;
@@ -18,6 +22,9 @@ import cs3500.pawnsboard.model.StrategySelector;
 import cs3500.pawnsboard.model.StrategySelectorImpl;
 import cs3500.pawnsboard.view.QueensBloodGUIView;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -25,6 +32,9 @@ import java.util.List;
  */
 public class PawnsBoardGame {
 
+  private static final Path EVALUATOR_WEIGHTS = Paths.get("docs", "eval.weights");
+  private static final Path OPENING_BOOK = Paths.get("docs", "opening.book");
+
   /**
    * Main method that runs the game.
    *
@@ -58,7 +68,7 @@ public class PawnsBoardGame {
         new FillFirstStrategy(),
         new MaximizeRowScoreStrategy(),
         new ControlBoardStrategy(),
-        new MinimaxStrategy()
+        loadMinimaxStrategy()
     );
 
     PlayerController redCtrl;
@@ -93,6 +103,34 @@ public class PawnsBoardGame {
 
     redView.setVisible(true);
     blueView.setVisible(true);
+
+    // Hand the first turn to the starting player; later turns follow model updates.
+    orchestrator.onModelUpdate();
   }
 
+  /**
+   * Creates the minimax strategy, judging positions with the tuned evaluator weights if they can
+   * be loaded and by the raw score difference otherwise, and playing from the opening book while
+   * it has a move if the book can be opened.
+   *
+   * @return the minimax strategy
+   */
+  private static Strategy loadMinimaxStrategy() {
+    Strategy minimax = new MinimaxStrategy();
+    if (Files.exists(EVALUATOR_WEIGHTS)) {
+      try {
+        minimax = new MinimaxStrategy(LinearEvaluator.load(EVALUATOR_WEIGHTS));
+      } catch (IOException | IllegalArgumentException e) {
+        AsyncEventLogger.getDefault().log("Could not load evaluator weights: " + e.getMessage(), e);
+      }
+    }
+    if (Files.exists(OPENING_BOOK)) {
+      try {
+        return new OpeningBookStrategy(OpeningBook.open(OPENING_BOOK), minimax);
+      } catch (IOException e) {
+        AsyncEventLogger.getDefault().log("Could not open opening book: " + e.getMessage(), e);
+      }
+    }
+    return minimax;
+  }
 }
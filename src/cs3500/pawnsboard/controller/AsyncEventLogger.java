@@ -0,0 +1,394 @@
+package cs3500.pawnsboard.controller;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs events without doing any I/O on the threads that log them. Events are put into a bounded
+ * lock-free ring buffer and a single writer thread takes them out, formats them and writes them
+ * to a channel in batches. Game and GUI threads therefore only pay for a few atomic operations per
+ * event; the formatting of messages and stack traces happens on the writer thread.
+ *
+ * <p>When the buffer is full, an event is either dropped, and the number of dropped events is
+ * logged once there is room again, or the logging thread waits for room, depending on the
+ * {@link OverflowPolicy}. Events logged after the logger is closed are dropped.
+ *
+ * <p>The process-wide default logger writes to standard error and drops events when full. It can
+ * be replaced, for example by a logger writing to a file on a server.
+ */
+public final class AsyncEventLogger implements Closeable {
+
+  /**
+   * What happens to an event logged while the buffer is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The event is dropped and counted.
+     */
+    DROP,
+    /**
+     * The logging thread waits until the writer makes room.
+     */
+    BLOCK
+  }
+
+  /**
+   * The default number of events the buffer holds.
+   */
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  private static final int BATCH_BYTES = 1 << 16;
+  private static final long BLOCKED_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static volatile AsyncEventLogger defaultLogger;
+
+  private final WritableByteChannel channel;
+  private final boolean ownsChannel;
+  private final boolean timestamps;
+  private final OverflowPolicy policy;
+  private final int mask;
+  private final AtomicReferenceArray<Event> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail;
+  private final AtomicLong dropped;
+  private final AtomicInteger producers;
+  private final Thread writer;
+  private final ByteBuffer batch;
+  private long head;
+  private long reportedDrops;
+  private volatile boolean sleeping;
+  private volatile boolean closed;
+  private volatile boolean drained;
+
+  /**
+   * Constructs a logger appending to the given file, creating it if needed. Each event is
+   * preceded by the time it was logged.
+   *
+   * @param file     the file to append to
+   * @param capacity the number of events the buffer holds, rounded up to a power of two and to
+   *                 at least 2
+   * @param policy   what happens to events logged while the buffer is full
+   * @throws IOException              if the file cannot be opened
+   * @throws IllegalArgumentException if the file or policy is null or the capacity is not
+   *                                  positive
+   */
+  public AsyncEventLogger(Path file, int capacity, OverflowPolicy policy) throws IOException {
+    this(FileChannel.open(requireFile(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND), true, true, capacity, policy, "event-log");
+  }
+
+  private AsyncEventLogger(WritableByteChannel channel, boolean ownsChannel, boolean timestamps,
+      int capacity, OverflowPolicy policy, String threadName) {
+    if (capacity <= 0 || capacity > 1 << 30 || policy == null) {
+      throw new IllegalArgumentException("Capacity must be positive and policy cannot be null.");
+    }
+    int size = Integer.highestOneBit(capacity);
+    // A single slot cannot tell a published event from a free slot, as both have the next sequence
+    size = Math.max(2, size < capacity ? size << 1 : size);
+    this.channel = channel;
+    this.ownsChannel = ownsChannel;
+    this.timestamps = timestamps;
+    this.policy = policy;
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.tail = new AtomicLong();
+    this.dropped = new AtomicLong();
+    this.producers = new AtomicInteger();
+    this.batch = ByteBuffer.allocateDirect(BATCH_BYTES);
+    this.writer = new Thread(this::writeLoop, threadName);
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  private static Path requireFile(Path file) {
+    if (file == null) {
+      throw new IllegalArgumentException("File cannot be null.");
+    }
+    return file;
+  }
+
+  /**
+   * Returns the process-wide default logger, creating one that writes to standard error if none
+   * was set. Events still buffered when the process exits normally are written first.
+   *
+   * @return the default logger
+   */
+  public static AsyncEventLogger getDefault() {
+    AsyncEventLogger logger = defaultLogger;
+    if (logger == null) {
+      synchronized (AsyncEventLogger.class) {
+        logger = defaultLogger;
+        if (logger == null) {
+          AsyncEventLogger created = new AsyncEventLogger(
+              new FileOutputStream(FileDescriptor.err).getChannel(), false, false,
+              DEFAULT_CAPACITY, OverflowPolicy.DROP, "event-log-stderr");
+          Runtime.getRuntime().addShutdownHook(new Thread(created::closeQuietly));
+          defaultLogger = created;
+          logger = created;
+        }
+      }
+    }
+    return logger;
+  }
+
+  /**
+   * Replaces the process-wide default logger. The previous logger is not closed.
+   *
+   * @param logger the new default logger
+   * @throws IllegalArgumentException if the logger is null
+   */
+  public static void setDefault(AsyncEventLogger logger) {
+    if (logger == null) {
+      throw new IllegalArgumentException("Logger cannot be null.");
+    }
+    synchronized (AsyncEventLogger.class) {
+      defaultLogger = logger;
+    }
+  }
+
+  /**
+   * Logs a message.
+   *
+   * @param message the message
+   * @return true if the event was buffered, false if it was dropped
+   */
+  public boolean log(String message) {
+    return log(message, null);
+  }
+
+  /**
+   * Logs a message followed by the stack trace of an error. The stack trace is formatted on the
+   * writer thread.
+   *
+   * @param message the message
+   * @param error   the error, or null for none
+   * @return true if the event was buffered, false if it was dropped
+   */
+  public boolean log(String message, Throwable error) {
+    Event event = new Event(timestamps ? System.currentTimeMillis() : 0,
+        String.valueOf(message), error);
+    // Announced before closed is read, so close waits for any event that gets past the check
+    producers.incrementAndGet();
+    try {
+      while (!closed) {
+        if (offer(event)) {
+          if (sleeping) {
+            LockSupport.unpark(writer);
+          }
+          return true;
+        }
+        if (policy == OverflowPolicy.DROP) {
+          break;
+        }
+        LockSupport.unpark(writer);
+        LockSupport.parkNanos(BLOCKED_WAIT_NANOS);
+      }
+    } finally {
+      producers.decrementAndGet();
+    }
+    dropped.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Returns the number of events dropped so far.
+   *
+   * @return the drop count
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Stops accepting events, waits until the events being logged at the same time are buffered
+   * and every buffered event is written, and closes the file.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    while (producers.get() > 0) {
+      LockSupport.unpark(writer);
+      Thread.onSpinWait();
+    }
+    drained = true;
+    LockSupport.unpark(writer);
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (ownsChannel) {
+      channel.close();
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      close();
+    } catch (IOException e) {
+      // The process is exiting and there is nowhere left to report this
+    }
+  }
+
+  /**
+   * Claims the next slot and publishes the event in it.
+   *
+   * @return false if the buffer is full
+   */
+  private boolean offer(Event event) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          slots.set(index, event);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Takes the next published event out of the buffer. Only called by the writer thread.
+   *
+   * @return the event, or null if none is published
+   */
+  private Event poll() {
+    int index = (int) head & mask;
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    Event event = slots.get(index);
+    slots.set(index, null);
+    sequences.set(index, head + mask + 1);
+    head++;
+    return event;
+  }
+
+  private void writeLoop() {
+    while (true) {
+      Event event = poll();
+      if (event == null) {
+        flushBatch();
+        reportDrops();
+        if (drained && tail.get() == head) {
+          flushBatch();
+          return;
+        }
+        sleeping = true;
+        // Checked again after announcing the sleep, so an event published meanwhile is not missed
+        if (!drained && sequences.get((int) head & mask) != head + 1) {
+          LockSupport.park(this);
+        }
+        sleeping = false;
+        continue;
+      }
+      append(format(event));
+    }
+  }
+
+  private byte[] format(Event event) {
+    StringBuilder line = new StringBuilder();
+    if (timestamps) {
+      line.append(Instant.ofEpochMilli(event.time)).append(' ');
+    }
+    line.append(event.message).append(System.lineSeparator());
+    if (event.error != null) {
+      StringWriter trace = new StringWriter();
+      event.error.printStackTrace(new PrintWriter(trace));
+      line.append(trace);
+    }
+    return line.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void append(byte[] bytes) {
+    if (bytes.length > batch.remaining()) {
+      flushBatch();
+    }
+    if (bytes.length > batch.capacity()) {
+      write(ByteBuffer.wrap(bytes));
+    } else {
+      batch.put(bytes);
+    }
+  }
+
+  private void reportDrops() {
+    long drops = dropped.get();
+    if (drops != reportedDrops) {
+      append(("Event log dropped " + (drops - reportedDrops) + " events."
+          + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+      reportedDrops = drops;
+      flushBatch();
+    }
+  }
+
+  private void flushBatch() {
+    if (batch.position() > 0) {
+      batch.flip();
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void write(ByteBuffer buffer) {
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      // Nothing can be logged about a log that cannot be written; the events are lost
+      buffer.position(buffer.limit());
+    }
+  }
+
+  /**
+   * A logged event.
+   */
+  private static final class Event {
+
+    private final long time;
+    private final String message;
+    private final Throwable error;
+
+    private Event(long time, String message, Throwable error) {
+      this.time = time;
+      this.message = message;
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CardCatalog;
+import cs3500.pawnsboard.model.Role;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only collection of many decks stored in one library file. The file is memory-mapped when
+ * the library is opened and only its small card table is read then. A deck is decoded when it is
+ * requested by its id, so the cost of opening a library does not depend on the number of decks.
+ *
+ * <p>A library file holds, in order:
+ * - a header: magic, format version, card count and deck count, as 32-bit integers. - a deck
+ * index: the offset and card count of every deck. - a card table: the cost, value, influence mask
+ * and name of every distinct card, as seen by RED. - the decks: the card table index of every
+ * card, as 16-bit integers.
+ *
+ * <p>Cards are interned into the {@link CardCatalog}, so the decks of a library share their cards
+ * with every other deck in the process.
+ */
+public final class DeckLibrary {
+
+  private static final int MAGIC = 0x5042444C;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 16;
+  private static final int INDEX_ENTRY_BYTES = 8;
+  private static final int MAX_CARDS = 1 << 16;
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final int deckCount;
+  private final int[] catalogIds;
+
+  private DeckLibrary(Path path, ByteBuffer buffer, int deckCount, int[] catalogIds) {
+    this.path = path;
+    this.buffer = buffer;
+    this.deckCount = deckCount;
+    this.catalogIds = catalogIds;
+  }
+
+  /**
+   * Opens a library file by mapping it into memory.
+   *
+   * @param path the library file
+   * @return the library
+   * @throws IOException if the file cannot be read or is not a valid library
+   * @throws IllegalArgumentException if the path is null
+   */
+  public static DeckLibrary open(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    MappedByteBuffer mapped;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Invalid deck library: unexpected file size.");
+      }
+      // The mapping stays valid after the channel is closed
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    ByteBuffer buffer = mapped.order(ByteOrder.BIG_ENDIAN);
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("Invalid deck library: unknown format.");
+    }
+    int cardCount = buffer.getInt(8);
+    int deckCount = buffer.getInt(12);
+    if (cardCount < 0 || cardCount > MAX_CARDS || deckCount < 0
+        || (long) deckCount * INDEX_ENTRY_BYTES > buffer.capacity() - HEADER_BYTES) {
+      throw new IOException("Invalid deck library: corrupt header.");
+    }
+
+    CardCatalog catalog = CardCatalog.getInstance();
+    int[] catalogIds = new int[cardCount];
+    int position = HEADER_BYTES + deckCount * INDEX_ENTRY_BYTES;
+    try {
+      for (int i = 0; i < cardCount; i++) {
+        int cost = buffer.getInt(position);
+        int value = buffer.getInt(position + 4);
+        int mask = buffer.getInt(position + 8);
+        int nameLength = buffer.getShort(position + 12) & 0xFFFF;
+        byte[] name = new byte[nameLength];
+        buffer.get(position + 14, name);
+        position += 14 + nameLength;
+        catalogIds[i] = catalog.intern(new String(name, StandardCharsets.UTF_8), cost, value,
+            mask);
+      }
+    } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Invalid deck library: corrupt card table.", e);
+    }
+    return new DeckLibrary(path, buffer, deckCount, catalogIds);
+  }
+
+  /**
+   * Writes a library file holding the given decks. The file is replaced atomically, so libraries
+   * opened from it before keep their contents.
+   *
+   * @param path  the library file to write
+   * @param decks the decks, whose index in the list becomes their id
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the path or a deck is null, a deck holds a null card, or
+   *                                  the decks hold more distinct cards than a library can
+   */
+  public static void write(Path path, List<List<Card>> decks) throws IOException {
+    if (path == null || decks == null) {
+      throw new IllegalArgumentException("Path and decks cannot be null.");
+    }
+    CardCatalog catalog = CardCatalog.getInstance();
+    Map<Integer, Integer> localIds = new HashMap<>();
+    List<Integer> cards = new ArrayList<>();
+    int[][] deckCards = new int[decks.size()][];
+    for (int d = 0; d < decks.size(); d++) {
+      List<Card> deck = decks.get(d);
+      if (deck == null) {
+        throw new IllegalArgumentException("Deck cannot be null.");
+      }
+      deckCards[d] = new int[deck.size()];
+      for (int i = 0; i < deck.size(); i++) {
+        int id = catalog.idOf(deck.get(i));
+        Integer local = localIds.get(id);
+        if (local == null) {
+          local = cards.size();
+          localIds.put(id, local);
+          cards.add(id);
+        }
+        deckCards[d][i] = local;
+      }
+    }
+    if (cards.size() > MAX_CARDS) {
+      throw new IllegalArgumentException("Too many distinct cards for a deck library.");
+    }
+
+    byte[][] names = new byte[cards.size()][];
+    long size = HEADER_BYTES + (long) decks.size() * INDEX_ENTRY_BYTES;
+    for (int i = 0; i < cards.size(); i++) {
+      names[i] = catalog.getName(cards.get(i)).getBytes(StandardCharsets.UTF_8);
+      if (names[i].length > 0xFFFF) {
+        throw new IllegalArgumentException("Card name is too long.");
+      }
+      size += 14 + names[i].length;
+    }
+    long decksStart = size;
+    for (int[] deck : deckCards) {
+      size += 2L * deck.length;
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many decks for a deck library.");
+    }
+
+    ByteBuffer out = ByteBuffer.allocate((int) size).order(ByteOrder.BIG_ENDIAN);
+    out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(cards.size()).putInt(decks.size());
+    long offset = decksStart;
+    for (int[] deck : deckCards) {
+      out.putInt((int) offset).putInt(deck.length);
+      offset += 2L * deck.length;
+    }
+    for (int i = 0; i < cards.size(); i++) {
+      int id = cards.get(i);
+      out.putInt(catalog.getCost(id)).putInt(catalog.getValue(id))
+          .putInt(catalog.getMask(id, Role.RED)).putShort((short) names[i].length).put(names[i]);
+    }
+    for (int[] deck : deckCards) {
+      for (int local : deck) {
+        out.putShort((short) local);
+      }
+    }
+
+    Path parent = path.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+    try {
+      Files.write(temp, out.array());
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Returns the path of the library file.
+   *
+   * @return the library path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the number of decks in the library.
+   *
+   * @return the deck count
+   */
+  public int getDeckCount() {
+    return deckCount;
+  }
+
+  /**
+   * Returns the number of cards in a deck.
+   *
+   * @param deckId the id of the deck
+   * @return the deck size
+   * @throws IllegalArgumentException if the id is out of range
+   */
+  public int getDeckSize(int deckId) {
+    return buffer.getInt(indexOf(deckId) + 4);
+  }
+
+  /**
+   * Returns the {@link CardCatalog} ids of the cards of a deck, in deck order.
+   *
+   * @param deckId the id of the deck
+   * @return a new array of catalog ids
+   * @throws IllegalArgumentException if the id is out of range
+   * @throws IllegalStateException if the deck refers to a card the library does not hold
+   */
+  public int[] getCardIds(int deckId) {
+    int index = indexOf(deckId);
+    int offset = buffer.getInt(index);
+    int size = buffer.getInt(index + 4);
+    if (offset < 0 || size < 0 || (long) offset + 2L * size > buffer.capacity()) {
+      throw new IllegalStateException("Deck " + deckId + " is corrupt.");
+    }
+    int[] ids = new int[size];
+    for (int i = 0; i < size; i++) {
+      int local = buffer.getShort(offset + 2 * i) & 0xFFFF;
+      if (local >= catalogIds.length) {
+        throw new IllegalStateException("Deck " + deckId + " is corrupt.");
+      }
+      ids[i] = catalogIds[local];
+    }
+    return ids;
+  }
+
+  /**
+   * Returns a deck for the given player. Its cards are the shared instances of the
+   * {@link CardCatalog}.
+   *
+   * @param deckId the id of the deck
+   * @param role   the player who owns the deck
+   * @return a new list of the cards of the deck
+   * @throws IllegalArgumentException if the id is out of range or the role is null
+   * @throws IllegalStateException if the deck refers to a card the library does not hold
+   */
+  public List<Card> loadDeck(int deckId, Role role) {
+    if (role == null) {
+      throw new IllegalArgumentException("Role cannot be null.");
+    }
+    CardCatalog catalog = CardCatalog.getInstance();
+    int[] ids = getCardIds(deckId);
+    List<Card> deck = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      deck.add(catalog.getCard(id, role));
+    }
+    return deck;
+  }
+
+  private int indexOf(int deckId) {
+    if (deckId < 0 || deckId >= deckCount) {
+      throw new IllegalArgumentException("Deck id out of range: " + deckId);
+    }
+    return HEADER_BYTES + deckId * INDEX_ENTRY_BYTES;
+  }
+
+  /**
+   * Writes a library file from deck configuration files.
+   *
+   * @param args command-line arguments <library-path> <deck-path>...
+   * @throws IOException if a deck cannot be read or the library cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.out.println("Usage: java DeckLibrary <library> <deck>...");
+      System.exit(1);
+    }
+    List<List<Card>> decks = new ArrayList<>();
+    for (int i = 1; i < args.length; i++) {
+      decks.add(new DeckLoader(args[i]).loadDeck(Role.RED));
+    }
+    write(Paths.get(args[0]), decks);
+    System.out.println("Wrote " + decks.size() + " decks to " + args[0]);
+  }
+}
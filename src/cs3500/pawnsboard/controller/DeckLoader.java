@@ -1,24 +1,55 @@
 package cs3500.pawnsboard.controller;
 
 import cs3500.pawnsboard.model.Card;
-import cs3500.pawnsboard.model.QueensBloodCard;
+import cs3500.pawnsboard.model.CardCatalog;
 import cs3500.pawnsboard.model.Role;
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 
 /**
  * Responsible for loading a deck of cards from a configuration file.
  *
  * <p>Ensures that the deck follows the correct format and can be used in the game.
- * Each deck must contain at most two copies of any card.
+ * Each deck must contain at most two copies of any card. Parsing is done by a
+ * {@link DeckStreamParser}, which can also read decks that are not stored in a file.
+ *
+ * <p>The first load of a configuration file compiles it into a compact binary form, written next
+ * to it with the {@link #COMPILED_SUFFIX} suffix: a table of the distinct cards, each with its
+ * influence as a 25-bit mask, followed by the order of the cards in the deck. Later loads, in this
+ * or another process, read the binary form in a single bulk read as long as it was compiled from a
+ * file of the same size and modification time, or with the same checksum. Within a process,
+ * compiled decks are kept in memory and their cards are the shared instances of the
+ * {@link CardCatalog}, so a deck costs one list allocation per load.
  */
 public class DeckLoader {
 
+  /**
+   * The suffix appended to the path of a configuration file to name its compiled form.
+   */
+  public static final String COMPILED_SUFFIX = ".bin";
+
+  private static final int MAGIC = 0x50424431;
+  private static final int FORMAT_VERSION = 2;
+  private static final Map<Path, CompiledDeck> COMPILED = new ConcurrentHashMap<>();
+
   private final String filePath;
 
   /**
@@ -38,7 +69,8 @@ public class DeckLoader {
    * Reads and constructs a deck from the file.
    *
    * @param role the player who owns the deck
-   * @return a list of cards representing the player's deck
+   * @return a new list of cards representing the player's deck; copies of the same card are the
+   *         same immutable instance, shared with every other deck loaded from the file
    * @throws IOException if the file is missing, incorrectly formatted, or unreadable
    */
   public List<Card> loadDeck(Role role) throws IOException {
@@ -48,32 +80,7 @@ public class DeckLoader {
       throw new FileNotFoundException("Deck file not found: " + configFile.getAbsolutePath());
     }
 
-    List<Card> deck = new ArrayList<>();
-    try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-      String line;
-      while ((line = reader.readLine()) != null) {
-        String[] parts = line.split(" ");
-        if (parts.length != 3) {
-          throw new IOException("Invalid deck format: missing card details.");
-        }
-
-        String name = parts[0];
-        int cost = Integer.parseInt(parts[1]);
-        int value = Integer.parseInt(parts[2]);
-
-        char[][] influenceGrid = new char[5][5];
-        for (int i = 0; i < 5; i++) {
-          line = reader.readLine();
-          if (line == null || line.length() != 5) {
-            throw new IOException("Invalid deck format: incorrect influence grid.");
-          }
-          influenceGrid[i] = line.toCharArray();
-        }
-
-        deck.add(new QueensBloodCard(name, role, value, cost, influenceGrid));
-      }
-    }
-    return deck;
+    return new ArrayList<>(compile(configFile.toPath().toAbsolutePath()).getCards(role));
   }
 
   /**
@@ -84,4 +91,223 @@ public class DeckLoader {
   public String getFilePath() {
     return filePath;
   }
+
+  private static CompiledDeck compile(Path source) throws IOException {
+    long size;
+    long modified;
+    try {
+      size = Files.size(source);
+      modified = Files.getLastModifiedTime(source).toMillis();
+    } catch (NoSuchFileException e) {
+      throw new FileNotFoundException("Deck file not found: " + source);
+    }
+    CompiledDeck deck = COMPILED.get(source);
+    if (deck != null && deck.size == size && deck.modified == modified) {
+      return deck;
+    }
+
+    Path binary = source.resolveSibling(source.getFileName() + COMPILED_SUFFIX);
+    CompiledDeck stored = readCompiled(binary);
+    if (stored != null && stored.size == size && stored.modified == modified) {
+      deck = stored;
+    } else {
+      byte[] text = Files.readAllBytes(source);
+      long checksum = checksum(text);
+      if (stored != null && stored.checksum == checksum) {
+        deck = stored.restamp(text.length, modified);
+      } else {
+        deck = parse(text, modified, checksum);
+      }
+      writeCompiled(binary, deck);
+    }
+    COMPILED.put(source, deck);
+    return deck;
+  }
+
+  private static CompiledDeck parse(byte[] text, long modified, long checksum)
+      throws IOException {
+    CardCatalog catalog = CardCatalog.getInstance();
+    DeckStreamParser parser = new DeckStreamParser(new ByteArrayInputStream(text), Role.RED);
+    List<Integer> ids = new ArrayList<>();
+    Map<Integer, Integer> distinct = new HashMap<>();
+    List<Integer> order = new ArrayList<>();
+    for (int id = parser.nextId(); id >= 0; id = parser.nextId()) {
+      Integer index = distinct.get(id);
+      if (index == null) {
+        index = ids.size();
+        distinct.put(id, index);
+        ids.add(id);
+      }
+      order.add(index);
+    }
+
+    String[] names = new String[ids.size()];
+    int[] costs = new int[ids.size()];
+    int[] values = new int[ids.size()];
+    int[] masks = new int[ids.size()];
+    for (int i = 0; i < ids.size(); i++) {
+      int id = ids.get(i);
+      names[i] = catalog.getName(id);
+      costs[i] = catalog.getCost(id);
+      values[i] = catalog.getValue(id);
+      masks[i] = catalog.getMask(id, Role.RED);
+    }
+    int[] deckOrder = new int[order.size()];
+    for (int i = 0; i < deckOrder.length; i++) {
+      deckOrder[i] = order.get(i);
+    }
+    return new CompiledDeck(text.length, modified, checksum, names, costs, values, masks,
+        deckOrder);
+  }
+
+  /**
+   * Reads a compiled deck, or returns null if it is missing, stale in format, or corrupt.
+   */
+  private static CompiledDeck readCompiled(Path binary) {
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(binary);
+    } catch (IOException e) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        return null;
+      }
+      long size = in.readLong();
+      long modified = in.readLong();
+      long checksum = in.readLong();
+      int cardCount = in.readInt();
+      if (cardCount < 0 || cardCount > bytes.length) {
+        return null;
+      }
+      String[] names = new String[cardCount];
+      int[] costs = new int[cardCount];
+      int[] values = new int[cardCount];
+      int[] masks = new int[cardCount];
+      for (int i = 0; i < cardCount; i++) {
+        names[i] = in.readUTF();
+        costs[i] = in.readInt();
+        values[i] = in.readInt();
+        masks[i] = in.readInt();
+      }
+      int deckSize = in.readInt();
+      if (deckSize < 0 || deckSize > bytes.length) {
+        return null;
+      }
+      int[] order = new int[deckSize];
+      for (int i = 0; i < deckSize; i++) {
+        order[i] = in.readInt();
+        if (order[i] < 0 || order[i] >= cardCount) {
+          return null;
+        }
+      }
+      return new CompiledDeck(size, modified, checksum, names, costs, values, masks, order);
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes a compiled deck next to its source. The deck is still usable if this fails, for
+   * example because the directory is read-only, so failures are only reported.
+   */
+  private static void writeCompiled(Path binary, CompiledDeck deck) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeLong(deck.size);
+      out.writeLong(deck.modified);
+      out.writeLong(deck.checksum);
+      out.writeInt(deck.names.length);
+      for (int i = 0; i < deck.names.length; i++) {
+        out.writeUTF(deck.names[i]);
+        out.writeInt(deck.costs[i]);
+        out.writeInt(deck.values[i]);
+        out.writeInt(deck.masks[i]);
+      }
+      out.writeInt(deck.order.length);
+      for (int index : deck.order) {
+        out.writeInt(index);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Writing to memory cannot fail.", e);
+    }
+
+    // Write a temporary file first so that concurrent loaders never read a partial deck
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(binary.getParent(), binary.getFileName().toString(), ".tmp");
+      Files.write(temp, bytes.toByteArray());
+      Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      AsyncEventLogger.getDefault().log(
+          "Could not write compiled deck " + binary + ": " + e.getMessage(), e);
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+          // The temporary file is left behind
+        }
+      }
+    }
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+
+  /**
+   * A deck configuration in compiled form, together with the stamp of the file it was compiled
+   * from and the cards of both players.
+   */
+  private static final class CompiledDeck {
+
+    private final long size;
+    private final long modified;
+    private final long checksum;
+    private final String[] names;
+    private final int[] costs;
+    private final int[] values;
+    private final int[] masks;
+    private final int[] order;
+    private final Map<Role, List<Card>> cards;
+
+    private CompiledDeck(long size, long modified, long checksum, String[] names, int[] costs,
+        int[] values, int[] masks, int[] order) {
+      this.size = size;
+      this.modified = modified;
+      this.checksum = checksum;
+      this.names = names;
+      this.costs = costs;
+      this.values = values;
+      this.masks = masks;
+      this.order = order;
+      this.cards = new EnumMap<>(Role.class);
+      CardCatalog catalog = CardCatalog.getInstance();
+      int[] ids = new int[names.length];
+      for (int i = 0; i < names.length; i++) {
+        ids[i] = catalog.intern(names[i], costs[i], values[i], masks[i]);
+      }
+      for (Role role : Role.values()) {
+        Card[] deck = new Card[order.length];
+        for (int i = 0; i < order.length; i++) {
+          deck[i] = catalog.getCard(ids[order[i]], role);
+        }
+        cards.put(role, Collections.unmodifiableList(Arrays.asList(deck)));
+      }
+    }
+
+    private CompiledDeck restamp(long size, long modified) {
+      return new CompiledDeck(size, modified, checksum, names, costs, values, masks, order);
+    }
+
+    private List<Card> getCards(Role role) {
+      return cards.get(role);
+    }
+  }
 }
@@ -0,0 +1,307 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CardCatalog;
+import cs3500.pawnsboard.model.Role;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parses a deck in the text configuration format from any stream of bytes, one card at a time.
+ * The input is read in blocks into a buffer and parsed in place, without splitting it into lines
+ * or strings; only the name of each card is decoded. Every card is validated as soon as it is
+ * read: its header, the shape and characters of its influence grid, and the number of copies of
+ * it in the deck so far.
+ *
+ * <p>Cards are the shared instances of the {@link CardCatalog}. The parser does not close the
+ * channel or stream it reads from, and it needs a blocking channel: it never waits for a
+ * non-blocking channel to become readable.
+ */
+public class DeckStreamParser {
+
+  /**
+   * The maximum number of copies of a card in a deck.
+   */
+  public static final int MAX_COPIES = 2;
+
+  private static final int GRID_SIZE = 5;
+  private static final int BLOCK_SIZE = 8192;
+  private static final int MAX_LINE_BYTES = 1 << 16;
+  private static final int MAX_EMPTY_READS = 16;
+
+  private final ReadableByteChannel channel;
+  private final Role role;
+  private final Map<String, Integer> copies;
+  private ByteBuffer buffer;
+  private boolean endOfInput;
+  private int lineNumber;
+  private int lineEnd;
+  private int nextLine;
+
+  /**
+   * Constructs a parser reading from the given channel.
+   *
+   * @param channel the channel to read the deck from
+   * @param role    the player who owns the deck
+   * @throws IllegalArgumentException if the channel or role is null, or the channel is in
+   *                                  non-blocking mode
+   */
+  public DeckStreamParser(ReadableByteChannel channel, Role role) {
+    if (channel == null || role == null) {
+      throw new IllegalArgumentException("Channel and role cannot be null.");
+    }
+    if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+      throw new IllegalArgumentException("Channel must be in blocking mode.");
+    }
+    this.channel = channel;
+    this.role = role;
+    this.copies = new HashMap<>();
+    this.buffer = ByteBuffer.allocate(BLOCK_SIZE);
+    this.buffer.limit(0);
+  }
+
+  /**
+   * Constructs a parser reading from the given stream.
+   *
+   * @param in   the stream to read the deck from
+   * @param role the player who owns the deck
+   * @throws IllegalArgumentException if the stream or role is null
+   */
+  public DeckStreamParser(InputStream in, Role role) {
+    this(Channels.newChannel(requireStream(in)), role);
+  }
+
+  private static InputStream requireStream(InputStream in) {
+    if (in == null) {
+      throw new IllegalArgumentException("Stream cannot be null.");
+    }
+    return in;
+  }
+
+  /**
+   * Parses the next card and returns its {@link CardCatalog} id.
+   *
+   * @return the id of the card, or -1 if the input is exhausted
+   * @throws IOException if the input cannot be read or the card is invalid
+   */
+  public int nextId() throws IOException {
+    if (!readLine()) {
+      return -1;
+    }
+    int position = buffer.position();
+    int nameEnd = position;
+    while (nameEnd < lineEnd && buffer.get(nameEnd) != ' ') {
+      nameEnd++;
+    }
+    if (nameEnd == position || nameEnd == lineEnd) {
+      throw error("Invalid deck format: missing card details.");
+    }
+    byte[] nameBytes = new byte[nameEnd - position];
+    buffer.get(position, nameBytes);
+    String name = new String(nameBytes, StandardCharsets.UTF_8);
+    int costEnd = digitsEnd(nameEnd + 1);
+    int cost = parseNumber(nameEnd + 1, costEnd);
+    if (costEnd == lineEnd || buffer.get(costEnd) != ' ') {
+      throw error("Invalid deck format: missing card details.");
+    }
+    int valueEnd = digitsEnd(costEnd + 1);
+    int value = parseNumber(costEnd + 1, valueEnd);
+    if (valueEnd != lineEnd) {
+      throw error("Invalid deck format: missing card details.");
+    }
+
+    int mask = 0;
+    for (int i = 0; i < GRID_SIZE; i++) {
+      if (!readLine() || lineEnd - buffer.position() != GRID_SIZE) {
+        throw error("Invalid deck format: incorrect influence grid.");
+      }
+      for (int j = 0; j < GRID_SIZE; j++) {
+        byte c = buffer.get(buffer.position() + j);
+        boolean center = i == GRID_SIZE / 2 && j == GRID_SIZE / 2;
+        if ((c == 'C') != center || c != 'I' && c != 'X' && c != 'C') {
+          throw error("Invalid deck format: incorrect influence grid.");
+        }
+        if (c == 'I') {
+          mask |= 1 << (i * GRID_SIZE + j);
+        }
+      }
+    }
+
+    int count = copies.merge(name, 1, Integer::sum);
+    if (count > MAX_COPIES) {
+      throw error("Invalid deck: more than " + MAX_COPIES + " copies of " + name + ".");
+    }
+    return CardCatalog.getInstance().intern(name, cost, value, mask);
+  }
+
+  /**
+   * Parses the next card.
+   *
+   * @return the card, or null if the input is exhausted
+   * @throws IOException if the input cannot be read or the card is invalid
+   */
+  public Card nextCard() throws IOException {
+    int id = nextId();
+    return id < 0 ? null : CardCatalog.getInstance().getCard(id, role);
+  }
+
+  /**
+   * Parses every remaining card.
+   *
+   * @return a new list of the remaining cards
+   * @throws IOException if the input cannot be read or a card is invalid
+   */
+  public List<Card> readAll() throws IOException {
+    List<Card> deck = new ArrayList<>();
+    for (Card card = nextCard(); card != null; card = nextCard()) {
+      deck.add(card);
+    }
+    return deck;
+  }
+
+  /**
+   * Returns a lazy stream of the remaining cards. Each card is parsed when the stream reaches it;
+   * errors are thrown from the stream as {@link UncheckedIOException}s.
+   *
+   * @return the stream of cards
+   */
+  public Stream<Card> stream() {
+    Iterator<Card> iterator = new Iterator<>() {
+      private Card next;
+
+      @Override
+      public boolean hasNext() {
+        if (next == null) {
+          try {
+            next = nextCard();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }
+        return next != null;
+      }
+
+      @Override
+      public Card next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Card card = next;
+        next = null;
+        return card;
+      }
+    };
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Returns the number of the last line read.
+   *
+   * @return the line number, starting at 1
+   */
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Makes the next line the current one: the buffer position is set to its start and
+   * {@code lineEnd} to its end, excluding the line terminator.
+   *
+   * @return false if the input is exhausted
+   */
+  private boolean readLine() throws IOException {
+    buffer.position(nextLine);
+    int end = buffer.position();
+    while (true) {
+      while (end < buffer.limit() && buffer.get(end) != '\n') {
+        end++;
+      }
+      if (end < buffer.limit() || endOfInput) {
+        break;
+      }
+      end -= fill();
+    }
+    if (end == buffer.position() && end == buffer.limit()) {
+      return false;
+    }
+    lineNumber++;
+    nextLine = Math.min(end + 1, buffer.limit());
+    lineEnd = end > buffer.position() && buffer.get(end - 1) == '\r' ? end - 1 : end;
+    return true;
+  }
+
+  /**
+   * Moves the unread bytes to the front of the buffer, growing it if it is full, and reads more
+   * input after them. A blocking channel only reads nothing when the buffer is full, so after a
+   * few empty reads the channel is taken to be non-blocking and reading fails.
+   *
+   * @return the number of bytes the unread bytes moved towards the front
+   * @throws IOException if the input cannot be read or the channel keeps reading nothing
+   */
+  private int fill() throws IOException {
+    int shift = buffer.position();
+    buffer.compact();
+    if (!buffer.hasRemaining()) {
+      if (buffer.capacity() >= MAX_LINE_BYTES) {
+        throw error("Invalid deck format: line too long.");
+      }
+      ByteBuffer larger = ByteBuffer.allocate(2 * buffer.capacity());
+      buffer.flip();
+      larger.put(buffer);
+      buffer = larger;
+    }
+    int read = channel.read(buffer);
+    for (int attempts = 1; read == 0; attempts++) {
+      if (attempts == MAX_EMPTY_READS) {
+        throw error("Deck input is not blocking: no bytes after " + attempts + " reads.");
+      }
+      read = channel.read(buffer);
+    }
+    if (read < 0) {
+      endOfInput = true;
+    }
+    buffer.flip();
+    nextLine = 0;
+    return shift;
+  }
+
+  private int digitsEnd(int start) {
+    int end = start;
+    while (end < lineEnd && buffer.get(end) >= '0' && buffer.get(end) <= '9') {
+      end++;
+    }
+    return end;
+  }
+
+  private int parseNumber(int start, int end) throws IOException {
+    if (start >= end || end - start > 9) {
+      throw error("Invalid deck format: missing card details.");
+    }
+    int number = 0;
+    for (int i = start; i < end; i++) {
+      number = 10 * number + buffer.get(i) - '0';
+    }
+    return number;
+  }
+
+  private IOException error(String message) {
+    return new IOException(message + " (line " + lineNumber + ")");
+  }
+}
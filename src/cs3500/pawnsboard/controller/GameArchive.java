@@ -0,0 +1,838 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Board;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CardCatalog;
+import cs3500.pawnsboard.model.Cell;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.ReadonlyGame;
+import cs3500.pawnsboard.model.Role;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A read-only archive of finished games, stored by column for analysis over many games. Games
+ * are grouped into blocks; within a block every attribute of the games and of their moves is
+ * stored as its own compressed column, so a query only decompresses the columns it reads. The
+ * file is memory-mapped when the archive is opened and {@link #scan} decodes the blocks in
+ * parallel, without replaying any game.
+ *
+ * <p>Games are written with a {@link Writer}. All games of an archive share the board dimensions
+ * given when it is created. Moves are stored in turn order, starting with RED and alternating;
+ * a pass is a move without a cell or card.
+ *
+ * <p>An archive file holds, in order:
+ * - a header: magic, format version, rows and columns. - the blocks: game count, move count, the
+ * raw and compressed length of every column and the deflated columns. - a footer: the card table
+ * as name, cost, value and influence mask as seen by RED, the player labels, and the offset,
+ * length, game count and move count of every block. - the offset of the footer and the magic.
+ *
+ * <p>The columns of a block are: the winner of each game, the final scores of RED and BLUE, the
+ * labels of the RED and BLUE players and the number of moves of each game; the cell and card of
+ * each move; and the final owner of every cell of each game.
+ */
+public final class GameArchive {
+
+  /**
+   * The number of games in a full block.
+   */
+  public static final int BLOCK_GAMES = 8192;
+
+  private static final int MAGIC = 0x50424741;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 9;
+  private static final int TRAILER_BYTES = 12;
+  private static final int MAX_CELLS = 255;
+  private static final int MAX_ENTRIES = 0xFFFF;
+  private static final int NONE = 0xFF;
+  private static final int NO_CARD = 0xFFFF;
+
+  private static final int WINNER = 0;
+  private static final int RED_SCORE = 1;
+  private static final int BLUE_SCORE = 2;
+  private static final int RED_PLAYER = 3;
+  private static final int BLUE_PLAYER = 4;
+  private static final int MOVE_COUNT = 5;
+  private static final int MOVE_CELL = 6;
+  private static final int MOVE_CARD = 7;
+  private static final int OWNER = 8;
+  private static final int COLUMN_COUNT = 9;
+  private static final int BLOCK_HEADER_BYTES = 8 + 8 * COLUMN_COUNT;
+
+  private final Path path;
+  private final int rows;
+  private final int cols;
+  private final int[] catalogIds;
+  private final String[] labels;
+  private final ByteBuffer[] blocks;
+  private final int[] blockGames;
+  private final long gameCount;
+  private final long moveCount;
+
+  private GameArchive(Path path, int rows, int cols, int[] catalogIds, String[] labels,
+      ByteBuffer[] blocks, int[] blockGames, long moveCount) {
+    this.path = path;
+    this.rows = rows;
+    this.cols = cols;
+    this.catalogIds = catalogIds;
+    this.labels = labels;
+    this.blocks = blocks;
+    this.blockGames = blockGames;
+    long games = 0;
+    for (int count : blockGames) {
+      games += count;
+    }
+    this.gameCount = games;
+    this.moveCount = moveCount;
+  }
+
+  /**
+   * Creates an archive file and returns a writer for its games. The file appears, replacing any
+   * previous one, when the writer is closed.
+   *
+   * @param path the archive file to write
+   * @param rows the number of rows of the boards of the games
+   * @param cols the number of columns of the boards of the games
+   * @return the writer
+   * @throws IOException              if the file cannot be created
+   * @throws IllegalArgumentException if the path is null or the dimensions are not positive or
+   *                                  give more cells than an archive can hold
+   */
+  public static Writer create(Path path, int rows, int cols) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    if (rows <= 0 || cols <= 0 || rows * cols > MAX_CELLS) {
+      throw new IllegalArgumentException("Invalid board dimensions for an archive.");
+    }
+    return new Writer(path, rows, cols);
+  }
+
+  /**
+   * Opens an archive file by mapping it into memory. Only the header and footer are read.
+   *
+   * @param path the archive file
+   * @return the archive
+   * @throws IOException              if the file cannot be read or is not a valid archive
+   * @throws IllegalArgumentException if the path is null
+   */
+  public static GameArchive open(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES + TRAILER_BYTES) {
+        throw new IOException("Invalid game archive: unexpected file size.");
+      }
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES,
+          TRAILER_BYTES);
+      if (header.getInt() != MAGIC || header.get() != FORMAT_VERSION
+          || trailer.getInt(8) != MAGIC) {
+        throw new IOException("Invalid game archive: unknown format.");
+      }
+      int rows = header.getShort() & 0xFFFF;
+      int cols = header.getShort() & 0xFFFF;
+      long footerOffset = trailer.getLong(0);
+      if (footerOffset < HEADER_BYTES || footerOffset > size - TRAILER_BYTES
+          || size - TRAILER_BYTES - footerOffset > Integer.MAX_VALUE) {
+        throw new IOException("Invalid game archive: corrupt footer offset.");
+      }
+      // The mappings stay valid after the channel is closed
+      ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset,
+          size - TRAILER_BYTES - footerOffset);
+      try {
+        CardCatalog catalog = CardCatalog.getInstance();
+        int[] catalogIds = new int[footer.getInt()];
+        for (int i = 0; i < catalogIds.length; i++) {
+          String name = readString(footer);
+          int cost = footer.getInt();
+          int value = footer.getInt();
+          catalogIds[i] = catalog.intern(name, cost, value, footer.getInt());
+        }
+        String[] labels = new String[footer.getInt()];
+        for (int i = 0; i < labels.length; i++) {
+          labels[i] = readString(footer);
+        }
+        ByteBuffer[] blocks = new ByteBuffer[footer.getInt()];
+        int[] blockGames = new int[blocks.length];
+        long moves = 0;
+        for (int i = 0; i < blocks.length; i++) {
+          long offset = footer.getLong();
+          int length = footer.getInt();
+          blockGames[i] = footer.getInt();
+          moves += footer.getInt();
+          if (offset < HEADER_BYTES || length < BLOCK_HEADER_BYTES
+              || offset + length > footerOffset) {
+            throw new IOException("Invalid game archive: corrupt block index.");
+          }
+          blocks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+        return new GameArchive(path, rows, cols, catalogIds, labels, blocks, blockGames, moves);
+      } catch (RuntimeException e) {
+        throw new IOException("Invalid game archive: corrupt footer.", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the path of the archive file.
+   *
+   * @return the archive path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the number of rows of the boards of the games.
+   *
+   * @return the row count
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the boards of the games.
+   *
+   * @return the column count
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Returns the number of games in the archive.
+   *
+   * @return the game count
+   */
+  public long getGameCount() {
+    return gameCount;
+  }
+
+  /**
+   * Returns the number of moves, including passes, of all games in the archive.
+   *
+   * @return the move count
+   */
+  public long getMoveCount() {
+    return moveCount;
+  }
+
+  /**
+   * Returns the number of blocks the games are grouped into.
+   *
+   * @return the block count
+   */
+  public int getBlockCount() {
+    return blocks.length;
+  }
+
+  /**
+   * Runs a query over every block of the archive in parallel and combines the results. Each call
+   * of the query receives its own block and may keep state in its result; the results are
+   * combined in block order.
+   *
+   * @param query   computes the result of one block
+   * @param combine combines the results of two groups of blocks
+   * @param <R>     the type of the result
+   * @return the combined result, or null if the archive holds no games
+   * @throws IllegalArgumentException if the query or combiner is null
+   * @throws IllegalStateException    if a block is corrupt
+   */
+  public <R> R scan(Function<Block, R> query, BinaryOperator<R> combine) {
+    if (query == null || combine == null) {
+      throw new IllegalArgumentException("Query and combiner cannot be null.");
+    }
+    return IntStream.range(0, blocks.length).parallel()
+        .mapToObj(i -> query.apply(new Block(blocks[i].duplicate(), blockGames[i])))
+        .reduce(combine).orElse(null);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The games of one block. Columns are decompressed the first time they are read. A block is
+   * meant to be used by a single thread; indexes are only checked against the bounds of the
+   * columns.
+   */
+  public final class Block {
+
+    private final ByteBuffer buffer;
+    private final int games;
+    private final int moves;
+    private final byte[][] columns;
+    private int[] moveStarts;
+
+    private Block(ByteBuffer buffer, int games) {
+      this.buffer = buffer;
+      this.games = games;
+      this.moves = buffer.getInt(4);
+      this.columns = new byte[COLUMN_COUNT][];
+      if (buffer.getInt(0) != games) {
+        throw new IllegalStateException("Corrupt block in " + path + ".");
+      }
+    }
+
+    /**
+     * Returns the number of games in this block.
+     *
+     * @return the game count
+     */
+    public int getGameCount() {
+      return games;
+    }
+
+    /**
+     * Returns the number of moves of all games in this block.
+     *
+     * @return the move count
+     */
+    public int getMoveCount() {
+      return moves;
+    }
+
+    /**
+     * Returns the winner of a game.
+     *
+     * @param game the index of the game in this block
+     * @return the winner, or null if the game was drawn
+     */
+    public Role getWinner(int game) {
+      return role(column(WINNER)[game]);
+    }
+
+    /**
+     * Returns the final score of a player in a game.
+     *
+     * @param game the index of the game in this block
+     * @param role the player
+     * @return the score
+     */
+    public int getScore(int game, Role role) {
+      return unsignedShort(role == Role.RED ? RED_SCORE : BLUE_SCORE, game);
+    }
+
+    /**
+     * Returns the label the player of a game was archived with.
+     *
+     * @param game the index of the game in this block
+     * @param role the player
+     * @return the label
+     */
+    public String getPlayer(int game, Role role) {
+      return labels[unsignedShort(role == Role.RED ? RED_PLAYER : BLUE_PLAYER, game)];
+    }
+
+    /**
+     * Returns the index in this block of the first move of a game. The moves of a game are
+     * consecutive.
+     *
+     * @param game the index of the game in this block
+     * @return the index of its first move
+     */
+    public int getMoveStart(int game) {
+      if (moveStarts == null) {
+        int[] starts = new int[games + 1];
+        for (int i = 0; i < games; i++) {
+          starts[i + 1] = starts[i] + unsignedShort(MOVE_COUNT, i);
+        }
+        moveStarts = starts;
+      }
+      return moveStarts[game];
+    }
+
+    /**
+     * Returns the number of moves, including passes, of a game.
+     *
+     * @param game the index of the game in this block
+     * @return its move count
+     */
+    public int getMoveCount(int game) {
+      return unsignedShort(MOVE_COUNT, game);
+    }
+
+    /**
+     * Determines whether a move is a pass.
+     *
+     * @param move the index of the move in this block
+     * @return true if the move is a pass
+     */
+    public boolean isPass(int move) {
+      return (column(MOVE_CELL)[move] & 0xFF) == NONE;
+    }
+
+    /**
+     * Returns the row a card was placed in by a move.
+     *
+     * @param move the index of the move in this block
+     * @return the row, or -1 for a pass
+     */
+    public int getMoveRow(int move) {
+      int cell = column(MOVE_CELL)[move] & 0xFF;
+      return cell == NONE ? -1 : cell / cols;
+    }
+
+    /**
+     * Returns the column a card was placed in by a move.
+     *
+     * @param move the index of the move in this block
+     * @return the column, or -1 for a pass
+     */
+    public int getMoveCol(int move) {
+      int cell = column(MOVE_CELL)[move] & 0xFF;
+      return cell == NONE ? -1 : cell % cols;
+    }
+
+    /**
+     * Returns the card placed by a move.
+     *
+     * @param move the index of the move in this block
+     * @return the {@link CardCatalog} id of the card, or -1 for a pass
+     */
+    public int getMoveCard(int move) {
+      int card = unsignedShort(MOVE_CARD, move);
+      return card == NO_CARD ? -1 : catalogIds[card];
+    }
+
+    /**
+     * Returns the owner of a cell at the end of a game.
+     *
+     * @param game the index of the game in this block
+     * @param row  the row of the cell
+     * @param col  the column of the cell
+     * @return the owner, or null if the cell was not owned
+     */
+    public Role getOwner(int game, int row, int col) {
+      return role(column(OWNER)[(game * rows + row) * cols + col]);
+    }
+
+    private int unsignedShort(int column, int index) {
+      byte[] data = column(column);
+      return (data[2 * index] & 0xFF) << 8 | data[2 * index + 1] & 0xFF;
+    }
+
+    private byte[] column(int column) {
+      if (columns[column] == null) {
+        int offset = BLOCK_HEADER_BYTES;
+        for (int i = 0; i < column; i++) {
+          offset += buffer.getInt(12 + 8 * i);
+        }
+        int raw = buffer.getInt(8 + 8 * column);
+        int compressed = buffer.getInt(12 + 8 * column);
+        byte[] data = new byte[raw];
+        Inflater inflater = new Inflater();
+        try {
+          inflater.setInput(buffer.slice(offset, compressed));
+          int read = 0;
+          while (read < raw && !inflater.finished()) {
+            int count = inflater.inflate(data, read, raw - read);
+            if (count == 0 && inflater.needsInput()) {
+              break;
+            }
+            read += count;
+          }
+          if (read != raw) {
+            throw new IllegalStateException("Corrupt column in " + path + ".");
+          }
+        } catch (DataFormatException | IndexOutOfBoundsException e) {
+          throw new IllegalStateException("Corrupt column in " + path + ".", e);
+        } finally {
+          inflater.end();
+        }
+        columns[column] = data;
+      }
+      return columns[column];
+    }
+  }
+
+  private static Role role(byte code) {
+    switch (code) {
+      case 1:
+        return Role.RED;
+      case 2:
+        return Role.BLUE;
+      default:
+        return null;
+    }
+  }
+
+  private static int code(Role role) {
+    return role == null ? 0 : role == Role.RED ? 1 : 2;
+  }
+
+  /**
+   * Writes finished games to a new archive file, one block at a time.
+   */
+  public static final class Writer implements Closeable {
+
+    private final Path path;
+    private final Path temp;
+    private final int rows;
+    private final int cols;
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream[] columns;
+    private final DataOutputStream[] columnOut;
+    private final Map<Integer, Integer> cardIndexes;
+    private final List<Integer> cards;
+    private final Map<String, Integer> labelIndexes;
+    private final List<String> labels;
+    private final List<long[]> blockIndex;
+    private final Deflater deflater;
+    private long position;
+    private int games;
+    private int moves;
+    private boolean closed;
+
+    private Writer(Path path, int rows, int cols) throws IOException {
+      this.path = path;
+      this.temp = Files.createTempFile(path.toAbsolutePath().getParent(),
+          path.getFileName().toString(), ".tmp");
+      this.rows = rows;
+      this.cols = cols;
+      this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp),
+          1 << 16));
+      this.columns = new ByteArrayOutputStream[COLUMN_COUNT];
+      this.columnOut = new DataOutputStream[COLUMN_COUNT];
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        columns[i] = new ByteArrayOutputStream();
+        columnOut[i] = new DataOutputStream(columns[i]);
+      }
+      this.cardIndexes = new HashMap<>();
+      this.cards = new ArrayList<>();
+      this.labelIndexes = new HashMap<>();
+      this.labels = new ArrayList<>();
+      this.blockIndex = new ArrayList<>();
+      this.deflater = new Deflater();
+      out.writeInt(MAGIC);
+      out.writeByte(FORMAT_VERSION);
+      out.writeShort(rows);
+      out.writeShort(cols);
+      position = HEADER_BYTES;
+    }
+
+    /**
+     * Adds a finished game. The card placed by each move is read from the final board, where it
+     * stays once placed.
+     *
+     * @param game      the finished game
+     * @param moves     the moves of the game in turn order, including passes
+     * @param redLabel  a label for the RED player, such as the name of its strategy
+     * @param blueLabel a label for the BLUE player
+     * @throws IOException              if a full block cannot be written
+     * @throws IllegalArgumentException if an argument is null, the game is not over, its board
+     *                                  has other dimensions than the archive, a move places no
+     *                                  card on the final board, or there are too many moves or
+     *                                  distinct cards or labels
+     * @throws IllegalStateException    if the writer is closed
+     */
+    public void addGame(ReadonlyGame<Card> game, List<Move> moves, String redLabel,
+        String blueLabel) throws IOException {
+      if (game == null || moves == null || redLabel == null || blueLabel == null) {
+        throw new IllegalArgumentException("Game, moves and labels cannot be null.");
+      }
+      if (closed) {
+        throw new IllegalStateException("Writer is closed.");
+      }
+      if (!game.isGameOver()) {
+        throw new IllegalArgumentException("Only finished games can be archived.");
+      }
+      Board<Card> board = game.getBoard();
+      if (board.getHeight() != rows || board.getWidth() != cols) {
+        throw new IllegalArgumentException("Game board does not match the archive dimensions.");
+      }
+      if (moves.size() > MAX_ENTRIES) {
+        throw new IllegalArgumentException("Too many moves in one game.");
+      }
+
+      CardCatalog catalog = CardCatalog.getInstance();
+      byte[] cells = new byte[moves.size()];
+      int[] placed = new int[moves.size()];
+      for (int i = 0; i < moves.size(); i++) {
+        Move move = moves.get(i);
+        if (move == null) {
+          throw new IllegalArgumentException("Move cannot be null.");
+        }
+        if (move.isPass()) {
+          cells[i] = (byte) NONE;
+          placed[i] = NO_CARD;
+          continue;
+        }
+        Card card = board.getCellAt(move.getRow(), move.getCol()).getCard();
+        if (card == null) {
+          throw new IllegalArgumentException("No card was placed at " + move.getRow() + ", "
+              + move.getCol() + ".");
+        }
+        cells[i] = (byte) (move.getRow() * cols + move.getCol());
+        placed[i] = index(catalog.idOf(card), cardIndexes, cards);
+      }
+      int red = index(redLabel, labelIndexes, labels);
+      int blue = index(blueLabel, labelIndexes, labels);
+      Map<Role, Integer> scores = board.getScores();
+
+      columnOut[WINNER].writeByte(code(game.getWonPlayer()));
+      columnOut[RED_SCORE].writeShort(scores.getOrDefault(Role.RED, 0));
+      columnOut[BLUE_SCORE].writeShort(scores.getOrDefault(Role.BLUE, 0));
+      columnOut[RED_PLAYER].writeShort(red);
+      columnOut[BLUE_PLAYER].writeShort(blue);
+      columnOut[MOVE_COUNT].writeShort(moves.size());
+      columnOut[MOVE_CELL].write(cells);
+      for (int card : placed) {
+        columnOut[MOVE_CARD].writeShort(card);
+      }
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          Cell<Card> cell = board.getCellAt(r, c);
+          columnOut[OWNER].writeByte(code(cell.getOwner()));
+        }
+      }
+      this.games++;
+      this.moves += moves.size();
+      if (this.games == BLOCK_GAMES) {
+        writeBlock();
+      }
+    }
+
+    /**
+     * Writes the last block and the footer and moves the archive into place.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        if (games > 0) {
+          writeBlock();
+        }
+        long footerOffset = position;
+        CardCatalog catalog = CardCatalog.getInstance();
+        out.writeInt(cards.size());
+        for (int id : cards) {
+          writeString(catalog.getName(id));
+          out.writeInt(catalog.getCost(id));
+          out.writeInt(catalog.getValue(id));
+          out.writeInt(catalog.getMask(id, Role.RED));
+        }
+        out.writeInt(labels.size());
+        for (String label : labels) {
+          writeString(label);
+        }
+        out.writeInt(blockIndex.size());
+        for (long[] block : blockIndex) {
+          out.writeLong(block[0]);
+          out.writeInt((int) block[1]);
+          out.writeInt((int) block[2]);
+          out.writeInt((int) block[3]);
+        }
+        out.writeLong(footerOffset);
+        out.writeInt(MAGIC);
+        out.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        deflater.end();
+        out.close();
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    private void writeBlock() throws IOException {
+      byte[][] compressed = new byte[COLUMN_COUNT][];
+      int length = BLOCK_HEADER_BYTES;
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        compressed[i] = deflate(columns[i].toByteArray());
+        length += compressed[i].length;
+      }
+      out.writeInt(games);
+      out.writeInt(moves);
+      for (int i = 0; i < COLUMN_COUNT; i++) {
+        out.writeInt(columns[i].size());
+        out.writeInt(compressed[i].length);
+      }
+      for (byte[] column : compressed) {
+        out.write(column);
+      }
+      blockIndex.add(new long[]{position, length, games, moves});
+      position += length;
+      for (ByteArrayOutputStream column : columns) {
+        column.reset();
+      }
+      games = 0;
+      moves = 0;
+    }
+
+    private byte[] deflate(byte[] data) {
+      deflater.reset();
+      deflater.setInput(data);
+      deflater.finish();
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 4 + 16);
+      byte[] chunk = new byte[8192];
+      while (!deflater.finished()) {
+        compressed.write(chunk, 0, deflater.deflate(chunk));
+      }
+      return compressed.toByteArray();
+    }
+
+    private void writeString(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length > MAX_ENTRIES) {
+        throw new IllegalArgumentException("String is too long for an archive.");
+      }
+      out.writeShort(bytes.length);
+      out.write(bytes);
+    }
+
+    private static <K> int index(K key, Map<K, Integer> indexes, List<K> values) {
+      Integer index = indexes.get(key);
+      if (index == null) {
+        if (values.size() == MAX_ENTRIES) {
+          throw new IllegalArgumentException("Too many distinct entries for an archive.");
+        }
+        index = values.size();
+        indexes.put(key, index);
+        values.add(key);
+      }
+      return index;
+    }
+  }
+
+  /**
+   * Prints a summary of an archive: win rates, a heatmap of final cell ownership, the most
+   * frequent first moves with their win rates, and the most used cards.
+   *
+   * @param args command-line arguments <archive-path>
+   * @throws IOException if the archive cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.out.println("Usage: java GameArchive <archive>");
+      System.exit(1);
+    }
+    GameArchive archive = open(Paths.get(args[0]));
+    int rows = archive.getRows();
+    int cols = archive.getCols();
+    long start = System.nanoTime();
+
+    long[] wins = archive.scan(block -> {
+      long[] counts = new long[3];
+      for (int g = 0; g < block.getGameCount(); g++) {
+        counts[code(block.getWinner(g))]++;
+      }
+      return counts;
+    }, GameArchive::sum);
+    long[] owners = archive.scan(block -> {
+      long[] counts = new long[2 * rows * cols];
+      for (int g = 0; g < block.getGameCount(); g++) {
+        for (int r = 0; r < rows; r++) {
+          for (int c = 0; c < cols; c++) {
+            Role owner = block.getOwner(g, r, c);
+            if (owner != null) {
+              counts[(owner == Role.RED ? 0 : rows * cols) + r * cols + c]++;
+            }
+          }
+        }
+      }
+      return counts;
+    }, GameArchive::sum);
+    Map<String, long[]> firstMoves = archive.scan(block -> {
+      Map<String, long[]> counts = new HashMap<>();
+      for (int g = 0; g < block.getGameCount(); g++) {
+        if (block.getMoveCount(g) == 0) {
+          continue;
+        }
+        int move = block.getMoveStart(g);
+        String key = block.isPass(move) ? "pass" : CardCatalog.getInstance().getName(
+            block.getMoveCard(move)) + " at (" + block.getMoveRow(move) + ", "
+            + block.getMoveCol(move) + ")";
+        long[] count = counts.computeIfAbsent(key, k -> new long[2]);
+        count[0]++;
+        count[1] += block.getWinner(g) == Role.RED ? 1 : 0;
+      }
+      return counts;
+    }, GameArchive::merge);
+    Map<String, long[]> cardUsage = archive.scan(block -> {
+      Map<String, long[]> counts = new HashMap<>();
+      for (int m = 0; m < block.getMoveCount(); m++) {
+        if (!block.isPass(m)) {
+          counts.computeIfAbsent(CardCatalog.getInstance().getName(block.getMoveCard(m)),
+              k -> new long[2])[0]++;
+        }
+      }
+      return counts;
+    }, GameArchive::merge);
+    long elapsed = System.nanoTime() - start;
+
+    long games = archive.getGameCount();
+    System.out.printf("%d games, %d moves in %d blocks; queries took %d ms%n", games,
+        archive.getMoveCount(), archive.getBlockCount(), elapsed / 1_000_000);
+    if (games == 0) {
+      return;
+    }
+    System.out.printf("Red wins %.1f%%, blue wins %.1f%%, drawn %.1f%%%n",
+        100.0 * wins[1] / games, 100.0 * wins[2] / games, 100.0 * wins[0] / games);
+    System.out.println("Final ownership (red% / blue%):");
+    for (int r = 0; r < rows; r++) {
+      StringBuilder line = new StringBuilder();
+      for (int c = 0; c < cols; c++) {
+        line.append(String.format(" %3.0f/%-3.0f", 100.0 * owners[r * cols + c] / games,
+            100.0 * owners[rows * cols + r * cols + c] / games));
+      }
+      System.out.println(line);
+    }
+    System.out.println("Most frequent first moves (games, red win rate):");
+    new TreeMap<>(firstMoves).entrySet().stream()
+        .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0])).limit(10)
+        .forEach(e -> System.out.printf("  %-30s %8d %6.1f%%%n", e.getKey(), e.getValue()[0],
+            100.0 * e.getValue()[1] / e.getValue()[0]));
+    System.out.println("Most used cards (placements):");
+    new TreeMap<>(cardUsage).entrySet().stream()
+        .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0])).limit(10)
+        .forEach(e -> System.out.printf("  %-30s %8d%n", e.getKey(), e.getValue()[0]));
+  }
+
+  private static long[] sum(long[] a, long[] b) {
+    long[] result = a.clone();
+    for (int i = 0; i < b.length; i++) {
+      result[i] += b[i];
+    }
+    return result;
+  }
+
+  private static Map<String, long[]> merge(Map<String, long[]> a, Map<String, long[]> b) {
+    Map<String, long[]> result = new HashMap<>(a);
+    b.forEach((key, value) -> result.merge(key, value, GameArchive::sum));
+    return result;
+  }
+}
@@ -2,6 +2,7 @@ package cs3500.pawnsboard.controller;
 
 import cs3500.pawnsboard.model.Card;
 import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.ModelEvent;
 import cs3500.pawnsboard.model.Role;
 
 import java.util.HashMap;
@@ -9,11 +10,20 @@ import java.util.Map;
 
 /**
  * Coordinates game progression by delegating turns to the appropriate player controller.
+ *
+ * <p>Turns are run through a {@link TurnScheduler}, so a controller whose turn triggers a model
+ * update never re-enters another controller's turn from inside that notification.
  */
 public class GameOrchestrator implements ModelListener {
 
+  /**
+   * The default bound on pending turn requests; one per role is enough for a two-player game.
+   */
+  public static final int DEFAULT_QUEUE_DEPTH = 2;
+
   private final Game<Card> game;
   private final Map<Role, PlayerController> controllers;
+  private final TurnScheduler scheduler;
 
   /**
    * Constructs a GameOrchestrator object for the given name and player controllers.
@@ -23,8 +33,22 @@ public class GameOrchestrator implements ModelListener {
    * @param blueCtrl the controller for the BLUE player
    */
   public GameOrchestrator(Game<Card> game, PlayerController redCtrl, PlayerController blueCtrl) {
+    this(game, redCtrl, blueCtrl, new TurnScheduler(DEFAULT_QUEUE_DEPTH));
+  }
+
+  /**
+   * Constructs a GameOrchestrator object that runs turns through the given scheduler.
+   *
+   * @param game the game model to observe and orchestrate
+   * @param redCtrl the controller for the RED player
+   * @param blueCtrl the controller for the BLUE player
+   * @param scheduler the scheduler running the turns
+   */
+  public GameOrchestrator(Game<Card> game, PlayerController redCtrl, PlayerController blueCtrl,
+      TurnScheduler scheduler) {
     this.game = game;
     this.controllers = new HashMap<>();
+    this.scheduler = scheduler;
     if (redCtrl != null) {
       this.controllers.put(Role.RED, redCtrl);
     }
@@ -36,8 +60,9 @@ public class GameOrchestrator implements ModelListener {
   }
 
   /**
-   * Called when the model is updated. If the game is in a valid state,
-   * it delegates control to the current player's controller to perform their turn.
+   * Called when the model is updated. If the game is in a valid state, it requests a turn for the
+   * current player's controller from the scheduler. The turn runs immediately unless another turn
+   * is already running, in which case it runs as soon as that turn returns.
    */
   @Override
   public void onModelUpdate() {
@@ -45,15 +70,54 @@ public class GameOrchestrator implements ModelListener {
       return; // Game might be over or not yet started
     }
 
-    PlayerController controller = controllers.get(game.getCurrentPlayer().getRole());
+    Role role = game.getCurrentPlayer().getRole();
+    if (controllers.get(role) != null) {
+      scheduler.requestTurn(role, () -> runTurn(role));
+    }
+  }
+
+  /**
+   * Runs the turn of the given role if it is still that role's turn.
+   *
+   * @param role the role whose turn was requested
+   */
+  private void runTurn(Role role) {
+    if (game.getCurrentPlayer() == null || game.getCurrentPlayer().getRole() != role) {
+      return; // The turn was handed over while the request was queued
+    }
+    PlayerController controller = controllers.get(role);
+    try {
+      controller.takeTurn();
+    } catch (Exception e) {
+      AsyncEventLogger.getDefault().log("Controller failed to take turn: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the scheduler running the turns, e.g. to read its turn timings.
+   *
+   * @return the turn scheduler
+   */
+  public TurnScheduler getScheduler() {
+    return scheduler;
+  }
 
-    if (controller != null) {
-      try {
-        controller.takeTurn();
-      } catch (Exception e) {
-        System.err.println("Controller failed to take turn: " + e.getMessage());
-        e.printStackTrace(); // optional for debugging
-      }
+  /**
+   * Called with a description of a model change. Only changes that can hand the turn to another
+   * player trigger a turn; selections, draws, placements and the end of the game do not. A switch
+   * of turns, or the end of the game, also ends the timing of the previous player's turn.
+   *
+   * @param event the change that occurred
+   */
+  @Override
+  public void onModelEvent(ModelEvent event) {
+    if ((event.getType() == ModelEvent.Type.TURN_SWITCHED
+        || event.getType() == ModelEvent.Type.GAME_OVER) && event.getRole() != null) {
+      scheduler.completeTurn(event.getRole().getOpponent());
+    }
+    if (event.getType() == ModelEvent.Type.TURN_SWITCHED
+        || event.getType() == ModelEvent.Type.STATE_CHANGED) {
+      onModelUpdate();
     }
   }
 }
@@ -0,0 +1,277 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Board;
+import cs3500.pawnsboard.model.BoardBatchScorer;
+import cs3500.pawnsboard.model.CancellationToken;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.Cell;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.MoveHint;
+import cs3500.pawnsboard.model.PositionHash;
+import cs3500.pawnsboard.model.Role;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Ranks every legal move of a player by how much it changes the player's lead, on a background
+ * thread, so that a human player can be shown hints without delaying input handling.
+ *
+ * <p>Hints are computed card by card. After each card the hints found so far are delivered,
+ * best first, so a large board shows useful hints before the whole hand is evaluated. The
+ * placements of a card are cached by position and card definition: re-requesting hints for the
+ * same position, or for a hand that only gained a card, evaluates only what is new. Selection
+ * changes never require a new computation. The placements of every card that is not cached are
+ * scored together by a {@link BoardBatchScorer}, without simulating any board.
+ *
+ * <p>The sink is called on the engine's thread; callers that update Swing components must hand
+ * the hints over to the event thread themselves.
+ */
+public class HintEngine {
+
+  /**
+   * The number of (position, card) evaluations kept in the cache.
+   */
+  public static final int CACHE_SIZE = 256;
+
+  private final Consumer<List<MoveHint>> sink;
+  private final Map<CacheKey, List<int[]>> cache;
+  private ExecutorService executor;
+  private CancellationToken token;
+  private long cacheHits;
+  private long cacheMisses;
+
+  /**
+   * Constructs an engine delivering hints to the given sink.
+   *
+   * @param sink receives the ranked hints, best first
+   * @throws IllegalArgumentException if the sink is null
+   */
+  public HintEngine(Consumer<List<MoveHint>> sink) {
+    if (sink == null) {
+      throw new IllegalArgumentException("Sink cannot be null.");
+    }
+    this.sink = sink;
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, List<int[]>> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+  }
+
+  /**
+   * Starts computing hints for the given player in the given position. A computation still running
+   * for an earlier request is cancelled.
+   *
+   * @param snapshot the position to compute hints for
+   * @param role     the role of the player to move
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public synchronized void requestHints(GameSnapshot snapshot, Role role) {
+    if (snapshot == null || role == null) {
+      throw new IllegalArgumentException("Snapshot and role cannot be null.");
+    }
+    cancel();
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "hints-" + role);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    CancellationToken current = CancellationToken.none();
+    token = current;
+    executor.execute(() -> compute(snapshot, role, current));
+  }
+
+  /**
+   * Cancels the computation in progress, if any. No hints of a cancelled request are delivered
+   * after this call returns.
+   */
+  public synchronized void cancel() {
+    if (token != null) {
+      token.cancel();
+      token = null;
+    }
+  }
+
+  /**
+   * Returns the number of (position, card) evaluations currently cached.
+   *
+   * @return the number of cached evaluations
+   */
+  public int getCachedCount() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Returns the number of cards whose placements were found in the cache.
+   *
+   * @return the cache hit count
+   */
+  public long getCacheHits() {
+    synchronized (cache) {
+      return cacheHits;
+    }
+  }
+
+  /**
+   * Returns the number of cards whose placements had to be evaluated.
+   *
+   * @return the cache miss count
+   */
+  public long getCacheMisses() {
+    synchronized (cache) {
+      return cacheMisses;
+    }
+  }
+
+  private void compute(GameSnapshot snapshot, Role role, CancellationToken current) {
+    Board<Card> board = snapshot.getBoard();
+    List<Card> hand = snapshot.getHand(role);
+    long boardHash = PositionHash.boardHash(board);
+
+    List<CacheKey> keys = new ArrayList<>();
+    List<List<int[]>> placements = new ArrayList<>();
+    List<Integer> missing = new ArrayList<>();
+    synchronized (cache) {
+      for (Card card : hand) {
+        CacheKey key = new CacheKey(boardHash, PositionHash.cardHash(card), role);
+        List<int[]> cached = cache.get(key);
+        keys.add(key);
+        placements.add(cached);
+        if (cached == null) {
+          missing.add(placements.size() - 1);
+          cacheMisses++;
+        } else {
+          cacheHits++;
+        }
+      }
+    }
+    int[][] rowDeltas = scoreRows(board, hand, missing, role);
+
+    List<MoveHint> hints = new ArrayList<>();
+    for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+      List<int[]> cardPlacements = placements.get(cardIdx);
+      if (cardPlacements == null) {
+        cardPlacements = evaluateCard(board, hand.get(cardIdx), role,
+            rowDeltas[missing.indexOf(cardIdx)], current);
+        if (cardPlacements == null) {
+          return;
+        }
+        synchronized (cache) {
+          cache.put(keys.get(cardIdx), cardPlacements);
+        }
+      }
+      for (int[] placement : cardPlacements) {
+        hints.add(new MoveHint(cardIdx, placement[0], placement[1], placement[2]));
+      }
+      hints.sort(Comparator.comparingInt(MoveHint::getScoreDelta).reversed()
+          .thenComparingInt(MoveHint::getRow)
+          .thenComparingInt(MoveHint::getCol)
+          .thenComparingInt(MoveHint::getCardIndex));
+      synchronized (this) {
+        if (current.isCancelled()) {
+          return;
+        }
+        sink.accept(List.copyOf(hints));
+      }
+    }
+  }
+
+  /**
+   * Scores the placements of the given cards of the hand as one batch. Every placement of a card in
+   * a row changes the lead by the same amount, so only one delta per row and card is computed.
+   *
+   * @return for each of the given cards, the change of the lead by a placement in each row
+   */
+  private static int[][] scoreRows(Board<Card> board, List<Card> hand, List<Integer> cards,
+      Role role) {
+    int[][] deltas = new int[cards.size()][board.getHeight()];
+    if (cards.isEmpty()) {
+      return deltas;
+    }
+    BoardBatchScorer scorer = new BoardBatchScorer(board);
+    int[] values = new int[cards.size()];
+    for (int k = 0; k < values.length; k++) {
+      values[k] = hand.get(cards.get(k)).getValue();
+    }
+    int[] red = new int[board.getHeight() * values.length];
+    int[] blue = new int[red.length];
+    scorer.scorePlacements(role, values, red, blue);
+    int leadBefore = lead(scorer.getScore(Role.RED), scorer.getScore(Role.BLUE), role);
+    for (int r = 0; r < board.getHeight(); r++) {
+      for (int k = 0; k < values.length; k++) {
+        int index = r * values.length + k;
+        deltas[k][r] = lead(red[index], blue[index], role) - leadBefore;
+      }
+    }
+    return deltas;
+  }
+
+  /**
+   * Lists every legal placement of one card with the change of the lead of its row.
+   *
+   * @return the placements as [row, col, score delta], or null if the computation was cancelled
+   */
+  private static List<int[]> evaluateCard(Board<Card> board, Card card, Role role,
+      int[] rowDeltas, CancellationToken current) {
+    List<int[]> placements = new ArrayList<>();
+    for (int row = 0; row < board.getHeight(); row++) {
+      for (int col = 0; col < board.getWidth(); col++) {
+        if (current.shouldStop()) {
+          return null;
+        }
+        Cell<Card> cell = board.getCellAt(row, col);
+        if (cell.getCard() != null || cell.getPawns() < card.getCost()
+            || (cell.getOwner() != null && cell.getOwner() != role)) {
+          continue;
+        }
+        placements.add(new int[]{row, col, rowDeltas[row]});
+      }
+    }
+    return placements;
+  }
+
+  private static int lead(int red, int blue, Role role) {
+    return role == Role.RED ? red - blue : blue - red;
+  }
+
+  /**
+   * The key of a cached evaluation: one card definition played by one role on one position.
+   */
+  private static final class CacheKey {
+
+    private final long boardHash;
+    private final long cardHash;
+    private final Role role;
+
+    private CacheKey(long boardHash, long cardHash, Role role) {
+      this.boardHash = boardHash;
+      this.cardHash = cardHash;
+      this.role = role;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return boardHash == other.boardHash && cardHash == other.cardHash && role == other.role;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(boardHash * 31 + cardHash) * 31 + role.hashCode();
+    }
+  }
+}
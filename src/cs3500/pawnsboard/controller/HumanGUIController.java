@@ -2,11 +2,14 @@ package cs3500.pawnsboard.controller;
 
 import cs3500.pawnsboard.model.Card;
 import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.ModelEvent;
 import cs3500.pawnsboard.model.Role;
 import cs3500.pawnsboard.view.GUIView;
 import java.io.IOException;
+import java.util.List;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 /**
  * Controller for the human player using the GUI interface.
@@ -15,6 +18,7 @@ public class HumanGUIController implements PlayerController, PlayerActionListene
 
   private final Game<Card> game;
   private final Role role;
+  private final HintEngine hintEngine;
   private GUIView view;
 
   /**
@@ -26,15 +30,26 @@ public class HumanGUIController implements PlayerController, PlayerActionListene
   public HumanGUIController(Game<Card> game, Role role) {
     this.game = game;
     this.role = role;
+    this.hintEngine = new HintEngine(hints -> SwingUtilities.invokeLater(() -> {
+      if (view != null) {
+        view.showHints(hints);
+      }
+    }));
   }
 
   /**
-   * Called when it's the human player's turn. Waits for input via GUI interaction.
+   * Called when it's the human player's turn. Starts computing hints for the position in the
+   * background and waits for input via GUI interaction. Hints are requested here rather than on
+   * the model event that starts the turn, since the first turn of the game starts before this
+   * controller is registered as a listener.
    */
   @Override
   public void takeTurn() {
     // Human input is already event-driven through the GUI
-    System.out.println("Waiting for human input: " + role);
+    AsyncEventLogger.getDefault().log("Waiting for human input: " + role);
+    if (game.getCurrentPlayer().getRole() == role && !game.isGameOver()) {
+      hintEngine.requestHints(game.getSnapshot(), role);
+    }
   }
 
   /**
@@ -47,6 +62,30 @@ public class HumanGUIController implements PlayerController, PlayerActionListene
     }
   }
 
+  /**
+   * Called with a description of a model change. Lets the view update only what changed. When
+   * this player's turn ends, the hints are withdrawn; hints for a new turn are requested by
+   * {@link #takeTurn()}.
+   *
+   * @param event the change that occurred
+   */
+  @Override
+  public void onModelEvent(ModelEvent event) {
+    if (view != null) {
+      view.refreshView(event);
+    }
+    ModelEvent.Type type = event.getType();
+    if (type == ModelEvent.Type.TURN_SWITCHED || type == ModelEvent.Type.STATE_CHANGED
+        || type == ModelEvent.Type.GAME_OVER) {
+      if (game.getCurrentPlayer().getRole() != role || game.isGameOver()) {
+        hintEngine.cancel();
+        if (view != null) {
+          view.showHints(List.of());
+        }
+      }
+    }
+  }
+
   /**
    * Sets the GUI view for the controller and registers this controller as a listener to user actions.
    *
@@ -96,10 +135,15 @@ public class HumanGUIController implements PlayerController, PlayerActionListene
     }
     JOptionPane.showMessageDialog((JFrame) view, game.getCurrentPlayer() + " passed turn",
         "Move Details", JOptionPane.INFORMATION_MESSAGE);
-    game.increaseConsecutivePass();
-    game.setSelectedCardIndex(-1);
-    game.setSelectedCellCoordinate(-1, -1);
-    game.switchCurrentPlayer();
+    game.beginTransaction();
+    try {
+      game.increaseConsecutivePass();
+      game.setSelectedCardIndex(-1);
+      game.setSelectedCellCoordinate(-1, -1);
+      game.switchCurrentPlayer();
+    } finally {
+      game.commitTransaction();
+    }
   }
 
   /**
@@ -113,23 +157,30 @@ public class HumanGUIController implements PlayerController, PlayerActionListene
     int[] cell = game.getSelectedCellCoordinate();
     int cardIdx = game.getSelectedCardIndex();
     if (cardIdx != -1 && cell[0] != -1 && cell[1] != -1) {
+      String message;
+      String title = "Move Details";
+      int messageType = JOptionPane.INFORMATION_MESSAGE;
+      game.beginTransaction();
       try {
         game.placeCard(cell[0], cell[1], cardIdx);
-        JOptionPane.showMessageDialog((JFrame) view,
-            game.getCurrentPlayer() + " placed card in row " + cell[0] + " and col "
-                    + cell[1], "Move Details", JOptionPane.INFORMATION_MESSAGE);
+        message = game.getCurrentPlayer() + " placed card in row " + cell[0] + " and col "
+            + cell[1];
         game.setSelectedCardIndex(-1);
         game.setSelectedCellCoordinate(-1, -1);
         game.resetConsecutivePass();
         game.switchCurrentPlayer();
       } catch (IOException | IllegalArgumentException | IllegalStateException e) {
-        JOptionPane.showMessageDialog((JFrame) view, e.getMessage(), "Invalid Move",
-            JOptionPane.ERROR_MESSAGE);
+        message = e.getMessage();
+        title = "Invalid Move";
+        messageType = JOptionPane.ERROR_MESSAGE;
         game.setSelectedCardIndex(-1);
         game.setSelectedCellCoordinate(-1, -1);
+      } finally {
+        game.commitTransaction();
       }
+      JOptionPane.showMessageDialog((JFrame) view, message, title, messageType);
     } else {
-      System.out.println("Invalid move. Selection incomplete.");
+      AsyncEventLogger.getDefault().log("Invalid move. Selection incomplete.");
     }
   }
 
@@ -1,15 +1,35 @@
 package cs3500.pawnsboard.controller;
 
+import cs3500.pawnsboard.model.CancellationToken;
 import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CooperativeStrategy;
 import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.ModelEvent;
 import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.PonderingStrategy;
+import cs3500.pawnsboard.model.ReadonlyGame;
 import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.SnapshotGame;
 import cs3500.pawnsboard.model.Strategy;
 import cs3500.pawnsboard.model.StrategySelector;
 import cs3500.pawnsboard.view.GUIView;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 
 /**
  * A controller for an AI player using the GUI interface.
@@ -22,7 +42,12 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
   private final StrategySelector strategySelector;
   private final List<Strategy> strategyPool;
   private GUIView view;
-  private boolean isTakingTurn = false;
+  private volatile boolean isTakingTurn = false;
+  private volatile AiTurnWorker worker;
+  private final List<PonderingStrategy> ponderers;
+  private ExecutorService ponderExecutor;
+  private CancellationToken ponderToken;
+  private Future<?> ponderTask;
 
   /**
    * Constructs a MachineGUIController object with the given name, role, strategies and selector.
@@ -39,11 +64,22 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
     this.role = role;
     this.strategyPool = strategies;
     this.strategySelector = selector;
+    this.ponderers = new ArrayList<>();
+    for (Strategy strategy : strategies) {
+      if (strategy instanceof PonderingStrategy) {
+        ponderers.add((PonderingStrategy) strategy);
+      }
+    }
   }
 
   /**
    * Called when it's the AI player's turn.
-   * Selects and executes a move using the best strategy.
+   * Starts the search for a move on a background worker and returns at once, so the Swing event
+   * thread stays responsive while strategies run. The worker first waits for pondering to stop, so
+   * the search never competes with it for the strategies' tables. Strategies search the snapshot of
+   * the game taken when the turn starts, never the live game. Progress and the candidate move of each strategy
+   * are published to the view as they are computed. The chosen move is applied back on the event
+   * thread in one transaction, so listeners receive a single update per move.
    */
   @Override
   public void takeTurn() {
@@ -52,12 +88,95 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
     }
 
     isTakingTurn = true;
+    Future<?> pondering = stopPondering();
+    worker = new AiTurnWorker(new SnapshotGame(game.getSnapshot(), game.getHandSize()),
+        pondering);
+    worker.execute();
+  }
+
+  /**
+   * Cancels the search of the current turn, if one is running. Strategies that poll a
+   * cancellation token stop searching at once, and the cancelled turn applies no move, which lets a
+   * closing window or a new game discard stale work.
+   */
+  public void cancelTurn() {
+    stopPondering();
+    AiTurnWorker current = worker;
+    if (current != null) {
+      current.token.cancel();
+      current.cancel(true);
+    }
+  }
+
+  /**
+   * Starts pondering on a background thread: every pondering strategy of the pool searches the
+   * positions the opponent may leave behind, until this player's turn begins. Does nothing if no
+   * strategy of the pool can ponder.
+   */
+  private synchronized void startPondering() {
+    if (ponderers.isEmpty() || game.isGameOver()) {
+      return;
+    }
+    stopPondering();
+    if (ponderExecutor == null) {
+      ponderExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "ponder-" + role);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      });
+    }
+    GameSnapshot snapshot = game.getSnapshot();
+    CancellationToken token = CancellationToken.none();
+    ponderToken = token;
+    ponderTask = ponderExecutor.submit(() -> {
+      for (PonderingStrategy strategy : ponderers) {
+        if (token.shouldStop()) {
+          return;
+        }
+        try {
+          strategy.ponder(snapshot, role, token);
+        } catch (RuntimeException e) {
+          AsyncEventLogger.getDefault().log("Pondering failed: " + e.getMessage(), e);
+        }
+      }
+    });
+  }
+
+  /**
+   * Asks the current pondering search, if any, to stop. Pondering stops at the next poll of its
+   * token, which may be after this method returns.
+   *
+   * @return the pondering task, to wait for before searching, or null if none was started
+   */
+  private synchronized Future<?> stopPondering() {
+    if (ponderToken != null) {
+      ponderToken.cancel();
+      ponderToken = null;
+    }
+    Future<?> task = ponderTask;
+    ponderTask = null;
+    return task;
+  }
+
+  /**
+   * Applies the move found by the search. Must be called on the thread that owns the game. The
+   * move is logged; only a move that fails is also reported in a dialog, so machine versus machine
+   * games do not stop after every move.
+   *
+   * @param move  the move to apply, or null if the search failed
+   * @param error the error raised by the search, or null if it succeeded
+   */
+  private void applyMove(Move move, Exception error) {
+    String message;
+    boolean failed = false;
+    game.beginTransaction();
     try {
-      Strategy strategy = strategySelector.selectBestStrategy(strategyPool, game, role);
-      Move move = strategy.makeMove(game, role);
+      if (error != null) {
+        throw error;
+      }
       if (move.isPass()) {
-        JOptionPane.showMessageDialog((JFrame) view, game.getCurrentPlayer()
-                        + " passed turn", "Move Details", JOptionPane.INFORMATION_MESSAGE);
+        message = game.getCurrentPlayer() + " passed turn";
         game.increaseConsecutivePass();
         game.setSelectedCardIndex(-1);
         game.setSelectedCellCoordinate(-1, -1);
@@ -66,19 +185,23 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
         game.setSelectedCardIndex(move.getCardIndex());
         game.setSelectedCellCoordinate(move.getRow(), move.getCol());
         game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
-        JOptionPane.showMessageDialog((JFrame) view,
-            game.getCurrentPlayer() + " placed card in row " + move.getRow() + " and col "
-                + move.getCol(), "Move Details", JOptionPane.INFORMATION_MESSAGE);
+        message = game.getCurrentPlayer() + " placed card in row " + move.getRow() + " and col "
+            + move.getCol();
         game.resetConsecutivePass();
         game.switchCurrentPlayer();
       }
     } catch (Exception e) {
-      JOptionPane.showMessageDialog((JFrame) view, "Machine move error: " + e.getMessage(),
-          "Invalid Move", JOptionPane.ERROR_MESSAGE);
+      message = "Machine move error: " + e.getMessage();
+      failed = true;
       game.increaseConsecutivePass();
       game.switchCurrentPlayer();
     } finally {
-      isTakingTurn = false;
+      game.commitTransaction();
+    }
+    AsyncEventLogger.getDefault().log(message);
+    if (failed && view instanceof JFrame) {
+      JOptionPane.showMessageDialog((JFrame) view, message, "Invalid Move",
+          JOptionPane.ERROR_MESSAGE);
     }
   }
 
@@ -92,6 +215,24 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
     }
   }
 
+  /**
+   * Called with a description of a model change. Lets the view update only what changed, and
+   * starts pondering when the opponent's turn begins.
+   *
+   * @param event the change that occurred
+   */
+  @Override
+  public void onModelEvent(ModelEvent event) {
+    if (view != null) {
+      view.refreshView(event);
+    }
+    if ((event.getType() == ModelEvent.Type.TURN_SWITCHED
+        || event.getType() == ModelEvent.Type.STATE_CHANGED)
+        && game.getCurrentPlayer().getRole() != role) {
+      startPondering();
+    }
+  }
+
   /**
    * Sets the view for this controller to interact with.
    *
@@ -100,6 +241,14 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
   @Override
   public void setView(GUIView view) {
     this.view = view;
+    if (view instanceof Window) {
+      ((Window) view).addWindowListener(new WindowAdapter() {
+        @Override
+        public void windowClosing(WindowEvent e) {
+          cancelTurn();
+        }
+      });
+    }
   }
 
   /**
@@ -133,6 +282,8 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
     int cardIdx = game.getSelectedCardIndex();
 
     if (cardIdx != -1 && cell[0] != -1 && cell[1] != -1) {
+      String error = null;
+      game.beginTransaction();
       try {
         game.placeCard(cell[0], cell[1], cardIdx);
         game.setSelectedCardIndex(-1);
@@ -140,10 +291,15 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
         game.resetConsecutivePass();
         game.switchCurrentPlayer();
       } catch (Exception e) {
-        JOptionPane.showMessageDialog((JFrame) view, "AI Move Error: " + e.getMessage(),
-            "Invalid Move", JOptionPane.ERROR_MESSAGE);
+        error = e.getMessage();
         game.setSelectedCardIndex(-1);
         game.setSelectedCellCoordinate(-1, -1);
+      } finally {
+        game.commitTransaction();
+      }
+      if (error != null) {
+        JOptionPane.showMessageDialog((JFrame) view, "AI Move Error: " + error,
+            "Invalid Move", JOptionPane.ERROR_MESSAGE);
       }
     }
   }
@@ -153,9 +309,120 @@ public class MachineGUIController extends QueensBloodGUIController implements Pl
    */
   @Override
   public void onPassTurn() {
-    game.increaseConsecutivePass();
-    game.setSelectedCardIndex(-1);
-    game.setSelectedCellCoordinate(-1, -1);
-    game.switchCurrentPlayer();
+    game.beginTransaction();
+    try {
+      game.increaseConsecutivePass();
+      game.setSelectedCardIndex(-1);
+      game.setSelectedCellCoordinate(-1, -1);
+      game.switchCurrentPlayer();
+    } finally {
+      game.commitTransaction();
+    }
+  }
+
+  /**
+   * Searches for a move on a background thread. Every strategy of the pool is wrapped so that the
+   * move it computes while the selector evaluates it is published as progress and remembered; the
+   * selected strategy's move is then taken from that record instead of being searched again.
+   * Cooperative strategies are handed the worker's token, so cancelling the turn also stops a
+   * search in progress.
+   */
+  private final class AiTurnWorker extends SwingWorker<Move, AiTurnWorker.Progress> {
+
+    private final ReadonlyGame<Card> position;
+    private final Future<?> pondering;
+    private final CancellationToken token;
+
+    private AiTurnWorker(ReadonlyGame<Card> position, Future<?> pondering) {
+      this.position = position;
+      this.pondering = pondering;
+      this.token = CancellationToken.none();
+    }
+
+    @Override
+    protected Move doInBackground() throws Exception {
+      if (pondering != null) {
+        try {
+          pondering.get();
+        } catch (ExecutionException | CancellationException e) {
+          // Pondering logs its own failures; the search does not depend on it
+        }
+      }
+      Map<Strategy, Move> computed = new HashMap<>();
+      List<Strategy> reporting = new ArrayList<>();
+      for (Strategy strategy : strategyPool) {
+        reporting.add((readonlyGame, forWhom) -> {
+          Move move = search(strategy, readonlyGame, forWhom);
+          computed.put(strategy, move);
+          publish(new Progress(move, 100 * computed.size() / strategyPool.size()));
+          return move;
+        });
+      }
+      Strategy chosen = strategySelector.selectBestStrategy(reporting, position, role);
+      int chosenIdx = reporting.indexOf(chosen);
+      Strategy original = chosenIdx >= 0 ? strategyPool.get(chosenIdx) : chosen;
+      Move move = computed.get(original);
+      return move != null ? move : search(chosen, position, role);
+    }
+
+    private Move search(Strategy strategy, ReadonlyGame<Card> readonlyGame, Role forWhom)
+        throws IOException {
+      if (token.isCancelled() || isCancelled()) {
+        throw new CancellationException("Search cancelled.");
+      }
+      Move move = strategy instanceof CooperativeStrategy
+          ? ((CooperativeStrategy) strategy).makeMove(readonlyGame, forWhom, token)
+          : strategy.makeMove(readonlyGame, forWhom);
+      if (token.isCancelled()) {
+        throw new CancellationException("Search cancelled.");
+      }
+      return move;
+    }
+
+    @Override
+    protected void process(List<Progress> chunks) {
+      Progress latest = chunks.get(chunks.size() - 1);
+      if (view != null && !isCancelled()) {
+        view.showAiProgress(role, latest.candidate, latest.percent);
+      }
+    }
+
+    @Override
+    protected void done() {
+      worker = null;
+      if (isCancelled()) {
+        isTakingTurn = false;
+        return;
+      }
+      Move move = null;
+      Exception error = null;
+      try {
+        move = get();
+      } catch (ExecutionException e) {
+        error = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+      } catch (InterruptedException | CancellationException e) {
+        error = e;
+      }
+      try {
+        applyMove(move, error);
+      } finally {
+        isTakingTurn = false;
+      }
+    }
+
+    /**
+     * A progress report: the candidate move of the strategy that just finished and the share of
+     * strategies evaluated so far.
+     */
+    private final class Progress {
+
+      private final Move candidate;
+      private final int percent;
+
+      private Progress(Move candidate, int percent) {
+        this.candidate = candidate;
+        this.percent = percent;
+      }
+    }
   }
 }
@@ -1,5 +1,7 @@
 package cs3500.pawnsboard.controller;
 
+import cs3500.pawnsboard.model.ModelEvent;
+
 /**
  * Represents an observer in the Observer design pattern. Implementing classes should define how to
  * respond when the model is updated.
@@ -10,4 +12,15 @@ public interface ModelListener {
    * Called when the model has been updated and the listener should refresh its state/view.
    */
   void onModelUpdate();
+
+  /**
+   * Called with a description of what changed in the model. Listeners that can update only the
+   * affected part of their state should override this method; by default it falls back to a full
+   * {@link #onModelUpdate()}.
+   *
+   * @param event the change that occurred
+   */
+  default void onModelEvent(ModelEvent event) {
+    onModelUpdate();
+  }
 }
@@ -1,6 +1,7 @@
 package cs3500.pawnsboard.controller;
 
 import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.ModelEvent;
 import cs3500.pawnsboard.view.GUIView;
 import java.io.IOException;
 
@@ -34,12 +35,12 @@ public class QueensBloodGUIController implements GUIController {
     if (selectedCardIndex == newCardIndex) {
       // deselect
       game.setSelectedCardIndex(-1);
-      System.out.println(
+      AsyncEventLogger.getDefault().log(
           "Deselected card: " + newCardIndex + " (Player: " + game.getCurrentPlayer().getRole()
               + ")");
     } else {
       game.setSelectedCardIndex(newCardIndex);
-      System.out.println(
+      AsyncEventLogger.getDefault().log(
           "Selected card: " + newCardIndex + " (Player: " + game.getCurrentPlayer().getRole()
               + ")");
     }
@@ -59,10 +60,10 @@ public class QueensBloodGUIController implements GUIController {
     if (selectedCell[0] == row && selectedCell[1] == col) {
       // deselect
       game.setSelectedCellCoordinate(-1, -1);
-      System.out.println("DeSelected cell: (" + row + ", " + col + ")");
+      AsyncEventLogger.getDefault().log("DeSelected cell: (" + row + ", " + col + ")");
     } else {
       game.setSelectedCellCoordinate(row, col);
-      System.out.println("Selected cell: (" + row + ", " + col + ")");
+      AsyncEventLogger.getDefault().log("Selected cell: (" + row + ", " + col + ")");
     }
 
   }
@@ -72,13 +73,18 @@ public class QueensBloodGUIController implements GUIController {
    */
   @Override
   public void handlePassTurn() {
-    game.increaseConsecutivePass();
+    game.beginTransaction();
+    try {
+      game.increaseConsecutivePass();
 
-    System.out.println("Turn passed");
-    game.switchCurrentPlayer();
+      AsyncEventLogger.getDefault().log("Turn passed");
+      game.switchCurrentPlayer();
 
-    game.setSelectedCellCoordinate(-1, -1);
-    game.setSelectedCardIndex(-1);
+      game.setSelectedCellCoordinate(-1, -1);
+      game.setSelectedCardIndex(-1);
+    } finally {
+      game.commitTransaction();
+    }
   }
 
   /**
@@ -94,26 +100,29 @@ public class QueensBloodGUIController implements GUIController {
     int selectedCardIndex = game.getSelectedCardIndex();
 
     if (selectedCardIndex != -1 && selectedCellRow != -1 && selectedCellCol != -1) {
+      game.beginTransaction();
       try {
         game.placeCard(selectedCellRow, selectedCellCol, selectedCardIndex);
-        System.out.println(
+        AsyncEventLogger.getDefault().log(
             "Confirmed move: card " + selectedCardIndex + " at (" + selectedCellRow + ", "
                 + selectedCellCol + ")");
         game.setSelectedCellCoordinate(-1, -1);
         game.setSelectedCardIndex(-1);
         game.switchCurrentPlayer();
       } catch (IOException e) {
-        System.out.println("IO error occurs while placing card");
+        AsyncEventLogger.getDefault().log("IO error occurs while placing card", e);
         game.setSelectedCellCoordinate(-1, -1);
         game.setSelectedCardIndex(-1);
       } catch (IllegalArgumentException | IllegalStateException e) {
-        System.out.println(e.getMessage());
+        AsyncEventLogger.getDefault().log(e.getMessage());
         game.setSelectedCellCoordinate(-1, -1);
         game.setSelectedCardIndex(-1);
+      } finally {
+        game.commitTransaction();
       }
 
     } else {
-      System.out.println(
+      AsyncEventLogger.getDefault().log(
           "Invalid move: card " + selectedCardIndex + " at (" + selectedCellRow + ", "
               + selectedCellCol + ")");
     }
@@ -127,6 +136,16 @@ public class QueensBloodGUIController implements GUIController {
     this.view.refreshView();
   }
 
+  /**
+   * Called with a description of a model change. Lets the view update only what changed.
+   *
+   * @param event the change that occurred
+   */
+  @Override
+  public void onModelEvent(ModelEvent event) {
+    this.view.refreshView(event);
+  }
+
   /**
    * Sets the view for the controller to communicate with.
    *
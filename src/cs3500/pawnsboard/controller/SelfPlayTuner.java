@@ -0,0 +1,318 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.ControlBoardStrategy;
+import cs3500.pawnsboard.model.FillFirstStrategy;
+import cs3500.pawnsboard.model.LinearEvaluator;
+import cs3500.pawnsboard.model.MaximizeRowScoreStrategy;
+import cs3500.pawnsboard.model.MinimaxStrategy;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.OpeningBook;
+import cs3500.pawnsboard.model.QueensBloodGame;
+import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.Strategy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tunes the weights of a {@link LinearEvaluator} offline from the outcomes of self-play games.
+ *
+ * <p>Machine players drawn from the built-in strategies play headless games against each other,
+ * occasionally making a move of another strategy to vary the positions. The features of every
+ * position reached are recorded together with the winner of its game, and the weights are fitted
+ * by logistic regression, so an evaluation is an estimate of the log-odds of the player winning.
+ * Drawn games are not used.
+ *
+ * <p>Only {@link #FITTED_FEATURES} are fitted and the other weights are left at zero. The score
+ * margin, row sum margin and rows won move together, as do the pawn, owned cell and reach counts
+ * and the two hand features, so fitting all of them splits the weight of a group between its
+ * members with arbitrary and often opposite signs.
+ *
+ * <p>The games played can also be stored in a {@link GameArchive} for later analysis, and their
+ * opening moves collected into an {@link OpeningBook}.
+ */
+public class SelfPlayTuner {
+
+  private static final int ROWS = 3;
+  private static final int COLS = 5;
+  private static final int HAND_SIZE = 5;
+  private static final int DECK_COPIES = 2;
+  private static final double EXPLORATION = 0.1;
+  private static final int EPOCHS = 30;
+  private static final double LEARNING_RATE = 0.01;
+  private static final double REGULARIZATION = 1e-4;
+  private static final int BOOK_PLIES = 8;
+  private static final int BOOK_MIN_GAMES = 3;
+  private static final int BOOK_MOVES_PER_POSITION = 4;
+  private static final Set<LinearEvaluator.Feature> FITTED_FEATURES = EnumSet.of(
+      LinearEvaluator.Feature.SCORE_MARGIN, LinearEvaluator.Feature.OWNED_CELLS,
+      LinearEvaluator.Feature.REACH_3, LinearEvaluator.Feature.HAND_VALUE);
+
+  private final String deckPath;
+  private final Random random;
+  private final List<double[]> features;
+  private final List<Boolean> redWon;
+  private GameArchive.Writer archive;
+  private OpeningBook.Builder book;
+  private boolean recordingPositions = true;
+
+  /**
+   * Constructs a tuner playing with the given deck.
+   *
+   * @param deckPath the path to the deck configuration file used by both players
+   * @param seed     the seed of the card draws and random choices made during play and fitting
+   * @throws IllegalArgumentException if the deck path is null
+   */
+  public SelfPlayTuner(String deckPath, long seed) {
+    if (deckPath == null) {
+      throw new IllegalArgumentException("Deck path cannot be null.");
+    }
+    this.deckPath = deckPath;
+    this.random = new Random(seed);
+    this.features = new ArrayList<>();
+    this.redWon = new ArrayList<>();
+  }
+
+  /**
+   * Sets an archive that every game played from now on is added to.
+   *
+   * @param archive the archive writer, or null to stop archiving
+   */
+  public void setArchive(GameArchive.Writer archive) {
+    this.archive = archive;
+  }
+
+  /**
+   * Sets an opening book builder that the moves and result of every game played from now on are
+   * recorded in.
+   *
+   * @param book the book builder, or null to stop recording openings
+   */
+  public void setOpeningBook(OpeningBook.Builder book) {
+    this.book = book;
+  }
+
+  /**
+   * Sets whether the positions of the games played are recorded for fitting. Turning recording
+   * off keeps memory constant when games are only played to be archived.
+   *
+   * @param recordingPositions whether positions are recorded
+   */
+  public void setRecordingPositions(boolean recordingPositions) {
+    this.recordingPositions = recordingPositions;
+  }
+
+  /**
+   * Plays one game, records its positions if it has a winner, archives it if an archive is set
+   * and records its opening if a book builder is set.
+   *
+   * @return the winner of the game, or null if it was drawn
+   * @throws IOException if the deck cannot be read or the game cannot be archived
+   */
+  public Role playGame() throws IOException {
+    // Card draws come from the tuner's random source too, so a seed reproduces a whole run
+    QueensBloodGame game = new QueensBloodGame(ROWS, COLS, HAND_SIZE, random.nextLong());
+    List<Card> redDeck = new ArrayList<>();
+    List<Card> blueDeck = new ArrayList<>();
+    for (int i = 0; i < DECK_COPIES; i++) {
+      redDeck.addAll(new DeckLoader(deckPath).loadDeck(Role.RED));
+      blueDeck.addAll(new DeckLoader(deckPath).loadDeck(Role.BLUE));
+    }
+    game.startGame(redDeck, blueDeck);
+
+    Strategy[] pool = {new FillFirstStrategy(), new MaximizeRowScoreStrategy(),
+        new ControlBoardStrategy(), new MinimaxStrategy()};
+    Strategy red = pool[random.nextInt(pool.length)];
+    Strategy blue = pool[random.nextInt(pool.length)];
+    LinearEvaluator.Accumulator accumulator =
+        LinearEvaluator.scoreOnly().newAccumulator(ROWS, COLS, 1);
+    List<double[]> positions = new ArrayList<>();
+    List<Move> moves = new ArrayList<>();
+    if (book != null) {
+      book.beginGame();
+    }
+
+    while (!game.isGameOver()) {
+      Role role = game.getCurrentPlayer().getRole();
+      Strategy strategy = random.nextDouble() < EXPLORATION ? pool[random.nextInt(pool.length)]
+          : role == Role.RED ? red : blue;
+      Move move = strategy.makeMove(game, role);
+      moves.add(move);
+      if (book != null) {
+        if (move.isPass()) {
+          book.recordPass();
+        } else {
+          book.recordMove(game.getBoard(), role,
+              game.getCurrentPlayer().getHand().get(move.getCardIndex()), move.getRow(),
+              move.getCol());
+        }
+      }
+      if (move.isPass()) {
+        game.increaseConsecutivePass();
+      } else {
+        game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+        game.resetConsecutivePass();
+      }
+      game.switchCurrentPlayer();
+      if (!recordingPositions) {
+        continue;
+      }
+
+      accumulator.reset(game.getBoard(), game.getPlayer(Role.RED).getHand(),
+          game.getPlayer(Role.BLUE).getHand());
+      double[] position = new double[LinearEvaluator.FEATURE_COUNT];
+      accumulator.features(position);
+      positions.add(position);
+    }
+
+    Role winner = game.getWonPlayer();
+    if (archive != null) {
+      archive.addGame(game, moves, red.getClass().getSimpleName(),
+          blue.getClass().getSimpleName());
+    }
+    if (book != null) {
+      book.endGame(winner);
+    }
+    if (winner != null) {
+      for (double[] position : positions) {
+        features.add(position);
+        redWon.add(winner == Role.RED);
+      }
+    }
+    return winner;
+  }
+
+  /**
+   * Returns the number of positions recorded so far.
+   *
+   * @return the sample count
+   */
+  public int getSampleCount() {
+    return features.size();
+  }
+
+  /**
+   * Fits an evaluator to the recorded positions by logistic regression with stochastic gradient
+   * descent. Features are standardized while fitting and the weights are scaled back afterwards.
+   * Features outside {@link #FITTED_FEATURES} get a weight of zero.
+   *
+   * @return the fitted evaluator
+   * @throws IllegalStateException if no position was recorded
+   */
+  public LinearEvaluator fit() {
+    int n = features.size();
+    if (n == 0) {
+      throw new IllegalStateException("No positions were recorded.");
+    }
+    int k = LinearEvaluator.FEATURE_COUNT;
+    boolean[] fitted = new boolean[k];
+    for (LinearEvaluator.Feature feature : FITTED_FEATURES) {
+      fitted[feature.ordinal()] = true;
+    }
+    // Features are red minus blue and the evaluation has no bias, so only the spread is removed
+    double[] scale = new double[k];
+    for (double[] x : features) {
+      for (int f = 0; f < k; f++) {
+        scale[f] += x[f] * x[f];
+      }
+    }
+    for (int f = 0; f < k; f++) {
+      scale[f] = scale[f] == 0 || !fitted[f] ? 1 : Math.sqrt(scale[f] / n);
+    }
+
+    double[] weights = new double[k];
+    int[] order = new int[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    for (int epoch = 0; epoch < EPOCHS; epoch++) {
+      for (int i = n - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        int swap = order[i];
+        order[i] = order[j];
+        order[j] = swap;
+      }
+      for (int i : order) {
+        double[] x = features.get(i);
+        double logit = 0;
+        for (int f = 0; f < k; f++) {
+          if (fitted[f]) {
+            logit += weights[f] * x[f] / scale[f];
+          }
+        }
+        double error = (redWon.get(i) ? 1 : 0) - 1 / (1 + Math.exp(-logit));
+        for (int f = 0; f < k; f++) {
+          if (fitted[f]) {
+            weights[f] += LEARNING_RATE * (error * x[f] / scale[f] - REGULARIZATION * weights[f]);
+          }
+        }
+      }
+    }
+    for (int f = 0; f < k; f++) {
+      weights[f] /= scale[f];
+    }
+    return new LinearEvaluator(weights);
+  }
+
+  /**
+   * Runs self-play and writes the tuned weights, the games if an archive path is given and an
+   * opening book if a book path is given. With an output or archive path of "-" no weights are
+   * fitted or no games are archived.
+   *
+   * @param args command-line arguments [games] [deck-path] [output-path] [seed] [archive-path]
+   *             [book-path]
+   * @throws IOException if the deck cannot be read or the weights, games or book cannot be
+   *                     written
+   */
+  public static void main(String[] args) throws IOException {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    String deckPath = args.length > 1 ? args[1] : "docs/deck.config";
+    String output = args.length > 2 ? args[2] : "docs/eval.weights";
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+    boolean fitting = !"-".equals(output);
+
+    SelfPlayTuner tuner = new SelfPlayTuner(deckPath, seed);
+    tuner.setRecordingPositions(fitting);
+    GameArchive.Writer archive = args.length > 4 && !"-".equals(args[4])
+        ? GameArchive.create(Paths.get(args[4]), ROWS, COLS) : null;
+    tuner.setArchive(archive);
+    OpeningBook.Builder book = args.length > 5
+        ? new OpeningBook.Builder(BOOK_PLIES, BOOK_MIN_GAMES, BOOK_MOVES_PER_POSITION) : null;
+    tuner.setOpeningBook(book);
+    int[] results = new int[3];
+    try {
+      for (int i = 0; i < games; i++) {
+        Role winner = tuner.playGame();
+        results[winner == null ? 2 : winner.ordinal()]++;
+      }
+    } finally {
+      if (archive != null) {
+        archive.close();
+      }
+    }
+    System.out.println("Games: " + games + " (red " + results[Role.RED.ordinal()] + ", blue "
+        + results[Role.BLUE.ordinal()] + ", drawn " + results[2] + "), positions: "
+        + tuner.getSampleCount());
+    if (archive != null) {
+      System.out.println("Games archived to " + args[4]);
+    }
+    if (book != null) {
+      int entries = book.write(Paths.get(args[5]));
+      System.out.println("Opening book of " + entries + " moves written to " + args[5] + " ("
+          + book.getPositionCount() + " positions seen)");
+    }
+    if (!fitting) {
+      return;
+    }
+
+    LinearEvaluator evaluator = tuner.fit();
+    evaluator.save(Paths.get(output), "Tuned by SelfPlayTuner from " + games + " games ("
+        + tuner.getSampleCount() + " positions, seed " + seed + ")");
+    System.out.println("Weights written to " + output);
+  }
+}
@@ -0,0 +1,200 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Role;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A single-threaded event loop that runs turn requests one at a time, in the order they were
+ * made. A turn that is requested while another turn is running, for example from a model
+ * notification fired by that turn, is queued instead of being run recursively. Long machine versus
+ * machine games therefore run in a loop with a constant stack depth.
+ *
+ * <p>The loop runs on the thread that submits a request while the scheduler is idle, which in the
+ * GUI is the Swing event thread. At most one request per role is pending at any time, and the
+ * queue never holds more than the configured number of requests.
+ *
+ * <p>The scheduler records the number of turns completed and how long they took. A turn is timed
+ * from the moment it is run until {@link #completeTurn} is called for its role, so a machine turn
+ * that searches on a background worker is timed until its move is applied, not only until the
+ * worker is started.
+ */
+public class TurnScheduler {
+
+  private final int maxQueueDepth;
+  private final Deque<TurnRequest> queue;
+  private final Map<Role, Long> turnStarts;
+  private boolean running;
+  private long turnCount;
+  private long rejectedCount;
+  private long totalTurnNanos;
+  private long maxTurnNanos;
+  private long lastTurnNanos;
+
+  /**
+   * Constructs a scheduler with the given queue bound.
+   *
+   * @param maxQueueDepth the maximum number of pending turn requests
+   * @throws IllegalArgumentException if the bound is not positive
+   */
+  public TurnScheduler(int maxQueueDepth) {
+    if (maxQueueDepth <= 0) {
+      throw new IllegalArgumentException("Queue depth must be positive.");
+    }
+    this.maxQueueDepth = maxQueueDepth;
+    this.queue = new ArrayDeque<>();
+    this.turnStarts = new EnumMap<>(Role.class);
+  }
+
+  /**
+   * Requests a turn for the given role. If no turn is running, the request runs immediately on
+   * the calling thread, followed by every request queued while it ran. Otherwise the request is
+   * queued and this method returns at once.
+   *
+   * @param role the role whose turn is requested
+   * @param turn the work to run for the turn
+   * @return true if the request was run or queued, false if it duplicated a pending request or the
+   *         queue was full
+   * @throws IllegalArgumentException if the role or the turn is null
+   */
+  public boolean requestTurn(Role role, Runnable turn) {
+    if (role == null || turn == null) {
+      throw new IllegalArgumentException("Role and turn cannot be null.");
+    }
+    synchronized (this) {
+      for (TurnRequest pending : queue) {
+        if (pending.role == role) {
+          return false;
+        }
+      }
+      if (queue.size() >= maxQueueDepth) {
+        rejectedCount++;
+        return false;
+      }
+      queue.addLast(new TurnRequest(role, turn));
+      if (running) {
+        return true;
+      }
+      running = true;
+    }
+    drain();
+    return true;
+  }
+
+  private void drain() {
+    while (true) {
+      TurnRequest next;
+      synchronized (this) {
+        next = queue.pollFirst();
+        if (next == null) {
+          running = false;
+          return;
+        }
+      }
+      synchronized (this) {
+        turnStarts.put(next.role, System.nanoTime());
+      }
+      try {
+        next.turn.run();
+      } catch (RuntimeException e) {
+        synchronized (this) {
+          turnStarts.remove(next.role);
+        }
+        AsyncEventLogger.getDefault().log(
+            "Turn for " + next.role + " failed: " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Records the end of the turn last run for the given role, for example when the game hands the
+   * turn to the other player. Does nothing if no turn of the role is in progress.
+   *
+   * @param role the role whose turn ended
+   * @throws IllegalArgumentException if the role is null
+   */
+  public synchronized void completeTurn(Role role) {
+    if (role == null) {
+      throw new IllegalArgumentException("Role cannot be null.");
+    }
+    Long start = turnStarts.remove(role);
+    if (start == null) {
+      return;
+    }
+    long nanos = System.nanoTime() - start;
+    turnCount++;
+    totalTurnNanos += nanos;
+    lastTurnNanos = nanos;
+    maxTurnNanos = Math.max(maxTurnNanos, nanos);
+  }
+
+  /**
+   * Returns the number of pending turn requests.
+   *
+   * @return the queue depth
+   */
+  public synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  /**
+   * Returns the number of turns completed so far.
+   *
+   * @return the turn count
+   */
+  public synchronized long getTurnCount() {
+    return turnCount;
+  }
+
+  /**
+   * Returns the number of requests rejected because the queue was full.
+   *
+   * @return the rejected request count
+   */
+  public synchronized long getRejectedCount() {
+    return rejectedCount;
+  }
+
+  /**
+   * Returns the duration of the most recent turn.
+   *
+   * @return the last turn duration in nanoseconds
+   */
+  public synchronized long getLastTurnNanos() {
+    return lastTurnNanos;
+  }
+
+  /**
+   * Returns the duration of the longest turn.
+   *
+   * @return the maximum turn duration in nanoseconds
+   */
+  public synchronized long getMaxTurnNanos() {
+    return maxTurnNanos;
+  }
+
+  /**
+   * Returns the average duration of a turn.
+   *
+   * @return the average turn duration in nanoseconds, or 0 if no turn ran
+   */
+  public synchronized long getAverageTurnNanos() {
+    return turnCount == 0 ? 0 : totalTurnNanos / turnCount;
+  }
+
+  /**
+   * A pending turn for one role.
+   */
+  private static final class TurnRequest {
+
+    private final Role role;
+    private final Runnable turn;
+
+    private TurnRequest(Role role, Runnable turn) {
+      this.role = role;
+      this.turn = turn;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package cs3500.pawnsboard.model;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A strategy that computes its move asynchronously. The returned future completes with the chosen
+ * move once the search finishes or the token's deadline passes, whichever comes first.
+ */
+public interface AsyncStrategy {
+
+  /**
+   * Starts computing the next move for the given player.
+   *
+   * @param game    the current game state, including board, players, and hands
+   * @param forWhom the role (RED or BLUE) for which the move is being calculated
+   * @param token   the token carrying the deadline and cancellation of the search
+   * @return a future completed with the chosen move; cancelling the future cancels the token
+   */
+  CompletableFuture<Move> makeMoveAsync(ReadonlyGame<Card> game, Role forWhom,
+      CancellationToken token);
+}
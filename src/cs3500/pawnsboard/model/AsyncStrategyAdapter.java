@@ -0,0 +1,79 @@
+package cs3500.pawnsboard.model;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs any {@link Strategy} asynchronously on a given executor, so many games can share one pool
+ * of search threads and enforce the same per-move time limit on every strategy.
+ *
+ * <p>The strategy searches a {@link SnapshotGame} over the snapshot taken when the move is
+ * requested, never the live game, so the game may keep changing while the pool searches.
+ *
+ * <p>A {@link CooperativeStrategy} receives the token and returns its best move when the deadline
+ * passes. Once the future completes, for any reason, the token is cancelled, which also stops a
+ * cooperative search whose future was cancelled. Other strategies cannot be stopped: if one of them
+ * is still running shortly after the deadline, the future completes with a pass move, but the
+ * search keeps its pool thread until it returns and its late result is then discarded. Give such
+ * strategies a pool they may block, or no deadline.
+ */
+public class AsyncStrategyAdapter implements AsyncStrategy {
+
+  /**
+   * The time a strategy is given after its deadline to return its best move before a pass move is
+   * used instead.
+   */
+  public static final long GRACE_MILLIS = 50;
+
+  private final Strategy strategy;
+  private final Executor executor;
+
+  /**
+   * Constructs an adapter running the given strategy on the given executor.
+   *
+   * @param strategy the strategy to run
+   * @param executor the executor running the searches
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public AsyncStrategyAdapter(Strategy strategy, Executor executor) {
+    if (strategy == null || executor == null) {
+      throw new IllegalArgumentException("Strategy and executor cannot be null.");
+    }
+    this.strategy = strategy;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<Move> makeMoveAsync(ReadonlyGame<Card> game, Role forWhom,
+      CancellationToken token) {
+    if (game == null || forWhom == null || token == null) {
+      throw new IllegalArgumentException("Game, role and token cannot be null.");
+    }
+    // Taken on the calling thread, so the search never reads the live game from the pool
+    ReadonlyGame<Card> position = game instanceof SnapshotGame ? game
+        : new SnapshotGame(game.getSnapshot(), game.getHandSize());
+    CompletableFuture<Move> future = CompletableFuture.supplyAsync(() -> {
+      if (token.shouldStop()) {
+        return Move.passMove();
+      }
+      try {
+        if (strategy instanceof CooperativeStrategy) {
+          return ((CooperativeStrategy) strategy).makeMove(position, forWhom, token);
+        }
+        return strategy.makeMove(position, forWhom);
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+
+    if (token.hasDeadline()) {
+      long timeoutMillis = TimeUnit.NANOSECONDS.toMillis(token.remainingNanos()) + GRACE_MILLIS;
+      future = future.completeOnTimeout(Move.passMove(), timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    future.whenComplete((move, error) -> token.cancel());
+    return future;
+  }
+}
@@ -101,7 +101,7 @@ public interface Board<C extends Card> {
    *
    * @return A new Board object that contains the same character as this Board object
    */
-  Board clone();
+  Board<C> clone();
 
   boolean isLegalMove(Player<Card> player, int cardIdx, int row, int col);
 }
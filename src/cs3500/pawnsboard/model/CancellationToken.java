@@ -0,0 +1,95 @@
+package cs3500.pawnsboard.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signals to a running computation that it should stop, either because its deadline passed or
+ * because it was cancelled explicitly. Computations poll the token; the token never interrupts a
+ * thread by itself.
+ *
+ * <p>Invariants:
+ * - Once cancelled, a token stays cancelled. - A token without a deadline only stops when it is
+ * cancelled.
+ */
+public final class CancellationToken {
+
+  private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  private final long deadlineNanos;
+  private volatile boolean cancelled;
+
+  private CancellationToken(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * Creates a token that only stops when it is cancelled.
+   *
+   * @return a new token without a deadline
+   */
+  public static CancellationToken none() {
+    return new CancellationToken(NO_DEADLINE);
+  }
+
+  /**
+   * Creates a token whose deadline is the given amount of time from now.
+   *
+   * @param timeout the time allowed
+   * @param unit    the unit of the timeout
+   * @return a new token with a deadline
+   * @throws IllegalArgumentException if the timeout is negative or the unit is null
+   */
+  public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+    if (timeout < 0 || unit == null) {
+      throw new IllegalArgumentException("Timeout must be non-negative with a unit.");
+    }
+    return new CancellationToken(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  /**
+   * Cancels the computation observing this token.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Determines if this token was cancelled explicitly.
+   *
+   * @return true if {@link #cancel()} was called, false otherwise
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Determines if this token has a deadline.
+   *
+   * @return true if the token has a deadline, false otherwise
+   */
+  public boolean hasDeadline() {
+    return deadlineNanos != NO_DEADLINE;
+  }
+
+  /**
+   * Returns the time left before the deadline.
+   *
+   * @return the remaining time in nanoseconds, 0 if the deadline passed, or
+   *         {@link Long#MAX_VALUE} if the token has no deadline
+   */
+  public long remainingNanos() {
+    if (!hasDeadline()) {
+      return Long.MAX_VALUE;
+    }
+    return Math.max(0, deadlineNanos - System.nanoTime());
+  }
+
+  /**
+   * Determines if the computation observing this token should stop and return its best result.
+   *
+   * @return true if the token was cancelled or its deadline passed, false otherwise
+   */
+  public boolean shouldStop() {
+    return cancelled || (hasDeadline() && deadlineNanos - System.nanoTime() <= 0);
+  }
+}
@@ -0,0 +1,324 @@
+package cs3500.pawnsboard.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A process-wide catalog that interns every distinct card definition once and gives it a small
+ * integer id. A definition is a name, cost, value and influence grid as written for RED; the
+ * catalog holds one shared, immutable {@link QueensBloodCard} per definition and role, together
+ * with the influence mask, the influence kernel and the hash of that card. Decks, hands and boards
+ * can therefore refer to cards by id, and every game in the process shares the same card objects.
+ *
+ * <p>Invariants:
+ * - Ids are dense, start at 0 and are never reused or reassigned. - The entry of an id never
+ * changes once it has been interned. - Every card handed out has the definition of its id and is
+ * owned by the role it was requested for.
+ */
+public final class CardCatalog {
+
+  private static final int GRID_SIZE = 5;
+  private static final int CENTER = GRID_SIZE / 2;
+  private static final CardCatalog INSTANCE = new CardCatalog();
+
+  private final Map<Definition, Integer> ids;
+  private volatile Entry[] entries;
+  private volatile Map<Card, Long> sharedHashes;
+  private int size;
+
+  private CardCatalog() {
+    this.ids = new HashMap<>();
+    this.entries = new Entry[16];
+    this.sharedHashes = new IdentityHashMap<>();
+  }
+
+  /**
+   * Returns the catalog shared by the whole process.
+   *
+   * @return the card catalog
+   */
+  public static CardCatalog getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Interns a card definition.
+   *
+   * @param name  the name of the card
+   * @param cost  the cost of the card
+   * @param value the value of the card
+   * @param mask  the influence mask as seen by RED: bit {@code 5 * i + j} is set if row {@code i}
+   *              and column {@code j} of the influence grid is influenced
+   * @return the id of the definition
+   * @throws IllegalArgumentException if the name is null, the cost or value is negative, or the
+   *                                  mask covers the center or more than 25 cells
+   */
+  public int intern(String name, int cost, int value, int mask) {
+    if (name == null) {
+      throw new IllegalArgumentException("Name cannot be null.");
+    }
+    if (cost < 0 || value < 0) {
+      throw new IllegalArgumentException("Cost and value cannot be negative.");
+    }
+    if ((mask >>> (GRID_SIZE * GRID_SIZE)) != 0 || (mask & bit(CENTER, CENTER)) != 0) {
+      throw new IllegalArgumentException("Invalid influence mask.");
+    }
+    Definition definition = new Definition(name, cost, value, mask);
+    synchronized (this) {
+      Integer id = ids.get(definition);
+      if (id != null) {
+        return id;
+      }
+      Entry entry = new Entry(definition);
+      Entry[] current = entries;
+      if (size == current.length) {
+        current = Arrays.copyOf(current, 2 * size);
+      }
+      current[size] = entry;
+      ids.put(definition, size);
+      // Interning is rare, so the hashes are copied on write and read without locking
+      Map<Card, Long> hashes = new IdentityHashMap<>(sharedHashes);
+      for (Role role : Role.values()) {
+        hashes.put(entry.cards[role.ordinal()], entry.hashes[role.ordinal()]);
+      }
+      // Publishing the array after the entry is stored makes the entry visible to readers
+      entries = current;
+      sharedHashes = hashes;
+      return size++;
+    }
+  }
+
+  /**
+   * Interns the definition of an existing card.
+   *
+   * @param card the card
+   * @return the id of its definition
+   * @throws IllegalArgumentException if the card is null or has no owner
+   */
+  public int idOf(Card card) {
+    if (card == null || card.getOwner() == null) {
+      throw new IllegalArgumentException("Card and its owner cannot be null.");
+    }
+    int mask = PositionHash.influenceMask(card);
+    return intern(card.getName(), card.getCost(), card.getValue(),
+        card.getOwner() == Role.BLUE ? mirror(mask) : mask);
+  }
+
+  /**
+   * Returns the number of interned definitions.
+   *
+   * @return the catalog size
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns the shared card of a definition for the given role.
+   *
+   * @param id   the id of the definition
+   * @param role the owner of the card
+   * @return the shared card instance
+   * @throws IllegalArgumentException if the id is unknown or the role is null
+   */
+  public Card getCard(int id, Role role) {
+    return entry(id).cards[roleIndex(role)];
+  }
+
+  /**
+   * Returns the name of a definition.
+   *
+   * @param id the id of the definition
+   * @return the card name
+   * @throws IllegalArgumentException if the id is unknown
+   */
+  public String getName(int id) {
+    return entry(id).definition.name;
+  }
+
+  /**
+   * Returns the cost of a definition.
+   *
+   * @param id the id of the definition
+   * @return the card cost
+   * @throws IllegalArgumentException if the id is unknown
+   */
+  public int getCost(int id) {
+    return entry(id).definition.cost;
+  }
+
+  /**
+   * Returns the value of a definition.
+   *
+   * @param id the id of the definition
+   * @return the card value
+   * @throws IllegalArgumentException if the id is unknown
+   */
+  public int getValue(int id) {
+    return entry(id).definition.value;
+  }
+
+  /**
+   * Returns the influence mask of a definition as played by the given role, in the layout of
+   * {@link PositionHash#influenceMask(Card)}.
+   *
+   * @param id   the id of the definition
+   * @param role the owner of the card
+   * @return the 25-bit influence mask
+   * @throws IllegalArgumentException if the id is unknown or the role is null
+   */
+  public int getMask(int id, Role role) {
+    return entry(id).masks[roleIndex(role)];
+  }
+
+  /**
+   * Returns the influence kernel of a definition as played by the given role: the row and column
+   * offsets, relative to the card, of every influenced cell.
+   *
+   * @param id   the id of the definition
+   * @param role the owner of the card
+   * @return a new array of [row offset, col offset] pairs, flattened
+   * @throws IllegalArgumentException if the id is unknown or the role is null
+   */
+  public int[] getKernel(int id, Role role) {
+    return entry(id).kernels[roleIndex(role)].clone();
+  }
+
+  /**
+   * Returns the hash of the card of a definition for the given role, equal to
+   * {@link PositionHash#cardHash(Card)} of that card.
+   *
+   * @param id   the id of the definition
+   * @param role the owner of the card
+   * @return the card hash
+   * @throws IllegalArgumentException if the id is unknown or the role is null
+   */
+  public long getHash(int id, Role role) {
+    return entry(id).hashes[roleIndex(role)];
+  }
+
+  /**
+   * Returns the hash of a card if it is one of the shared cards handed out by this catalog.
+   * Cards are looked up by identity, so nothing is hashed or allocated.
+   *
+   * @param card the card
+   * @return the card hash, or null if the card is not a shared card of this catalog
+   */
+  Long sharedHash(Card card) {
+    return sharedHashes.get(card);
+  }
+
+  private Entry entry(int id) {
+    Entry[] current = entries;
+    Entry entry = id >= 0 && id < current.length ? current[id] : null;
+    if (entry == null) {
+      throw new IllegalArgumentException("Unknown card id: " + id);
+    }
+    return entry;
+  }
+
+  private static int roleIndex(Role role) {
+    if (role == null) {
+      throw new IllegalArgumentException("Role cannot be null.");
+    }
+    return role.ordinal();
+  }
+
+  private static int bit(int row, int col) {
+    return 1 << (GRID_SIZE * row + col);
+  }
+
+  private static int mirror(int mask) {
+    int mirrored = 0;
+    for (int i = 0; i < GRID_SIZE; i++) {
+      for (int j = 0; j < GRID_SIZE; j++) {
+        if ((mask & bit(i, j)) != 0) {
+          mirrored |= bit(i, GRID_SIZE - 1 - j);
+        }
+      }
+    }
+    return mirrored;
+  }
+
+  /**
+   * The identity of a card definition.
+   */
+  private static final class Definition {
+
+    private final String name;
+    private final int cost;
+    private final int value;
+    private final int mask;
+
+    private Definition(String name, int cost, int value, int mask) {
+      this.name = name;
+      this.cost = cost;
+      this.value = value;
+      this.mask = mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Definition)) {
+        return false;
+      }
+      Definition other = (Definition) o;
+      return cost == other.cost && value == other.value && mask == other.mask
+          && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return ((name.hashCode() * 31 + cost) * 31 + value) * 31 + mask;
+    }
+  }
+
+  /**
+   * A definition with its precomputed cards, masks, kernels and hashes, indexed by role ordinal.
+   */
+  private static final class Entry {
+
+    private final Definition definition;
+    private final Card[] cards;
+    private final int[] masks;
+    private final int[][] kernels;
+    private final long[] hashes;
+
+    private Entry(Definition definition) {
+      this.definition = definition;
+      Role[] roles = Role.values();
+      this.cards = new Card[roles.length];
+      this.masks = new int[roles.length];
+      this.kernels = new int[roles.length][];
+      this.hashes = new long[roles.length];
+      for (Role role : roles) {
+        char[][] grid = new char[GRID_SIZE][GRID_SIZE];
+        for (int i = 0; i < GRID_SIZE; i++) {
+          for (int j = 0; j < GRID_SIZE; j++) {
+            grid[i][j] = i == CENTER && j == CENTER ? 'C'
+                : (definition.mask & bit(i, j)) != 0 ? 'I' : 'X';
+          }
+        }
+        Card card = new QueensBloodCard(definition.name, role, definition.value, definition.cost,
+            grid);
+        int mask = PositionHash.influenceMask(card);
+        int[] kernel = new int[2 * Integer.bitCount(mask)];
+        int k = 0;
+        for (int i = 0; i < GRID_SIZE; i++) {
+          for (int j = 0; j < GRID_SIZE; j++) {
+            if ((mask & bit(i, j)) != 0) {
+              kernel[k++] = i - CENTER;
+              kernel[k++] = j - CENTER;
+            }
+          }
+        }
+        cards[role.ordinal()] = card;
+        masks[role.ordinal()] = mask;
+        kernels[role.ordinal()] = kernel;
+        hashes[role.ordinal()] = PositionHash.cardHash(card);
+      }
+    }
+  }
+}
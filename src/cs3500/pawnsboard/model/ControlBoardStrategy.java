@@ -11,11 +11,17 @@ import java.util.List;
  * card (using a DummyPlayer), and counts the number of cells owned by the current player. In the
  * event of a tie, the move with the uppermost-leftmost cell is chosen; if still tied, the leftmost
  * card is selected.
+ *
+ * <p>Cards identical to or dominated by another card of the hand (see {@link HandAnalysis}) are
+ * skipped, since they cannot control more cells than that card.
+ *
+ * <p>When the search is stopped by its cancellation token, the best move among the placements
+ * evaluated so far is returned.
  */
-public class ControlBoardStrategy implements Strategy {
+public class ControlBoardStrategy implements CooperativeStrategy {
 
   @Override
-  public Move makeMove(ReadonlyGame<Card> game, Role forWhom) {
+  public Move makeMove(ReadonlyGame<Card> game, Role forWhom, CancellationToken token) {
     Player<Card> currentPlayer = game.getCurrentPlayer();
     List<Card> hand = currentPlayer.getHand();
     Board<Card> board = game.getBoard();
@@ -23,8 +29,9 @@ public class ControlBoardStrategy implements Strategy {
     Move bestMove = null;
     int bestCount = -1;
 
-    // Iterate over each card in the player's hand.
-    for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+    // Iterate over each card in the player's hand, skipping duplicate and dominated cards.
+    search:
+    for (int cardIdx : HandAnalysis.of(hand).getUndominated()) {
       Card card = hand.get(cardIdx);
       for (int row = 0; row < board.getHeight(); row++) {
         for (int col = 0; col < board.getWidth(); col++) {
@@ -37,6 +44,9 @@ public class ControlBoardStrategy implements Strategy {
               && (board.getCellAt(row, col).getOwner() == null
               || board.getCellAt(row, col).getOwner().equals(forWhom))
               && board.getCellAt(row, col).getPawns() >= card.getCost()) {
+            if (token.shouldStop()) {
+              break search;
+            }
             int count = simulateMoveOwnership(board, card, row, col, forWhom);
             // Tie-breaking: higher count wins; if equal, choose move with lower row,
             // then lower col, then lower card index.
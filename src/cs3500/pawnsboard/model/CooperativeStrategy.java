@@ -0,0 +1,36 @@
+package cs3500.pawnsboard.model;
+
+import java.io.IOException;
+
+/**
+ * A strategy that polls a {@link CancellationToken} while it searches. When the token asks it to
+ * stop, the strategy returns the best move found so far instead of failing, so callers can enforce
+ * a time limit without losing the work already done.
+ */
+public interface CooperativeStrategy extends Strategy {
+
+  /**
+   * Determines the next move for the given player, stopping early when the token says so.
+   *
+   * @param game    the current game state, including board, players, and hands
+   * @param forWhom the role (RED or BLUE) for which the move is being calculated
+   * @param token   the token polled during the search
+   * @return the best move found before the token stopped the search, or a pass move if none was
+   *         found
+   * @throws IOException if any I/O error occurs during move simulation or evaluation
+   */
+  Move makeMove(ReadonlyGame<Card> game, Role forWhom, CancellationToken token) throws IOException;
+
+  /**
+   * Determines the next move for the given player with a search that is never stopped early.
+   *
+   * @param game    the current game state, including board, players, and hands
+   * @param forWhom the role (RED or BLUE) for which the move is being calculated
+   * @return the {@link Move} the strategy decides to make
+   * @throws IOException if any I/O error occurs during move simulation or evaluation
+   */
+  @Override
+  default Move makeMove(ReadonlyGame<Card> game, Role forWhom) throws IOException {
+    return makeMove(game, forWhom, CancellationToken.none());
+  }
+}
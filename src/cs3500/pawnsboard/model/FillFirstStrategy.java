@@ -21,13 +21,14 @@ public class FillFirstStrategy implements Strategy {
   @Override
   public Move makeMove(ReadonlyGame<Card> game, Role forWhom) {
 
-    // Get current player and board from the game model.
-    Board<Card> board = game.getBoard(); // a copy of the board, not the actual board from the game
+    // Get current player and board from the game model. The board is a read-only view of the
+    // latest snapshot, shared with the game rather than copied.
+    Board<Card> board = game.getBoard();
     Player<Card> currentPlayer = game.getCurrentPlayer().clone();
     List<Card> hand = currentPlayer.getHand();
 
-    // Iterate over each card in the player's hand.
-    for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+    // Iterate over each card in the player's hand, skipping copies of cards already tried.
+    for (int cardIdx : HandAnalysis.of(hand).getRepresentatives()) {
       Card card = hand.get(cardIdx);
       // Iterate over the board cells row-by-row (top down) and left-to-right.
       for (int row = 0; row < board.getHeight(); row++) {
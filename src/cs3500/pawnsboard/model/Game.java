@@ -53,4 +53,21 @@ public interface Game<C extends Card> extends ReadonlyGame<C> {
    */
   void increaseConsecutivePass();
 
+  /**
+   * Starts a transaction on the calling thread. Until the matching {@link #commitTransaction()},
+   * listeners are not notified of the changes this thread makes; they are delivered as one
+   * coalesced event on commit. Transactions may be nested, in which case only the outermost
+   * commit notifies.
+   */
+  void beginTransaction();
+
+  /**
+   * Commits the innermost transaction open on the calling thread. When the outermost transaction
+   * is committed, the events deferred since it began are coalesced and delivered to listeners
+   * once.
+   *
+   * @throws IllegalStateException if the calling thread has no transaction open
+   */
+  void commitTransaction();
+
 }
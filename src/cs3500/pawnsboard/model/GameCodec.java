@@ -0,0 +1,250 @@
+package cs3500.pawnsboard.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves started games to a compact binary form and restores them into live games. A saved game
+ * holds every cell of the board, both players' hands and remaining decks, the state of both
+ * players' random draws, the current player and the number of consecutive passes, so a restored
+ * game continues exactly as the saved one would have. Selections and listeners are not saved.
+ *
+ * <p>A saved game holds, in order:
+ * - a header: magic and format version, board dimensions, hand size, current player and
+ * consecutive passes. - a table of the distinct cards in the game, each as name, cost, value and
+ * influence mask as seen by RED. - one byte per cell for its owner, pawns and card owner, followed
+ * by the card's table index if it has one. - for each player, the random state, the original
+ * deck size, and the table indexes of the cards in hand and in the deck.
+ *
+ * <p>Every field is written in a fixed number of bytes, so a game with a value that does not fit
+ * its field, such as a card value above 65535, cannot be saved.
+ */
+public final class GameCodec {
+
+  private static final int MAGIC = 0x50424753;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HAS_CARD = 1 << 4;
+  private static final int BLUE_CARD = 1 << 5;
+  private static final int MAX_PAWNS = 3;
+  private static final int MAX_BYTE = 0xFF;
+  private static final int MAX_SHORT = 0xFFFF;
+
+  private GameCodec() {
+  }
+
+  /**
+   * Saves a started game.
+   *
+   * @param game the game to save
+   * @return the saved game
+   * @throws IllegalArgumentException if the game is null, its players are not
+   *                                  {@link QueensBloodPlayer}s, or one of its values does not
+   *                                  fit its field
+   * @throws IllegalStateException    if the game has not started
+   */
+  public static byte[] encode(QueensBloodGame game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null.");
+    }
+    return game.whileLocked(() -> {
+      GameSnapshot snapshot = game.getSnapshot();
+      QueensBloodPlayer red = asQueensBloodPlayer(game.livePlayer(Role.RED));
+      QueensBloodPlayer blue = asQueensBloodPlayer(game.livePlayer(Role.BLUE));
+      Board<Card> board = snapshot.getBoard();
+      CardCatalog catalog = CardCatalog.getInstance();
+      Map<Integer, Integer> tableIndexes = new HashMap<>();
+      List<Integer> table = new ArrayList<>();
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+      try (DataOutputStream out = new DataOutputStream(bytes)) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        for (int r = 0; r < board.getHeight(); r++) {
+          for (int c = 0; c < board.getWidth(); c++) {
+            Cell<Card> cell = board.getCellAt(r, c);
+            Card card = cell.getCard();
+            int code = ownerCode(cell.getOwner()) | checked("Pawn count", cell.getPawns(),
+                MAX_PAWNS) << 2;
+            if (card != null) {
+              code |= HAS_CARD | (card.getOwner() == Role.BLUE ? BLUE_CARD : 0);
+            }
+            bodyOut.writeByte(code);
+            if (card != null) {
+              bodyOut.writeShort(tableIndex(catalog, card, tableIndexes, table));
+            }
+          }
+        }
+        for (QueensBloodPlayer player : List.of(red, blue)) {
+          bodyOut.writeLong(player.getRandomState());
+          bodyOut.writeShort(checked("Deck size", player.getOriginalDeckSize(), MAX_SHORT));
+          writeCards(bodyOut, player.getHand(), catalog, tableIndexes, table);
+          writeCards(bodyOut, player.getDeck(), catalog, tableIndexes, table);
+        }
+        bodyOut.flush();
+
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeShort(checked("Board height", board.getHeight(), MAX_SHORT));
+        out.writeShort(checked("Board width", board.getWidth(), MAX_SHORT));
+        out.writeShort(checked("Hand size", game.getHandSize(), MAX_SHORT));
+        out.writeByte(snapshot.getCurrentRole().ordinal());
+        out.writeByte(checked("Consecutive passes", snapshot.getConsecutivePass(), MAX_BYTE));
+        out.writeShort(table.size());
+        for (int id : table) {
+          out.writeUTF(catalog.getName(id));
+          out.writeByte(checked("Card cost", catalog.getCost(id), MAX_BYTE));
+          out.writeShort(checked("Card value", catalog.getValue(id), MAX_SHORT));
+          out.writeInt(catalog.getMask(id, Role.RED));
+        }
+        body.writeTo(out);
+      } catch (UTFDataFormatException e) {
+        throw new IllegalArgumentException("Card name out of range.", e);
+      } catch (IOException e) {
+        throw new IllegalStateException("Writing to memory cannot fail.", e);
+      }
+      return bytes.toByteArray();
+    });
+  }
+
+  /**
+   * Restores a saved game into a new live game.
+   *
+   * @param saved the saved game
+   * @return the restored game
+   * @throws IOException if the saved game is corrupt or of an unknown format
+   * @throws IllegalArgumentException if the saved game is null
+   */
+  public static QueensBloodGame decode(byte[] saved) throws IOException {
+    if (saved == null) {
+      throw new IllegalArgumentException("Saved game cannot be null.");
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(saved))) {
+      if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+        throw new IOException("Invalid saved game: unknown format.");
+      }
+      int rows = in.readUnsignedShort();
+      int cols = in.readUnsignedShort();
+      int handSize = in.readUnsignedShort();
+      Role currentRole = Role.values()[in.readUnsignedByte()];
+      int consecutivePass = in.readUnsignedByte();
+
+      CardCatalog catalog = CardCatalog.getInstance();
+      int[] ids = new int[in.readUnsignedShort()];
+      for (int i = 0; i < ids.length; i++) {
+        String name = in.readUTF();
+        int cost = in.readUnsignedByte();
+        int value = in.readUnsignedShort();
+        ids[i] = catalog.intern(name, cost, value, in.readInt());
+      }
+
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      Cell<Card>[][] grid = new Cell[rows][cols];
+      for (int r = 0; r < rows; r++) {
+        for (int c = 0; c < cols; c++) {
+          int code = in.readUnsignedByte();
+          Card card = null;
+          if ((code & HAS_CARD) != 0) {
+            card = catalog.getCard(ids[in.readUnsignedShort()],
+                (code & BLUE_CARD) != 0 ? Role.BLUE : Role.RED);
+          }
+          grid[r][c] = new QueensBloodCell(ownerOf(code & 3), card, (code >> 2) & 3);
+        }
+      }
+      Board<Card> board = new QueensBloodBoard(rows, cols, grid);
+
+      Player<Card> red = readPlayer(in, ids, Role.RED, handSize);
+      Player<Card> blue = readPlayer(in, ids, Role.BLUE, handSize);
+      if (in.read() != -1) {
+        throw new IOException("Invalid saved game: unexpected trailing data.");
+      }
+      return new QueensBloodGame(board, red, blue, handSize, currentRole, consecutivePass);
+    } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Invalid saved game: " + e.getMessage(), e);
+    }
+  }
+
+  private static QueensBloodPlayer asQueensBloodPlayer(Player<Card> player) {
+    if (!(player instanceof QueensBloodPlayer)) {
+      throw new IllegalArgumentException("Only games of QueensBloodPlayers can be saved.");
+    }
+    return (QueensBloodPlayer) player;
+  }
+
+  private static int tableIndex(CardCatalog catalog, Card card, Map<Integer, Integer> indexes,
+      List<Integer> table) {
+    int id = catalog.idOf(card);
+    Integer index = indexes.get(id);
+    if (index == null) {
+      index = checked("Card count", table.size(), MAX_SHORT);
+      indexes.put(id, index);
+      table.add(id);
+    }
+    return index;
+  }
+
+  private static void writeCards(DataOutputStream out, List<Card> cards, CardCatalog catalog,
+      Map<Integer, Integer> indexes, List<Integer> table) throws IOException {
+    out.writeShort(checked("Card list size", cards.size(), MAX_SHORT));
+    for (Card card : cards) {
+      out.writeShort(tableIndex(catalog, card, indexes, table));
+    }
+  }
+
+  private static Player<Card> readPlayer(DataInputStream in, int[] ids, Role role, int handSize)
+      throws IOException {
+    long randomState = in.readLong();
+    int originalDeckSize = in.readUnsignedShort();
+    List<Card> hand = readCards(in, ids, role);
+    List<Card> deck = readCards(in, ids, role);
+    return new QueensBloodPlayer(role, handSize, hand, deck, originalDeckSize, randomState);
+  }
+
+  private static List<Card> readCards(DataInputStream in, int[] ids, Role role)
+      throws IOException {
+    CardCatalog catalog = CardCatalog.getInstance();
+    int size = in.readUnsignedShort();
+    List<Card> cards = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      cards.add(catalog.getCard(ids[in.readUnsignedShort()], role));
+    }
+    return cards;
+  }
+
+  /**
+   * Checks that a value fits a field of the saved game.
+   *
+   * @return the value
+   * @throws IllegalArgumentException if the value is negative or above the maximum
+   */
+  private static int checked(String field, int value, int max) {
+    if (value < 0 || value > max) {
+      throw new IllegalArgumentException(field + " out of range: " + value);
+    }
+    return value;
+  }
+
+  private static int ownerCode(Role owner) {
+    return owner == null ? 0 : owner == Role.RED ? 1 : 2;
+  }
+
+  private static Role ownerOf(int code) throws IOException {
+    switch (code) {
+      case 0:
+        return null;
+      case 1:
+        return Role.RED;
+      case 2:
+        return Role.BLUE;
+      default:
+        throw new IOException("Invalid saved game: unknown cell owner.");
+    }
+  }
+}
@@ -0,0 +1,340 @@
+package cs3500.pawnsboard.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds games from a {@link MoveJournal}. The journal is read once; any intermediate state can
+ * then be reconstructed by starting a game with the recorded decks and random states and applying
+ * the recorded changes directly, without running any strategy.
+ *
+ * <p>Every recorded draw and placed card is checked against the replayed game, so a journal that
+ * does not match the rules or the random draws of this version of the game is detected instead of
+ * silently producing a different game. A journal whose last record was cut short, for example by
+ * a crash while it was written, is read up to the last complete record.
+ */
+public final class GameReplayer {
+
+  private final int rows;
+  private final int cols;
+  private final int handSize;
+  private final long redState;
+  private final long blueState;
+  private final int[] redDeck;
+  private final int[] blueDeck;
+  private final int startDrawn;
+  private final List<int[]> records;
+  private final boolean truncated;
+
+  /**
+   * Reads a journal. The stream is read to its end but not closed.
+   *
+   * @param in the stream holding the journal
+   * @throws IOException if the journal cannot be read, is of an unknown format, or is corrupt
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public GameReplayer(InputStream in) throws IOException {
+    if (in == null) {
+      throw new IllegalArgumentException("Stream cannot be null.");
+    }
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    try {
+      if (data.readInt() != MoveJournal.MAGIC || data.readByte() != MoveJournal.FORMAT_VERSION) {
+        throw new IOException("Invalid journal: unknown format.");
+      }
+    } catch (EOFException e) {
+      throw new IOException("Invalid journal: missing header.", e);
+    }
+
+    List<Integer> cardIds = new ArrayList<>();
+    int[] start = null;
+    int[][] decks = new int[2][];
+    long[] states = new long[2];
+    List<int[]> read = new ArrayList<>();
+    boolean cut = false;
+    try {
+      while (true) {
+        int type = data.read();
+        if (type < 0) {
+          break;
+        }
+        if (type == MoveJournal.CARD) {
+          readCard(data, cardIds);
+        } else if (type == MoveJournal.START) {
+          if (start != null) {
+            throw new IOException("Invalid journal: more than one start record.");
+          }
+          int[] header = {data.readUnsignedShort(), data.readUnsignedShort(),
+              data.readUnsignedShort()};
+          states[0] = data.readLong();
+          states[1] = data.readLong();
+          decks[0] = readDeck(data, cardIds);
+          decks[1] = readDeck(data, cardIds);
+          int drawn = cardId(data.readShort(), cardIds);
+          start = new int[]{header[0], header[1], header[2], drawn};
+        } else if (start == null) {
+          throw new IOException("Invalid journal: change recorded before the start.");
+        } else {
+          read.add(readChange(type, data, cardIds));
+        }
+      }
+    } catch (EOFException e) {
+      cut = true;
+    }
+    if (start == null) {
+      throw new IOException("Invalid journal: missing start record.");
+    }
+    this.rows = start[0];
+    this.cols = start[1];
+    this.handSize = start[2];
+    this.startDrawn = start[3];
+    this.redState = states[0];
+    this.blueState = states[1];
+    this.redDeck = decks[0];
+    this.blueDeck = decks[1];
+    this.records = read;
+    this.truncated = cut;
+  }
+
+  /**
+   * Returns the number of changes recorded after the start of the game.
+   *
+   * @return the change count
+   */
+  public int getChangeCount() {
+    return records.size();
+  }
+
+  /**
+   * Returns the number of turn switches recorded.
+   *
+   * @return the turn count
+   */
+  public int getTurnCount() {
+    int turns = 0;
+    for (int[] record : records) {
+      if (record[0] == MoveJournal.SWITCH) {
+        turns++;
+      }
+    }
+    return turns;
+  }
+
+  /**
+   * Determines whether the last record of the journal was incomplete and ignored.
+   *
+   * @return true if the journal was cut short
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /**
+   * Rebuilds the game as it was after the given number of changes.
+   *
+   * @param changes the number of recorded changes to apply
+   * @return a new game in the recorded state
+   * @throws IllegalArgumentException if the number is negative or above the change count
+   * @throws IllegalStateException    if the replayed game departs from the journal
+   */
+  public QueensBloodGame replay(int changes) {
+    if (changes < 0 || changes > records.size()) {
+      throw new IllegalArgumentException("Change count out of range: " + changes);
+    }
+    QueensBloodGame game = new QueensBloodGame(rows, cols, handSize, redState, blueState);
+    game.startGame(deck(redDeck, Role.RED), deck(blueDeck, Role.BLUE));
+    List<Card> hand = game.getCurrentPlayer().getHand();
+    if (startDrawn >= 0 && (hand.isEmpty() || !isCard(hand.get(hand.size() - 1), startDrawn))) {
+      throw diverged(0, "a different card was drawn");
+    }
+    for (int i = 0; i < changes; i++) {
+      apply(game, records.get(i), i + 1);
+    }
+    return game;
+  }
+
+  /**
+   * Rebuilds the game as it was right after the given number of turn switches.
+   *
+   * @param turns the number of turn switches to replay
+   * @return a new game in the recorded state
+   * @throws IllegalArgumentException if the number is negative or above the turn count
+   * @throws IllegalStateException    if the replayed game departs from the journal
+   */
+  public QueensBloodGame replayTurns(int turns) {
+    if (turns < 0) {
+      throw new IllegalArgumentException("Turn count cannot be negative.");
+    }
+    int changes = 0;
+    int switches = 0;
+    while (switches < turns && changes < records.size()) {
+      if (records.get(changes++)[0] == MoveJournal.SWITCH) {
+        switches++;
+      }
+    }
+    if (switches < turns) {
+      throw new IllegalArgumentException("Turn count out of range: " + turns);
+    }
+    return replay(changes);
+  }
+
+  /**
+   * Rebuilds the game as it was after the last recorded change.
+   *
+   * @return a new game in the recorded state
+   * @throws IllegalStateException if the replayed game departs from the journal
+   */
+  public QueensBloodGame replayAll() {
+    return replay(records.size());
+  }
+
+  /**
+   * Applies journaled changes that follow a known state to a game in that state. The changes are
+   * read up to the end of the stream and must not include a header or start record; cards are
+   * defined by card records within the stream.
+   *
+   * @param game the game to change
+   * @param in   the stream holding the changes
+   * @throws IOException           if the changes cannot be read or are corrupt
+   * @throws IllegalStateException if the game departs from the changes
+   */
+  static void replayChanges(QueensBloodGame game, InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    List<Integer> cardIds = new ArrayList<>();
+    int index = 0;
+    try {
+      for (int type = data.read(); type >= 0; type = data.read()) {
+        if (type == MoveJournal.CARD) {
+          readCard(data, cardIds);
+        } else if (type == MoveJournal.START) {
+          throw new IOException("Invalid journal: unexpected start record.");
+        } else {
+          apply(game, readChange(type, data, cardIds), ++index);
+        }
+      }
+    } catch (EOFException e) {
+      throw new IOException("Invalid journal: incomplete record.", e);
+    }
+  }
+
+  private static void apply(QueensBloodGame game, int[] record, int index) {
+    switch (record[0]) {
+      case MoveJournal.PLACE: {
+        List<Card> hand = game.getCurrentPlayer().getHand();
+        if (record[1] >= hand.size() || !isCard(hand.get(record[1]), record[4])) {
+          throw diverged(index, "the placed card is not in the hand");
+        }
+        try {
+          game.placeCard(record[2], record[3], record[1]);
+        } catch (IOException e) {
+          throw new IllegalStateException("Replay failed at change " + index + ".", e);
+        }
+        break;
+      }
+      case MoveJournal.PASS:
+        game.increaseConsecutivePass();
+        break;
+      case MoveJournal.RESET_PASS:
+        game.resetConsecutivePass();
+        break;
+      case MoveJournal.SWITCH: {
+        Role next = game.getCurrentPlayer().getRole().getOpponent();
+        int before = game.getPlayer(next).getHand().size();
+        game.switchCurrentPlayer();
+        List<Card> hand = game.getCurrentPlayer().getHand();
+        boolean matches = record[1] < 0 ? hand.size() == before
+            : hand.size() == before + 1 && isCard(hand.get(before), record[1]);
+        if (!matches) {
+          throw diverged(index, "a different card was drawn");
+        }
+        break;
+      }
+      case MoveJournal.DRAW: {
+        Card drawn = game.drawNewCardForCurrentPlayer();
+        if (drawn == null ? record[1] >= 0 : !isCard(drawn, record[1])) {
+          throw diverged(index, "a different card was drawn");
+        }
+        break;
+      }
+      default:
+        throw new IllegalStateException("Unknown record type " + record[0] + ".");
+    }
+  }
+
+  private static boolean isCard(Card card, int id) {
+    return CardCatalog.getInstance().idOf(card) == id;
+  }
+
+  private static IllegalStateException diverged(int index, String reason) {
+    return new IllegalStateException("Replay departs from the journal at change " + index + ": "
+        + reason + ".");
+  }
+
+  private static List<Card> deck(int[] ids, Role role) {
+    CardCatalog catalog = CardCatalog.getInstance();
+    List<Card> deck = new ArrayList<>(ids.length);
+    for (int id : ids) {
+      deck.add(catalog.getCard(id, role));
+    }
+    return deck;
+  }
+
+  private static void readCard(DataInputStream data, List<Integer> cardIds) throws IOException {
+    int id = data.readUnsignedShort();
+    String name = data.readUTF();
+    int cost = data.readUnsignedByte();
+    int value = data.readUnsignedShort();
+    int mask = data.readInt();
+    if (id != cardIds.size()) {
+      throw new IOException("Invalid journal: card " + id + " defined out of order.");
+    }
+    try {
+      cardIds.add(CardCatalog.getInstance().intern(name, cost, value, mask));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid journal: " + e.getMessage(), e);
+    }
+  }
+
+  private static int[] readDeck(DataInputStream data, List<Integer> cardIds) throws IOException {
+    int[] deck = new int[data.readUnsignedShort()];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = cardId(data.readShort(), cardIds);
+    }
+    return deck;
+  }
+
+  private static int[] readChange(int type, DataInputStream data, List<Integer> cardIds)
+      throws IOException {
+    switch (type) {
+      case MoveJournal.PLACE:
+        return new int[]{type, data.readUnsignedByte(), data.readUnsignedShort(),
+            data.readUnsignedShort(), cardId(data.readShort(), cardIds)};
+      case MoveJournal.PASS:
+      case MoveJournal.RESET_PASS:
+        return new int[]{type};
+      case MoveJournal.SWITCH:
+      case MoveJournal.DRAW:
+        return new int[]{type, cardId(data.readShort(), cardIds)};
+      default:
+        throw new IOException("Invalid journal: unknown record type " + type + ".");
+    }
+  }
+
+  /**
+   * Maps a journal-local card id to a catalog id, keeping -1 for no card.
+   */
+  private static int cardId(int journalId, List<Integer> cardIds) throws IOException {
+    if (journalId == -1) {
+      return -1;
+    }
+    if (journalId < 0 || journalId >= cardIds.size()) {
+      throw new IOException("Invalid journal: undefined card " + journalId + ".");
+    }
+    return cardIds.get(journalId);
+  }
+}
@@ -0,0 +1,212 @@
+package cs3500.pawnsboard.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, versioned view of a game at the moment a change was committed. A new snapshot is
+ * published by {@link QueensBloodGame} after every committed change, so readers on any thread can
+ * observe a consistent board, both hands and the current player without locking the game.
+ *
+ * <p>Invariants:
+ * - Versions strictly increase between consecutive snapshots of the same game. - None of the
+ * state held by a snapshot is modified after construction; the board it holds is a private copy
+ * that is never handed to the live game.
+ */
+public final class GameSnapshot {
+
+  private final long version;
+  private final Board<Card> board;
+  private final Map<Role, List<Card>> hands;
+  private final Map<Role, Integer> deckSizes;
+  private final Role currentRole;
+  private final int consecutivePass;
+  private final int selectedCardIndex;
+  private final int selectedRow;
+  private final int selectedCol;
+  private final boolean gameOver;
+  private final Player<Card> red;
+  private final Player<Card> blue;
+
+  /**
+   * Constructs a snapshot. The caller hands over ownership of the board, which must not be
+   * modified afterwards.
+   *
+   * @param version           the version of the game state captured by this snapshot
+   * @param board             a read-only view over a private copy of the board
+   * @param redHand           the cards in the red player's hand
+   * @param blueHand          the cards in the blue player's hand
+   * @param redDeckSize       the number of cards left in the red player's deck
+   * @param blueDeckSize      the number of cards left in the blue player's deck
+   * @param currentRole       the role of the player whose turn it is
+   * @param consecutivePass   the number of consecutive passes
+   * @param selectedCardIndex the selected card index, or -1 if none
+   * @param selectedRow       the row of the selected cell, or -1 if none
+   * @param selectedCol       the column of the selected cell, or -1 if none
+   * @param gameOver          whether the game is over
+   */
+  GameSnapshot(long version, Board<Card> board, List<Card> redHand, List<Card> blueHand,
+      int redDeckSize, int blueDeckSize, Role currentRole, int consecutivePass,
+      int selectedCardIndex, int selectedRow, int selectedCol, boolean gameOver) {
+    this.version = version;
+    this.board = board;
+    this.hands = Map.of(Role.RED, List.copyOf(redHand), Role.BLUE, List.copyOf(blueHand));
+    this.deckSizes = Map.of(Role.RED, redDeckSize, Role.BLUE, blueDeckSize);
+    this.currentRole = currentRole;
+    this.consecutivePass = consecutivePass;
+    this.selectedCardIndex = selectedCardIndex;
+    this.selectedRow = selectedRow;
+    this.selectedCol = selectedCol;
+    this.gameOver = gameOver;
+    this.red = new SnapshotPlayer(Role.RED);
+    this.blue = new SnapshotPlayer(Role.BLUE);
+  }
+
+  /**
+   * Returns the version of the game state captured by this snapshot.
+   *
+   * @return the snapshot version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the board captured by this snapshot. The board is a {@link ReadonlyBoard} shared by
+   * every reader of the snapshot; clone it before simulating moves.
+   *
+   * @return the board at the time of the snapshot
+   */
+  public Board<Card> getBoard() {
+    return board;
+  }
+
+  /**
+   * Returns the hand of the given player.
+   *
+   * @param role the role of the player
+   * @return an unmodifiable list of the cards in the player's hand
+   */
+  public List<Card> getHand(Role role) {
+    return hands.get(role);
+  }
+
+  /**
+   * Returns an immutable view of the given player, exposing the hand and deck size captured by
+   * this snapshot.
+   *
+   * @param role the role of the player
+   * @return the player as of this snapshot
+   */
+  public Player<Card> getPlayer(Role role) {
+    return role == Role.RED ? red : blue;
+  }
+
+  /**
+   * Returns the number of cards left in the deck of the given player.
+   *
+   * @param role the role of the player
+   * @return the remaining deck size
+   */
+  public int getRemainingDeckSize(Role role) {
+    return deckSizes.get(role);
+  }
+
+  /**
+   * Returns the role of the player whose turn it is.
+   *
+   * @return the current role
+   */
+  public Role getCurrentRole() {
+    return currentRole;
+  }
+
+  /**
+   * Returns the number of consecutive passes.
+   *
+   * @return the consecutive pass count
+   */
+  public int getConsecutivePass() {
+    return consecutivePass;
+  }
+
+  /**
+   * Returns the selected card index, or -1 if none is selected.
+   *
+   * @return the selected card index
+   */
+  public int getSelectedCardIndex() {
+    return selectedCardIndex;
+  }
+
+  /**
+   * Returns the coordinates of the selected cell.
+   *
+   * @return a new int array of size 2: [row, col]
+   */
+  public int[] getSelectedCellCoordinate() {
+    return new int[]{selectedRow, selectedCol};
+  }
+
+  /**
+   * Determines if the game was over when this snapshot was taken.
+   *
+   * @return true if the game is over, false otherwise
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * A player of the snapshot, exposing its hand and deck size. Every method that would change the
+   * player throws {@link UnsupportedOperationException}.
+   */
+  private final class SnapshotPlayer implements Player<Card> {
+
+    private final Role role;
+
+    private SnapshotPlayer(Role role) {
+      this.role = role;
+    }
+
+    @Override
+    public void initializePlayer(int boardCapacity, List<Card> newDeck) {
+      throw new UnsupportedOperationException("Cannot initialize a player of a snapshot.");
+    }
+
+    @Override
+    public List<Card> getHand() {
+      return GameSnapshot.this.getHand(role);
+    }
+
+    @Override
+    public int getRemainingDeckSize() {
+      return GameSnapshot.this.getRemainingDeckSize(role);
+    }
+
+    @Override
+    public Role getRole() {
+      return role;
+    }
+
+    @Override
+    public Card drawNewCard(Board<Card> board) {
+      throw new UnsupportedOperationException("Cannot draw a card for a player of a snapshot.");
+    }
+
+    /**
+     * Returns this player, which never changes.
+     *
+     * @return this player
+     */
+    @Override
+    public Player<Card> clone() {
+      return this;
+    }
+
+    @Override
+    public String toString() {
+      return role.toString();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package cs3500.pawnsboard.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Groups the cards of a hand that play identically and finds the cards that are dominated by
+ * another card, so that move generators do not evaluate the same or an inferior placement twice.
+ *
+ * <p>Two cards are identical when they have the same cost, value and influence mask; their names
+ * do not matter. A card is dominated when another card of the hand has the same or a lower cost,
+ * the same or a higher value, and influences every cell the dominated card influences: wherever
+ * the dominated card can be placed, the other card can too, and it scores and spreads at least as
+ * much.
+ *
+ * <p>Invariants:
+ * - Every card of the hand belongs to exactly one group. - The representative of a group is its
+ * card with the lowest index, so tiebreakers that prefer low card indices are not affected by
+ * collapsing identical cards. - No representative is dominated by a card of its own group.
+ */
+public final class HandAnalysis {
+
+  private final int[] groupOf;
+  private final List<Integer> representatives;
+  private final List<Integer> undominated;
+
+  private HandAnalysis(int[] groupOf, List<Integer> representatives,
+      List<Integer> undominated) {
+    this.groupOf = groupOf;
+    this.representatives = representatives;
+    this.undominated = undominated;
+  }
+
+  /**
+   * Analyzes a hand.
+   *
+   * @param hand the cards of the hand
+   * @return the analysis of the hand
+   * @throws IllegalArgumentException if the hand is null
+   */
+  public static HandAnalysis of(List<Card> hand) {
+    if (hand == null) {
+      throw new IllegalArgumentException("Hand cannot be null.");
+    }
+    int size = hand.size();
+    int[] costs = new int[size];
+    int[] values = new int[size];
+    int[] masks = new int[size];
+    int[] groupOf = new int[size];
+    List<Integer> representatives = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Card card = hand.get(i);
+      costs[i] = card.getCost();
+      values[i] = card.getValue();
+      masks[i] = PositionHash.influenceMask(card);
+      groupOf[i] = -1;
+      for (int g = 0; g < representatives.size(); g++) {
+        int rep = representatives.get(g);
+        if (costs[rep] == costs[i] && values[rep] == values[i] && masks[rep] == masks[i]) {
+          groupOf[i] = g;
+          break;
+        }
+      }
+      if (groupOf[i] == -1) {
+        groupOf[i] = representatives.size();
+        representatives.add(i);
+      }
+    }
+
+    List<Integer> undominated = new ArrayList<>();
+    for (int candidate : representatives) {
+      boolean dominated = false;
+      for (int other : representatives) {
+        if (other != candidate && costs[other] <= costs[candidate]
+            && values[other] >= values[candidate]
+            && (masks[other] & masks[candidate]) == masks[candidate]) {
+          dominated = true;
+          break;
+        }
+      }
+      if (!dominated) {
+        undominated.add(candidate);
+      }
+    }
+    return new HandAnalysis(groupOf, Collections.unmodifiableList(representatives),
+        Collections.unmodifiableList(undominated));
+  }
+
+  /**
+   * Returns the index of one card per group of identical cards, in increasing order.
+   *
+   * @return the indices of the representatives of all groups
+   */
+  public List<Integer> getRepresentatives() {
+    return representatives;
+  }
+
+  /**
+   * Returns the representatives that are not dominated by any other card of the hand, in
+   * increasing order.
+   *
+   * @return the indices of the cards worth searching
+   */
+  public List<Integer> getUndominated() {
+    return undominated;
+  }
+
+  /**
+   * Returns the number of groups of identical cards.
+   *
+   * @return the group count
+   */
+  public int getGroupCount() {
+    return representatives.size();
+  }
+
+  /**
+   * Returns the group of a card.
+   *
+   * @param cardIdx the index of the card in the hand
+   * @return the group of the card, from 0 to the group count
+   * @throws IllegalArgumentException if the index is out of bounds
+   */
+  public int getGroupOf(int cardIdx) {
+    if (cardIdx < 0 || cardIdx >= groupOf.length) {
+      throw new IllegalArgumentException("Illegal card index: " + cardIdx);
+    }
+    return groupOf[cardIdx];
+  }
+
+  /**
+   * Determines if a card is pruned, either because it duplicates a card with a lower index or
+   * because another card dominates it.
+   *
+   * @param cardIdx the index of the card in the hand
+   * @return true if the card need not be searched, false otherwise
+   * @throws IllegalArgumentException if the index is out of bounds
+   */
+  public boolean isPruned(int cardIdx) {
+    return !undominated.contains(representatives.get(getGroupOf(cardIdx)))
+        || representatives.get(getGroupOf(cardIdx)) != cardIdx;
+  }
+}
@@ -0,0 +1,428 @@
+package cs3500.pawnsboard.model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A linear evaluation function over a fixed set of position features. The weights are immutable
+ * and can be loaded from, and saved to, a weights file; the features of a position are kept in an
+ * {@link Accumulator}, which a search updates incrementally as it makes and unmakes placements.
+ *
+ * <p>Every feature is measured as RED's value minus BLUE's, so the evaluation for BLUE is the
+ * negated evaluation for RED.
+ *
+ * <p>A weights file holds one {@code FEATURE weight} pair per line, where {@code FEATURE} is the
+ * name of a {@link Feature}; blank lines and lines starting with {@code #} are ignored, and
+ * features not listed keep a weight of 0.
+ */
+public final class LinearEvaluator {
+
+  /**
+   * The features of a position, each measured as RED's value minus BLUE's.
+   */
+  public enum Feature {
+    /**
+     * The score difference, as {@link Board#getScores()} computes it.
+     */
+    SCORE_MARGIN,
+    /**
+     * The total of card values on the board, whether or not the rows are won.
+     */
+    ROW_SUM_MARGIN,
+    /**
+     * The number of rows won.
+     */
+    ROWS_WON,
+    /**
+     * The number of pawns on owned cells.
+     */
+    PAWNS,
+    /**
+     * The number of owned cells, with or without a card.
+     */
+    OWNED_CELLS,
+    /**
+     * The number of owned empty cells where a card of cost 1 can be placed.
+     */
+    REACH_1,
+    /**
+     * The number of owned empty cells where a card of cost 2 can be placed.
+     */
+    REACH_2,
+    /**
+     * The number of owned empty cells where a card of cost 3 can be placed.
+     */
+    REACH_3,
+    /**
+     * The total value of the cards in hand.
+     */
+    HAND_VALUE,
+    /**
+     * The number of cards in hand.
+     */
+    HAND_SIZE
+  }
+
+  /**
+   * The number of features.
+   */
+  public static final int FEATURE_COUNT = Feature.values().length;
+
+  private static final Feature[] FEATURES = Feature.values();
+
+  private final double[] weights;
+
+  /**
+   * Constructs an evaluator with the given weights, indexed by feature ordinal.
+   *
+   * @param weights the weight of every feature
+   * @throws IllegalArgumentException if the weights are null or not one per feature
+   */
+  public LinearEvaluator(double[] weights) {
+    if (weights == null || weights.length != FEATURE_COUNT) {
+      throw new IllegalArgumentException("Expected " + FEATURE_COUNT + " weights.");
+    }
+    this.weights = weights.clone();
+  }
+
+  /**
+   * Creates an evaluator that only counts the score difference, which matches the raw score
+   * comparison used by the strategies.
+   *
+   * @return the default evaluator
+   */
+  public static LinearEvaluator scoreOnly() {
+    double[] weights = new double[FEATURE_COUNT];
+    weights[Feature.SCORE_MARGIN.ordinal()] = 1;
+    return new LinearEvaluator(weights);
+  }
+
+  /**
+   * Loads an evaluator from a weights file.
+   *
+   * @param path the weights file
+   * @return the evaluator with the loaded weights
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if a line names an unknown feature or has no valid weight
+   */
+  public static LinearEvaluator load(Path path) throws IOException {
+    double[] weights = new double[FEATURE_COUNT];
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] parts = line.split("\\s+");
+        if (parts.length != 2) {
+          throw new IllegalArgumentException("Invalid weight line: " + line);
+        }
+        try {
+          weights[Feature.valueOf(parts[0]).ordinal()] = Double.parseDouble(parts[1]);
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Invalid weight line: " + line);
+        }
+      }
+    }
+    return new LinearEvaluator(weights);
+  }
+
+  /**
+   * Saves the weights of this evaluator to a weights file.
+   *
+   * @param path   the weights file to write
+   * @param header a comment written at the top of the file, or null for none
+   * @throws IOException if the file cannot be written
+   */
+  public void save(Path path, String header) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      if (header != null) {
+        for (String line : header.split("\n")) {
+          writer.write("# " + line);
+          writer.newLine();
+        }
+      }
+      for (Feature feature : Feature.values()) {
+        writer.write(feature.name() + " " + weights[feature.ordinal()]);
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Returns the weight of a feature.
+   *
+   * @param feature the feature
+   * @return the weight of the feature
+   */
+  public double getWeight(Feature feature) {
+    return weights[feature.ordinal()];
+  }
+
+  /**
+   * Returns a copy of all weights, indexed by feature ordinal.
+   *
+   * @return the weights
+   */
+  public double[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Creates an accumulator for positions on boards of the given dimensions.
+   *
+   * @param height   the number of rows of the boards
+   * @param width    the number of columns of the boards
+   * @param maxDepth the number of placements that can be made without unmaking
+   * @return a new accumulator
+   */
+  public Accumulator newAccumulator(int height, int width, int maxDepth) {
+    return new Accumulator(height, width, maxDepth);
+  }
+
+  /**
+   * The features of one position, updated incrementally. An accumulator is reset to a position,
+   * after which each placement is bracketed by {@link #beginMove} and {@link #endMove} and can be
+   * undone with {@link #unmake()}. All storage is allocated up front, so evaluating, making and
+   * unmaking never allocate.
+   *
+   * <p>An accumulator is not thread-safe; each search uses its own.
+   */
+  public final class Accumulator {
+
+    private static final int RED = 0;
+    private static final int BLUE = 1;
+    private static final int FOOTPRINT = 5;
+
+    private final int height;
+    private final int width;
+    private final int maxDepth;
+    // Per row: red card sum, blue card sum
+    private final int[] rowSums;
+    // Per player: pawns, owned cells, reach 1, reach 2, reach 3, hand value, hand size
+    private final int[] counts;
+    private final int[] savedRowSums;
+    private final int[] savedCounts;
+    private int depth;
+    private int pendingRow;
+    private int pendingCol;
+
+    private Accumulator(int height, int width, int maxDepth) {
+      if (height <= 0 || width <= 0 || maxDepth <= 0) {
+        throw new IllegalArgumentException("Dimensions and depth must be positive.");
+      }
+      this.height = height;
+      this.width = width;
+      this.maxDepth = maxDepth;
+      this.rowSums = new int[2 * height];
+      this.counts = new int[2 * 7];
+      this.savedRowSums = new int[maxDepth * rowSums.length];
+      this.savedCounts = new int[maxDepth * counts.length];
+      this.pendingRow = -1;
+    }
+
+    /**
+     * Recomputes every feature from a position and forgets all placements made so far.
+     *
+     * @param board    the board of the position
+     * @param redHand  the cards in RED's hand
+     * @param blueHand the cards in BLUE's hand
+     * @throws IllegalArgumentException if the board does not have this accumulator's dimensions
+     */
+    public void reset(Board<Card> board, List<Card> redHand, List<Card> blueHand) {
+      if (board.getHeight() != height || board.getWidth() != width) {
+        throw new IllegalArgumentException("Board does not match the accumulator.");
+      }
+      Arrays.fill(rowSums, 0);
+      Arrays.fill(counts, 0);
+      depth = 0;
+      pendingRow = -1;
+      for (int r = 0; r < height; r++) {
+        for (int c = 0; c < width; c++) {
+          addCell(board.getCellAt(r, c), r, 1);
+        }
+      }
+      addHand(redHand, RED);
+      addHand(blueHand, BLUE);
+    }
+
+    /**
+     * Prepares a placement: saves the current features so the placement can be unmade, and
+     * removes the contribution of every cell the placement can change. Must be called before the
+     * card is placed on the board.
+     *
+     * @param board the board before the placement
+     * @param row   the row of the placement
+     * @param col   the column of the placement
+     * @throws IllegalStateException if the maximum depth is reached or a placement is pending
+     */
+    public void beginMove(Board<Card> board, int row, int col) {
+      if (depth >= maxDepth) {
+        throw new IllegalStateException("Maximum depth reached.");
+      }
+      if (pendingRow >= 0) {
+        throw new IllegalStateException("A placement is already pending.");
+      }
+      System.arraycopy(rowSums, 0, savedRowSums, depth * rowSums.length, rowSums.length);
+      System.arraycopy(counts, 0, savedCounts, depth * counts.length, counts.length);
+      depth++;
+      pendingRow = row;
+      pendingCol = col;
+      footprint(board, -1);
+    }
+
+    /**
+     * Completes a placement: adds back the contribution of every cell the placement can change,
+     * and removes the played card from its owner's hand. Must be called after the card is placed
+     * on the board.
+     *
+     * @param board  the board after the placement
+     * @param played the card that was placed, or null if it did not come from a tracked hand
+     * @throws IllegalStateException if no placement is pending
+     */
+    public void endMove(Board<Card> board, Card played) {
+      if (pendingRow < 0) {
+        throw new IllegalStateException("No placement is pending.");
+      }
+      footprint(board, 1);
+      pendingRow = -1;
+      if (played != null) {
+        int player = played.getOwner() == Role.RED ? RED : BLUE;
+        counts[player * 7 + 5] -= played.getValue();
+        counts[player * 7 + 6]--;
+      }
+    }
+
+    /**
+     * Undoes the last completed placement.
+     *
+     * @throws IllegalStateException if no placement was made since the last reset
+     */
+    public void unmake() {
+      if (depth == 0 || pendingRow >= 0) {
+        throw new IllegalStateException("No placement to unmake.");
+      }
+      depth--;
+      System.arraycopy(savedRowSums, depth * rowSums.length, rowSums, 0, rowSums.length);
+      System.arraycopy(savedCounts, depth * counts.length, counts, 0, counts.length);
+    }
+
+    /**
+     * Returns the value of a feature in the current position, as RED's value minus BLUE's.
+     *
+     * @param feature the feature
+     * @return the value of the feature
+     */
+    public int feature(Feature feature) {
+      switch (feature) {
+        case SCORE_MARGIN:
+        case ROW_SUM_MARGIN:
+        case ROWS_WON:
+          return rowFeature(feature);
+        case PAWNS:
+          return counts[0] - counts[7];
+        case OWNED_CELLS:
+          return counts[1] - counts[8];
+        case REACH_1:
+          return counts[2] - counts[9];
+        case REACH_2:
+          return counts[3] - counts[10];
+        case REACH_3:
+          return counts[4] - counts[11];
+        case HAND_VALUE:
+          return counts[5] - counts[12];
+        default:
+          return counts[6] - counts[13];
+      }
+    }
+
+    /**
+     * Writes the value of every feature of the current position into the given array.
+     *
+     * @param out the array receiving the features, indexed by feature ordinal
+     */
+    public void features(double[] out) {
+      for (Feature feature : FEATURES) {
+        out[feature.ordinal()] = feature(feature);
+      }
+    }
+
+    /**
+     * Evaluates the current position for the given player.
+     *
+     * @param role the player
+     * @return the weighted sum of the features, from the player's point of view
+     */
+    public double evaluate(Role role) {
+      double value = 0;
+      for (Feature feature : FEATURES) {
+        double weight = weights[feature.ordinal()];
+        if (weight != 0) {
+          value += weight * feature(feature);
+        }
+      }
+      return role == Role.RED ? value : -value;
+    }
+
+    private int rowFeature(Feature feature) {
+      int total = 0;
+      for (int r = 0; r < height; r++) {
+        int red = rowSums[2 * r];
+        int blue = rowSums[2 * r + 1];
+        if (feature == Feature.SCORE_MARGIN) {
+          total += red > blue ? red : (blue > red ? -blue : 0);
+        } else if (feature == Feature.ROW_SUM_MARGIN) {
+          total += red - blue;
+        } else {
+          total += Integer.signum(red - blue);
+        }
+      }
+      return total;
+    }
+
+    private void footprint(Board<Card> board, int sign) {
+      int half = FOOTPRINT / 2;
+      for (int r = Math.max(0, pendingRow - half); r <= Math.min(height - 1, pendingRow + half);
+          r++) {
+        for (int c = Math.max(0, pendingCol - half); c <= Math.min(width - 1, pendingCol + half);
+            c++) {
+          addCell(board.getCellAt(r, c), r, sign);
+        }
+      }
+    }
+
+    private void addCell(Cell<Card> cell, int row, int sign) {
+      Card card = cell.getCard();
+      if (card != null) {
+        rowSums[2 * row + (card.getOwner() == Role.RED ? RED : BLUE)] += sign * card.getValue();
+      }
+      Role owner = cell.getOwner();
+      if (owner == null) {
+        return;
+      }
+      int base = (owner == Role.RED ? RED : BLUE) * 7;
+      int pawns = cell.getPawns();
+      counts[base] += sign * pawns;
+      counts[base + 1] += sign;
+      if (card == null) {
+        for (int cost = 1; cost <= 3 && pawns >= cost; cost++) {
+          counts[base + 1 + cost] += sign;
+        }
+      }
+    }
+
+    private void addHand(List<Card> hand, int player) {
+      for (Card card : hand) {
+        counts[player * 7 + 5] += card.getValue();
+        counts[player * 7 + 6]++;
+      }
+    }
+  }
+}
@@ -26,9 +26,11 @@ public class MaximizeRowScoreStrategy implements Strategy {
    */
   @Override
   public Move makeMove(ReadonlyGame<Card> game, Role forWhom) {
-    Board<Card> board = game.getBoard(); // a copy of the board, not the actual board from the game
+    // A read-only view of the latest snapshot, shared with the game rather than copied
+    Board<Card> board = game.getBoard();
     Player<Card> currentPlayer = game.getCurrentPlayer().clone();
     List<Card> hand = currentPlayer.getHand();
+    List<Integer> representatives = HandAnalysis.of(hand).getRepresentatives();
 
     // Examine each row from top (row 0) to bottom.
     for (int row = 0; row < board.getHeight(); row++) {
@@ -43,8 +45,8 @@ public class MaximizeRowScoreStrategy implements Strategy {
           if (board.getCellAt(row, col).getCard() == null &&
               (board.getCellAt(row, col).getOwner() == null ||
                   board.getCellAt(row, col).getOwner().equals(forWhom))) {
-            // Try every card in the player's hand.
-            for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+            // Try every distinct card in the player's hand.
+            for (int cardIdx : representatives) {
               Card card = hand.get(cardIdx);
               // Check if this cell has enough pawns to cover the card's cost.
               if (board.getCellAt(row, col).getPawns() >= card.getCost()) {
@@ -1,8 +1,11 @@
 package cs3500.pawnsboard.model;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A strategy that selects the move which minimizes the opponent's best possible response.
@@ -14,9 +17,124 @@ import java.util.Map;
  * <p>If multiple moves result in the same worst-case score difference, a tiebreaker is used:
  * uppermost row, then leftmost column, then lowest card index.
  *
- * <p>If no legal move is possible, a pass move is returned.
+ * <p>If no legal move is possible, a pass move is returned. When the search is stopped by its
+ * cancellation token, the best move among the placements evaluated so far is returned.
+ *
+ * <p>The worst case of every placement is kept in a {@link SearchTable} keyed by the position
+ * hash, the card and the cell, so placements already evaluated, for instance while pondering during
+ * the opponent's turn, are not simulated again. The table is kept from one turn to the next: at
+ * the start of every search, positions that can no longer occur are discarded and the positions
+ * reachable from the new root keep their results.
+ *
+ * <p>The search is an alpha-beta search: the opponent's responses to a placement stop being
+ * searched once one of them is worse for this player than the best placement found so far. A
+ * {@link MoveOrdering} puts the placements and responses most likely to cause such a cutoff first;
+ * the chosen move is the same as with an exhaustive search.
+ *
+ * <p>Only one card of each group of identical cards is searched, and cards dominated by another
+ * card of the hand (see {@link HandAnalysis}) are not searched at all.
+ *
+ * <p>Simulated boards are scored row by row through a {@link RowEvaluationCache}: only the rows
+ * within reach of the last placement are evaluated again, the others are taken from the board
+ * before it.
+ *
+ * <p>Optionally, positions can be judged by a {@link LinearEvaluator} instead of the raw score
+ * difference. Its features are then updated incrementally as placements are made and unmade, and
+ * its value, scaled by {@link #EVALUATION_SCALE} and rounded, takes the place of the score
+ * difference. The hand features are left out of the search: the opponent's simulated responses
+ * never change the hands, so their term only depends on the card placed and is added to the
+ * result of a placement after the table lookup. The table is therefore keyed by the board alone,
+ * and results found while pondering stay valid once the hands have changed.
  */
-public class MinimaxStrategy implements Strategy {
+public class MinimaxStrategy implements PonderingStrategy {
+
+  /**
+   * The factor applied to evaluator values before they are rounded to integers.
+   */
+  public static final int EVALUATION_SCALE = 100;
+
+  // The opponent's dummy card and its hash for each role, indexed by role ordinal
+  private static final Card[] DUMMY_CARDS = new Card[Role.values().length];
+  private static final long[] DUMMY_HASHES = new long[Role.values().length];
+
+  static {
+    final char[][] dummyInfluence = {
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'C', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'}
+    };
+    for (Role role : Role.values()) {
+      DUMMY_CARDS[role.ordinal()] = new QueensBloodCard("DummyOpp", role, 1, 1, dummyInfluence);
+      DUMMY_HASHES[role.ordinal()] = PositionHash.cardHash(DUMMY_CARDS[role.ordinal()]);
+    }
+  }
+
+  private final SearchTable table;
+  private final MoveOrdering ordering;
+  private final RowEvaluationCache rowCache;
+  private final LinearEvaluator evaluator;
+  private final LinearEvaluator boardEvaluator;
+
+  /**
+   * Constructs a minimax strategy with a search table of the default memory cap.
+   */
+  public MinimaxStrategy() {
+    this(new SearchTable());
+  }
+
+  /**
+   * Constructs a minimax strategy using the given search table.
+   *
+   * @param table the table keeping evaluations between searches
+   * @throws IllegalArgumentException if the table is null
+   */
+  public MinimaxStrategy(SearchTable table) {
+    this(table, null);
+  }
+
+  /**
+   * Constructs a minimax strategy judging positions with the given evaluator.
+   *
+   * @param evaluator the evaluator of positions
+   * @throws IllegalArgumentException if the evaluator is null
+   */
+  public MinimaxStrategy(LinearEvaluator evaluator) {
+    this(new SearchTable(), requireEvaluator(evaluator));
+  }
+
+  /**
+   * Constructs a minimax strategy using the given search table and evaluator.
+   *
+   * @param table     the table keeping evaluations between searches
+   * @param evaluator the evaluator of positions, or null to use the raw score difference
+   * @throws IllegalArgumentException if the table is null
+   */
+  public MinimaxStrategy(SearchTable table, LinearEvaluator evaluator) {
+    if (table == null) {
+      throw new IllegalArgumentException("Search table cannot be null.");
+    }
+    this.table = table;
+    this.ordering = new MoveOrdering();
+    this.rowCache = new RowEvaluationCache();
+    this.evaluator = evaluator;
+    if (evaluator == null) {
+      this.boardEvaluator = null;
+    } else {
+      double[] weights = evaluator.getWeights();
+      weights[LinearEvaluator.Feature.HAND_VALUE.ordinal()] = 0;
+      weights[LinearEvaluator.Feature.HAND_SIZE.ordinal()] = 0;
+      this.boardEvaluator = new LinearEvaluator(weights);
+    }
+  }
+
+  private static LinearEvaluator requireEvaluator(LinearEvaluator evaluator) {
+    if (evaluator == null) {
+      throw new IllegalArgumentException("Evaluator cannot be null.");
+    }
+    return evaluator;
+  }
 
   /**
    * Selects a move using the minimax strategy. It simulates all possible legal placements and
@@ -24,105 +142,338 @@ public class MinimaxStrategy implements Strategy {
    *
    * @param game    the current game state
    * @param forWhom the player (role) for whom the move is being selected
+   * @param token   the token polled before each placement is evaluated
    * @return the best move that minimizes the opponent's best response, or a pass move if none
    */
   @Override
-  public Move makeMove(ReadonlyGame<Card> game, Role forWhom) {
-    Player<Card> currentPlayer = game.getCurrentPlayer();
-    List<Card> hand = currentPlayer.getHand();
-    Board<Card> board = game.getBoard();
+  public Move makeMove(ReadonlyGame<Card> game, Role forWhom, CancellationToken token) {
+    // Read the hands and the board from one snapshot, so they describe the same position
+    GameSnapshot snapshot = game.getSnapshot();
+    List<Card> hand = snapshot.getHand(snapshot.getCurrentRole());
+    Board<Card> board = snapshot.getBoard();
+    SearchContext root = context(board, snapshot.getHand(Role.RED), snapshot.getHand(Role.BLUE));
+    table.advanceRoot(root.hash, root.cardCount);
+
+    ordering.age();
+    Long hashMove = table.getBestMove(root.hash);
+
+    // Collect all legal placements for each card worth searching, most promising first
+    List<long[]> candidates = new ArrayList<>();
+    for (int cardIdx : HandAnalysis.of(hand).getUndominated()) {
+      Card card = hand.get(cardIdx);
+      long cardHash = PositionHash.cardHash(card);
+      for (int row = 0; row < board.getHeight(); row++) {
+        for (int col = 0; col < board.getWidth(); col++) {
+          if (StrategyUtils.isLegalPlacement(board, forWhom, card, row, col)) {
+            long key = SearchTable.moveKey(cardHash, forWhom, row, col);
+            int score = ordering.score(key, hashMove != null && hashMove == key,
+                MoveOrdering.countCaptures(board, card, forWhom, row, col), 0);
+            candidates.add(new long[]{score, key, cardIdx, row, col});
+          }
+        }
+      }
+    }
+    candidates.sort((a, b) -> Long.compare(b[0], a[0]));
 
     Move bestMove = null;
+    long bestKey = 0;
     int bestWorstOpponentScoreDiff = Integer.MAX_VALUE;
+    for (long[] candidate : candidates) {
+      if (token.shouldStop()) {
+        break;
+      }
+      int cardIdx = (int) candidate[2];
+      int row = (int) candidate[3];
+      int col = (int) candidate[4];
+      // Responses beyond the best worst case so far cannot make this move the best one
+      Integer worstCaseForMe = evaluatePlacement(root, forWhom, hand.get(cardIdx), row, col,
+          bestWorstOpponentScoreDiff);
+      if (worstCaseForMe == null) {
+        continue;
+      }
 
-    // Try all legal placements for each card in hand
-    for (int cardIdx = 0; cardIdx < hand.size(); cardIdx++) {
+      // Update best move if this one results in a lower worst-case score difference
+      if (worstCaseForMe < bestWorstOpponentScoreDiff ||
+          (worstCaseForMe == bestWorstOpponentScoreDiff &&
+              isTiebreakerBetter(bestMove, cardIdx, row, col))) {
+        if (worstCaseForMe < bestWorstOpponentScoreDiff) {
+          ordering.recordImprovement(candidate[1]);
+        }
+        bestWorstOpponentScoreDiff = worstCaseForMe;
+        bestMove = new Move(cardIdx, row, col);
+        bestKey = candidate[1];
+      }
+    }
+    if (bestMove != null) {
+      table.putBestMove(root.hash, root.cardCount, bestKey);
+    }
+    return (bestMove != null) ? bestMove : Move.passMove();
+  }
+
+  /**
+   * Evaluates the placements this strategy will consider after the opponent's move. The position
+   * in which the opponent passes is searched first, followed by the position after each distinct
+   * opponent placement, most promising for the opponent first.
+   *
+   * @param snapshot the position in which the opponent is to move
+   * @param forWhom  the role of the player this strategy will move for
+   * @param token    the token polled during the search
+   */
+  @Override
+  public void ponder(GameSnapshot snapshot, Role forWhom, CancellationToken token) {
+    Board<Card> board = snapshot.getBoard();
+    List<Card> myHand = snapshot.getHand(forWhom);
+    Role opponent = forWhom.getOpponent();
+    SearchContext root = context(board, snapshot.getHand(Role.RED), snapshot.getHand(Role.BLUE));
+    table.advanceRoot(root.hash, root.cardCount);
+
+    warm(root, myHand, forWhom, token);
+
+    List<Board<Card>> continuations = new ArrayList<>();
+    List<Integer> opponentGains = new ArrayList<>();
+    Set<Long> seen = new HashSet<>();
+    seen.add(PositionHash.boardHash(board));
+    List<Card> opponentHand = snapshot.getHand(opponent);
+    for (int cardIdx : HandAnalysis.of(opponentHand).getUndominated()) {
+      Card card = opponentHand.get(cardIdx);
+      for (int row = 0; row < board.getHeight(); row++) {
+        for (int col = 0; col < board.getWidth(); col++) {
+          if (token.shouldStop()) {
+            return;
+          }
+          if (!StrategyUtils.isLegalPlacement(board, opponent, card, row, col)) {
+            continue;
+          }
+          Board<Card> next = board.clone();
+          try {
+            next.placeCard(new StrategyUtils.DummyPlayer(opponent, card), 0, row, col);
+          } catch (IOException | IllegalArgumentException e) {
+            continue;
+          }
+          if (seen.add(PositionHash.boardHash(next))) {
+            Map<Role, Integer> scores = next.getScores();
+            continuations.add(next);
+            opponentGains.add(scores.getOrDefault(opponent, 0)
+                - scores.getOrDefault(forWhom, 0));
+          }
+        }
+      }
+    }
+
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < continuations.size(); i++) {
+      order.add(i);
+    }
+    order.sort((a, b) -> Integer.compare(opponentGains.get(b), opponentGains.get(a)));
+    for (int i : order) {
+      if (token.shouldStop()) {
+        return;
+      }
+      warm(context(continuations.get(i), snapshot.getHand(Role.RED),
+          snapshot.getHand(Role.BLUE)), myHand, forWhom, token);
+    }
+  }
+
+  /**
+   * Returns the table keeping this strategy's evaluations between searches.
+   *
+   * @return the search table
+   */
+  public SearchTable getTable() {
+    return table;
+  }
+
+  /**
+   * Returns the cache of row evaluations used to score simulated boards.
+   *
+   * @return the row evaluation cache
+   */
+  public RowEvaluationCache getRowCache() {
+    return rowCache;
+  }
+
+  /**
+   * Returns the move ordering of this strategy, which also counts its nodes and cutoffs.
+   *
+   * @return the move ordering
+   */
+  public MoveOrdering getOrdering() {
+    return ordering;
+  }
+
+  /**
+   * Evaluates every legal placement of the given hand in the given position into the table.
+   */
+  private void warm(SearchContext root, List<Card> hand, Role role, CancellationToken token) {
+    Board<Card> board = root.board;
+    for (int cardIdx : HandAnalysis.of(hand).getUndominated()) {
       Card card = hand.get(cardIdx);
       for (int row = 0; row < board.getHeight(); row++) {
         for (int col = 0; col < board.getWidth(); col++) {
-          if (isLegalPlacement(board, forWhom, card, row, col)) {
-            Board<Card> boardAfterMyMove = board.clone();
-            StrategyUtils.DummyPlayer me = new StrategyUtils.DummyPlayer(forWhom, card);
-            try {
-              boardAfterMyMove.placeCard(me, 0, row, col);
-            } catch (IOException | IllegalArgumentException e) {
-              continue;
-            }
-
-            int worstCaseForMe = simulateOpponentBestResponse(boardAfterMyMove,
-                forWhom.getOpponent());
-
-            // Update best move if this one results in a lower worst-case score difference
-            if (worstCaseForMe < bestWorstOpponentScoreDiff ||
-                (worstCaseForMe == bestWorstOpponentScoreDiff &&
-                    isTiebreakerBetter(bestMove, cardIdx, row, col))) {
-              bestWorstOpponentScoreDiff = worstCaseForMe;
-              bestMove = new Move(cardIdx, row, col);
-            }
+          if (token.shouldStop()) {
+            return;
+          }
+          if (StrategyUtils.isLegalPlacement(board, role, card, row, col)) {
+            evaluatePlacement(root, role, card, row, col, Integer.MAX_VALUE);
           }
         }
       }
     }
-    return (bestMove != null) ? bestMove : Move.passMove();
   }
 
   /**
-   * Determines whether a placement is legal based on ownership and pawn cost.
+   * Returns the worst-case score difference of a placement, from the table if it was evaluated
+   * before. A result above the bound only means that the opponent has a response above the bound;
+   * such results are not stored.
    *
-   * @param board the game board
-   * @param role  the role attempting the move
-   * @param card  the card to place
-   * @param row   the row to place in
-   * @param col   the column to place in
-   * @return true if the move is legal, false otherwise
+   * @return the opponent's best score difference after the placement, or null if the placement
+   *         cannot be simulated
    */
-  private boolean isLegalPlacement(Board<Card> board, Role role, Card card, int row, int col) {
-    Cell<Card> cell = board.getCellAt(row, col);
-    return cell.getCard() == null &&
-        (cell.getOwner() == null || cell.getOwner().equals(role)) &&
-        cell.getPawns() >= card.getCost();
+  private Integer evaluatePlacement(SearchContext root, Role role, Card card, int row, int col,
+      int bound) {
+    int handTerm = handTerm(root, role, card);
+    long moveKey = SearchTable.moveKey(PositionHash.cardHash(card), role, row, col);
+    Integer cached = table.get(root.hash, moveKey);
+    if (cached != null) {
+      return withHandTerm(cached, handTerm);
+    }
+    // The table holds results without the hand term, so the bound is shifted to match
+    int boardBound = (int) Math.max(Integer.MIN_VALUE,
+        Math.min(Integer.MAX_VALUE, (long) bound - handTerm));
+
+    Board<Card> boardAfterMyMove = root.board.clone();
+    StrategyUtils.DummyPlayer me = new StrategyUtils.DummyPlayer(role, card);
+    try {
+      boardAfterMyMove.placeCard(me, 0, row, col);
+    } catch (IOException | IllegalArgumentException e) {
+      return null;
+    }
+    int worstCase;
+    if (root.accumulator != null) {
+      root.accumulator.beginMove(root.board, row, col);
+      root.accumulator.endMove(boardAfterMyMove, card);
+      worstCase = simulateOpponentBestResponse(boardAfterMyMove, null, root.accumulator,
+          role.getOpponent(), boardBound);
+      root.accumulator.unmake();
+    } else {
+      worstCase = simulateOpponentBestResponse(boardAfterMyMove,
+          rowCache.evaluateAfterMove(root.evaluation, boardAfterMyMove, row), null,
+          role.getOpponent(), boardBound);
+    }
+    if (worstCase <= boardBound) {
+      table.put(root.hash, root.cardCount, moveKey, worstCase);
+    }
+    return withHandTerm(worstCase, handTerm);
   }
 
   /**
-   * Simulates the opponent's best move on the given board using a dummy 1-cost, 1-value card.
+   * Completes a stored worst case. A placement the opponent cannot respond to is worth 0,
+   * whatever the hands.
+   */
+  private static int withHandTerm(int worstCase, int handTerm) {
+    return worstCase == Integer.MIN_VALUE ? 0 : worstCase + handTerm;
+  }
+
+  /**
+   * Returns the part of the evaluation that comes from the hands after a placement, from the
+   * point of view of the placing player's opponent, scaled like the rest of the evaluation.
    *
-   * @param board    the board after the current player's move
-   * @param opponent the role of the opponent
-   * @return the score difference (opponent - current player) after the opponent's best move
+   * @return the hand term, or 0 when positions are judged by the score difference
    */
-  private int simulateOpponentBestResponse(Board<Card> board, Role opponent) {
-    final char[][] dummyInfluence = {
-        {'X', 'X', 'X', 'X', 'X'},
-        {'X', 'X', 'X', 'X', 'X'},
-        {'X', 'X', 'C', 'X', 'X'},
-        {'X', 'X', 'X', 'X', 'X'},
-        {'X', 'X', 'X', 'X', 'X'}
-    };
-    Card dummyOppCard = new QueensBloodCard("DummyOpp", opponent, 1, 1,
-        dummyInfluence);
+  private int handTerm(SearchContext root, Role role, Card card) {
+    if (evaluator == null) {
+      return 0;
+    }
+    int sign = role == Role.RED ? 1 : -1;
+    double redValue =
+        evaluator.getWeight(LinearEvaluator.Feature.HAND_VALUE)
+            * (root.handValueMargin - sign * card.getValue())
+        + evaluator.getWeight(LinearEvaluator.Feature.HAND_SIZE) * (root.handSizeMargin - sign);
+    return (int) Math.round(EVALUATION_SCALE * (role == Role.RED ? -redValue : redValue));
+  }
 
-    int maxOpponentScoreDiff = Integer.MIN_VALUE;
+  /**
+   * Prepares the search of a position: its hash, card count, evaluation and hand margins.
+   */
+  private SearchContext context(Board<Card> board, List<Card> redHand, List<Card> blueHand) {
+    long hash = PositionHash.boardHash(board);
+    if (evaluator == null) {
+      return new SearchContext(board, hash, rowCache.evaluate(board), null, 0, 0);
+    }
+    LinearEvaluator.Accumulator accumulator =
+        boardEvaluator.newAccumulator(board.getHeight(), board.getWidth(), 2);
+    accumulator.reset(board, redHand, blueHand);
+    return new SearchContext(board, hash, null, accumulator,
+        accumulator.feature(LinearEvaluator.Feature.HAND_VALUE),
+        accumulator.feature(LinearEvaluator.Feature.HAND_SIZE));
+  }
 
+  /**
+   * Simulates the opponent's best move on the given board using a dummy 1-cost, 1-value card.
+   * Responses are tried in the order given by the move ordering, and the search stops as soon as a
+   * response exceeds the bound, since the move that led to this board can then no longer be
+   * chosen.
+   *
+   * @param board       the board after the current player's move
+   * @param evaluation  the row evaluation of that board, or null when an accumulator is used
+   * @param accumulator the evaluator features of that board, or null to use the score difference
+   * @param opponent    the role of the opponent
+   * @param bound       the score difference above which the exact result is not needed
+   * @return the score difference (opponent - current player) after the opponent's best move, the
+   *         first score difference found above the bound, or {@link Integer#MIN_VALUE} if the
+   *         opponent has no response
+   */
+  private int simulateOpponentBestResponse(Board<Card> board,
+      RowEvaluationCache.BoardEvaluation evaluation, LinearEvaluator.Accumulator accumulator,
+      Role opponent, int bound) {
+    Card dummyOppCard = DUMMY_CARDS[opponent.ordinal()];
+    long dummyHash = DUMMY_HASHES[opponent.ordinal()];
+    ordering.recordNode();
+
+    List<long[]> responses = new ArrayList<>();
     for (int row = 0; row < board.getHeight(); row++) {
       for (int col = 0; col < board.getWidth(); col++) {
-        if (isLegalPlacement(board, opponent, dummyOppCard, row, col)) {
-          Board<Card> cloned = board.clone();
-          StrategyUtils.DummyPlayer dummy = new StrategyUtils.DummyPlayer(opponent, dummyOppCard);
-          try {
-            cloned.placeCard(dummy, 0, row, col);
-            Map<Role, Integer> scores = cloned.getScores();
-            int opponentScore = scores.getOrDefault(opponent, 0);
-            int myScore = scores.getOrDefault(opponent.getOpponent(), 0);
-            int scoreDiff = opponentScore - myScore;
-            maxOpponentScoreDiff = Math.max(maxOpponentScoreDiff, scoreDiff);
-          } catch (IOException | IllegalArgumentException e) {
-            // Skip invalid simulated move.
-          }
+        if (StrategyUtils.isLegalPlacement(board, opponent, dummyOppCard, row, col)) {
+          long key = SearchTable.moveKey(dummyHash, opponent, row, col);
+          int score = ordering.score(key, false,
+              MoveOrdering.countCaptures(board, dummyOppCard, opponent, row, col), 1);
+          responses.add(new long[]{score, key, row, col});
+        }
+      }
+    }
+    responses.sort((a, b) -> Long.compare(b[0], a[0]));
+
+    int maxOpponentScoreDiff = Integer.MIN_VALUE;
+    for (int i = 0; i < responses.size(); i++) {
+      long[] response = responses.get(i);
+      Board<Card> cloned = board.clone();
+      StrategyUtils.DummyPlayer dummy = new StrategyUtils.DummyPlayer(opponent, dummyOppCard);
+      try {
+        cloned.placeCard(dummy, 0, (int) response[2], (int) response[3]);
+        int scoreDiff;
+        if (accumulator != null) {
+          accumulator.beginMove(board, (int) response[2], (int) response[3]);
+          accumulator.endMove(cloned, null);
+          scoreDiff = (int) Math.round(EVALUATION_SCALE * accumulator.evaluate(opponent));
+          accumulator.unmake();
+        } else {
+          RowEvaluationCache.BoardEvaluation scores =
+              rowCache.evaluateAfterMove(evaluation, cloned, (int) response[2]);
+          int opponentScore = scores.getScore(opponent);
+          int myScore = scores.getScore(opponent.getOpponent());
+          scoreDiff = opponentScore - myScore;
         }
+        maxOpponentScoreDiff = Math.max(maxOpponentScoreDiff, scoreDiff);
+      } catch (IOException | IllegalArgumentException e) {
+        // Skip invalid simulated move.
+      }
+      if (maxOpponentScoreDiff > bound) {
+        ordering.recordCutoff(response[1], 1, i);
+        return maxOpponentScoreDiff;
       }
     }
 
-    return (maxOpponentScoreDiff == Integer.MIN_VALUE) ? 0 : maxOpponentScoreDiff;
+    return maxOpponentScoreDiff;
   }
 
   /**
@@ -141,4 +492,31 @@ public class MinimaxStrategy implements Strategy {
         (newRow == bestMove.getRow() && newCol == bestMove.getCol() &&
             newCardIdx < bestMove.getCardIndex());
   }
+
+  /**
+   * A position prepared for searching.
+   */
+  private static final class SearchContext {
+
+    private final Board<Card> board;
+    private final long hash;
+    private final int cardCount;
+    private final RowEvaluationCache.BoardEvaluation evaluation;
+    private final LinearEvaluator.Accumulator accumulator;
+    // RED's hand value and hand size minus BLUE's
+    private final int handValueMargin;
+    private final int handSizeMargin;
+
+    private SearchContext(Board<Card> board, long hash,
+        RowEvaluationCache.BoardEvaluation evaluation, LinearEvaluator.Accumulator accumulator,
+        int handValueMargin, int handSizeMargin) {
+      this.board = board;
+      this.hash = hash;
+      this.cardCount = SearchTable.countCards(board);
+      this.evaluation = evaluation;
+      this.accumulator = accumulator;
+      this.handValueMargin = handValueMargin;
+      this.handSizeMargin = handSizeMargin;
+    }
+  }
 }
@@ -0,0 +1,226 @@
+package cs3500.pawnsboard.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes a single change of the game model. Events are delivered to every
+ * {@link cs3500.pawnsboard.controller.ModelListener} so that listeners can update only the parts of
+ * their state that actually changed instead of re-reading the whole game.
+ *
+ * <p>Invariants:
+ * - The type is never null. - Changed cells are given as [row, col] pairs and are never null;
+ * events that do not touch the board carry an empty list.
+ */
+public final class ModelEvent {
+
+  /**
+   * The kinds of changes a model can report. Each type has a priority used when several events
+   * are coalesced into one: a listener handling a type is expected to also cover everything it
+   * would do for any lower-priority type.
+   */
+  public enum Type {
+    /**
+     * A card was placed; the changed cells cover the placed card and its influence.
+     */
+    CARD_PLACED(3),
+    /**
+     * The current player drew a card.
+     */
+    CARD_DRAWN(1),
+    /**
+     * The turn passed to the other player, including the card that player drew.
+     */
+    TURN_SWITCHED(5),
+    /**
+     * The selected card or cell changed; the changed cells are the old and new selection.
+     */
+    SELECTION_CHANGED(2),
+    /**
+     * The game ended.
+     */
+    GAME_OVER(6),
+    /**
+     * The state changed in an unspecified way; listeners should refresh everything.
+     */
+    STATE_CHANGED(4);
+
+    private final int priority;
+
+    Type(int priority) {
+      this.priority = priority;
+    }
+  }
+
+  private final Type type;
+  private final Role role;
+  private final int row;
+  private final int col;
+  private final List<int[]> changedCells;
+
+  private ModelEvent(Type type, Role role, int row, int col, List<int[]> changedCells) {
+    this.type = type;
+    this.role = role;
+    this.row = row;
+    this.col = col;
+    this.changedCells = Collections.unmodifiableList(new ArrayList<>(changedCells));
+  }
+
+  /**
+   * Creates an event for a card placement.
+   *
+   * @param role         the role of the player who placed the card
+   * @param row          the row the card was placed in
+   * @param col          the column the card was placed in
+   * @param changedCells the cells whose card, owner or pawns changed
+   * @return the event
+   */
+  public static ModelEvent cardPlaced(Role role, int row, int col, List<int[]> changedCells) {
+    return new ModelEvent(Type.CARD_PLACED, role, row, col, changedCells);
+  }
+
+  /**
+   * Creates an event for a card draw.
+   *
+   * @param role the role of the player who drew the card
+   * @return the event
+   */
+  public static ModelEvent cardDrawn(Role role) {
+    return new ModelEvent(Type.CARD_DRAWN, role, -1, -1, List.of());
+  }
+
+  /**
+   * Creates an event for a turn switch.
+   *
+   * @param role the role of the player whose turn it is now
+   * @return the event
+   */
+  public static ModelEvent turnSwitched(Role role) {
+    return new ModelEvent(Type.TURN_SWITCHED, role, -1, -1, List.of());
+  }
+
+  /**
+   * Creates an event for a selection change.
+   *
+   * @param role         the role of the current player
+   * @param changedCells the previously and newly selected cells, if any
+   * @return the event
+   */
+  public static ModelEvent selectionChanged(Role role, List<int[]> changedCells) {
+    return new ModelEvent(Type.SELECTION_CHANGED, role, -1, -1, changedCells);
+  }
+
+  /**
+   * Creates an event for the end of the game.
+   *
+   * @param role the role of the current player when the game ended
+   * @return the event
+   */
+  public static ModelEvent gameOver(Role role) {
+    return new ModelEvent(Type.GAME_OVER, role, -1, -1, List.of());
+  }
+
+  /**
+   * Creates an event for an unspecified change.
+   *
+   * @return the event
+   */
+  public static ModelEvent stateChanged() {
+    return new ModelEvent(Type.STATE_CHANGED, null, -1, -1, List.of());
+  }
+
+  /**
+   * Coalesces a sequence of events into a single event. The result has the type of the
+   * highest-priority event, the placement coordinates of the last placement, and the union of all
+   * changed cells.
+   *
+   * @param events the events to coalesce, in the order they occurred
+   * @return the coalesced event
+   * @throws IllegalArgumentException if the list is null or empty
+   */
+  public static ModelEvent coalesce(List<ModelEvent> events) {
+    if (events == null || events.isEmpty()) {
+      throw new IllegalArgumentException("Cannot coalesce an empty list of events.");
+    }
+    if (events.size() == 1) {
+      return events.get(0);
+    }
+    ModelEvent top = events.get(0);
+    int row = -1;
+    int col = -1;
+    Set<List<Integer>> seen = new HashSet<>();
+    List<int[]> cells = new ArrayList<>();
+    for (ModelEvent event : events) {
+      if (event.type.priority >= top.type.priority) {
+        top = event;
+      }
+      if (event.type == Type.CARD_PLACED) {
+        row = event.row;
+        col = event.col;
+      }
+      for (int[] cell : event.changedCells) {
+        if (seen.add(List.of(cell[0], cell[1]))) {
+          cells.add(cell);
+        }
+      }
+    }
+    return new ModelEvent(top.type, top.role, row, col, cells);
+  }
+
+  /**
+   * Returns the kind of change.
+   *
+   * @return the event type
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Returns the role of the player the event concerns, or null if it concerns no player.
+   *
+   * @return the role of the acting player
+   */
+  public Role getRole() {
+    return role;
+  }
+
+  /**
+   * Returns the row of a placed card, or -1 for other events.
+   *
+   * @return the row of the placement
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Returns the column of a placed card, or -1 for other events.
+   *
+   * @return the column of the placement
+   */
+  public int getCol() {
+    return col;
+  }
+
+  /**
+   * Returns the cells changed by this event as [row, col] pairs.
+   *
+   * @return a new list of new coordinate arrays
+   */
+  public List<int[]> getChangedCells() {
+    List<int[]> copy = new ArrayList<>(changedCells.size());
+    for (int[] cell : changedCells) {
+      copy.add(cell.clone());
+    }
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return type + " (role: " + role + ", changed cells: " + changedCells.size() + ")";
+  }
+}
@@ -0,0 +1,77 @@
+package cs3500.pawnsboard.model;
+
+/**
+ * A suggested move for a human player, together with how much the move changes the player's lead.
+ *
+ * <p>Invariants:
+ * - The move is never a pass. - The score delta is the player's lead (own score minus the
+ * opponent's) after the move, minus the lead before it.
+ */
+public final class MoveHint {
+
+  private final Move move;
+  private final int scoreDelta;
+
+  /**
+   * Constructs a hint for placing a card.
+   *
+   * @param cardIndex  the index of the card in the player's hand
+   * @param row        the row of the placement
+   * @param col        the column of the placement
+   * @param scoreDelta the change of the player's lead caused by the placement
+   */
+  public MoveHint(int cardIndex, int row, int col, int scoreDelta) {
+    this.move = new Move(cardIndex, row, col);
+    this.scoreDelta = scoreDelta;
+  }
+
+  /**
+   * Returns the suggested move.
+   *
+   * @return the move
+   */
+  public Move getMove() {
+    return move;
+  }
+
+  /**
+   * Returns the index of the card to play.
+   *
+   * @return the card index in the player's hand
+   */
+  public int getCardIndex() {
+    return move.getCardIndex();
+  }
+
+  /**
+   * Returns the row to play in.
+   *
+   * @return the row of the placement
+   */
+  public int getRow() {
+    return move.getRow();
+  }
+
+  /**
+   * Returns the column to play in.
+   *
+   * @return the column of the placement
+   */
+  public int getCol() {
+    return move.getCol();
+  }
+
+  /**
+   * Returns the change of the player's lead caused by the move.
+   *
+   * @return the score delta
+   */
+  public int getScoreDelta() {
+    return scoreDelta;
+  }
+
+  @Override
+  public String toString() {
+    return move + " (" + (scoreDelta >= 0 ? "+" : "") + scoreDelta + ")";
+  }
+}
@@ -0,0 +1,270 @@
+package cs3500.pawnsboard.model;
+
+import cs3500.pawnsboard.controller.AsyncEventLogger;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An append-only binary log of everything that changes a game: its start, every placement, pass
+ * and draw. A journal is attached to a {@link QueensBloodGame} before the game starts, and the
+ * game records each change while it holds its lock, so records are in the order the changes were
+ * made. A {@link GameReplayer} rebuilds any intermediate state of the game from the journal.
+ *
+ * <p>A journal starts with a magic number and format version. The start record holds the board
+ * dimensions, the hand size, both decks and the state of both players' random draws, which
+ * together determine every later draw. Cards are defined by a card record the first time they are
+ * used and referred to by a small journal-local id afterwards, so a journal does not depend on the
+ * process that wrote it. Every record is flushed as soon as it is written. A failure to write is
+ * reported once and stops the journal; so does a value that does not fit its field, such as a
+ * card value above 65535, which is detected before any byte of its record is written. The game
+ * then carries on unrecorded, unless the journal is required, as the journals of a
+ * {@link WriteAheadLog} are: a game whose required journal failed refuses every further change,
+ * so it never moves on from a state that was not recorded.
+ *
+ * <p>Records start with a one-byte type:
+ * - START: rows, columns, hand size, red and blue random states, red and blue decks, and the id of
+ * the first card drawn. - CARD: id, name, cost, value and influence mask as seen by RED. - PLACE:
+ * hand index, row, column and card id. - PASS and RESET_PASS: the consecutive pass count was
+ * increased or reset. - SWITCH and DRAW: the turn switched or a card was drawn, with the id of the
+ * drawn card or -1.
+ */
+public final class MoveJournal implements Closeable {
+
+  static final int MAGIC = 0x50424A4C;
+  static final int FORMAT_VERSION = 1;
+  static final int START = 1;
+  static final int CARD = 2;
+  static final int PLACE = 3;
+  static final int PASS = 4;
+  static final int RESET_PASS = 5;
+  static final int SWITCH = 6;
+  static final int DRAW = 7;
+
+  private static final int MAX_BYTE = 0xFF;
+  private static final int MAX_SHORT = 0xFFFF;
+
+  private final DataOutputStream out;
+  private final Map<Integer, Integer> journalIds;
+  private final boolean required;
+  private long recordCount;
+  private IOException failure;
+  private boolean closed;
+
+  /**
+   * Constructs a journal writing to the given stream. The stream is closed with the journal.
+   *
+   * @param out the stream to append records to
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public MoveJournal(OutputStream out) {
+    this(out, false);
+  }
+
+  /**
+   * Constructs a journal writing to the given stream, which the game must be able to record to
+   * if required.
+   *
+   * @param out      the stream to append records to
+   * @param required whether the game refuses changes once the journal has failed
+   * @throws IllegalArgumentException if the stream is null
+   */
+  MoveJournal(OutputStream out, boolean required) {
+    if (out == null) {
+      throw new IllegalArgumentException("Stream cannot be null.");
+    }
+    this.out = new DataOutputStream(new BufferedOutputStream(out));
+    this.journalIds = new HashMap<>();
+    this.required = required;
+  }
+
+  /**
+   * Returns the number of records written, not counting card definitions.
+   *
+   * @return the record count
+   */
+  public synchronized long getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Determines whether writing failed and the journal stopped recording.
+   *
+   * @return true if the journal failed
+   */
+  public synchronized boolean hasFailed() {
+    return failure != null;
+  }
+
+  /**
+   * Checks that a change can be made to the game: a required journal must not have failed.
+   *
+   * @throws IllegalStateException if the journal is required and has failed
+   */
+  synchronized void ensureRecording() {
+    if (required && failure != null) {
+      throw new IllegalStateException("Game changes can no longer be journaled.", failure);
+    }
+  }
+
+  synchronized void recordStart(int rows, int cols, int handSize, long redRandomState,
+      long blueRandomState, List<Card> redDeck, List<Card> blueDeck, Card drawn) {
+    if (!writable()) {
+      return;
+    }
+    try {
+      checked("Board height", rows, MAX_SHORT);
+      checked("Board width", cols, MAX_SHORT);
+      checked("Hand size", handSize, MAX_SHORT);
+      checked("Deck size", redDeck.size(), MAX_SHORT);
+      checked("Deck size", blueDeck.size(), MAX_SHORT);
+      out.writeInt(MAGIC);
+      out.writeByte(FORMAT_VERSION);
+      for (Card card : redDeck) {
+        define(card);
+      }
+      for (Card card : blueDeck) {
+        define(card);
+      }
+      int drawnId = drawn == null ? -1 : define(drawn);
+      out.writeByte(START);
+      out.writeShort(rows);
+      out.writeShort(cols);
+      out.writeShort(handSize);
+      out.writeLong(redRandomState);
+      out.writeLong(blueRandomState);
+      writeDeck(redDeck);
+      writeDeck(blueDeck);
+      out.writeShort(drawnId);
+      commit();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void recordPlace(int handIndex, int row, int col, Card card) {
+    if (!writable()) {
+      return;
+    }
+    try {
+      checked("Hand index", handIndex, MAX_BYTE);
+      checked("Row", row, MAX_SHORT);
+      checked("Column", col, MAX_SHORT);
+      int id = define(card);
+      out.writeByte(PLACE);
+      out.writeByte(handIndex);
+      out.writeShort(row);
+      out.writeShort(col);
+      out.writeShort(id);
+      commit();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void recordPass(boolean reset) {
+    if (!writable()) {
+      return;
+    }
+    try {
+      out.writeByte(reset ? RESET_PASS : PASS);
+      commit();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  synchronized void recordDraw(boolean switched, Card drawn) {
+    if (!writable()) {
+      return;
+    }
+    try {
+      int id = drawn == null ? -1 : define(drawn);
+      out.writeByte(switched ? SWITCH : DRAW);
+      out.writeShort(id);
+      commit();
+    } catch (IOException e) {
+      fail(e);
+    }
+  }
+
+  /**
+   * Forgets which cards have been defined, so that every card is defined again when it is next
+   * used. Changes recorded afterwards can then be read without any earlier part of the journal.
+   */
+  synchronized void forgetCards() {
+    journalIds.clear();
+  }
+
+  /**
+   * Flushes and closes the journal and its stream.
+   *
+   * @throws IOException if the stream cannot be closed
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      out.close();
+    }
+  }
+
+  private boolean writable() {
+    return failure == null && !closed;
+  }
+
+  private int define(Card card) throws IOException {
+    CardCatalog catalog = CardCatalog.getInstance();
+    int catalogId = catalog.idOf(card);
+    Integer id = journalIds.get(catalogId);
+    if (id == null) {
+      // Card ids are read back as signed shorts, -1 meaning no card
+      id = checked("Card count", journalIds.size(), Short.MAX_VALUE);
+      checked("Card cost", catalog.getCost(catalogId), MAX_BYTE);
+      checked("Card value", catalog.getValue(catalogId), MAX_SHORT);
+      journalIds.put(catalogId, id);
+      out.writeByte(CARD);
+      out.writeShort(id);
+      out.writeUTF(catalog.getName(catalogId));
+      out.writeByte(catalog.getCost(catalogId));
+      out.writeShort(catalog.getValue(catalogId));
+      out.writeInt(catalog.getMask(catalogId, Role.RED));
+    }
+    return id;
+  }
+
+  private void writeDeck(List<Card> deck) throws IOException {
+    out.writeShort(deck.size());
+    for (Card card : deck) {
+      out.writeShort(define(card));
+    }
+  }
+
+  /**
+   * Checks that a value fits a field of its record.
+   *
+   * @return the value
+   * @throws IOException if the value is negative or above the maximum
+   */
+  private static int checked(String field, int value, int max) throws IOException {
+    if (value < 0 || value > max) {
+      throw new IOException(field + " out of range: " + value);
+    }
+    return value;
+  }
+
+  private void commit() throws IOException {
+    out.flush();
+    recordCount++;
+  }
+
+  private void fail(IOException e) {
+    failure = e;
+    AsyncEventLogger.getDefault().log("Move journal stopped: " + e.getMessage(), e);
+  }
+}
@@ -0,0 +1,234 @@
+package cs3500.pawnsboard.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Orders the moves of an alpha-beta search so that the moves most likely to cause a cutoff are
+ * searched first. Moves are ranked, from first to last, as:
+ * <ol>
+ *   <li>the hash move, i.e. the best move previously found in the same position;</li>
+ *   <li>captures, i.e. placements whose influence reaches pawn cells owned by the opponent, which
+ *   the placement takes over; more captured cells rank higher;</li>
+ *   <li>killer moves, i.e. moves that recently caused a cutoff at the same depth;</li>
+ *   <li>all other moves, by their history score, which grows every time a move causes a cutoff
+ *   or improves the best move.</li>
+ * </ol>
+ *
+ * <p>The ordering also counts the nodes searched and the cutoffs found, so the pruning gained by
+ * the ordering can be measured. All methods are synchronized, so one ordering can be shared by a
+ * search and a pondering thread.
+ */
+public class MoveOrdering {
+
+  /**
+   * The deepest depth for which killer moves are kept.
+   */
+  public static final int MAX_DEPTH = 8;
+
+  /**
+   * The number of killer moves kept per depth.
+   */
+  public static final int KILLERS_PER_DEPTH = 2;
+
+  private static final int HASH_MOVE_SCORE = 1 << 30;
+  private static final int CAPTURE_SCORE = 1 << 24;
+  private static final int KILLER_SCORE = 1 << 23;
+  private static final int MAX_HISTORY = KILLER_SCORE - 1;
+
+  private final long[][] killers;
+  private final boolean[][] hasKiller;
+  private final Map<Long, Integer> history;
+  private long nodes;
+  private long cutoffs;
+  private long firstMoveCutoffs;
+
+  /**
+   * Constructs an ordering with no killers, no history and zeroed counters.
+   */
+  public MoveOrdering() {
+    this.killers = new long[MAX_DEPTH][KILLERS_PER_DEPTH];
+    this.hasKiller = new boolean[MAX_DEPTH][KILLERS_PER_DEPTH];
+    this.history = new HashMap<>();
+  }
+
+  /**
+   * Counts the cells a placement would capture: the cells reached by the card's influence that
+   * hold no card and whose pawns are owned by the opponent.
+   *
+   * @param board the board before the placement
+   * @param card  the card to place
+   * @param role  the role of the player placing the card
+   * @param row   the row of the placement
+   * @param col   the column of the placement
+   * @return the number of opponent pawn cells within the card's influence
+   */
+  public static int countCaptures(Board<Card> board, Card card, Role role, int row, int col) {
+    boolean[][] influence = card.getInfluenceGrid();
+    Role opponent = role.getOpponent();
+    int captures = 0;
+    for (int i = 0; i < 5; i++) {
+      int targetRow = row + i - 2;
+      if (targetRow < 0 || targetRow >= board.getHeight()) {
+        continue;
+      }
+      for (int j = 0; j < 5; j++) {
+        int targetCol = col + j - 2;
+        if (!influence[i][j] || targetCol < 0 || targetCol >= board.getWidth()) {
+          continue;
+        }
+        Cell<Card> cell = board.getCellAt(targetRow, targetCol);
+        if (cell.getCard() == null && cell.getOwner() == opponent) {
+          captures++;
+        }
+      }
+    }
+    return captures;
+  }
+
+  /**
+   * Scores a move for ordering; moves with higher scores are searched first.
+   *
+   * @param moveKey    the key of the move
+   * @param isHashMove whether the move is the best move stored for the position
+   * @param captures   the number of cells the move captures
+   * @param depth      the depth of the move in the search, 0 for the root
+   * @return the ordering score of the move
+   */
+  public synchronized int score(long moveKey, boolean isHashMove, int captures, int depth) {
+    if (isHashMove) {
+      return HASH_MOVE_SCORE;
+    }
+    if (captures > 0) {
+      return CAPTURE_SCORE + Math.min(captures, 25) * (1 << 18) + historyOf(moveKey) / 64;
+    }
+    if (isKiller(moveKey, depth)) {
+      return KILLER_SCORE;
+    }
+    return historyOf(moveKey);
+  }
+
+  /**
+   * Records that a node was searched.
+   */
+  public synchronized void recordNode() {
+    nodes++;
+  }
+
+  /**
+   * Records that a move caused a cutoff: it becomes a killer at its depth and its history score
+   * grows.
+   *
+   * @param moveKey   the key of the move
+   * @param depth     the depth of the move in the search
+   * @param moveIndex the position of the move in the searched order, 0 for the first move
+   */
+  public synchronized void recordCutoff(long moveKey, int depth, int moveIndex) {
+    cutoffs++;
+    if (moveIndex == 0) {
+      firstMoveCutoffs++;
+    }
+    if (depth >= 0 && depth < MAX_DEPTH && !isKiller(moveKey, depth)) {
+      for (int k = KILLERS_PER_DEPTH - 1; k > 0; k--) {
+        killers[depth][k] = killers[depth][k - 1];
+        hasKiller[depth][k] = hasKiller[depth][k - 1];
+      }
+      killers[depth][0] = moveKey;
+      hasKiller[depth][0] = true;
+    }
+    addHistory(moveKey, 4);
+  }
+
+  /**
+   * Records that a move improved the best move of its node without causing a cutoff.
+   *
+   * @param moveKey the key of the move
+   */
+  public synchronized void recordImprovement(long moveKey) {
+    addHistory(moveKey, 1);
+  }
+
+  /**
+   * Halves every history score, so that recent searches weigh more than old ones. Called at the
+   * start of each search.
+   */
+  public synchronized void age() {
+    history.replaceAll((key, value) -> value / 2);
+    history.values().removeIf(value -> value == 0);
+  }
+
+  /**
+   * Returns the number of nodes searched.
+   *
+   * @return the node count
+   */
+  public synchronized long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Returns the number of cutoffs found.
+   *
+   * @return the cutoff count
+   */
+  public synchronized long getCutoffs() {
+    return cutoffs;
+  }
+
+  /**
+   * Returns the number of cutoffs caused by the first move searched in a node.
+   *
+   * @return the first-move cutoff count
+   */
+  public synchronized long getFirstMoveCutoffs() {
+    return firstMoveCutoffs;
+  }
+
+  /**
+   * Returns the share of searched nodes that ended in a cutoff.
+   *
+   * @return the cutoff rate, from 0 to 1
+   */
+  public synchronized double getCutoffRate() {
+    return nodes == 0 ? 0 : (double) cutoffs / nodes;
+  }
+
+  /**
+   * Returns the share of cutoffs caused by the first move searched, which measures how good the
+   * ordering is.
+   *
+   * @return the first-move cutoff rate, from 0 to 1
+   */
+  public synchronized double getFirstMoveCutoffRate() {
+    return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+  }
+
+  /**
+   * Resets the node and cutoff counters. Killers and history are kept.
+   */
+  public synchronized void resetCounters() {
+    nodes = 0;
+    cutoffs = 0;
+    firstMoveCutoffs = 0;
+  }
+
+  private boolean isKiller(long moveKey, int depth) {
+    if (depth < 0 || depth >= MAX_DEPTH) {
+      return false;
+    }
+    for (int k = 0; k < KILLERS_PER_DEPTH; k++) {
+      if (hasKiller[depth][k] && killers[depth][k] == moveKey) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int historyOf(long moveKey) {
+    return history.getOrDefault(moveKey, 0);
+  }
+
+  private void addHistory(long moveKey, int amount) {
+    history.merge(moveKey, amount, (a, b) -> Math.min(MAX_HISTORY, a + b));
+  }
+}
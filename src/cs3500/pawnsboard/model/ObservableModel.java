@@ -26,4 +26,11 @@ public interface ObservableModel {
    * Notifies all registered observers that the model has changed.
    */
   void notifyModelListeners();
+
+  /**
+   * Notifies all registered observers of a specific change.
+   *
+   * @param event the change that occurred
+   */
+  void notifyModelListeners(ModelEvent event);
 }
@@ -0,0 +1,392 @@
+package cs3500.pawnsboard.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only table of the best moves found by self-play in the opening positions of the game.
+ * Positions are identified by the {@link PositionHash} of the board and the player to move, so a
+ * position reached by different move orders shares its entries. Moves are identified by the hash
+ * of the card placed and the cell, so an entry applies whichever copy of the card is in the hand.
+ *
+ * <p>The book is a file of fixed-size entries sorted by position, memory-mapped when it is opened;
+ * a probe is a binary search that reads only the entries of one position. A book is built with a
+ * {@link Builder} from the results of whole games.
+ *
+ * <p>A book file holds a header of magic, format version and entry count as 32-bit integers,
+ * followed by the entries. Each entry holds the position key, the card hash, the row and column,
+ * the number of games the move was played in and the points it earned, two for a win and one for
+ * a draw. The entries of a position are ordered from the best move to the worst.
+ */
+public final class OpeningBook {
+
+  private static final int MAGIC = 0x5042424B;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 12;
+  private static final int ENTRY_BYTES = 32;
+
+  private final Path path;
+  private final ByteBuffer buffer;
+  private final int entryCount;
+
+  private OpeningBook(Path path, ByteBuffer buffer, int entryCount) {
+    this.path = path;
+    this.buffer = buffer;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Opens a book file by mapping it into memory.
+   *
+   * @param path the book file
+   * @return the book
+   * @throws IOException              if the file cannot be read or is not a valid book
+   * @throws IllegalArgumentException if the path is null
+   */
+  public static OpeningBook open(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null.");
+    }
+    MappedByteBuffer mapped;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Invalid opening book: unexpected file size.");
+      }
+      // The mapping stays valid after the channel is closed
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    ByteBuffer buffer = mapped.order(ByteOrder.BIG_ENDIAN);
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException("Invalid opening book: unknown format.");
+    }
+    int entryCount = buffer.getInt(8);
+    if (entryCount < 0
+        || (long) entryCount * ENTRY_BYTES != buffer.capacity() - HEADER_BYTES) {
+      throw new IOException("Invalid opening book: corrupt header.");
+    }
+    return new OpeningBook(path, buffer, entryCount);
+  }
+
+  /**
+   * Computes the key of a position: the board and the player to move.
+   *
+   * @param board the board
+   * @param role  the player to move
+   * @return the position key
+   * @throws IllegalArgumentException if the board or role is null
+   */
+  public static long positionKey(Board<Card> board, Role role) {
+    if (role == null) {
+      throw new IllegalArgumentException("Role cannot be null.");
+    }
+    return PositionHash.mix(PositionHash.boardHash(board) + role.ordinal() + 1);
+  }
+
+  /**
+   * Returns the path of the book file.
+   *
+   * @return the book path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the number of moves in the book.
+   *
+   * @return the entry count
+   */
+  public int getEntryCount() {
+    return entryCount;
+  }
+
+  /**
+   * Looks up the book moves of a position.
+   *
+   * @param board the board
+   * @param role  the player to move
+   * @return the moves of the position from best to worst, empty if the position is not in the
+   *         book
+   * @throws IllegalArgumentException if the board or role is null
+   */
+  public List<Entry> probe(Board<Card> board, Role role) {
+    long key = positionKey(board, role);
+    int low = 0;
+    int high = entryCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (keyAt(middle) < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    List<Entry> entries = new ArrayList<>();
+    for (int i = low; i < entryCount && keyAt(i) == key; i++) {
+      int offset = HEADER_BYTES + i * ENTRY_BYTES;
+      entries.add(new Entry(buffer.getLong(offset + 8), buffer.getShort(offset + 16),
+          buffer.getShort(offset + 18), buffer.getInt(offset + 20), buffer.getInt(offset + 24)));
+    }
+    return entries;
+  }
+
+  private long keyAt(int index) {
+    return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+  }
+
+  /**
+   * A move of the book with its self-play results.
+   */
+  public static final class Entry {
+
+    private final long cardHash;
+    private final int row;
+    private final int col;
+    private final int games;
+    private final int points;
+
+    private Entry(long cardHash, int row, int col, int games, int points) {
+      this.cardHash = cardHash;
+      this.row = row;
+      this.col = col;
+      this.games = games;
+      this.points = points;
+    }
+
+    /**
+     * Returns the {@link PositionHash#cardHash} of the card placed.
+     *
+     * @return the card hash
+     */
+    public long getCardHash() {
+      return cardHash;
+    }
+
+    /**
+     * Returns the row the card is placed in.
+     *
+     * @return the row
+     */
+    public int getRow() {
+      return row;
+    }
+
+    /**
+     * Returns the column the card is placed in.
+     *
+     * @return the column
+     */
+    public int getCol() {
+      return col;
+    }
+
+    /**
+     * Returns the number of self-play games the move was played in.
+     *
+     * @return the game count
+     */
+    public int getGames() {
+      return games;
+    }
+
+    /**
+     * Returns the average result of the move for the player making it: 1 for a win, 0.5 for a
+     * draw and 0 for a loss.
+     *
+     * @return the score, between 0 and 1
+     */
+    public double getScore() {
+      return points / (2.0 * games);
+    }
+  }
+
+  /**
+   * Collects the opening moves of whole games and their results, and writes the best moves of
+   * every position seen often enough to a book file. Games are recorded one at a time: begin a
+   * game, record its moves in order, then end it with its winner.
+   */
+  public static final class Builder {
+
+    private final int maxPlies;
+    private final int minGames;
+    private final int movesPerPosition;
+    private final Map<Long, Map<Long, MoveStats>> positions;
+    private final List<MoveStats> line;
+    private int ply;
+
+    /**
+     * Constructs a builder.
+     *
+     * @param maxPlies         the number of turns from the start of each game that are recorded,
+     *                         passes included
+     * @param minGames         the number of games a move must be played in to enter the book
+     * @param movesPerPosition the number of best moves kept for each position
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public Builder(int maxPlies, int minGames, int movesPerPosition) {
+      if (maxPlies <= 0 || minGames <= 0 || movesPerPosition <= 0) {
+        throw new IllegalArgumentException("Book parameters must be positive.");
+      }
+      this.maxPlies = maxPlies;
+      this.minGames = minGames;
+      this.movesPerPosition = movesPerPosition;
+      this.positions = new HashMap<>();
+      this.line = new ArrayList<>();
+    }
+
+    /**
+     * Starts recording a game, discarding the moves of a game that was not ended.
+     */
+    public void beginGame() {
+      line.clear();
+      ply = 0;
+    }
+
+    /**
+     * Records a placement of the current game, made from the given board. Moves after the first
+     * {@code maxPlies} turns are ignored.
+     *
+     * @param board the board before the move
+     * @param role  the player making the move
+     * @param card  the card placed
+     * @param row   the row the card is placed in
+     * @param col   the column the card is placed in
+     * @throws IllegalArgumentException if the board, role or card is null
+     */
+    public void recordMove(Board<Card> board, Role role, Card card, int row, int col) {
+      if (board == null || role == null || card == null) {
+        throw new IllegalArgumentException("Board, role and card cannot be null.");
+      }
+      if (ply++ >= maxPlies) {
+        return;
+      }
+      long cardHash = PositionHash.cardHash(card);
+      long moveKey = PositionHash.mix(cardHash + row * 31L + col);
+      MoveStats stats = positions.computeIfAbsent(positionKey(board, role), k -> new HashMap<>())
+          .computeIfAbsent(moveKey, k -> new MoveStats(cardHash, row, col));
+      stats.role = role;
+      line.add(stats);
+    }
+
+    /**
+     * Records a pass of the current game, which counts as a turn.
+     */
+    public void recordPass() {
+      ply++;
+    }
+
+    /**
+     * Ends the current game and credits its recorded moves with the result.
+     *
+     * @param winner the winner, or null for a draw
+     */
+    public void endGame(Role winner) {
+      for (MoveStats stats : line) {
+        stats.games++;
+        stats.points += winner == null ? 1 : winner == stats.role ? 2 : 0;
+      }
+      line.clear();
+    }
+
+    /**
+     * Returns the number of distinct positions recorded.
+     *
+     * @return the position count
+     */
+    public int getPositionCount() {
+      return positions.size();
+    }
+
+    /**
+     * Writes the book. For every position, the moves played in at least {@code minGames} games
+     * are ranked by their score, shrunk towards a draw for moves with few games, and the best
+     * {@code movesPerPosition} are kept. The file is replaced atomically.
+     *
+     * @param path the book file to write
+     * @return the number of moves written
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the path is null
+     */
+    public int write(Path path) throws IOException {
+      if (path == null) {
+        throw new IllegalArgumentException("Path cannot be null.");
+      }
+      List<Long> keys = new ArrayList<>(positions.keySet());
+      Collections.sort(keys);
+      List<Long> entryKeys = new ArrayList<>();
+      List<MoveStats> kept = new ArrayList<>();
+      for (long key : keys) {
+        List<MoveStats> moves = new ArrayList<>();
+        for (MoveStats stats : positions.get(key).values()) {
+          if (stats.games >= minGames) {
+            moves.add(stats);
+          }
+        }
+        moves.sort((a, b) -> Double.compare(b.rank(), a.rank()));
+        for (int i = 0; i < moves.size() && i < movesPerPosition; i++) {
+          entryKeys.add(key);
+          kept.add(moves.get(i));
+        }
+      }
+
+      ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + kept.size() * ENTRY_BYTES)
+          .order(ByteOrder.BIG_ENDIAN);
+      out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(kept.size());
+      for (int i = 0; i < kept.size(); i++) {
+        MoveStats stats = kept.get(i);
+        out.putLong(entryKeys.get(i)).putLong(stats.cardHash).putShort((short) stats.row)
+            .putShort((short) stats.col).putInt(stats.games).putInt(stats.points).putInt(0);
+      }
+
+      Path parent = path.toAbsolutePath().getParent();
+      Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+      try {
+        Files.write(temp, out.array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      return kept.size();
+    }
+
+    /**
+     * The self-play results of one move in one position.
+     */
+    private static final class MoveStats {
+
+      private final long cardHash;
+      private final int row;
+      private final int col;
+      private Role role;
+      private int games;
+      private int points;
+
+      private MoveStats(long cardHash, int row, int col) {
+        this.cardHash = cardHash;
+        this.row = row;
+        this.col = col;
+      }
+
+      /**
+       * Returns the score with one drawn game added, so that a move is only ranked first on the
+       * strength of a few games if they were convincing.
+       */
+      private double rank() {
+        return (points + 1.0) / (2.0 * games + 2.0);
+      }
+    }
+  }
+}
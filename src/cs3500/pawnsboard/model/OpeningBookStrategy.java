@@ -0,0 +1,122 @@
+package cs3500.pawnsboard.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A strategy that plays from an {@link OpeningBook} while the position is in it and asks another
+ * strategy otherwise. A book move costs one hash of the board and a lookup, so opening moves are
+ * made almost at once instead of being searched again in every game.
+ *
+ * <p>The best book move whose card is in the player's hand and that is legal on the board is
+ * played, as long as it scored at least {@link #MIN_SCORE} in self-play; a book that only knows
+ * losing moves for a position leaves it to the fallback strategy. Cancellation and pondering are
+ * passed on to the fallback strategy when it supports them.
+ */
+public class OpeningBookStrategy implements PonderingStrategy {
+
+  /**
+   * The lowest self-play score of a book move that is played.
+   */
+  public static final double MIN_SCORE = 0.5;
+
+  private final OpeningBook book;
+  private final Strategy fallback;
+  private long bookMoves;
+  private long searchedMoves;
+
+  /**
+   * Constructs a strategy playing from the given book.
+   *
+   * @param book     the opening book
+   * @param fallback the strategy used for positions that are not in the book
+   * @throws IllegalArgumentException if the book or fallback is null
+   */
+  public OpeningBookStrategy(OpeningBook book, Strategy fallback) {
+    if (book == null || fallback == null) {
+      throw new IllegalArgumentException("Book and fallback strategy cannot be null.");
+    }
+    this.book = book;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public Move makeMove(ReadonlyGame<Card> game, Role forWhom, CancellationToken token)
+      throws IOException {
+    Move move = probe(game, forWhom);
+    if (move != null) {
+      synchronized (this) {
+        bookMoves++;
+      }
+      return move;
+    }
+    synchronized (this) {
+      searchedMoves++;
+    }
+    if (fallback instanceof CooperativeStrategy) {
+      return ((CooperativeStrategy) fallback).makeMove(game, forWhom, token);
+    }
+    return fallback.makeMove(game, forWhom);
+  }
+
+  @Override
+  public void ponder(GameSnapshot snapshot, Role forWhom, CancellationToken token) {
+    if (fallback instanceof PonderingStrategy) {
+      ((PonderingStrategy) fallback).ponder(snapshot, forWhom, token);
+    }
+  }
+
+  /**
+   * Returns the number of moves played from the book.
+   *
+   * @return the book move count
+   */
+  public synchronized long getBookMoveCount() {
+    return bookMoves;
+  }
+
+  /**
+   * Returns the number of moves left to the fallback strategy.
+   *
+   * @return the fallback move count
+   */
+  public synchronized long getFallbackMoveCount() {
+    return searchedMoves;
+  }
+
+  /**
+   * Finds the best book move that can be played and scored well enough.
+   *
+   * @return the move, or null if the book has none for this position and hand
+   */
+  private Move probe(ReadonlyGame<Card> game, Role forWhom) {
+    Board<Card> board = game.getBoard();
+    List<OpeningBook.Entry> entries = book.probe(board, forWhom);
+    if (entries.isEmpty()) {
+      return null;
+    }
+    Player<Card> player = game.getPlayer(forWhom);
+    List<Card> hand = player.getHand();
+    long[] handHashes = new long[hand.size()];
+    for (int i = 0; i < hand.size(); i++) {
+      handHashes[i] = PositionHash.cardHash(hand.get(i));
+    }
+    for (OpeningBook.Entry entry : entries) {
+      if (entry.getScore() < MIN_SCORE) {
+        // Entries are ordered best first, so none of the rest is good enough either
+        return null;
+      }
+      if (entry.getRow() < 0 || entry.getRow() >= board.getHeight() || entry.getCol() < 0
+          || entry.getCol() >= board.getWidth()) {
+        continue;
+      }
+      for (int i = 0; i < handHashes.length; i++) {
+        if (handHashes[i] == entry.getCardHash() && StrategyUtils.isLegalPlacement(board,
+            forWhom, hand.get(i), entry.getRow(), entry.getCol())) {
+          return new Move(i, entry.getRow(), entry.getCol());
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,19 @@
+package cs3500.pawnsboard.model;
+
+/**
+ * A search strategy that can use the opponent's thinking time. While the opponent decides, the
+ * strategy searches the positions the opponent is likely to leave behind and keeps the results in
+ * its tables, so that the search on its own turn finds most of its work already done.
+ */
+public interface PonderingStrategy extends CooperativeStrategy {
+
+  /**
+   * Searches the likely continuations of the given position until the token stops the search.
+   * Pondering only warms the strategy's internal tables and never changes the game.
+   *
+   * @param snapshot the position in which the opponent is to move
+   * @param forWhom  the role of the player this strategy will move for
+   * @param token    the token polled during the search; it is cancelled when the opponent moves
+   */
+  void ponder(GameSnapshot snapshot, Role forWhom, CancellationToken token);
+}
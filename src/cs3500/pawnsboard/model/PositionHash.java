@@ -0,0 +1,105 @@
+package cs3500.pawnsboard.model;
+
+/**
+ * Computes stable 64-bit hashes of cards and boards for search tables. Two boards with the same
+ * cards, owners and pawns in every cell have the same hash, no matter which objects hold them, and
+ * hashes do not depend on object identity, so they are the same in every run of the program.
+ *
+ * <p>A card is hashed by its definition: name, owner, cost, value and influence grid. Copies of
+ * the same card therefore share a hash. The hashes of the shared cards of the {@link CardCatalog}
+ * are computed once when they are interned and looked up afterwards.
+ */
+public final class PositionHash {
+
+  private PositionHash() {
+  }
+
+  /**
+   * Returns the hash of a card definition, looking it up for a shared card of the
+   * {@link CardCatalog} and computing it otherwise.
+   *
+   * @param card the card to hash
+   * @return the hash of the card
+   * @throws IllegalArgumentException if the card is null
+   */
+  public static long cardHash(Card card) {
+    if (card == null) {
+      throw new IllegalArgumentException("Card cannot be null.");
+    }
+    Long shared = CardCatalog.getInstance().sharedHash(card);
+    if (shared != null) {
+      return shared;
+    }
+    long h = mix(card.getName().hashCode());
+    h = mix(h ^ (card.getOwner() == null ? -1 : card.getOwner().ordinal()));
+    h = mix(h ^ card.getCost());
+    h = mix(h ^ card.getValue());
+    h = mix(h ^ influenceMask(card));
+    return h;
+  }
+
+  /**
+   * Computes the influence mask of a card: bit {@code 5 * i + j} is set if the cell in row
+   * {@code i} and column {@code j} of the card's 5x5 influence grid is influenced.
+   *
+   * @param card the card
+   * @return the 25-bit influence mask
+   */
+  public static int influenceMask(Card card) {
+    boolean[][] grid = card.getInfluenceGrid();
+    int mask = 0;
+    for (int i = 0; i < 5; i++) {
+      for (int j = 0; j < 5; j++) {
+        if (grid[i][j]) {
+          mask |= 1 << (5 * i + j);
+        }
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Computes the hash of a board from the card, owner and pawns of every cell.
+   *
+   * @param board the board to hash
+   * @return the hash of the board
+   * @throws IllegalArgumentException if the board is null
+   */
+  public static long boardHash(Board<Card> board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null.");
+    }
+    long h = mix(((long) board.getHeight() << 32) | board.getWidth());
+    for (int r = 0; r < board.getHeight(); r++) {
+      for (int c = 0; c < board.getWidth(); c++) {
+        h = mix(h ^ (cellHash(board.getCellAt(r, c)) + r * 31L + c));
+      }
+    }
+    return h;
+  }
+
+  /**
+   * Computes the hash of the state of a single cell.
+   *
+   * @param cell the cell to hash
+   * @return the hash of the cell
+   */
+  static long cellHash(Cell<Card> cell) {
+    Card card = cell.getCard();
+    Role owner = cell.getOwner();
+    long h = ((long) (owner == null ? 0 : owner.ordinal() + 1) << 16) | cell.getPawns();
+    return card == null ? mix(h) : mix(h ^ cardHash(card));
+  }
+
+  /**
+   * Scrambles the bits of a value with the SplitMix64 finalizer.
+   *
+   * @param z the value to scramble
+   * @return the scrambled value
+   */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
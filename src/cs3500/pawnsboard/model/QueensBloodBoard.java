@@ -362,7 +362,7 @@ public class QueensBloodBoard implements Board<Card> {
   }
 
   @Override
-  public Board clone() {
+  public Board<Card> clone() {
     return new QueensBloodBoard(this);
   }
 }
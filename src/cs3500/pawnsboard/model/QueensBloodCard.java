@@ -26,7 +26,8 @@ public class QueensBloodCard implements Card {
    * @param owner     the player who owns the card
    * @param value     the value of the card
    * @param cost      the cost of the card in terms of pawns
-   * @param influence a 5x5 character matrix representing the card's influence grid
+   * @param influence a 5x5 character matrix representing the card's influence grid as seen by
+   *                  RED; it is copied, and mirrored for a BLUE card
    * @throws IllegalArgumentException if the name or owner is null, if the value or cost is
    *                                  negative, or if the influence grid is invalid
    */
@@ -42,7 +43,7 @@ public class QueensBloodCard implements Card {
     this.owner = owner;
     this.value = value;
     this.cost = cost;
-    this.influence = influence;
+    this.influence = deepCopyInfluence(influence);
 
     if (this.owner.equals(Role.BLUE)) {
       mirrorInfluence();
@@ -52,7 +53,8 @@ public class QueensBloodCard implements Card {
 
   /**
    * Constructs a deep copy of another {@code Card}. Used to create an exact duplicate of an
-   * existing card, preserving all properties.
+   * existing card, preserving all properties. The influence grid of the other card is already
+   * oriented for its owner and is copied as is.
    *
    * @param other the card to copy (must have valid name, owner, cost, value, and influence)
    * @throws IllegalArgumentException if {@code other} is {@code null}, or has invalid fields
@@ -70,10 +72,6 @@ public class QueensBloodCard implements Card {
     this.value = other.getValue();
     this.cost = other.getCost();
     this.influence = deepCopyInfluence(other.getInfluence());
-
-    if (this.owner.equals(Role.BLUE)) {
-      mirrorInfluence();
-    }
   }
 
   private char[][] deepCopyInfluence(char[][] original) {
@@ -131,7 +129,7 @@ public class QueensBloodCard implements Card {
 
   @Override
   public char[][] getInfluence() {
-    return influence;
+    return deepCopyInfluence(influence);
   }
 
   /**
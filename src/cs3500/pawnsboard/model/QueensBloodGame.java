@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * Represents the game implementation, which defines the specific rules and mechanics. It includes
@@ -15,6 +17,12 @@ import java.util.Map;
  * (`startGame()`) before any moves can be made. - Players' starting hand size cannot be more than
  * one-third of their deck size. - A cell on the board can either have a card or pawns, but not
  * both.
+ *
+ * <p>Thread safety: all mutations are serialized on an internal lock, and each committed
+ * mutation publishes an immutable {@link GameSnapshot} through a volatile reference. Readers on
+ * other threads should use {@link #getSnapshot()}, which never blocks and never copies. Listeners
+ * are notified on the mutating thread after the lock has been released. Transactions belong to
+ * the thread that began them, so one thread's transaction never defers another thread's events.
  */
 public class QueensBloodGame implements Game<Card> {
 
@@ -24,10 +32,15 @@ public class QueensBloodGame implements Game<Card> {
   private final int handSize;
   private final List<ModelListener> modelListeners;
   private final int[] selectedCell;
-  boolean isGameStarted;
+  private final Object lock = new Object();
+  volatile boolean isGameStarted;
   private Player<Card> currentPlayer;
   private int selectedCardIndex;
   private int consecutivePass = 0;
+  private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+  private volatile GameSnapshot snapshot;
+  private boolean boardChanged = true;
+  private MoveJournal journal;
 
   /**
    * Constructs a new QueensBloodGame with the specified board dimension and number of players.
@@ -38,6 +51,38 @@ public class QueensBloodGame implements Game<Card> {
    * @throws IllegalArgumentException if the number of rows or columns is illegal
    */
   public QueensBloodGame(int rows, int columns, int handSize) {
+    this(rows, columns, handSize, false, 0, 0);
+  }
+
+  /**
+   * Constructs a new QueensBloodGame whose shuffles and draws are determined by the given seed.
+   * Two games with the same seed, decks and moves play out identically.
+   *
+   * @param rows     the number of rows in the board
+   * @param columns  the number of columns in the board
+   * @param handSize the maximum number of cards a player can hold initially
+   * @param seed     the seed of the players' random draws
+   * @throws IllegalArgumentException if the number of rows or columns is illegal
+   */
+  public QueensBloodGame(int rows, int columns, int handSize, long seed) {
+    this(rows, columns, handSize, true, seed, ~seed);
+  }
+
+  /**
+   * Constructs a new QueensBloodGame whose players' random draws start in the given states.
+   *
+   * @param rows      the number of rows in the board
+   * @param columns   the number of columns in the board
+   * @param handSize  the maximum number of cards a player can hold initially
+   * @param redState  the random state of the red player
+   * @param blueState the random state of the blue player
+   */
+  QueensBloodGame(int rows, int columns, int handSize, long redState, long blueState) {
+    this(rows, columns, handSize, true, redState, blueState);
+  }
+
+  private QueensBloodGame(int rows, int columns, int handSize, boolean seeded, long redSeed,
+      long blueSeed) {
     if (rows <= 0) {
       throw new IllegalArgumentException("Number of rows must be positive!");
     }
@@ -48,13 +93,15 @@ public class QueensBloodGame implements Game<Card> {
     if (handSize <= 0) {
       throw new IllegalArgumentException("Size of hand must be positive!");
     }
-    this.playerRed = new QueensBloodPlayer(Role.RED, handSize);
-    this.playerBlue = new QueensBloodPlayer(Role.BLUE, handSize);
+    this.playerRed = seeded ? new QueensBloodPlayer(Role.RED, handSize, redSeed)
+        : new QueensBloodPlayer(Role.RED, handSize);
+    this.playerBlue = seeded ? new QueensBloodPlayer(Role.BLUE, handSize, blueSeed)
+        : new QueensBloodPlayer(Role.BLUE, handSize);
     this.board = new QueensBloodBoard(rows, columns);
     this.handSize = handSize;
     this.currentPlayer = playerRed;
     this.isGameStarted = false;
-    this.modelListeners = new ArrayList<>();
+    this.modelListeners = new CopyOnWriteArrayList<>();
     this.selectedCardIndex = -1;
     this.selectedCell = new int[2];
     this.selectedCell[0] = -1;
@@ -90,11 +137,104 @@ public class QueensBloodGame implements Game<Card> {
     // Start game automatically if board is already filled
     this.isGameStarted = board.remainingCell() < board.getBoardSize();
 
-    this.modelListeners = new ArrayList<>();
+    this.modelListeners = new CopyOnWriteArrayList<>();
     this.selectedCardIndex = -1;
     this.selectedCell = new int[2];
     this.selectedCell[0] = -1;
     this.selectedCell[1] = -1;
+    if (this.isGameStarted) {
+      publishSnapshot();
+    }
+  }
+
+  /**
+   * Restores a started game from saved state. Nothing is selected in the restored game.
+   *
+   * @param board           the board of the game
+   * @param playerRed       the red player
+   * @param playerBlue      the blue player
+   * @param handSize        the maximum hand size allowed
+   * @param currentRole     the role of the player whose turn it is
+   * @param consecutivePass the number of consecutive passes
+   */
+  QueensBloodGame(Board<Card> board, Player<Card> playerRed, Player<Card> playerBlue,
+      int handSize, Role currentRole, int consecutivePass) {
+    this(board, playerRed, playerBlue, handSize);
+    this.currentPlayer = currentRole == Role.RED ? playerRed : playerBlue;
+    this.consecutivePass = consecutivePass;
+    this.isGameStarted = true;
+    this.boardChanged = true;
+    publishSnapshot();
+  }
+
+  /**
+   * Attaches a journal that records the start of the game and every later change to it. If the
+   * journal is required and fails, every later change throws an {@link IllegalStateException}.
+   *
+   * @param journal the journal to record to
+   * @throws IllegalArgumentException if the journal is null or the players are not
+   *                                  {@link QueensBloodPlayer}s, whose random state is recorded
+   * @throws IllegalStateException    if the game has already started
+   */
+  public void setJournal(MoveJournal journal) {
+    if (journal == null) {
+      throw new IllegalArgumentException("Journal cannot be null.");
+    }
+    if (!(playerRed instanceof QueensBloodPlayer) || !(playerBlue instanceof QueensBloodPlayer)) {
+      throw new IllegalArgumentException("Only games of QueensBloodPlayers can be journaled.");
+    }
+    synchronized (lock) {
+      if (isGameStarted) {
+        throw new IllegalStateException("Journal must be attached before the game starts.");
+      }
+      this.journal = journal;
+    }
+  }
+
+  /**
+   * Replaces the journal in any state of the game. Nothing is recorded about the current state,
+   * so the caller must save it separately for the journal to be replayable.
+   *
+   * @param journal the journal to record to, or null to stop recording
+   */
+  void replaceJournal(MoveJournal journal) {
+    synchronized (lock) {
+      this.journal = journal;
+    }
+  }
+
+  /**
+   * Refuses a change, while holding the lock, if the journal must record it and has failed.
+   */
+  private void ensureJournaled() {
+    if (journal != null) {
+      journal.ensureRecording();
+    }
+  }
+
+  /**
+   * Determines whether the game has started.
+   *
+   * @return true if the game has started
+   */
+  boolean isStarted() {
+    synchronized (lock) {
+      return isGameStarted;
+    }
+  }
+
+  /**
+   * Runs the given action while holding the lock, so that it observes a state no other thread is
+   * changing.
+   *
+   * @param action the action to run
+   * @param <T>    the type of the result
+   * @return the result of the action
+   */
+  <T> T whileLocked(Supplier<T> action) {
+    synchronized (lock) {
+      return action.get();
+    }
   }
 
 
@@ -103,15 +243,29 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void startGame(List<Card> redDeck, List<Card> blueDeck) {
-    if (this.isGameStarted) {
-      throw new IllegalStateException("Game has already started");
+    synchronized (lock) {
+      if (this.isGameStarted) {
+        throw new IllegalStateException("Game has already started");
+      }
+      ensureJournaled();
+      int boardCapacity = board.getBoardSize();
+      List<Card> redStart = journal == null ? null : new ArrayList<>(redDeck);
+      List<Card> blueStart = journal == null ? null : new ArrayList<>(blueDeck);
+      long redState = journal == null ? 0 : ((QueensBloodPlayer) playerRed).getRandomState();
+      long blueState = journal == null ? 0 : ((QueensBloodPlayer) playerBlue).getRandomState();
+      this.playerBlue.initializePlayer(boardCapacity, blueDeck);
+      this.playerRed.initializePlayer(boardCapacity, redDeck);
+      this.board.initializeBoard(this.playerRed, this.playerBlue);
+      this.isGameStarted = true;
+      this.boardChanged = true;
+      Card drawn = this.currentPlayer.drawNewCard(board);
+      if (journal != null) {
+        journal.recordStart(board.getHeight(), board.getWidth(), handSize, redState, blueState,
+            redStart, blueStart, drawn);
+      }
+      publishSnapshot();
     }
-    int boardCapacity = board.getBoardSize();
-    this.playerBlue.initializePlayer(boardCapacity, blueDeck);
-    this.playerRed.initializePlayer(boardCapacity, redDeck);
-    this.board.initializeBoard(this.playerRed, this.playerBlue);
-    this.isGameStarted = true;
-    this.drawNewCardForCurrentPlayer();
+    notifyModelListeners(ModelEvent.stateChanged());
   }
 
   /**
@@ -121,10 +275,10 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public boolean isGameOver() {
-    if (!this.isGameStarted) {
-      throw new IllegalStateException("Game has not started");
-    }
+    return getSnapshot().isGameOver();
+  }
 
+  private boolean computeGameOver() {
     if (consecutivePass >= 2) {
       return true;
     }
@@ -152,40 +306,106 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void placeCard(int row, int col, int cardIndex) throws IOException {
-    if (!this.isGameStarted) {
-      throw new IllegalStateException("Game has not started");
-    }
-    if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
-      throw new IllegalArgumentException("Invalid row or column: " + row + ", " + col);
-    }
-    if (cardIndex < 0 || cardIndex >= currentPlayer.getHand().size()) {
-      throw new IllegalArgumentException("Invalid card index: " + cardIndex);
-    }
+    ModelEvent event;
+    synchronized (lock) {
+      if (!this.isGameStarted) {
+        throw new IllegalStateException("Game has not started");
+      }
+      if (row < 0 || row >= board.getHeight() || col < 0 || col >= board.getWidth()) {
+        throw new IllegalArgumentException("Invalid row or column: " + row + ", " + col);
+      }
+      if (cardIndex < 0 || cardIndex >= currentPlayer.getHand().size()) {
+        throw new IllegalArgumentException("Invalid card index: " + cardIndex);
+      }
 
-    Card card = currentPlayer.getHand().get(cardIndex);
-    if (board.getCellAt(row, col).getCard() != null) {
-      throw new IllegalStateException("Cell is already occupied by another card.");
+      ensureJournaled();
+      Card card = currentPlayer.getHand().get(cardIndex);
+      if (board.getCellAt(row, col).getCard() != null) {
+        throw new IllegalStateException("Cell is already occupied by another card.");
+      }
+      if (board.getCellAt(row, col).getPawns() < card.getCost()) {
+        throw new IllegalStateException("Not enough pawns to cover the cost of this card.");
+      }
+
+      int[][] pawnsBefore = new int[5][5];
+      Role[][] ownersBefore = new Role[5][5];
+      captureFootprint(row, col, pawnsBefore, ownersBefore);
+      this.board.placeCard(currentPlayer, cardIndex, row, col);
+      if (journal != null) {
+        journal.recordPlace(cardIndex, row, col, card);
+      }
+      List<int[]> changedCells = collectChangedCells(row, col, pawnsBefore, ownersBefore);
+      this.boardChanged = true;
+      this.selectedCardIndex = -1;
+      publishSnapshot();
+      event = ModelEvent.cardPlaced(currentPlayer.getRole(), row, col, changedCells);
     }
-    if (board.getCellAt(row, col).getPawns() < card.getCost()) {
-      throw new IllegalStateException("Not enough pawns to cover the cost of this card.");
+    notifyModelListeners(event);
+  }
+
+  /**
+   * Records the pawns and owners of the 5x5 area a card placed at (row, col) can influence.
+   */
+  private void captureFootprint(int row, int col, int[][] pawns, Role[][] owners) {
+    for (int i = 0; i < 5; i++) {
+      for (int j = 0; j < 5; j++) {
+        int r = row + i - 2;
+        int c = col + j - 2;
+        if (r >= 0 && r < board.getHeight() && c >= 0 && c < board.getWidth()) {
+          Cell<Card> cell = board.getCellAt(r, c);
+          pawns[i][j] = cell.getPawns();
+          owners[i][j] = cell.getOwner();
+        }
+      }
     }
+  }
 
-    this.board.placeCard(currentPlayer, cardIndex, row, col);
-    this.selectedCardIndex = -1;
-    notifyModelListeners();
+  /**
+   * Compares the 5x5 area around (row, col) with a previously captured footprint and returns the
+   * cells that changed, always including the cell the card was placed in.
+   */
+  private List<int[]> collectChangedCells(int row, int col, int[][] pawns, Role[][] owners) {
+    List<int[]> changed = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      for (int j = 0; j < 5; j++) {
+        int r = row + i - 2;
+        int c = col + j - 2;
+        if (r < 0 || r >= board.getHeight() || c < 0 || c >= board.getWidth()) {
+          continue;
+        }
+        Cell<Card> cell = board.getCellAt(r, c);
+        if ((r == row && c == col) || cell.getPawns() != pawns[i][j]
+            || cell.getOwner() != owners[i][j]) {
+          changed.add(new int[]{r, c});
+        }
+      }
+    }
+    return changed;
   }
 
   /**
-   * Switches the turn to the other player.
+   * Switches the turn to the other player and draws a card for them. Listeners receive a single
+   * {@link ModelEvent.Type#TURN_SWITCHED} event, or {@link ModelEvent.Type#GAME_OVER} if the game
+   * ended.
    */
   @Override
   public void switchCurrentPlayer() {
-    if (!this.isGameStarted) {
-      throw new IllegalStateException("Game has not started");
+    ModelEvent event;
+    synchronized (lock) {
+      if (!this.isGameStarted) {
+        throw new IllegalStateException("Game has not started");
+      }
+      ensureJournaled();
+      currentPlayer = currentPlayer == playerRed ? playerBlue : playerRed;
+      Card drawn = currentPlayer.drawNewCard(board);
+      if (journal != null) {
+        journal.recordDraw(true, drawn);
+      }
+      publishSnapshot();
+      event = this.snapshot.isGameOver() ? ModelEvent.gameOver(currentPlayer.getRole())
+          : ModelEvent.turnSwitched(currentPlayer.getRole());
     }
-    currentPlayer = currentPlayer == playerRed ? playerBlue : playerRed;
-    this.drawNewCardForCurrentPlayer();
-    notifyModelListeners();
+    notifyModelListeners(event);
   }
 
   /**
@@ -196,18 +416,30 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public Card drawNewCardForCurrentPlayer() {
-    if (!this.isGameStarted) {
-      throw new IllegalStateException("Game has not started");
+    Card card;
+    ModelEvent event;
+    synchronized (lock) {
+      if (!this.isGameStarted) {
+        throw new IllegalStateException("Game has not started");
+      }
+      ensureJournaled();
+      card = currentPlayer.drawNewCard(board);
+      if (journal != null) {
+        journal.recordDraw(false, card);
+      }
+      publishSnapshot();
+      event = ModelEvent.cardDrawn(currentPlayer.getRole());
     }
-    Card card = currentPlayer.drawNewCard(board);
 
-    notifyModelListeners();
+    notifyModelListeners(event);
 
     return card;
   }
 
   /**
-   * Returns the player whose turn it currently is.
+   * Returns the player whose turn it currently is, as of the latest snapshot. The returned player
+   * is an immutable view of the snapshot, never the live player, so it is safe to read from any
+   * thread.
    *
    * @return the current player
    */
@@ -216,13 +448,15 @@ public class QueensBloodGame implements Game<Card> {
     if (!this.isGameStarted) {
       throw new IllegalStateException("Game has not started. Thus, there is no current player.");
     }
-    return currentPlayer;
+    GameSnapshot current = getSnapshot();
+    return current.getPlayer(current.getCurrentRole());
   }
 
   /**
-   * Returns the copy of the game board.
+   * Returns a read-only view of the game board as of the latest snapshot. The view is shared and
+   * costs nothing to obtain; clone it to get a mutable board for simulation.
    *
-   * @return the copy of the game board
+   * @return the read-only game board
    */
   @Override
   public Board<Card> getBoard() {
@@ -230,7 +464,40 @@ public class QueensBloodGame implements Game<Card> {
       throw new IllegalStateException("Game has not started. The board thus "
           + "has not been initialized.");
     }
-    return this.board.clone();
+    return getSnapshot().getBoard();
+  }
+
+  /**
+   * Returns the most recently committed snapshot of the game. The call never blocks and the
+   * returned snapshot never changes, so it is safe to read from any thread.
+   *
+   * @return the latest snapshot of the game
+   * @throws IllegalStateException if the game has not started
+   */
+  @Override
+  public GameSnapshot getSnapshot() {
+    GameSnapshot current = this.snapshot;
+    if (current == null) {
+      throw new IllegalStateException("Game has not started");
+    }
+    return current;
+  }
+
+  /**
+   * Publishes a new snapshot of the current state. Must be called while holding the lock. The
+   * board is only copied if it changed since the previous snapshot; otherwise the previous copy
+   * is shared.
+   */
+  private void publishSnapshot() {
+    GameSnapshot previous = this.snapshot;
+    Board<Card> boardCopy = (boardChanged || previous == null)
+        ? new ReadonlyBoard(this.board.clone()) : previous.getBoard();
+    this.boardChanged = false;
+    long version = (previous == null) ? 1 : previous.getVersion() + 1;
+    this.snapshot = new GameSnapshot(version, boardCopy, playerRed.getHand(),
+        playerBlue.getHand(), playerRed.getRemainingDeckSize(),
+        playerBlue.getRemainingDeckSize(), currentPlayer.getRole(), consecutivePass,
+        selectedCardIndex, selectedCell[0], selectedCell[1], computeGameOver());
   }
 
   /**
@@ -267,12 +534,72 @@ public class QueensBloodGame implements Game<Card> {
   }
 
   /**
-   * Notifies all registered observers that the model has changed.
+   * Notifies all registered observers that the model has changed in an unspecified way.
    */
   @Override
   public void notifyModelListeners() {
+    notifyModelListeners(ModelEvent.stateChanged());
+  }
+
+  /**
+   * Notifies all registered observers of a specific change. While the calling thread has a
+   * transaction open the event is deferred until its outermost commit.
+   *
+   * @param event the change that occurred
+   */
+  @Override
+  public void notifyModelListeners(ModelEvent event) {
+    Transaction open = transaction.get();
+    if (open != null) {
+      open.events.add(event);
+      return;
+    }
+    deliver(event);
+  }
+
+  private void deliver(ModelEvent event) {
     for (ModelListener modelListener : this.modelListeners) {
-      modelListener.onModelUpdate();
+      modelListener.onModelEvent(event);
+    }
+  }
+
+  /**
+   * Starts a transaction on the calling thread. Until the matching {@link #commitTransaction()},
+   * listeners are not notified of the changes this thread makes; they are delivered as one
+   * coalesced event on commit. Changes made by other threads are still delivered immediately.
+   * Transactions may be nested, in which case only the outermost commit notifies.
+   */
+  @Override
+  public void beginTransaction() {
+    Transaction open = transaction.get();
+    if (open == null) {
+      open = new Transaction();
+      transaction.set(open);
+    }
+    open.depth++;
+  }
+
+  /**
+   * Commits the innermost transaction open on the calling thread. When the outermost transaction
+   * is committed, the events deferred since it began are coalesced and delivered to listeners
+   * once. The transaction is closed before listeners are notified, so a listener that throws
+   * leaves no transaction open.
+   *
+   * @throws IllegalStateException if the calling thread has no transaction open
+   */
+  @Override
+  public void commitTransaction() {
+    Transaction open = transaction.get();
+    if (open == null) {
+      throw new IllegalStateException("No transaction to commit.");
+    }
+    open.depth--;
+    if (open.depth > 0) {
+      return;
+    }
+    transaction.remove();
+    if (!open.events.isEmpty()) {
+      deliver(ModelEvent.coalesce(open.events));
     }
   }
 
@@ -283,7 +610,9 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public int getSelectedCardIndex() {
-    return selectedCardIndex;
+    synchronized (lock) {
+      return selectedCardIndex;
+    }
   }
 
   /**
@@ -293,18 +622,25 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void setSelectedCardIndex(int selectedCardIndex) {
-    this.selectedCardIndex = selectedCardIndex;
-    notifyModelListeners();
+    ModelEvent event;
+    synchronized (lock) {
+      this.selectedCardIndex = selectedCardIndex;
+      publishIfStarted();
+      event = ModelEvent.selectionChanged(currentPlayer.getRole(), List.of());
+    }
+    notifyModelListeners(event);
   }
 
   /**
    * Returns the coordinates of the currently selected board cell.
    *
-   * @return an int array of size 2: [row, col]
+   * @return a new int array of size 2: [row, col]
    */
   @Override
   public int[] getSelectedCellCoordinate() {
-    return selectedCell;
+    synchronized (lock) {
+      return selectedCell.clone();
+    }
   }
 
   /**
@@ -315,9 +651,21 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void setSelectedCellCoordinate(int selectedRow, int selectedCol) {
-    this.selectedCell[0] = selectedRow;
-    this.selectedCell[1] = selectedCol;
-    notifyModelListeners();
+    ModelEvent event;
+    synchronized (lock) {
+      List<int[]> changedCells = new ArrayList<>();
+      if (selectedCell[0] >= 0 && selectedCell[1] >= 0) {
+        changedCells.add(selectedCell.clone());
+      }
+      this.selectedCell[0] = selectedRow;
+      this.selectedCell[1] = selectedCol;
+      if (selectedRow >= 0 && selectedCol >= 0) {
+        changedCells.add(selectedCell.clone());
+      }
+      publishIfStarted();
+      event = ModelEvent.selectionChanged(currentPlayer.getRole(), changedCells);
+    }
+    notifyModelListeners(event);
   }
 
   /**
@@ -325,7 +673,14 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void resetConsecutivePass() {
-    this.consecutivePass = 0;
+    synchronized (lock) {
+      ensureJournaled();
+      this.consecutivePass = 0;
+      if (journal != null && isGameStarted) {
+        journal.recordPass(true);
+      }
+      publishIfStarted();
+    }
   }
 
   /**
@@ -333,7 +688,20 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public void increaseConsecutivePass() {
-    this.consecutivePass += 1;
+    synchronized (lock) {
+      ensureJournaled();
+      this.consecutivePass += 1;
+      if (journal != null && isGameStarted) {
+        journal.recordPass(false);
+      }
+      publishIfStarted();
+    }
+  }
+
+  private void publishIfStarted() {
+    if (this.isGameStarted) {
+      publishSnapshot();
+    }
   }
 
   /**
@@ -343,10 +711,11 @@ public class QueensBloodGame implements Game<Card> {
    */
   @Override
   public Role getWonPlayer() {
-    if (!isGameOver()) {
+    GameSnapshot current = getSnapshot();
+    if (!current.isGameOver()) {
       return null;
     } else {
-      Map<Role, Integer> scores = board.getScores();
+      Map<Role, Integer> scores = current.getBoard().getScores();
       if (scores.get(Role.RED) > scores.get(Role.BLUE)) {
         return Role.RED;
       } else if (scores.get(Role.BLUE) > scores.get(Role.RED)) {
@@ -357,16 +726,39 @@ public class QueensBloodGame implements Game<Card> {
     }
   }
 
+  /**
+   * Returns the player of the given role, as of the latest snapshot. The returned player is an
+   * immutable view of the snapshot, never the live player.
+   *
+   * @param role the role of the player
+   * @return the player
+   */
   @Override
   public Player<Card> getPlayer(Role role) {
     if (!this.isGameStarted) {
       throw new IllegalStateException("Game has not started");
     }
-    if (role == Role.RED) {
-      return this.playerRed;
-    } else {
-      return this.playerBlue;
-    }
+    return getSnapshot().getPlayer(role);
   }
 
-}
\ No newline at end of file
+  /**
+   * Returns the live player of the given role, whose deck the snapshot does not capture. Must be
+   * called while holding the lock, for example through {@link #whileLocked}.
+   *
+   * @param role the role of the player
+   * @return the live player
+   */
+  Player<Card> livePlayer(Role role) {
+    return role == Role.RED ? this.playerRed : this.playerBlue;
+  }
+
+
+  /**
+   * The transaction open on one thread: its nesting depth and the events it deferred.
+   */
+  private static final class Transaction {
+
+    private final List<ModelEvent> events = new ArrayList<>();
+    private int depth;
+  }
+}
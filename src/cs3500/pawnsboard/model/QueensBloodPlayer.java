@@ -19,6 +19,7 @@ public class QueensBloodPlayer implements Player<Card> {
   private final int handSize;
   private final Role role;
   private final List<Card> hand;
+  private final SeededRandom random;
   private List<Card> deck;
   private int originalDeckSize = 0;
 
@@ -29,6 +30,21 @@ public class QueensBloodPlayer implements Player<Card> {
    * @param handSize the maximum number of cards a player can hold initially
    */
   public QueensBloodPlayer(Role role, int handSize) {
+    this(role, handSize, new SeededRandom());
+  }
+
+  /**
+   * Constructs a QueensBloodPlayer whose shuffles and draws are determined by the given seed.
+   *
+   * @param role     the role of the player
+   * @param handSize the maximum number of cards a player can hold initially
+   * @param seed     the seed of the player's random draws
+   */
+  public QueensBloodPlayer(Role role, int handSize, long seed) {
+    this(role, handSize, new SeededRandom(seed));
+  }
+
+  private QueensBloodPlayer(Role role, int handSize, SeededRandom random) {
     if (role == null || handSize <= 0) {
       throw new IllegalArgumentException("Invalid Input.");
     }
@@ -36,6 +52,25 @@ public class QueensBloodPlayer implements Player<Card> {
     this.deck = new ArrayList<>();
     this.hand = new ArrayList<>();
     this.handSize = handSize;
+    this.random = random;
+  }
+
+  /**
+   * Restores a player from saved state.
+   *
+   * @param role             the role of the player
+   * @param handSize         the maximum number of cards a player can hold initially
+   * @param hand             the cards in the player's hand
+   * @param deck             the cards left in the player's deck
+   * @param originalDeckSize the size of the deck when the game started
+   * @param randomState      the state of the player's random draws
+   */
+  QueensBloodPlayer(Role role, int handSize, List<Card> hand, List<Card> deck,
+      int originalDeckSize, long randomState) {
+    this(role, handSize, new SeededRandom(randomState));
+    this.hand.addAll(hand);
+    this.deck.addAll(deck);
+    this.originalDeckSize = originalDeckSize;
   }
 
   /**
@@ -49,6 +84,7 @@ public class QueensBloodPlayer implements Player<Card> {
     this.hand = deepCopyCardList(other.hand);
     this.deck = deepCopyCardList(other.deck);
     this.originalDeckSize = other.originalDeckSize;
+    this.random = new SeededRandom(other.random.getState());
   }
 
 
@@ -99,7 +135,6 @@ public class QueensBloodPlayer implements Player<Card> {
       this.hand.add(selectedCard);
     }
 
-    Random random = new Random();
     int otherIndex = random.nextInt(hand.size() - 1) + 1;
     Card temp = this.hand.get(0);
     this.hand.set(0, this.hand.get(otherIndex));
@@ -117,6 +152,33 @@ public class QueensBloodPlayer implements Player<Card> {
     return this.hand;
   }
 
+  /**
+   * Returns the cards left in the player's deck.
+   *
+   * @return a new list of the cards in the deck
+   */
+  List<Card> getDeck() {
+    return new ArrayList<>(this.deck);
+  }
+
+  /**
+   * Returns the size of the player's deck when the game started.
+   *
+   * @return the original deck size
+   */
+  int getOriginalDeckSize() {
+    return this.originalDeckSize;
+  }
+
+  /**
+   * Returns the state of the player's random draws.
+   *
+   * @return the random state
+   */
+  long getRandomState() {
+    return this.random.getState();
+  }
+
   /**
    * Returns the number of remaining cards in the player's deck.
    *
@@ -131,7 +193,6 @@ public class QueensBloodPlayer implements Player<Card> {
     if (sourceDeck.isEmpty()) {
       throw new IllegalStateException("The deck is empty. Cannot draw a card.");
     }
-    Random random = new Random();
     return sourceDeck.remove(random.nextInt(sourceDeck.size()));
   }
 
@@ -158,7 +219,6 @@ public class QueensBloodPlayer implements Player<Card> {
     int highestPawnCount = getHighestPawnCount(board);
     boolean onlyPawnOneCells = areAllPawnsOne(board);
 
-    Random rand = new Random();
     Card selectedCard;
 
     // If the current deck size is 3/5 of the original deck size, the drawing mode will be
@@ -173,9 +233,9 @@ public class QueensBloodPlayer implements Player<Card> {
       selectedCard = drawCardWithPriority(lowCostCards, midCostCards, highCostCards);
     } else if (highestPawnCount == 2) {
       selectedCard = drawCardWithReducedCost3Probability(lowCostCards, midCostCards, highCostCards,
-          rand);
+          random);
     } else {
-      selectedCard = drawCardNormally(lowCostCards, midCostCards, highCostCards, rand);
+      selectedCard = drawCardNormally(lowCostCards, midCostCards, highCostCards, random);
     }
 
     deck.remove(selectedCard);
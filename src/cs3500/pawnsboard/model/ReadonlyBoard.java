@@ -0,0 +1,210 @@
+package cs3500.pawnsboard.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only view of a board that is never modified after construction. Views are shared by all
+ * readers of a {@link GameSnapshot}, so reading the board costs nothing; a copy is only made when
+ * a caller asks for a mutable board through {@link #clone()}.
+ *
+ * <p>Every method that would modify the board or one of its cells throws
+ * {@link UnsupportedOperationException}. Since the underlying board is frozen, scores are computed
+ * once and reused.
+ *
+ * <p>Invariants:
+ * - The wrapped board is owned exclusively by this view and is never modified. - Cells returned
+ * by this view are read-only wrappers over the cells of the wrapped board.
+ */
+public final class ReadonlyBoard implements Board<Card> {
+
+  private final Board<Card> frozen;
+  private final Cell<Card>[][] cells;
+  private final List<Map<Role, Integer>> rowScores;
+  private Map<Role, Integer> scores;
+
+  /**
+   * Constructs a read-only view that takes ownership of the given board. The caller must not keep
+   * or modify any other reference to it.
+   *
+   * @param frozen the board to wrap
+   * @throws IllegalArgumentException if the board is null
+   */
+  ReadonlyBoard(Board<Card> frozen) {
+    if (frozen == null) {
+      throw new IllegalArgumentException("Board cannot be null.");
+    }
+    this.frozen = frozen;
+    this.cells = new ReadonlyCell[frozen.getHeight()][frozen.getWidth()];
+    for (int r = 0; r < frozen.getHeight(); r++) {
+      for (int c = 0; c < frozen.getWidth(); c++) {
+        this.cells[r][c] = new ReadonlyCell(frozen.getCellAt(r, c));
+      }
+    }
+    this.rowScores = new ArrayList<>(Collections.nCopies(frozen.getHeight(), null));
+  }
+
+  /**
+   * Unsupported, a read-only board cannot be initialized.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void initializeBoard(Player<Card> playerRed, Player<Card> playerBlue) {
+    throw new UnsupportedOperationException("Cannot initialize a read-only board.");
+  }
+
+  /**
+   * Unsupported, cards cannot be placed on a read-only board. Clone the board to simulate moves.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void placeCard(Player<Card> player, int cardIdx, int row, int col) throws IOException {
+    throw new UnsupportedOperationException("Cannot place a card on a read-only board.");
+  }
+
+  /**
+   * Get the read-only cell at the specified position on the board.
+   *
+   * @param row the row index
+   * @param col the column index
+   * @return the cell at the specified position
+   * @throws IllegalArgumentException if the row or column is out of bounds
+   */
+  @Override
+  public Cell<Card> getCellAt(int row, int col) {
+    if (row < 0 || row >= getHeight() || col < 0 || col >= getWidth()) {
+      throw new IllegalArgumentException("Illegal row or column index: " + row + ", " + col);
+    }
+    return this.cells[row][col];
+  }
+
+  /**
+   * Computes the total scores for both players. The result is computed on first use and shared
+   * afterwards.
+   *
+   * @return a map containing the total scores for both players
+   */
+  @Override
+  public synchronized Map<Role, Integer> getScores() {
+    if (scores == null) {
+      scores = frozen.getScores();
+    }
+    return scores;
+  }
+
+  /**
+   * Calculates the scores for each player in a given row. The result is computed on first use
+   * and shared afterwards.
+   *
+   * @param row the row index for which the scores are being calculated
+   * @return an unmodifiable map of players and their respective scores for the row
+   * @throws IllegalArgumentException if the row index is out of bounds
+   */
+  @Override
+  public synchronized Map<Role, Integer> getRowScores(int row) {
+    if (row < 0 || row >= getHeight()) {
+      throw new IllegalArgumentException("Cannot obtain a score for invalid row: " + row);
+    }
+    if (rowScores.get(row) == null) {
+      rowScores.set(row, Map.copyOf(frozen.getRowScores(row)));
+    }
+    return rowScores.get(row);
+  }
+
+  @Override
+  public int remainingCell() {
+    return frozen.remainingCell();
+  }
+
+  @Override
+  public int getBoardSize() {
+    return frozen.getBoardSize();
+  }
+
+  @Override
+  public int getWidth() {
+    return frozen.getWidth();
+  }
+
+  @Override
+  public int getHeight() {
+    return frozen.getHeight();
+  }
+
+  /**
+   * Returns the grid of read-only cells. The outer arrays are copied so that callers cannot swap
+   * cells of this view; the cells themselves are shared.
+   *
+   * @return the 2D array representing the grid of cells
+   */
+  @Override
+  public Cell<Card>[][] getGrid() {
+    Cell<Card>[][] grid = cells.clone();
+    for (int r = 0; r < grid.length; r++) {
+      grid[r] = grid[r].clone();
+    }
+    return grid;
+  }
+
+  /**
+   * Creates a mutable deep copy of this board. This is the only operation that copies cells.
+   *
+   * @return a new, independent and mutable board
+   */
+  @Override
+  public Board<Card> clone() {
+    return frozen.clone();
+  }
+
+  @Override
+  public boolean isLegalMove(Player<Card> player, int cardIdx, int row, int col) {
+    return frozen.isLegalMove(player, cardIdx, row, col);
+  }
+
+  /**
+   * A read-only wrapper over a cell of the frozen board.
+   */
+  private static final class ReadonlyCell implements Cell<Card> {
+
+    private final Cell<Card> cell;
+
+    private ReadonlyCell(Cell<Card> cell) {
+      this.cell = cell;
+    }
+
+    @Override
+    public void addCard(Card card, Role player) {
+      throw new UnsupportedOperationException("Cannot add a card to a read-only cell.");
+    }
+
+    @Override
+    public Role getOwner() {
+      return cell.getOwner();
+    }
+
+    @Override
+    public int getPawns() {
+      return cell.getPawns();
+    }
+
+    @Override
+    public void addPawn(Role player, int pawns) {
+      throw new UnsupportedOperationException("Cannot add pawns to a read-only cell.");
+    }
+
+    @Override
+    public Card getCard() {
+      return cell.getCard();
+    }
+
+    @Override
+    public Cell<Card> clone() {
+      return new QueensBloodCell(cell);
+    }
+  }
+}
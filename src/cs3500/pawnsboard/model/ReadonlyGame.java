@@ -16,7 +16,8 @@ public interface ReadonlyGame<C extends Card> extends ObservableModel {
   boolean isGameOver();
 
   /**
-   * Returns the player whose turn it currently is.
+   * Returns the player whose turn it currently is, as of the latest snapshot. The player never
+   * changes; read a {@link #getSnapshot()} to see its hand together with the matching board.
    *
    * @return the current player
    */
@@ -72,5 +73,20 @@ public interface ReadonlyGame<C extends Card> extends ObservableModel {
    */
   Role getWonPlayer();
 
+  /**
+   * Returns the player of the given role, as of the latest snapshot. The player never changes.
+   *
+   * @param role the role of the player
+   * @return the player
+   */
   Player<C> getPlayer(Role role);
+
+  /**
+   * Returns the most recently committed snapshot of the game, which is safe to read from any
+   * thread.
+   *
+   * @return the latest snapshot of the game
+   * @throws IllegalStateException if the game has not started
+   */
+  GameSnapshot getSnapshot();
 }
@@ -0,0 +1,238 @@
+package cs3500.pawnsboard.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates boards row by row. The score of a board is a sum of independent per-row contests, and
+ * a placement only changes the cells within two rows of it, so the evaluation of a board reached by
+ * one placement reuses the row evaluations of its parent outside that band and evaluates only the
+ * rows inside it. Besides card sums, a row evaluation records the pawns and cells owned by each
+ * player, for heuristics that look beyond the score.
+ *
+ * <p>Rows are not memoized across boards: telling two rows apart takes a walk over their cells,
+ * which costs as much as evaluating the row itself.
+ *
+ * <p>The cache is safe to share between threads.
+ */
+public class RowEvaluationCache {
+
+  /**
+   * The number of rows above and below a placement that the placement can change.
+   */
+  public static final int FOOTPRINT_RADIUS = 2;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Evaluates every row of a board.
+   *
+   * @param board the board to evaluate
+   * @return the evaluation of the board
+   * @throws IllegalArgumentException if the board is null
+   */
+  public BoardEvaluation evaluate(Board<Card> board) {
+    if (board == null) {
+      throw new IllegalArgumentException("Board cannot be null.");
+    }
+    RowEvaluation[] evaluations = new RowEvaluation[board.getHeight()];
+    for (int r = 0; r < evaluations.length; r++) {
+      evaluations[r] = evaluateRow(board, r);
+    }
+    return new BoardEvaluation(evaluations);
+  }
+
+  /**
+   * Evaluates a board reached from an evaluated parent board by a placement in the given row. Rows
+   * further than {@link #FOOTPRINT_RADIUS} from the placement are taken from the parent.
+   *
+   * @param parent the evaluation of the board before the placement
+   * @param child  the board after the placement
+   * @param row    the row of the placement
+   * @return the evaluation of the child board
+   * @throws IllegalArgumentException if an argument is null or the boards differ in height
+   */
+  public BoardEvaluation evaluateAfterMove(BoardEvaluation parent, Board<Card> child, int row) {
+    if (parent == null || child == null) {
+      throw new IllegalArgumentException("Parent evaluation and board cannot be null.");
+    }
+    if (parent.rows.length != child.getHeight()) {
+      throw new IllegalArgumentException("Boards must have the same height.");
+    }
+    RowEvaluation[] evaluations = parent.rows.clone();
+    int from = Math.max(0, row - FOOTPRINT_RADIUS);
+    int to = Math.min(child.getHeight() - 1, row + FOOTPRINT_RADIUS);
+    hits.addAndGet(evaluations.length - Math.max(0, to - from + 1));
+    for (int r = from; r <= to; r++) {
+      evaluations[r] = evaluateRow(child, r);
+    }
+    return new BoardEvaluation(evaluations);
+  }
+
+  /**
+   * Returns the number of rows taken from a parent evaluation.
+   *
+   * @return the hit count
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Returns the number of rows that had to be evaluated.
+   *
+   * @return the miss count
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private RowEvaluation evaluateRow(Board<Card> board, int row) {
+    misses.incrementAndGet();
+    int redSum = 0;
+    int blueSum = 0;
+    int redPawns = 0;
+    int bluePawns = 0;
+    int redCells = 0;
+    int blueCells = 0;
+    for (int c = 0; c < board.getWidth(); c++) {
+      Cell<Card> cell = board.getCellAt(row, c);
+      Card card = cell.getCard();
+      if (card != null) {
+        if (card.getOwner() == Role.RED) {
+          redSum += card.getValue();
+        } else {
+          blueSum += card.getValue();
+        }
+      }
+      if (cell.getOwner() == Role.RED) {
+        redCells++;
+        redPawns += cell.getPawns();
+      } else if (cell.getOwner() == Role.BLUE) {
+        blueCells++;
+        bluePawns += cell.getPawns();
+      }
+    }
+    return new RowEvaluation(redSum, blueSum, redPawns, bluePawns, redCells, blueCells);
+  }
+
+  /**
+   * The evaluation of a single row.
+   */
+  public static final class RowEvaluation {
+
+    private final int redSum;
+    private final int blueSum;
+    private final int redPawns;
+    private final int bluePawns;
+    private final int redCells;
+    private final int blueCells;
+
+    private RowEvaluation(int redSum, int blueSum, int redPawns, int bluePawns, int redCells,
+        int blueCells) {
+      this.redSum = redSum;
+      this.blueSum = blueSum;
+      this.redPawns = redPawns;
+      this.bluePawns = bluePawns;
+      this.redCells = redCells;
+      this.blueCells = blueCells;
+    }
+
+    /**
+     * Returns the sum of the values of the given player's cards in the row.
+     *
+     * @param role the player
+     * @return the row sum of the player
+     */
+    public int getSum(Role role) {
+      return role == Role.RED ? redSum : blueSum;
+    }
+
+    /**
+     * Returns the points the given player scores for the row: the player's sum if it is strictly
+     * higher than the opponent's, 0 otherwise.
+     *
+     * @param role the player
+     * @return the row score of the player
+     */
+    public int getScore(Role role) {
+      int own = getSum(role);
+      return own > getSum(role.getOpponent()) ? own : 0;
+    }
+
+    /**
+     * Returns the number of pawns the given player has in the row.
+     *
+     * @param role the player
+     * @return the pawn count of the player
+     */
+    public int getPawns(Role role) {
+      return role == Role.RED ? redPawns : bluePawns;
+    }
+
+    /**
+     * Returns the number of cells the given player owns in the row.
+     *
+     * @param role the player
+     * @return the owned cell count of the player
+     */
+    public int getOwnedCells(Role role) {
+      return role == Role.RED ? redCells : blueCells;
+    }
+  }
+
+  /**
+   * The evaluation of a whole board, made of the evaluations of its rows.
+   */
+  public static final class BoardEvaluation {
+
+    private final RowEvaluation[] rows;
+    private final int redScore;
+    private final int blueScore;
+
+    private BoardEvaluation(RowEvaluation[] rows) {
+      this.rows = rows;
+      int red = 0;
+      int blue = 0;
+      for (RowEvaluation row : rows) {
+        red += row.getScore(Role.RED);
+        blue += row.getScore(Role.BLUE);
+      }
+      this.redScore = red;
+      this.blueScore = blue;
+    }
+
+    /**
+     * Returns the total score of the given player, as {@link Board#getScores()} computes it.
+     *
+     * @param role the player
+     * @return the score of the player
+     */
+    public int getScore(Role role) {
+      return role == Role.RED ? redScore : blueScore;
+    }
+
+    /**
+     * Returns the evaluation of one row.
+     *
+     * @param row the row index
+     * @return the evaluation of the row
+     * @throws IllegalArgumentException if the row is out of bounds
+     */
+    public RowEvaluation getRow(int row) {
+      if (row < 0 || row >= rows.length) {
+        throw new IllegalArgumentException("Illegal row index: " + row);
+      }
+      return rows[row];
+    }
+
+    /**
+     * Returns the number of rows of the evaluated board.
+     *
+     * @return the height of the board
+     */
+    public int getHeight() {
+      return rows.length;
+    }
+  }
+}
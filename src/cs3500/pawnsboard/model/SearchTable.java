@@ -0,0 +1,278 @@
+package cs3500.pawnsboard.model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A memory-capped table of search results that survives from one turn to the next. Results are
+ * grouped by the position they were computed in, so that when a move is actually played, the
+ * positions that can no longer occur are discarded together and the rest, in particular the
+ * positions reachable from the new root, are kept for the next search.
+ *
+ * <p>Cards are never removed from a board, so a position with fewer cards than the root can no
+ * longer occur, and neither can a position with as many cards as the root other than the root
+ * itself. {@link #advanceRoot} drops both. When the estimated memory use exceeds the cap, the
+ * least recently used positions are evicted.
+ *
+ * <p>All methods are synchronized, so a table can be shared by a search and a pondering thread.
+ */
+public class SearchTable {
+
+  /**
+   * The default memory cap, in bytes.
+   */
+  public static final long DEFAULT_MAX_BYTES = 32L << 20;
+
+  /**
+   * The estimated memory use of one position without its results, in bytes.
+   */
+  static final int POSITION_BYTES = 96;
+
+  /**
+   * The estimated memory use of one result, in bytes.
+   */
+  static final int ENTRY_BYTES = 64;
+
+  private final long maxBytes;
+  private final LinkedHashMap<Long, Position> positions;
+  private long estimatedBytes;
+  private long entryCount;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Constructs a table with the default memory cap.
+   */
+  public SearchTable() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * Constructs a table with the given memory cap.
+   *
+   * @param maxBytes the maximum estimated memory use of the table, in bytes
+   * @throws IllegalArgumentException if the cap is not positive
+   */
+  public SearchTable(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("Memory cap must be positive.");
+    }
+    this.maxBytes = maxBytes;
+    this.positions = new LinkedHashMap<>(64, 0.75f, true);
+  }
+
+  /**
+   * Computes the key of a move within a position.
+   *
+   * @param cardHash the hash of the card definition, see {@link PositionHash#cardHash}
+   * @param role     the role of the player making the move
+   * @param row      the row of the placement
+   * @param col      the column of the placement
+   * @return the key of the move
+   */
+  public static long moveKey(long cardHash, Role role, int row, int col) {
+    return PositionHash.mix(cardHash ^ ((long) role.ordinal() << 42 | (long) row << 21 | col));
+  }
+
+  /**
+   * Counts the cards placed on a board.
+   *
+   * @param board the board
+   * @return the number of cells holding a card
+   */
+  public static int countCards(Board<Card> board) {
+    int count = 0;
+    for (int r = 0; r < board.getHeight(); r++) {
+      for (int c = 0; c < board.getWidth(); c++) {
+        if (board.getCellAt(r, c).getCard() != null) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the stored result of a move in a position.
+   *
+   * @param positionHash the hash of the position
+   * @param moveKey      the key of the move, see {@link #moveKey}
+   * @return the stored result, or null if there is none
+   */
+  public synchronized Integer get(long positionHash, long moveKey) {
+    Position position = positions.get(positionHash);
+    Integer value = position == null ? null : position.results.get(moveKey);
+    if (value == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return value;
+  }
+
+  /**
+   * Stores the result of a move in a position, evicting the least recently used positions if the
+   * memory cap is exceeded.
+   *
+   * @param positionHash the hash of the position
+   * @param cardCount    the number of cards placed in the position
+   * @param moveKey      the key of the move, see {@link #moveKey}
+   * @param value        the result to store
+   */
+  public synchronized void put(long positionHash, int cardCount, long moveKey, int value) {
+    Position position = positions.get(positionHash);
+    if (position == null) {
+      position = new Position(cardCount);
+      positions.put(positionHash, position);
+      estimatedBytes += POSITION_BYTES;
+    }
+    if (position.results.put(moveKey, value) == null) {
+      entryCount++;
+      estimatedBytes += ENTRY_BYTES;
+    }
+    Iterator<Map.Entry<Long, Position>> it = positions.entrySet().iterator();
+    while (estimatedBytes > maxBytes && it.hasNext()) {
+      Map.Entry<Long, Position> eldest = it.next();
+      if (eldest.getValue() == position) {
+        continue;
+      }
+      it.remove();
+      release(eldest.getValue());
+      evictions++;
+    }
+  }
+
+  /**
+   * Returns the best move stored for a position, which a search should try first.
+   *
+   * @param positionHash the hash of the position
+   * @return the key of the best move, or null if none is stored
+   */
+  public synchronized Long getBestMove(long positionHash) {
+    Position position = positions.get(positionHash);
+    return position == null || !position.hasBestMove ? null : position.bestMove;
+  }
+
+  /**
+   * Stores the best move found in a position.
+   *
+   * @param positionHash the hash of the position
+   * @param cardCount    the number of cards placed in the position
+   * @param moveKey      the key of the best move, see {@link #moveKey}
+   */
+  public synchronized void putBestMove(long positionHash, int cardCount, long moveKey) {
+    Position position = positions.get(positionHash);
+    if (position == null) {
+      position = new Position(cardCount);
+      positions.put(positionHash, position);
+      estimatedBytes += POSITION_BYTES;
+    }
+    position.bestMove = moveKey;
+    position.hasBestMove = true;
+  }
+
+  /**
+   * Moves the root of the search to the given position and discards every position that can no
+   * longer occur from it.
+   *
+   * @param rootHash      the hash of the new root position
+   * @param rootCardCount the number of cards placed in the new root position
+   */
+  public synchronized void advanceRoot(long rootHash, int rootCardCount) {
+    Iterator<Map.Entry<Long, Position>> it = positions.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<Long, Position> entry = it.next();
+      int count = entry.getValue().cardCount;
+      if (count < rootCardCount || (count == rootCardCount && entry.getKey() != rootHash)) {
+        it.remove();
+        release(entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Removes every stored result.
+   */
+  public synchronized void clear() {
+    positions.clear();
+    estimatedBytes = 0;
+    entryCount = 0;
+  }
+
+  private void release(Position position) {
+    estimatedBytes -= POSITION_BYTES + (long) ENTRY_BYTES * position.results.size();
+    entryCount -= position.results.size();
+  }
+
+  /**
+   * Returns the number of positions with stored results.
+   *
+   * @return the position count
+   */
+  public synchronized int getPositionCount() {
+    return positions.size();
+  }
+
+  /**
+   * Returns the number of stored results.
+   *
+   * @return the result count
+   */
+  public synchronized long getEntryCount() {
+    return entryCount;
+  }
+
+  /**
+   * Returns the estimated memory use of the table.
+   *
+   * @return the estimated size in bytes
+   */
+  public synchronized long getEstimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /**
+   * Returns the number of lookups that found a result.
+   *
+   * @return the hit count
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that found no result.
+   *
+   * @return the miss count
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of positions evicted because of the memory cap.
+   *
+   * @return the eviction count
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * The results and best move stored for one position.
+   */
+  private static final class Position {
+
+    private final int cardCount;
+    private final Map<Long, Integer> results = new HashMap<>();
+    private long bestMove;
+    private boolean hasBestMove;
+
+    private Position(int cardCount) {
+      this.cardCount = cardCount;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package cs3500.pawnsboard.model;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A random number generator whose whole state is a single {@code long} that can be read and
+ * restored, so that a saved game continues with exactly the draws it would have made. The
+ * sequence is generated by the SplitMix64 algorithm.
+ *
+ * <p>Only the methods built on {@link Random#next(int)} are covered by the state; the cached
+ * second value of {@link Random#nextGaussian()} is not.
+ */
+public class SeededRandom extends Random {
+
+  private static final long serialVersionUID = 1L;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(0x2545F4914F6CDD1DL);
+
+  private long state;
+
+  /**
+   * Constructs a generator with a seed that differs between calls.
+   */
+  public SeededRandom() {
+    this(SEED_UNIQUIFIER.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+  }
+
+  /**
+   * Constructs a generator with the given seed. Generators with the same seed produce the same
+   * sequence.
+   *
+   * @param seed the seed
+   */
+  public SeededRandom(long seed) {
+    super(seed);
+  }
+
+  @Override
+  public synchronized void setSeed(long seed) {
+    // Called by the superclass constructor, before the fields of this class are initialized
+    state = seed;
+  }
+
+  /**
+   * Returns the current state of this generator.
+   *
+   * @return the state, which restores this generator's future sequence when passed to
+   *         {@link #setState(long)}
+   */
+  public synchronized long getState() {
+    return state;
+  }
+
+  /**
+   * Restores a state previously returned by {@link #getState()}.
+   *
+   * @param state the state to restore
+   */
+  public synchronized void setState(long state) {
+    this.state = state;
+  }
+
+  @Override
+  protected synchronized int next(int bits) {
+    state += GOLDEN_GAMMA;
+    long z = state;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z ^= z >>> 31;
+    return (int) (z >>> (64 - bits));
+  }
+}
@@ -0,0 +1,128 @@
+package cs3500.pawnsboard.model;
+
+import cs3500.pawnsboard.controller.ModelListener;
+import java.util.Map;
+
+/**
+ * A read-only game over a {@link GameSnapshot}. Strategies can search it on any thread while the
+ * live game keeps changing, since nothing it returns is shared with the live game: the board is
+ * the snapshot's read-only view and the players only expose the snapshot's hands.
+ *
+ * <p>Every method that would modify the game, select a card or a cell, or register a listener
+ * throws {@link UnsupportedOperationException}.
+ */
+public final class SnapshotGame implements ReadonlyGame<Card> {
+
+  private final GameSnapshot snapshot;
+  private final int handSize;
+
+  /**
+   * Constructs a game over the given snapshot.
+   *
+   * @param snapshot the snapshot to read
+   * @param handSize the hand size the game was started with
+   * @throws IllegalArgumentException if the snapshot is null
+   */
+  public SnapshotGame(GameSnapshot snapshot, int handSize) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null.");
+    }
+    this.snapshot = snapshot;
+    this.handSize = handSize;
+  }
+
+  /**
+   * Returns the snapshot this game reads.
+   *
+   * @return the snapshot
+   */
+  @Override
+  public GameSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return snapshot.isGameOver();
+  }
+
+  @Override
+  public Player<Card> getCurrentPlayer() {
+    return getPlayer(snapshot.getCurrentRole());
+  }
+
+  @Override
+  public Board<Card> getBoard() {
+    return snapshot.getBoard();
+  }
+
+  @Override
+  public int getHandSize() {
+    return handSize;
+  }
+
+  @Override
+  public int getSelectedCardIndex() {
+    return snapshot.getSelectedCardIndex();
+  }
+
+  @Override
+  public void setSelectedCardIndex(int selectedCardIndex) {
+    throw new UnsupportedOperationException("Cannot select a card in a snapshot.");
+  }
+
+  @Override
+  public int[] getSelectedCellCoordinate() {
+    return snapshot.getSelectedCellCoordinate();
+  }
+
+  @Override
+  public void setSelectedCellCoordinate(int selectedRow, int selectedCol) {
+    throw new UnsupportedOperationException("Cannot select a cell in a snapshot.");
+  }
+
+  /**
+   * Returns the role of the player who won the game, as {@link QueensBloodGame#getWonPlayer()}
+   * determines it.
+   *
+   * @return the winning player's role, or null if the game is not over or drawn
+   */
+  @Override
+  public Role getWonPlayer() {
+    if (!snapshot.isGameOver()) {
+      return null;
+    }
+    Map<Role, Integer> scores = snapshot.getBoard().getScores();
+    if (scores.get(Role.RED) > scores.get(Role.BLUE)) {
+      return Role.RED;
+    } else if (scores.get(Role.BLUE) > scores.get(Role.RED)) {
+      return Role.BLUE;
+    }
+    return null;
+  }
+
+  @Override
+  public Player<Card> getPlayer(Role role) {
+    return snapshot.getPlayer(role);
+  }
+
+  @Override
+  public void addModelListener(ModelListener modelListener) {
+    throw new UnsupportedOperationException("A snapshot never changes.");
+  }
+
+  @Override
+  public void removeModelListener(ModelListener modelListener) {
+    throw new UnsupportedOperationException("A snapshot never changes.");
+  }
+
+  @Override
+  public void notifyModelListeners() {
+    throw new UnsupportedOperationException("A snapshot never changes.");
+  }
+
+  @Override
+  public void notifyModelListeners(ModelEvent event) {
+    throw new UnsupportedOperationException("A snapshot never changes.");
+  }
+}
@@ -20,6 +20,6 @@ public interface StrategySelector {
    * @param forWhom    the role of the player
    * @return the chosen strategy
    */
-  Strategy selectBestStrategy(List<Strategy> strategies, Game<Card> game, Role forWhom)
-      throws IOException;
+  Strategy selectBestStrategy(List<Strategy> strategies, ReadonlyGame<Card> game,
+      Role forWhom) throws IOException;
 }
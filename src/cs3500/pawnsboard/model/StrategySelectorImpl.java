@@ -22,8 +22,8 @@ public class StrategySelectorImpl implements StrategySelector {
    * @throws IOException if an error occurs while evaluating strategies
    */
   @Override
-  public Strategy selectBestStrategy(List<Strategy> strategies, Game<Card> game, Role forWhom)
-      throws IOException {
+  public Strategy selectBestStrategy(List<Strategy> strategies, ReadonlyGame<Card> game,
+      Role forWhom) throws IOException {
     int bestScore = Integer.MIN_VALUE;
     Strategy bestStrategy = strategies.get(0); // fallback
 
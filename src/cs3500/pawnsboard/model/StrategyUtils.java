@@ -12,6 +12,25 @@ import java.util.List;
  */
 public class StrategyUtils {
 
+  /**
+   * Determines whether a placement is legal based on ownership and pawn cost: the cell is empty,
+   * owned by no one or by the role, and holds at least as many pawns as the card costs.
+   *
+   * @param board the game board
+   * @param role  the role attempting the move
+   * @param card  the card to place
+   * @param row   the row to place in
+   * @param col   the column to place in
+   * @return true if the move is legal, false otherwise
+   */
+  public static boolean isLegalPlacement(Board<Card> board, Role role, Card card, int row,
+      int col) {
+    Cell<Card> cell = board.getCellAt(row, col);
+    return cell.getCard() == null &&
+        (cell.getOwner() == null || cell.getOwner().equals(role)) &&
+        cell.getPawns() >= card.getCost();
+  }
+
   /**
    * DummyPlayer is used for simulation in strategies that require a mutable player. It implements
    * the Player interface minimally.
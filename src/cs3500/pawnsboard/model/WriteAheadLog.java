@@ -0,0 +1,836 @@
+package cs3500.pawnsboard.model;
+
+import cs3500.pawnsboard.controller.AsyncEventLogger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps many hosted games durable in one directory, so that they can all be rebuilt after the
+ * process stops unexpectedly. Each hosted game records its changes through a {@link MoveJournal},
+ * and every journal record becomes one entry of a shared log. A change returns only once its
+ * entry is forced to disk; entries from all games waiting at the same time are written and forced
+ * together by a single committer thread, so many games share one flush. If an entry cannot be
+ * logged, its game refuses every further change.
+ *
+ * <p>Checkpoints bound the work of recovery: they save every started game with
+ * {@link GameCodec} into a snapshot file, start a new log segment and delete the older segments
+ * and snapshot. Checkpoints are taken when the log is opened, periodically if requested, and on
+ * {@link #checkpoint()}. Opening a directory rebuilds every game from the latest snapshot and the
+ * entries logged after it. An entry that was cut short by a crash, and everything after it, is
+ * ignored; its change had not been reported as done. A newest segment whose header was cut short
+ * holds no entries yet and is deleted. Games that were hosted but never started are not recovered.
+ *
+ * <p>Files: a segment {@code wal-<first entry>.log} holds a magic number and format version and
+ * then entries, each as payload length, sequence number, game id, payload and a CRC32 of the
+ * sequence number, game id and payload. An empty payload marks a released game. A snapshot
+ * {@code snapshot-<last entry>.bin} holds a magic number and format version, the sequence number
+ * of the last entry before it, and for each game its id, the sequence number of its last entry
+ * reflected in the snapshot and its saved form, followed by a CRC32 of all of it.
+ */
+public final class WriteAheadLog implements Closeable {
+
+  private static final int SEGMENT_MAGIC = 0x5042574C;
+  private static final int SNAPSHOT_MAGIC = 0x50425753;
+  private static final int FORMAT_VERSION = 1;
+  private static final int SEGMENT_HEADER_BYTES = 5;
+  private static final int ENTRY_OVERHEAD_BYTES = 20;
+  private static final int LATENCY_SAMPLES = 1 << 16;
+  private static final String SEGMENT_PREFIX = "wal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".bin";
+
+  private final Path directory;
+  private final Map<Integer, HostedGame> games;
+  private final Object lock = new Object();
+  private final Object checkpointLock = new Object();
+  private final ArrayDeque<Entry> pending;
+  private final Thread committer;
+  private final ScheduledExecutorService checkpointer;
+  private final long[] latencies;
+  private final long openedAt;
+  private FileChannel segment;
+  private long lastSequence;
+  private long durableSequence;
+  private long checkpointSequence;
+  private IOException failure;
+  private boolean closed;
+  private long commitCount;
+  private long entryCount;
+  private long byteCount;
+  private long latencyCount;
+
+  private WriteAheadLog(Path directory, long lastSequence, long checkpointPeriodMillis) {
+    this.directory = directory;
+    this.games = new TreeMap<>();
+    this.pending = new ArrayDeque<>();
+    this.latencies = new long[LATENCY_SAMPLES];
+    this.openedAt = System.nanoTime();
+    this.lastSequence = lastSequence;
+    this.durableSequence = lastSequence;
+    this.checkpointSequence = -1;
+    this.committer = new Thread(this::commitLoop, "wal-committer");
+    this.committer.setDaemon(true);
+    this.committer.start();
+    if (checkpointPeriodMillis > 0) {
+      this.checkpointer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "wal-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.checkpointer.scheduleWithFixedDelay(this::periodicCheckpoint, checkpointPeriodMillis,
+          checkpointPeriodMillis, TimeUnit.MILLISECONDS);
+    } else {
+      this.checkpointer = null;
+    }
+  }
+
+  /**
+   * Opens the log in the given directory, creating it if needed, and recovers the games it holds.
+   * The recovered games are hosted again under their ids and continue to be logged.
+   *
+   * @param directory              the directory holding the log
+   * @param checkpointPeriodMillis the time between automatic checkpoints, or 0 for none
+   * @return the opened log
+   * @throws IOException              if the directory cannot be used or its contents are corrupt
+   * @throws IllegalArgumentException if the directory is null or the period is negative
+   */
+  public static WriteAheadLog open(Path directory, long checkpointPeriodMillis)
+      throws IOException {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory cannot be null.");
+    }
+    if (checkpointPeriodMillis < 0) {
+      throw new IllegalArgumentException("Checkpoint period cannot be negative.");
+    }
+    Files.createDirectories(directory);
+    Map<Integer, QueensBloodGame> recovered = new TreeMap<>();
+    long last = recover(directory, recovered);
+    WriteAheadLog log = new WriteAheadLog(directory, last, checkpointPeriodMillis);
+    try {
+      for (Map.Entry<Integer, QueensBloodGame> game : recovered.entrySet()) {
+        QueensBloodGame restored = game.getValue();
+        MoveJournal journal = log.newJournal(game.getKey());
+        restored.replaceJournal(journal);
+        synchronized (log.games) {
+          log.games.put(game.getKey(), new HostedGame(restored, journal));
+        }
+      }
+      log.checkpoint();
+    } catch (IOException | RuntimeException e) {
+      log.close();
+      throw e;
+    }
+    return log;
+  }
+
+  /**
+   * Hosts a game under the given id. The game must not have started; its start and every later
+   * change are logged.
+   *
+   * @param gameId the id of the game, unique among hosted games
+   * @param game   the game to host
+   * @throws IllegalArgumentException if the game is null, its id is in use, or its players are
+   *                                  not {@link QueensBloodPlayer}s
+   * @throws IllegalStateException    if the game has started or the log is closed
+   */
+  public void host(int gameId, QueensBloodGame game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null.");
+    }
+    synchronized (lock) {
+      if (closed) {
+        throw new IllegalStateException("Write-ahead log is closed.");
+      }
+    }
+    synchronized (games) {
+      if (games.containsKey(gameId)) {
+        throw new IllegalArgumentException("Game id already in use: " + gameId);
+      }
+      MoveJournal journal = newJournal(gameId);
+      game.setJournal(journal);
+      games.put(gameId, new HostedGame(game, journal));
+    }
+  }
+
+  /**
+   * Stops hosting a game, for example once it is over. The game is not recovered afterwards.
+   *
+   * @param gameId the id of the game
+   * @throws IOException              if the release cannot be logged
+   * @throws IllegalArgumentException if no game is hosted under the id
+   */
+  public void release(int gameId) throws IOException {
+    HostedGame hosted;
+    synchronized (games) {
+      hosted = games.remove(gameId);
+    }
+    if (hosted == null) {
+      throw new IllegalArgumentException("No game hosted under id " + gameId);
+    }
+    hosted.game.replaceJournal(null);
+    append(gameId, new byte[0]);
+    hosted.journal.close();
+  }
+
+  /**
+   * Returns the hosted games, including the ones recovered when the log was opened.
+   *
+   * @return a new map from game id to game, ordered by id
+   */
+  public Map<Integer, QueensBloodGame> getGames() {
+    Map<Integer, QueensBloodGame> result = new TreeMap<>();
+    synchronized (games) {
+      for (Map.Entry<Integer, HostedGame> hosted : games.entrySet()) {
+        result.put(hosted.getKey(), hosted.getValue().game);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Takes a checkpoint: saves every started game to a new snapshot and deletes the log entries
+   * and snapshot it replaces. Does nothing if no entry was logged since the last checkpoint.
+   *
+   * @throws IOException if the snapshot cannot be written or the log has failed or is closed
+   */
+  public void checkpoint() throws IOException {
+    synchronized (checkpointLock) {
+      long base;
+      FileChannel previous;
+      synchronized (lock) {
+        ensureWritable();
+        if (lastSequence == checkpointSequence) {
+          return;
+        }
+        base = lastSequence;
+        previous = segment;
+        segment = createSegment(base + 1);
+        awaitDurable(base);
+      }
+      if (previous != null) {
+        previous.close();
+      }
+
+      List<Integer> ids = new ArrayList<>();
+      List<HostedGame> hosted = new ArrayList<>();
+      synchronized (games) {
+        ids.addAll(games.keySet());
+        hosted.addAll(games.values());
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeByte(FORMAT_VERSION);
+      out.writeLong(base);
+      List<long[]> positions = new ArrayList<>();
+      List<byte[]> saved = new ArrayList<>();
+      for (HostedGame game : hosted) {
+        long[] sequence = new long[1];
+        byte[] encoded = game.game.whileLocked(() -> {
+          if (!game.game.isStarted()) {
+            return null;
+          }
+          synchronized (lock) {
+            sequence[0] = lastSequence;
+          }
+          game.journal.forgetCards();
+          return GameCodec.encode(game.game);
+        });
+        positions.add(sequence);
+        saved.add(encoded);
+      }
+      int count = 0;
+      for (byte[] encoded : saved) {
+        count += encoded == null ? 0 : 1;
+      }
+      out.writeInt(count);
+      for (int i = 0; i < ids.size(); i++) {
+        if (saved.get(i) != null) {
+          out.writeInt(ids.get(i));
+          out.writeLong(positions.get(i)[0]);
+          out.writeInt(saved.get(i).length);
+          out.write(saved.get(i));
+        }
+      }
+      CRC32 crc = new CRC32();
+      crc.update(bytes.toByteArray());
+      out.writeInt((int) crc.getValue());
+
+      Path target = directory.resolve(String.format("%s%016x%s", SNAPSHOT_PREFIX, base,
+          SNAPSHOT_SUFFIX));
+      Path temp = directory.resolve(target.getFileName() + ".tmp");
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      forceDirectory();
+      synchronized (lock) {
+        checkpointSequence = base;
+      }
+      deleteBefore(base);
+    }
+  }
+
+  /**
+   * Returns the statistics of the commit path since the log was opened.
+   *
+   * @return the statistics
+   */
+  public CommitStatistics getCommitStatistics() {
+    synchronized (lock) {
+      int samples = (int) Math.min(latencyCount, LATENCY_SAMPLES);
+      long[] sorted = Arrays.copyOf(latencies, samples);
+      Arrays.sort(sorted);
+      return new CommitStatistics(entryCount, commitCount, byteCount,
+          System.nanoTime() - openedAt, sorted);
+    }
+  }
+
+  /**
+   * Stops logging. Entries already accepted are forced to disk first. The hosted games continue
+   * without being logged.
+   *
+   * @throws IOException if the log cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (checkpointer != null) {
+      checkpointer.shutdown();
+    }
+    synchronized (checkpointLock) {
+      synchronized (lock) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        lock.notifyAll();
+      }
+      try {
+        committer.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      List<HostedGame> hosted;
+      synchronized (games) {
+        hosted = new ArrayList<>(games.values());
+      }
+      for (HostedGame game : hosted) {
+        game.game.replaceJournal(null);
+      }
+      synchronized (lock) {
+        if (segment != null) {
+          segment.close();
+        }
+      }
+    }
+  }
+
+  private MoveJournal newJournal(int gameId) {
+    return new MoveJournal(new EntryStream(gameId), true);
+  }
+
+  /**
+   * Appends an entry and waits until it is forced to disk.
+   */
+  private void append(int gameId, byte[] payload) throws IOException {
+    long start = System.nanoTime();
+    synchronized (lock) {
+      ensureWritable();
+      long sequence = ++lastSequence;
+      pending.add(new Entry(sequence, gameId, payload));
+      lock.notifyAll();
+      awaitDurable(sequence);
+      latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = System.nanoTime() - start;
+    }
+  }
+
+  /**
+   * Waits, while holding the lock, until the entry with the given sequence number is durable.
+   */
+  private void awaitDurable(long sequence) throws IOException {
+    while (durableSequence < sequence && failure == null) {
+      try {
+        lock.wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the log.");
+      }
+    }
+    if (durableSequence < sequence) {
+      throw new IOException("Write-ahead log failed.", failure);
+    }
+  }
+
+  private void ensureWritable() throws IOException {
+    if (failure != null) {
+      throw new IOException("Write-ahead log failed.", failure);
+    }
+    if (closed) {
+      throw new IOException("Write-ahead log is closed.");
+    }
+  }
+
+  /**
+   * Writes and forces every pending entry as one batch, until the log is closed and no entries
+   * are pending.
+   */
+  private void commitLoop() {
+    while (true) {
+      List<Entry> batch;
+      FileChannel channel;
+      synchronized (lock) {
+        while (pending.isEmpty() && !closed) {
+          try {
+            lock.wait();
+          } catch (InterruptedException e) {
+            // Only close ends the committer, so that no accepted entry is left waiting
+          }
+        }
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = new ArrayList<>(pending);
+        pending.clear();
+        channel = segment;
+      }
+      int size = 0;
+      for (Entry entry : batch) {
+        size += ENTRY_OVERHEAD_BYTES + entry.payload.length;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(size);
+      CRC32 crc = new CRC32();
+      for (Entry entry : batch) {
+        buffer.putInt(entry.payload.length);
+        int checked = buffer.position();
+        buffer.putLong(entry.sequence);
+        buffer.putInt(entry.gameId);
+        buffer.put(entry.payload);
+        crc.reset();
+        crc.update(buffer.array(), checked, buffer.position() - checked);
+        buffer.putInt((int) crc.getValue());
+      }
+      buffer.flip();
+      try {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        AsyncEventLogger.getDefault().log("Write-ahead log failed: " + e.getMessage(), e);
+        synchronized (lock) {
+          failure = e;
+          lock.notifyAll();
+        }
+        return;
+      }
+      synchronized (lock) {
+        durableSequence = batch.get(batch.size() - 1).sequence;
+        commitCount++;
+        entryCount += batch.size();
+        byteCount += size;
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private void periodicCheckpoint() {
+    try {
+      checkpoint();
+    } catch (IOException e) {
+      AsyncEventLogger.getDefault().log("Checkpoint failed: " + e.getMessage(), e);
+    }
+  }
+
+  private FileChannel createSegment(long firstSequence) throws IOException {
+    Path path = directory.resolve(String.format("%s%016x%s", SEGMENT_PREFIX, firstSequence,
+        SEGMENT_SUFFIX));
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+    header.putInt(SEGMENT_MAGIC).put((byte) FORMAT_VERSION).flip();
+    while (header.hasRemaining()) {
+      channel.write(header);
+    }
+    channel.force(true);
+    forceDirectory();
+    return channel;
+  }
+
+  /**
+   * Deletes the segments and snapshots that only hold entries up to the given sequence number.
+   */
+  private void deleteBefore(long base) throws IOException {
+    for (Path path : list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+      if (sequenceOf(path, SEGMENT_PREFIX, SEGMENT_SUFFIX) <= base) {
+        Files.deleteIfExists(path);
+      }
+    }
+    for (Path path : list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+      if (sequenceOf(path, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < base) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  /**
+   * Forces the directory so that created, renamed and deleted files are durable. Not every
+   * platform can open a directory, in which case this does nothing.
+   */
+  private void forceDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Renames are then only as durable as the platform makes them
+    }
+  }
+
+  /**
+   * Rebuilds the games held in the directory.
+   *
+   * @return the sequence number of the last valid entry
+   */
+  private static long recover(Path directory, Map<Integer, QueensBloodGame> recovered)
+      throws IOException {
+    List<Path> snapshots = list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    long base = 0;
+    Map<Integer, Long> snapshotSequences = new HashMap<>();
+    if (!snapshots.isEmpty()) {
+      base = readSnapshot(snapshots.get(snapshots.size() - 1), recovered, snapshotSequences);
+    }
+
+    Map<Integer, ByteArrayOutputStream> tails = new TreeMap<>();
+    long last = base;
+    boolean intact = true;
+    List<Path> segments = list(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    for (int i = 0; i < segments.size() && intact; i++) {
+      Path path = segments.get(i);
+      ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+      if (buffer.remaining() < SEGMENT_HEADER_BYTES || buffer.getInt(0) != SEGMENT_MAGIC
+          || buffer.get(4) != FORMAT_VERSION) {
+        if (i == segments.size() - 1 && isTornHeader(buffer)) {
+          // A crash while creating the newest segment, which holds no entries yet
+          Files.delete(path);
+          break;
+        }
+        throw new IOException("Invalid log segment: " + path.getFileName());
+      }
+      buffer.position(SEGMENT_HEADER_BYTES);
+      CRC32 crc = new CRC32();
+      while (buffer.hasRemaining()) {
+        if (buffer.remaining() < ENTRY_OVERHEAD_BYTES) {
+          intact = false;
+          break;
+        }
+        int length = buffer.getInt();
+        if (length < 0 || buffer.remaining() < length + ENTRY_OVERHEAD_BYTES - 4) {
+          intact = false;
+          break;
+        }
+        int checked = buffer.position();
+        long sequence = buffer.getLong();
+        int gameId = buffer.getInt();
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        crc.reset();
+        crc.update(buffer.array(), checked, buffer.position() - checked);
+        if (buffer.getInt() != (int) crc.getValue()) {
+          intact = false;
+          break;
+        }
+        if (sequence <= base) {
+          continue;
+        }
+        if (sequence != last + 1) {
+          intact = false;
+          break;
+        }
+        last = sequence;
+        if (length == 0) {
+          recovered.remove(gameId);
+          snapshotSequences.remove(gameId);
+          tails.remove(gameId);
+        } else if (sequence > snapshotSequences.getOrDefault(gameId, base)) {
+          tails.computeIfAbsent(gameId, id -> new ByteArrayOutputStream()).write(payload);
+        }
+      }
+    }
+
+    for (Map.Entry<Integer, ByteArrayOutputStream> tail : tails.entrySet()) {
+      ByteArrayInputStream in = new ByteArrayInputStream(tail.getValue().toByteArray());
+      QueensBloodGame game = recovered.get(tail.getKey());
+      try {
+        if (game != null) {
+          GameReplayer.replayChanges(game, in);
+        } else {
+          recovered.put(tail.getKey(), new GameReplayer(in).replayAll());
+        }
+      } catch (IllegalStateException e) {
+        throw new IOException("Log of game " + tail.getKey() + " does not replay.", e);
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Returns whether an invalid segment header can have been cut short by a crash: the segment
+   * ends within its header, or nothing but zeros was written to it.
+   */
+  private static boolean isTornHeader(ByteBuffer segment) {
+    if (segment.limit() <= SEGMENT_HEADER_BYTES) {
+      return true;
+    }
+    for (int i = 0; i < segment.limit(); i++) {
+      if (segment.get(i) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long readSnapshot(Path path, Map<Integer, QueensBloodGame> recovered,
+      Map<Integer, Long> sequences) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array(), 0, Math.max(0, buffer.limit() - 4));
+    try {
+      if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.get() != FORMAT_VERSION
+          || buffer.getInt(buffer.limit() - 4) != (int) crc.getValue()) {
+        throw new IOException("Invalid snapshot: " + path.getFileName());
+      }
+      long base = buffer.getLong();
+      int count = buffer.getInt();
+      for (int i = 0; i < count; i++) {
+        int gameId = buffer.getInt();
+        sequences.put(gameId, buffer.getLong());
+        byte[] saved = new byte[buffer.getInt()];
+        buffer.get(saved);
+        recovered.put(gameId, GameCodec.decode(saved));
+      }
+      return base;
+    } catch (RuntimeException e) {
+      throw new IOException("Invalid snapshot: " + path.getFileName(), e);
+    }
+  }
+
+  /**
+   * Lists the files with the given prefix and suffix, ordered by the sequence number in their
+   * names.
+   */
+  private static List<Path> list(Path directory, String prefix, String suffix)
+      throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+        prefix + "*" + suffix)) {
+      for (Path path : stream) {
+        if (sequenceOf(path, prefix, suffix) >= 0) {
+          paths.add(path);
+        }
+      }
+    }
+    paths.sort((a, b) -> Long.compare(sequenceOf(a, prefix, suffix),
+        sequenceOf(b, prefix, suffix)));
+    return paths;
+  }
+
+  private static long sequenceOf(Path path, String prefix, String suffix) {
+    String name = path.getFileName().toString();
+    try {
+      return Long.parseUnsignedLong(name.substring(prefix.length(),
+          name.length() - suffix.length()), 16);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * A game hosted by the log and the journal it records to.
+   */
+  private static final class HostedGame {
+
+    private final QueensBloodGame game;
+    private final MoveJournal journal;
+
+    private HostedGame(QueensBloodGame game, MoveJournal journal) {
+      this.game = game;
+      this.journal = journal;
+    }
+  }
+
+  /**
+   * An entry waiting to be committed.
+   */
+  private static final class Entry {
+
+    private final long sequence;
+    private final int gameId;
+    private final byte[] payload;
+
+    private Entry(long sequence, int gameId, byte[] payload) {
+      this.sequence = sequence;
+      this.gameId = gameId;
+      this.payload = payload;
+    }
+  }
+
+  /**
+   * The stream a hosted game's journal writes to. The bytes written between flushes, which the
+   * journal makes after every record, become one entry of the log.
+   */
+  private final class EntryStream extends OutputStream {
+
+    private final int gameId;
+    private final ByteArrayOutputStream buffer;
+
+    private EntryStream(int gameId) {
+      this.gameId = gameId;
+      this.buffer = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void write(int b) {
+      buffer.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      buffer.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (buffer.size() > 0) {
+        byte[] payload = buffer.toByteArray();
+        buffer.reset();
+        append(gameId, payload);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+
+  /**
+   * The throughput and latency of the commit path. Latencies are measured from the moment an
+   * entry is appended until it is durable, over the most recent entries.
+   */
+  public static final class CommitStatistics {
+
+    private final long entries;
+    private final long commits;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+
+    private CommitStatistics(long entries, long commits, long bytes, long elapsedNanos,
+        long[] sortedLatencies) {
+      this.entries = entries;
+      this.commits = commits;
+      this.bytes = bytes;
+      this.elapsedNanos = elapsedNanos;
+      this.sortedLatencies = sortedLatencies;
+    }
+
+    /**
+     * Returns the number of entries committed.
+     *
+     * @return the entry count
+     */
+    public long getEntryCount() {
+      return entries;
+    }
+
+    /**
+     * Returns the number of times the log was forced to disk.
+     *
+     * @return the commit count
+     */
+    public long getCommitCount() {
+      return commits;
+    }
+
+    /**
+     * Returns the number of bytes of entries written.
+     *
+     * @return the byte count
+     */
+    public long getByteCount() {
+      return bytes;
+    }
+
+    /**
+     * Returns the average number of entries committed by one force.
+     *
+     * @return the average batch size, or 0 if nothing was committed
+     */
+    public double getAverageBatchSize() {
+      return commits == 0 ? 0 : (double) entries / commits;
+    }
+
+    /**
+     * Returns the number of entries committed per second since the log was opened.
+     *
+     * @return the throughput
+     */
+    public double getEntriesPerSecond() {
+      return elapsedNanos == 0 ? 0 : entries * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns a percentile of the commit latency.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the latency in microseconds, or 0 if no latency was measured
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getLatencyMicros(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+      }
+      if (sortedLatencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+      return sortedLatencies[Math.max(0, index)] / 1000;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%d entries in %d commits (%.1f per commit), %.0f entries/s, "
+              + "latency p50 %d us, p99 %d us, p99.9 %d us, max %d us", entries, commits,
+          getAverageBatchSize(), getEntriesPerSecond(), getLatencyMicros(50),
+          getLatencyMicros(99), getLatencyMicros(99.9), getLatencyMicros(100));
+    }
+  }
+}
@@ -1,6 +1,11 @@
 package cs3500.pawnsboard.view;
 
 import cs3500.pawnsboard.controller.PlayerActionListener;
+import cs3500.pawnsboard.model.ModelEvent;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.MoveHint;
+import cs3500.pawnsboard.model.Role;
+import java.util.List;
 
 /**
  * Represents the view component in the GUI for the game. Exposes method that allows the controller
@@ -24,6 +29,31 @@ public interface GUIView {
    */
   void refreshView();
 
+  /**
+   * Refreshes only the parts of the GUI affected by the given model change. Changes that cannot be
+   * applied partially fall back to {@link #refreshView()}.
+   *
+   * @param event the change reported by the model
+   */
+  void refreshView(ModelEvent event);
+
   void addPlayerActionListener(PlayerActionListener listener);
 
+  /**
+   * Shows the progress of a machine player's search.
+   *
+   * @param role      the role of the machine player
+   * @param candidate the latest candidate move found, or null if none yet
+   * @param percent   the share of the search completed, from 0 to 100
+   */
+  void showAiProgress(Role role, Move candidate, int percent);
+
+  /**
+   * Shows ranked move hints for the player of this view. The hints are only drawn while the
+   * player has the hint overlay switched on; an empty list removes them.
+   *
+   * @param hints the hints to show, best first
+   */
+  void showHints(List<MoveHint> hints);
+
 }
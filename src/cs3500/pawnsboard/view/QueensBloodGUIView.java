@@ -1,10 +1,14 @@
 package cs3500.pawnsboard.view;
 
+import cs3500.pawnsboard.controller.AsyncEventLogger;
 import cs3500.pawnsboard.controller.PlayerActionListener;
 import cs3500.pawnsboard.model.Board;
 import cs3500.pawnsboard.model.Card;
 import cs3500.pawnsboard.model.Cell;
-import cs3500.pawnsboard.model.Player;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.ModelEvent;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.MoveHint;
 import cs3500.pawnsboard.model.ReadonlyGame;
 import cs3500.pawnsboard.model.Role;
 import java.awt.BorderLayout;
@@ -16,14 +20,20 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
+import javax.swing.JToggleButton;
 import javax.swing.SwingConstants;
+import javax.swing.UIManager;
 
 /**
  * The GUI implementation of the view. Displays the board, hand cards, current status, and handles
@@ -37,6 +47,10 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
   private final JPanel handCardPanel;
   private final Role role;
   private final JButton passTurnButton;
+  private final JToggleButton hintsButton;
+  private List<MoveHint> hints = List.of();
+  private JButton[][] cellButtons;
+  private JButton[][] scoreButtons;
   private boolean gameOverShown = false;
   private PlayerActionListener listener;
 
@@ -64,8 +78,13 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
 
     add(statusLabel, BorderLayout.NORTH);
 
+    hintsButton = new JToggleButton("Hints");
+    hintsButton.setFocusable(false);
+    hintsButton.addActionListener(e -> restyleAllCells());
+
     boardPanel = new JPanel();
-    boardPanel.setLayout(new GridLayout(model.getBoard().getHeight(), model.getBoard().getWidth()));
+    Board<Card> initialBoard = model.getBoard();
+    boardPanel.setLayout(new GridLayout(initialBoard.getHeight(), initialBoard.getWidth()));
     add(boardPanel, BorderLayout.CENTER);
     renderBoardGrid();
 
@@ -81,7 +100,10 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
       }
     });
 
-    add(passTurnButton, BorderLayout.EAST);
+    JPanel actionPanel = new JPanel(new GridLayout(2, 1));
+    actionPanel.add(passTurnButton);
+    actionPanel.add(hintsButton);
+    add(actionPanel, BorderLayout.EAST);
 
     addKeyListener(new KeyAdapter() {
       @Override
@@ -92,6 +114,8 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
           }
         } else if (e.getKeyCode() == KeyEvent.VK_P) {
           listener.onPassTurn();
+        } else if (e.getKeyCode() == KeyEvent.VK_H) {
+          hintsButton.doClick();
         }
       }
     });
@@ -107,27 +131,20 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
   @Override
   public void renderBoardGrid() {
     boardPanel.removeAll();
-    Board<Card> board = model.getBoard();
-    int[] selectedCell = model.getSelectedCellCoordinate();
+    GameSnapshot snapshot = model.getSnapshot();
+    Board<Card> board = snapshot.getBoard();
+    int[] selectedCell = snapshot.getSelectedCellCoordinate();
+    MoveHint[][] overlay = hintOverlay(snapshot);
+    cellButtons = new JButton[board.getHeight()][board.getWidth()];
+    scoreButtons = new JButton[board.getHeight()][2];
 
     for (int i = 0; i < board.getHeight(); i++) {
-      Map<Role, Integer> rowScores = model.getBoard().getRowScores(i);
-      int redScore = rowScores.get(Role.RED);
-      int blueScore = rowScores.get(Role.BLUE);
-
-      addCellForScore(Role.RED, redScore, redScore > blueScore);
+      scoreButtons[i][0] = addCellForScore();
       for (int j = 0; j < board.getWidth(); j++) {
-        Cell<Card> cell = board.getCellAt(i, j);
-        JButton button = new JButton(generateCellText(cell));
+        JButton button = new JButton();
 
         button.setOpaque(true);
-        button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-
-        if (selectedCell.length == 2 && selectedCell[0] == i && selectedCell[1] == j) {
-          button.setBackground(Color.CYAN);
-        } else {
-          button.setBackground(generateCellColor(cell));
-        }
+        styleCellButton(button, board.getCellAt(i, j), selectedCell, i, j, overlay);
 
         final int row = i;
         final int col = j;
@@ -137,29 +154,134 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
           }
         });
 
+        cellButtons[i][j] = button;
         boardPanel.add(button);
       }
-      addCellForScore(Role.BLUE, blueScore, blueScore > redScore);
+      scoreButtons[i][1] = addCellForScore();
+      styleRowScores(board, i);
     }
 
     boardPanel.revalidate();
     boardPanel.repaint();
   }
 
-  private void addCellForScore(Role role, int score, boolean isLarger) {
+  /**
+   * Re-styles only the given cells and the score cells of their rows, reusing the buttons created
+   * by the last {@link #renderBoardGrid()}.
+   *
+   * @param cells the cells to update as [row, col] pairs
+   */
+  private void renderCells(List<int[]> cells) {
+    if (cellButtons == null) {
+      renderBoardGrid();
+      return;
+    }
+    GameSnapshot snapshot = model.getSnapshot();
+    Board<Card> board = snapshot.getBoard();
+    int[] selectedCell = snapshot.getSelectedCellCoordinate();
+    MoveHint[][] overlay = hintOverlay(snapshot);
+    Set<Integer> rows = new HashSet<>();
+    for (int[] cell : cells) {
+      styleCellButton(cellButtons[cell[0]][cell[1]], board.getCellAt(cell[0], cell[1]),
+          selectedCell, cell[0], cell[1], overlay);
+      rows.add(cell[0]);
+    }
+    for (int row : rows) {
+      styleRowScores(board, row);
+    }
+    boardPanel.repaint();
+  }
+
+  /**
+   * Re-styles every cell without rebuilding the grid, for changes such as the hint overlay that
+   * may affect any cell.
+   */
+  private void restyleAllCells() {
+    if (cellButtons == null) {
+      return;
+    }
+    List<int[]> cells = new ArrayList<>();
+    for (int r = 0; r < cellButtons.length; r++) {
+      for (int c = 0; c < cellButtons[r].length; c++) {
+        cells.add(new int[]{r, c});
+      }
+    }
+    renderCells(cells);
+  }
+
+  /**
+   * Lays out the hints to draw on the board: for every cell, the best hint for the selected card,
+   * or for any card if none is selected.
+   *
+   * @param snapshot the state of the game to draw
+   * @return the hint of every cell, or null if no hints are to be drawn
+   */
+  private MoveHint[][] hintOverlay(GameSnapshot snapshot) {
+    if (!hintsButton.isSelected() || hints.isEmpty() || snapshot.getCurrentRole() != role) {
+      return null;
+    }
+    Board<Card> board = snapshot.getBoard();
+    MoveHint[][] overlay = new MoveHint[board.getHeight()][board.getWidth()];
+    int selectedCard = snapshot.getSelectedCardIndex();
+    for (MoveHint hint : hints) {
+      if ((selectedCard < 0 || hint.getCardIndex() == selectedCard)
+          && hint.getRow() < board.getHeight() && hint.getCol() < board.getWidth()
+          && overlay[hint.getRow()][hint.getCol()] == null) {
+        overlay[hint.getRow()][hint.getCol()] = hint;
+      }
+    }
+    return overlay;
+  }
+
+  private void styleCellButton(JButton button, Cell<Card> cell, int[] selectedCell, int row,
+      int col, MoveHint[][] overlay) {
+    button.setText(generateCellText(cell));
+    if (selectedCell.length == 2 && selectedCell[0] == row && selectedCell[1] == col) {
+      button.setBackground(Color.CYAN);
+    } else {
+      button.setBackground(generateCellColor(cell));
+    }
+    MoveHint hint = overlay == null ? null : overlay[row][col];
+    if (hint == null) {
+      button.setToolTipText(null);
+      button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+    } else {
+      int delta = hint.getScoreDelta();
+      button.setText(button.getText() + " [" + (delta >= 0 ? "+" : "") + delta + "]");
+      button.setToolTipText(hint.toString());
+      button.setBorder(BorderFactory.createLineBorder(
+          delta > 0 ? Color.GREEN : Color.BLACK, delta > 0 ? 3 : 2));
+    }
+  }
 
-    JButton button = new JButton(String.valueOf(score));
+  private void styleRowScores(Board<Card> board, int row) {
+    Map<Role, Integer> rowScores = board.getRowScores(row);
+    int redScore = rowScores.get(Role.RED);
+    int blueScore = rowScores.get(Role.BLUE);
+    styleScoreButton(scoreButtons[row][0], Role.RED, redScore, redScore > blueScore);
+    styleScoreButton(scoreButtons[row][1], Role.BLUE, blueScore, blueScore > redScore);
+  }
+
+  private JButton addCellForScore() {
+
+    JButton button = new JButton();
     button.setOpaque(true);
     button.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
     button.setBackground(Color.WHITE);
 
+    boardPanel.add(button);
+    return button;
+  }
+
+  private void styleScoreButton(JButton button, Role role, int score, boolean isLarger) {
+    button.setText(String.valueOf(score));
     if (isLarger) {
       button.setFont(new Font("Arial", Font.BOLD, 50));
       button.setForeground(role == Role.RED ? Color.RED : Color.BLUE);
+    } else {
+      button.setFont(UIManager.getFont("Button.font"));
+      button.setForeground(UIManager.getColor("Button.foreground"));
     }
-
-    boardPanel.add(button);
-
   }
 
   /**
@@ -168,11 +290,12 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
   @Override
   public void renderHandCards() {
     handCardPanel.removeAll();
-    int selectedCardIndex = model.getSelectedCardIndex();
-    Player<Card> player = this.model.getPlayer(this.role);
+    GameSnapshot snapshot = model.getSnapshot();
+    int selectedCardIndex = snapshot.getSelectedCardIndex();
+    List<Card> hand = snapshot.getHand(this.role);
 
-    for (int i = 0; i < player.getHand().size(); i++) {
-      Card card = player.getHand().get(i);
+    for (int i = 0; i < hand.size(); i++) {
+      Card card = hand.get(i);
       String cardContent = card.toString();
 
       JTextArea cardTextArea = new JTextArea(cardContent);
@@ -180,10 +303,10 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
       cardTextArea.setOpaque(true);
       cardTextArea.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
 
-      if (i == selectedCardIndex && model.getCurrentPlayer().getRole() == role) {
+      if (i == selectedCardIndex && snapshot.getCurrentRole() == role) {
         cardTextArea.setBackground(Color.CYAN);
       } else {
-        cardTextArea.setBackground(player.getRole() == Role.RED ? Color.RED : Color.BLUE);
+        cardTextArea.setBackground(role == Role.RED ? Color.RED : Color.BLUE);
       }
 
       final int cardIndex = i;
@@ -265,12 +388,71 @@ public class QueensBloodGUIView extends JFrame implements GUIView {
       passTurnButton.setEnabled(false);  // disable pass button
     }
 
-    System.out.println("Model updated, refreshing view.");
+    AsyncEventLogger.getDefault().log("Model updated, refreshing view.");
   }
 
 
+  /**
+   * Refreshes only the parts of the GUI affected by the given model change. Selection changes and
+   * card placements update the changed cells in place; draws re-render the hand only.
+   *
+   * @param event the change reported by the model
+   */
+  @Override
+  public void refreshView(ModelEvent event) {
+    switch (event.getType()) {
+      case SELECTION_CHANGED:
+        if (hintsButton.isSelected() && !hints.isEmpty()) {
+          restyleAllCells();
+        } else {
+          renderCells(event.getChangedCells());
+        }
+        renderHandCards();
+        break;
+      case CARD_DRAWN:
+        renderHandCards();
+        break;
+      case CARD_PLACED:
+        renderCells(event.getChangedCells());
+        renderHandCards();
+        break;
+      default:
+        refreshView();
+        break;
+    }
+  }
+
+  /**
+   * Shows the progress of a machine player's search in the status bar.
+   *
+   * @param role      the role of the machine player
+   * @param candidate the latest candidate move found, or null if none yet
+   * @param percent   the share of the search completed, from 0 to 100
+   */
+  @Override
+  public void showAiProgress(Role role, Move candidate, int percent) {
+    String text = "Current player: " + role + " (thinking " + percent + "%";
+    if (candidate != null) {
+      text += ", candidate " + candidate;
+    }
+    this.statusLabel.setText(text + ")");
+  }
+
+  /**
+   * Stores the hints for the player of this view and redraws the board if the overlay is on.
+   *
+   * @param hints the hints to show, best first
+   */
+  @Override
+  public void showHints(List<MoveHint> hints) {
+    this.hints = List.copyOf(hints);
+    if (hintsButton.isSelected()) {
+      restyleAllCells();
+    }
+  }
+
   private void updateStatusLabel() {
-    Role role = model.getCurrentPlayer().getRole();
+    Role role = model.getSnapshot().getCurrentRole();
     this.statusLabel.setText("Current player: " + role);
   }
 }
@@ -43,14 +43,12 @@ public class QueensBloodTextualView implements TextualView {
       throw new IllegalArgumentException("Appendable object cannot be null!");
     }
 
-    if (!game.isGameOver() && game.getBoard() == null) {
+    Board<Card> board = game.getBoard();
+    if (!game.isGameOver() && board == null) {
       throw new IllegalStateException("Game has not started or board is not initialized.");
     }
 
-    Board<Card> board = game.getBoard();
-    Cell<Card>[][] grid = board.getGrid();
-
-    for (int row = 0; row < grid.length; row++) {
+    for (int row = 0; row < board.getHeight(); row++) {
 
       Map<Role, Integer> rowScores = board.getRowScores(row);
       int redScore = 0;
@@ -64,8 +62,8 @@ public class QueensBloodTextualView implements TextualView {
       }
 
       StringBuilder rowContent = new StringBuilder();
-      for (int col = 0; col < grid[row].length; col++) {
-        Cell<Card> cell = this.game.getBoard().getCellAt(row, col);
+      for (int col = 0; col < board.getWidth(); col++) {
+        Cell<Card> cell = board.getCellAt(row, col);
         if (cell.getPawns() > 0) {
           rowContent.append(cell.getPawns());
         } else if (cell.getCard() != null) {
@@ -0,0 +1,216 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.controller.AsyncEventLogger.OverflowPolicy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsyncEventLoggerTest {
+
+  private static final Pattern DROPS = Pattern.compile("Event log dropped (\\d+) events\\.");
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setUp() {
+    file = folder.getRoot().toPath().resolve("events.log");
+  }
+
+  @Test
+  public void testWritesEventsInOrder() throws IOException {
+    AsyncEventLogger logger = new AsyncEventLogger(file, 16, OverflowPolicy.BLOCK);
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(logger.log("event " + i));
+    }
+    logger.close();
+
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertEquals(1000, lines.size());
+    for (int i = 0; i < lines.size(); i++) {
+      String[] parts = lines.get(i).split(" ", 2);
+      Instant.parse(parts[0]);
+      assertEquals("event " + i, parts[1]);
+    }
+  }
+
+  @Test
+  public void testWritesStackTrace() throws IOException {
+    AsyncEventLogger logger = new AsyncEventLogger(file, 16, OverflowPolicy.BLOCK);
+    logger.log("failed", new IOException("Disk full."));
+    logger.close();
+
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertTrue(lines.get(0).endsWith(" failed"));
+    assertEquals("java.io.IOException: Disk full.", lines.get(1));
+    assertTrue(lines.get(2).trim().startsWith("at "));
+  }
+
+  @Test
+  public void testAppendsToExistingFile() throws IOException {
+    Files.write(file, List.of("earlier"), StandardCharsets.UTF_8);
+    AsyncEventLogger logger = new AsyncEventLogger(file, 16, OverflowPolicy.BLOCK);
+    logger.log("later");
+    logger.close();
+
+    List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+    assertEquals("earlier", lines.get(0));
+    assertTrue(lines.get(1).endsWith(" later"));
+  }
+
+  @Test
+  public void testBlockingLoggerKeepsEveryEvent() throws Exception {
+    AsyncEventLogger logger = new AsyncEventLogger(file, 1, OverflowPolicy.BLOCK);
+    AtomicInteger rejected = new AtomicInteger();
+    runThreads(4, 2000, (thread, i) -> {
+      if (!logger.log(thread + " " + i)) {
+        rejected.incrementAndGet();
+      }
+    });
+    logger.close();
+
+    assertEquals(0, rejected.get());
+    assertEquals(0, logger.getDroppedCount());
+    assertInOrderPerThread(4, 2000);
+  }
+
+  @Test
+  public void testDroppingLoggerCountsAndReportsDrops() throws Exception {
+    AsyncEventLogger logger = new AsyncEventLogger(file, 1, OverflowPolicy.DROP);
+    AtomicInteger accepted = new AtomicInteger();
+    runThreads(4, 2000, (thread, i) -> {
+      if (logger.log(thread + " " + i)) {
+        accepted.incrementAndGet();
+      }
+    });
+    logger.close();
+
+    assertEquals(4 * 2000, accepted.get() + logger.getDroppedCount());
+    long reported = 0;
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      Matcher matcher = DROPS.matcher(line);
+      if (matcher.find()) {
+        reported += Long.parseLong(matcher.group(1));
+      }
+    }
+    assertEquals(logger.getDroppedCount(), reported);
+    assertEquals(accepted.get(), assertInOrderPerThread(4, 2000));
+  }
+
+  @Test
+  public void testEventsAcceptedBeforeCloseAreWritten() throws Exception {
+    for (int round = 0; round < 20; round++) {
+      Files.deleteIfExists(file);
+      AsyncEventLogger logger = new AsyncEventLogger(file, 4, OverflowPolicy.BLOCK);
+      AtomicInteger accepted = new AtomicInteger();
+      List<Thread> threads = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        threads.add(new Thread(() -> {
+          for (int i = 0; logger.log(thread + " " + i); i++) {
+            accepted.incrementAndGet();
+          }
+        }));
+      }
+      threads.forEach(Thread::start);
+      Thread.sleep(2);
+      logger.close();
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      assertEquals(accepted.get(), assertInOrderPerThread(4, Integer.MAX_VALUE));
+    }
+  }
+
+  @Test
+  public void testLogAfterCloseIsDropped() throws IOException {
+    AsyncEventLogger logger = new AsyncEventLogger(file, 16, OverflowPolicy.BLOCK);
+    logger.close();
+    assertFalse(logger.log("late"));
+    assertEquals(1, logger.getDroppedCount());
+    assertTrue(Files.readAllLines(file, StandardCharsets.UTF_8).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityNotPositive() throws IOException {
+    new AsyncEventLogger(file, 0, OverflowPolicy.DROP);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPolicy() throws IOException {
+    new AsyncEventLogger(file, 16, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFile() throws IOException {
+    new AsyncEventLogger(null, 16, OverflowPolicy.DROP);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetNullDefault() {
+    AsyncEventLogger.setDefault(null);
+  }
+
+  /**
+   * Checks that the events of each thread were written in the order it logged them, and returns
+   * the number of events written.
+   */
+  private int assertInOrderPerThread(int threads, int events) throws IOException {
+    int[] next = new int[threads];
+    int written = 0;
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      if (DROPS.matcher(line).find()) {
+        continue;
+      }
+      String[] parts = line.split(" ");
+      int thread = Integer.parseInt(parts[1]);
+      int event = Integer.parseInt(parts[2]);
+      assertTrue(event >= next[thread] && event < events);
+      next[thread] = event + 1;
+      written++;
+    }
+    return written;
+  }
+
+  private static void runThreads(int count, int events, EventSource source)
+      throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < count; t++) {
+      int thread = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < events; i++) {
+          source.log(thread, i);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  /**
+   * Logs the given event of the given thread.
+   */
+  private interface EventSource {
+
+    void log(int thread, int event);
+  }
+}
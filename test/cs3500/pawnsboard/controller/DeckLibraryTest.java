@@ -0,0 +1,146 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CardCatalog;
+import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.TestGames;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeckLibraryTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path library;
+  private List<Card> full;
+  private List<Card> partial;
+
+  @Before
+  public void setUp() throws IOException {
+    library = folder.getRoot().toPath().resolve("decks.lib");
+    full = TestGames.deck(Role.RED);
+    partial = full.subList(3, 9);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    DeckLibrary.write(library, List.of(full, partial, List.of()));
+    DeckLibrary opened = DeckLibrary.open(library);
+
+    assertEquals(3, opened.getDeckCount());
+    assertEquals(full.size(), opened.getDeckSize(0));
+    assertEquals(partial, opened.loadDeck(1, Role.RED));
+    assertTrue(opened.loadDeck(2, Role.RED).isEmpty());
+    List<Card> loaded = opened.loadDeck(0, Role.RED);
+    for (int i = 0; i < full.size(); i++) {
+      assertSame(full.get(i), loaded.get(i));
+    }
+  }
+
+  @Test
+  public void testLoadsDeckForEitherRole() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    List<Card> blue = DeckLibrary.open(library).loadDeck(0, Role.BLUE);
+    List<Card> expected = TestGames.deck(Role.BLUE).subList(3, 9);
+    assertEquals(expected, blue);
+    assertEquals(Role.BLUE, blue.get(0).getOwner());
+  }
+
+  @Test
+  public void testCardIdsAreCatalogIds() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    int[] ids = DeckLibrary.open(library).getCardIds(0);
+    int[] expected = new int[partial.size()];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = CardCatalog.getInstance().idOf(partial.get(i));
+    }
+    assertArrayEquals(expected, ids);
+  }
+
+  @Test
+  public void testOpenedLibraryKeepsContentsWhenRewritten() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    DeckLibrary opened = DeckLibrary.open(library);
+    DeckLibrary.write(library, List.of(full, full));
+
+    assertEquals(1, opened.getDeckCount());
+    assertEquals(partial, opened.loadDeck(0, Role.RED));
+    assertEquals(2, DeckLibrary.open(library).getDeckCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeckIdOutOfRange() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    DeckLibrary.open(library).loadDeck(1, Role.RED);
+  }
+
+  @Test
+  public void testRejectsUnknownFormat() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    byte[] bytes = Files.readAllBytes(library);
+    bytes[0] ^= 1;
+    Files.write(library, bytes);
+    TestGames.assertOpenFails("Invalid deck library", () -> DeckLibrary.open(library));
+  }
+
+  @Test
+  public void testRejectsTruncatedHeader() throws IOException {
+    Files.write(library, new byte[10]);
+    TestGames.assertOpenFails("Invalid deck library", () -> DeckLibrary.open(library));
+  }
+
+  @Test
+  public void testRejectsImpossibleDeckCount() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    byte[] bytes = Files.readAllBytes(library);
+    ByteBuffer.wrap(bytes).putInt(12, 1 << 20);
+    Files.write(library, bytes);
+    TestGames.assertOpenFails("Invalid deck library", () -> DeckLibrary.open(library));
+  }
+
+  @Test
+  public void testRejectsTruncatedCardTable() throws IOException {
+    DeckLibrary.write(library, List.of(List.of()));
+    byte[] bytes = Files.readAllBytes(library);
+    ByteBuffer.wrap(bytes).putInt(8, 1);
+    Files.write(library, bytes);
+    TestGames.assertOpenFails("Invalid deck library", () -> DeckLibrary.open(library));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCorruptDeckOffset() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    byte[] bytes = Files.readAllBytes(library);
+    ByteBuffer.wrap(bytes).putInt(16, bytes.length);
+    Files.write(library, bytes);
+    DeckLibrary.open(library).loadDeck(0, Role.RED);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCorruptCardIndex() throws IOException {
+    DeckLibrary.write(library, List.of(partial));
+    byte[] bytes = Files.readAllBytes(library);
+    bytes[bytes.length - 2] = (byte) 0xFF;
+    Files.write(library, bytes);
+    DeckLibrary.open(library).loadDeck(0, Role.RED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWriteNullDeck() throws IOException {
+    DeckLibrary.write(library, Arrays.asList(partial, null));
+  }
+}
@@ -0,0 +1,167 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.Role;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeckLoaderTest {
+
+  private static final String DECK = "Security 1 2\nXXXXX\nXXIXX\nXICIX\nXXIXX\nXXXXX\n"
+      + "Bee 1 5\nXXIXX\nXXXXX\nXXCXX\nXXXXX\nXXXXX\n"
+      + "Security 1 2\nXXXXX\nXXIXX\nXICIX\nXXIXX\nXXXXX\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path source;
+  private Path binary;
+
+  @Before
+  public void setUp() throws IOException {
+    source = folder.getRoot().toPath().resolve("deck.config");
+    binary = folder.getRoot().toPath().resolve("deck.config" + DeckLoader.COMPILED_SUFFIX);
+    Files.write(source, DECK.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testLoadsDeckInFileOrder() throws IOException {
+    List<Card> deck = load(Role.RED);
+    assertEquals(Arrays.asList("Security", "Bee", "Security"), names(deck));
+    assertEquals(5, deck.get(1).getValue());
+    assertEquals(Role.RED, deck.get(0).getOwner());
+    assertEquals(Role.BLUE, load(Role.BLUE).get(0).getOwner());
+  }
+
+  @Test
+  public void testWritesCompiledForm() throws IOException {
+    load(Role.RED);
+    assertTrue(Files.exists(binary));
+  }
+
+  @Test
+  public void testCopiesAreSharedInstances() throws IOException {
+    List<Card> first = load(Role.RED);
+    List<Card> second = load(Role.RED);
+    assertSame(first.get(0), first.get(2));
+    assertSame(first.get(0), second.get(0));
+  }
+
+  @Test
+  public void testReturnsNewList() throws IOException {
+    List<Card> deck = load(Role.RED);
+    deck.clear();
+    assertEquals(3, load(Role.RED).size());
+  }
+
+  @Test
+  public void testUsesCompiledFormWhileStampMatches() throws IOException {
+    load(Role.RED);
+    FileTime modified = Files.getLastModifiedTime(source);
+    Path copy = folder.newFolder("copy").toPath();
+    Path copiedSource = copy.resolve("deck.config");
+    Files.copy(binary, copy.resolve("deck.config" + DeckLoader.COMPILED_SUFFIX));
+    // Same size and modification time, but not a valid deck: only the compiled form can be read
+    Files.write(copiedSource, DECK.replace('X', '?').getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(copiedSource, modified);
+
+    List<Card> deck = new DeckLoader(copiedSource.toString()).loadDeck(Role.RED);
+    assertEquals(Arrays.asList("Security", "Bee", "Security"), names(deck));
+  }
+
+  @Test
+  public void testRecompilesEditedSource() throws IOException {
+    load(Role.RED);
+    byte[] compiled = Files.readAllBytes(binary);
+    Files.write(source, DECK.replace("Bee 1 5", "Bee 1 6").getBytes(StandardCharsets.UTF_8));
+    touch();
+
+    assertEquals(6, load(Role.RED).get(1).getValue());
+    assertNotEquals(Arrays.toString(compiled), Arrays.toString(Files.readAllBytes(binary)));
+  }
+
+  @Test
+  public void testIgnoresCorruptCompiledForm() throws IOException {
+    load(Role.RED);
+    Files.write(binary, new byte[]{1, 2, 3, 4, 5});
+    touch();
+
+    assertEquals(Arrays.asList("Security", "Bee", "Security"), names(load(Role.RED)));
+  }
+
+  @Test
+  public void testIgnoresTruncatedCompiledForm() throws IOException {
+    load(Role.RED);
+    byte[] compiled = Files.readAllBytes(binary);
+    Files.write(binary, Arrays.copyOf(compiled, compiled.length - 3));
+    touch();
+
+    assertEquals(Arrays.asList("Security", "Bee", "Security"), names(load(Role.RED)));
+    assertEquals(compiled.length, Files.size(binary));
+  }
+
+  @Test
+  public void testIgnoresCompiledFormWithBadIndex() throws IOException {
+    load(Role.RED);
+    byte[] compiled = Files.readAllBytes(binary);
+    // The last int is the index of the last card of the deck
+    compiled[compiled.length - 1] = 42;
+    Files.write(binary, compiled);
+    touch();
+
+    assertEquals(Arrays.asList("Security", "Bee", "Security"), names(load(Role.RED)));
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void testMissingFile() throws IOException {
+    new DeckLoader(folder.getRoot().toPath().resolve("missing.config").toString())
+        .loadDeck(Role.RED);
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidDeck() throws IOException {
+    Files.write(source, "Bee 1\nXXXXX\n".getBytes(StandardCharsets.UTF_8));
+    touch();
+    load(Role.RED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyPath() {
+    new DeckLoader("");
+  }
+
+  private List<Card> load(Role role) throws IOException {
+    return new DeckLoader(source.toString()).loadDeck(role);
+  }
+
+  /**
+   * Moves the modification time of the source forward, so that no compiled form is up to date.
+   */
+  private void touch() throws IOException {
+    FileTime modified = Files.getLastModifiedTime(source);
+    Files.setLastModifiedTime(source, FileTime.fromMillis(modified.toMillis() + 2000));
+  }
+
+  private static List<String> names(List<Card> deck) {
+    String[] names = new String[deck.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = deck.get(i).getName();
+    }
+    return Arrays.asList(names);
+  }
+}
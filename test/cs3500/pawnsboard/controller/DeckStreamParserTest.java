@@ -0,0 +1,196 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.Role;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class DeckStreamParserTest {
+
+  private static final String GRID = "XXXXX\nXXIXX\nXICIX\nXXIXX\nXXXXX\n";
+
+  @Test
+  public void testParsesCardsInOrder() throws IOException {
+    DeckStreamParser parser = parser("Security 1 2\n" + GRID + "Bee 1 5\n" + GRID);
+    Card first = parser.nextCard();
+    assertEquals("Security", first.getName());
+    assertEquals(1, first.getCost());
+    assertEquals(2, first.getValue());
+    assertEquals(Role.RED, first.getOwner());
+    assertTrue(first.getInfluenceGrid()[2][1]);
+    assertEquals("Bee", parser.nextCard().getName());
+    assertEquals(12, parser.getLineNumber());
+    assertNull(parser.nextCard());
+  }
+
+  @Test
+  public void testRejectsTooManyCopies() throws IOException {
+    StringBuilder deck = new StringBuilder();
+    for (int i = 0; i <= DeckStreamParser.MAX_COPIES; i++) {
+      deck.append("Security 1 2\n").append(GRID);
+    }
+    DeckStreamParser parser = parser(deck.toString());
+    for (int i = 0; i < DeckStreamParser.MAX_COPIES; i++) {
+      parser.nextCard();
+    }
+    try {
+      parser.nextCard();
+      fail("A third copy was accepted.");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Invalid deck: more than"));
+    }
+  }
+
+  @Test
+  public void testCrlfLinesMatchLfLines() throws IOException {
+    String deck = "Security 1 2\n" + GRID + "Bee 1 5\n" + GRID;
+    assertEquals(parser(deck).readAll(), parser(deck.replace("\n", "\r\n")).readAll());
+    // The last line may end without a terminator
+    assertEquals(1, parser("Bee 1 5\r\n" + GRID.trim().replace("\n", "\r\n")).readAll().size());
+  }
+
+  @Test
+  public void testCardsSpanningBlockBoundary() throws IOException {
+    StringBuilder deck = new StringBuilder();
+    boolean spans = false;
+    int cards = 0;
+    while (deck.length() < 3 * 8192) {
+      int start = deck.length();
+      deck.append("Boundary").append(cards++).append(" 1 3\n").append(GRID);
+      spans |= start < 8192 && deck.length() > 8192;
+    }
+    assertTrue(spans);
+
+    List<Card> whole = parser(deck.toString()).readAll();
+    // Deliver the input a few bytes at a time, so lines are also split across reads
+    ReadableByteChannel trickle = new TrickleChannel(deck.toString(), 7);
+    List<Card> trickled = new DeckStreamParser(trickle, Role.RED).readAll();
+
+    assertEquals(cards, whole.size());
+    assertEquals(whole, trickled);
+    for (int i = 0; i < cards; i++) {
+      assertEquals("Boundary" + i, whole.get(i).getName());
+    }
+  }
+
+  @Test
+  public void testLongLinesGrowBuffer() throws IOException {
+    String name = "L".repeat(60000);
+    List<Card> deck = parser(name + " 1 1\n" + GRID + "Bee 1 5\n" + GRID).readAll();
+    assertEquals(name, deck.get(0).getName());
+    assertEquals("Bee", deck.get(1).getName());
+
+    try {
+      parser("L".repeat(70000) + " 1 1\n" + GRID).readAll();
+      fail("A line longer than the limit was accepted.");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Invalid deck format: line too long."));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonBlockingChannel() throws IOException {
+    Pipe pipe = Pipe.open();
+    try {
+      pipe.source().configureBlocking(false);
+      new DeckStreamParser(pipe.source(), Role.RED);
+    } finally {
+      pipe.source().close();
+      pipe.sink().close();
+    }
+  }
+
+  @Test
+  public void testRejectsChannelReadingNothing() {
+    try {
+      new DeckStreamParser(new TrickleChannel("Bee 1 5\n", 0), Role.RED).nextCard();
+      fail("A channel reading nothing was waited on.");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Deck input is not blocking"));
+    }
+  }
+
+  @Test
+  public void testStreamSurfacesErrors() throws IOException {
+    String deck = "Security 1 2\n" + GRID + "Bee 1\n" + GRID;
+    assertEquals(List.of("Security"),
+        parser(deck).stream().limit(1).map(Card::getName).collect(Collectors.toList()));
+    try {
+      parser(deck).stream().count();
+      fail("An invalid card was streamed.");
+    } catch (UncheckedIOException e) {
+      assertTrue(e.getCause().getMessage().startsWith("Invalid deck format: missing card"));
+    }
+  }
+
+  @Test
+  public void testRejectsInvalidGrid() {
+    String[] decks = {
+        "Bee 1 5\nXXIXX\nXXXXX\nXXXXX\nXXXXX\nXXXXX\n",
+        "Bee 1 5\nXXIXX\nXXXXX\nXXCXX\nXXXX\nXXXXX\n",
+        "Bee 1 5\nXXIXX\nXXXXX\nXXCXQ\nXXXXX\nXXXXX\n",
+        "Bee 1 5\nXXIXX\nXXXXX\nXXCXX\n"
+    };
+    for (String deck : decks) {
+      try {
+        parser(deck).nextCard();
+        fail("An invalid grid was accepted: " + deck);
+      } catch (IOException e) {
+        assertTrue(e.getMessage().startsWith("Invalid deck format: incorrect influence grid."));
+      }
+    }
+  }
+
+  private static DeckStreamParser parser(String deck) {
+    return new DeckStreamParser(
+        new ByteArrayInputStream(deck.getBytes(StandardCharsets.UTF_8)), Role.RED);
+  }
+
+  /**
+   * A blocking channel that reads at most a fixed number of bytes at a time.
+   */
+  private static final class TrickleChannel implements ReadableByteChannel {
+
+    private final ByteBuffer data;
+    private final int chunk;
+
+    private TrickleChannel(String data, int chunk) {
+      this.data = ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8));
+      this.chunk = chunk;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (!data.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(chunk, Math.min(dst.remaining(), data.remaining()));
+      for (int i = 0; i < count; i++) {
+        dst.put(data.get());
+      }
+      return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
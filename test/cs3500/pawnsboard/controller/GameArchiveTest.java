@@ -0,0 +1,237 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.CardCatalog;
+import cs3500.pawnsboard.model.FillFirstStrategy;
+import cs3500.pawnsboard.model.MaximizeRowScoreStrategy;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.QueensBloodGame;
+import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.Strategy;
+import cs3500.pawnsboard.model.TestGames;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GameArchiveTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path path;
+  private List<QueensBloodGame> games;
+  private List<List<Move>> moves;
+
+  @Before
+  public void setUp() throws IOException {
+    path = folder.getRoot().toPath().resolve("games.archive");
+    games = new ArrayList<>();
+    moves = new ArrayList<>();
+    for (long seed = 1; seed <= 4; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      moves.add(play(game, new MaximizeRowScoreStrategy(), new FillFirstStrategy()));
+      games.add(game);
+    }
+  }
+
+  @Test
+  public void testStoresEveryGame() throws IOException {
+    write(games.size());
+    GameArchive archive = GameArchive.open(path);
+    assertEquals(3, archive.getRows());
+    assertEquals(5, archive.getCols());
+    assertEquals(games.size(), archive.getGameCount());
+    assertEquals(1, archive.getBlockCount());
+
+    int scanned = archive.scan(block -> {
+      for (int g = 0; g < block.getGameCount(); g++) {
+        QueensBloodGame game = games.get(g);
+        assertEquals(game.getWonPlayer(), block.getWinner(g));
+        for (Role role : Role.values()) {
+          assertEquals((int) game.getBoard().getScores().getOrDefault(role, 0),
+              block.getScore(g, role));
+        }
+        assertEquals("row", block.getPlayer(g, Role.RED));
+        assertEquals("fill", block.getPlayer(g, Role.BLUE));
+        for (int r = 0; r < 3; r++) {
+          for (int c = 0; c < 5; c++) {
+            assertEquals(game.getBoard().getCellAt(r, c).getOwner(), block.getOwner(g, r, c));
+          }
+        }
+      }
+      return block.getGameCount();
+    }, Integer::sum);
+    assertEquals(games.size(), scanned);
+  }
+
+  @Test
+  public void testStoresMovesInTurnOrder() throws IOException {
+    write(games.size());
+    GameArchive archive = GameArchive.open(path);
+    long total = 0;
+    for (List<Move> game : moves) {
+      total += game.size();
+    }
+    assertEquals(total, archive.getMoveCount());
+
+    int scanned = archive.scan(block -> {
+      for (int g = 0; g < block.getGameCount(); g++) {
+        List<Move> expected = moves.get(g);
+        assertEquals(expected.size(), block.getMoveCount(g));
+        for (int i = 0; i < expected.size(); i++) {
+          Move move = expected.get(i);
+          int index = block.getMoveStart(g) + i;
+          assertEquals(move.isPass(), block.isPass(index));
+          if (move.isPass()) {
+            assertEquals(-1, block.getMoveRow(index));
+            assertEquals(-1, block.getMoveCard(index));
+          } else {
+            assertEquals(move.getRow(), block.getMoveRow(index));
+            assertEquals(move.getCol(), block.getMoveCol(index));
+            Card placed = games.get(g).getBoard().getCellAt(move.getRow(), move.getCol())
+                .getCard();
+            assertEquals(CardCatalog.getInstance().idOf(placed), block.getMoveCard(index));
+          }
+        }
+      }
+      return block.getGameCount();
+    }, Integer::sum);
+    assertEquals(games.size(), scanned);
+  }
+
+  @Test
+  public void testSplitsGamesIntoBlocks() throws IOException {
+    write(GameArchive.BLOCK_GAMES + 3);
+    GameArchive archive = GameArchive.open(path);
+    assertEquals(2, archive.getBlockCount());
+    assertEquals(GameArchive.BLOCK_GAMES + 3, archive.getGameCount());
+
+    long[] wins = archive.scan(block -> {
+      long[] counts = new long[1];
+      for (int g = 0; g < block.getGameCount(); g++) {
+        counts[0] += block.getWinner(g) == Role.RED ? 1 : 0;
+      }
+      return counts;
+    }, (a, b) -> new long[]{a[0] + b[0]});
+    long expected = 0;
+    for (int i = 0; i < GameArchive.BLOCK_GAMES + 3; i++) {
+      expected += games.get(i % games.size()).getWonPlayer() == Role.RED ? 1 : 0;
+    }
+    assertEquals(expected, wins[0]);
+  }
+
+  @Test
+  public void testEmptyArchive() throws IOException {
+    write(0);
+    GameArchive archive = GameArchive.open(path);
+    assertEquals(0, archive.getGameCount());
+    assertNull(archive.scan(block -> 1, Integer::sum));
+  }
+
+  @Test
+  public void testFileAppearsWhenWriterCloses() throws IOException {
+    GameArchive.Writer writer = GameArchive.create(path, 3, 5);
+    writer.addGame(games.get(0), moves.get(0), "row", "fill");
+    assertFalse(Files.exists(path));
+    writer.close();
+    assertTrue(Files.exists(path));
+    try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  public void testRejectsUnknownFormat() throws IOException {
+    write(1);
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[bytes.length - 1]++;
+    Files.write(path, bytes);
+    TestGames.assertOpenFails("Invalid game archive", () -> GameArchive.open(path));
+  }
+
+  @Test
+  public void testRejectsTruncatedArchive() throws IOException {
+    write(1);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 5));
+    TestGames.assertOpenFails("Invalid game archive", () -> GameArchive.open(path));
+  }
+
+  @Test
+  public void testRejectsCorruptFooterOffset() throws IOException {
+    write(1);
+    byte[] bytes = Files.readAllBytes(path);
+    ByteBuffer.wrap(bytes).putLong(bytes.length - 12, bytes.length);
+    Files.write(path, bytes);
+    TestGames.assertOpenFails("Invalid game archive", () -> GameArchive.open(path));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCorruptColumn() throws IOException {
+    write(1);
+    byte[] bytes = Files.readAllBytes(path);
+    // The winner column follows the block header, right after the file header
+    int column = 9 + 8 + 8 * 9;
+    for (int i = column; i < column + 4; i++) {
+      bytes[i] = (byte) 0xFF;
+    }
+    Files.write(path, bytes);
+    GameArchive.open(path).scan(block -> block.getWinner(0), (a, b) -> a);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnfinishedGame() throws IOException {
+    QueensBloodGame game = TestGames.startedGame(1);
+    try (GameArchive.Writer writer = GameArchive.create(path, 3, 5)) {
+      writer.addGame(game, List.of(), "row", "fill");
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOtherBoardDimensions() throws IOException {
+    try (GameArchive.Writer writer = GameArchive.create(path, 3, 4)) {
+      writer.addGame(games.get(0), moves.get(0), "row", "fill");
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testAddAfterClose() throws IOException {
+    GameArchive.Writer writer = GameArchive.create(path, 3, 5);
+    writer.close();
+    writer.addGame(games.get(0), moves.get(0), "row", "fill");
+  }
+
+  private void write(int count) throws IOException {
+    try (GameArchive.Writer writer = GameArchive.create(path, 3, 5)) {
+      for (int i = 0; i < count; i++) {
+        writer.addGame(games.get(i % games.size()), moves.get(i % games.size()), "row", "fill");
+      }
+    }
+  }
+
+  private static List<Move> play(QueensBloodGame game, Strategy red, Strategy blue)
+      throws IOException {
+    List<Move> played = new ArrayList<>();
+    while (!game.isGameOver()) {
+      Role role = game.getCurrentPlayer().getRole();
+      Move move = (role == Role.RED ? red : blue).makeMove(game, role);
+      TestGames.apply(game, move);
+      played.add(move);
+    }
+    return played;
+  }
+}
@@ -1,5 +1,6 @@
 package cs3500.pawnsboard.controller;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -88,4 +89,38 @@ public class GameOrchestratorTest {
     assertFalse(blueController.tookTurn); // no BLUE turn
   }
 
+  @Test
+  public void testTurnRequestedDuringTurnRunsAfterIt() {
+    boolean[] inRedTurn = new boolean[1];
+    boolean[] blueRanInsideRed = new boolean[1];
+    redController.onTurn = () -> {
+      inRedTurn[0] = true;
+      game.switchCurrentPlayer();
+      orchestrator.onModelUpdate();
+      inRedTurn[0] = false;
+    };
+    blueController.onTurn = () -> blueRanInsideRed[0] = inRedTurn[0];
+    game.setCurrentPlayer(new MockPlayer(Role.RED));
+
+    orchestrator.onModelUpdate();
+
+    assertTrue(blueController.tookTurn);
+    assertFalse(blueRanInsideRed[0]);
+    assertEquals(1, redController.turnCount);
+    assertEquals(1, blueController.turnCount);
+  }
+
+  @Test
+  public void testRepeatedUpdatesDuringTurnRunOneTurn() {
+    redController.onTurn = () -> {
+      game.switchCurrentPlayer();
+      orchestrator.onModelUpdate();
+      orchestrator.onModelUpdate();
+    };
+    game.setCurrentPlayer(new MockPlayer(Role.RED));
+
+    orchestrator.onModelUpdate();
+
+    assertEquals(1, blueController.turnCount);
+  }
 }
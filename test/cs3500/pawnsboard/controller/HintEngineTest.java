@@ -0,0 +1,255 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.Board;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.FillFirstStrategy;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.MoveHint;
+import cs3500.pawnsboard.model.PositionHash;
+import cs3500.pawnsboard.model.QueensBloodGame;
+import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.Strategy;
+import cs3500.pawnsboard.model.TestGames;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HintEngineTest {
+
+  private final List<List<MoveHint>> delivered = new ArrayList<>();
+  private final List<Integer> generations = new ArrayList<>();
+  private volatile int generation;
+  private HintEngine engine;
+  private List<GameSnapshot> snapshots;
+
+  @Before
+  public void setUp() throws IOException {
+    engine = new HintEngine(hints -> {
+      synchronized (delivered) {
+        delivered.add(hints);
+        generations.add(generation);
+      }
+    });
+    snapshots = new ArrayList<>();
+    for (long seed = 1; seed <= 8; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      Strategy strategy = new FillFirstStrategy();
+      while (!game.isGameOver()) {
+        snapshots.add(game.getSnapshot());
+        TestGames.apply(game, strategy.makeMove(game, game.getSnapshot().getCurrentRole()));
+      }
+    }
+  }
+
+  @Test
+  public void testHintsAreLegalAndRankedBestFirst() throws Exception {
+    GameSnapshot snapshot = snapshots.get(4);
+    Role role = snapshot.getCurrentRole();
+    List<MoveHint> hints = request(snapshot, role);
+
+    Board<Card> board = snapshot.getBoard();
+    for (int i = 0; i < hints.size(); i++) {
+      MoveHint hint = hints.get(i);
+      assertTrue(isLegal(board, snapshot.getHand(role).get(hint.getCardIndex()), role,
+          hint.getRow(), hint.getCol()));
+      if (i > 0) {
+        assertTrue(hints.get(i - 1).getScoreDelta() >= hint.getScoreDelta());
+      }
+    }
+    assertEquals(countLegal(snapshot, role), hints.size());
+  }
+
+  @Test
+  public void testSamePositionIsServedFromCache() throws Exception {
+    GameSnapshot snapshot = snapshots.get(2);
+    Role role = snapshot.getCurrentRole();
+    int handSize = snapshot.getHand(role).size();
+    List<MoveHint> first = request(snapshot, role);
+    long misses = engine.getCacheMisses();
+    long hits = engine.getCacheHits();
+
+    List<MoveHint> second = request(snapshot, role);
+
+    assertEquals(misses, engine.getCacheMisses());
+    assertEquals(hits + handSize, engine.getCacheHits());
+    assertEquals(first.toString(), second.toString());
+  }
+
+  @Test
+  public void testCacheKeyIncludesRoleAndBoard() throws Exception {
+    GameSnapshot snapshot = snapshots.get(2);
+    request(snapshot, Role.RED);
+    long misses = engine.getCacheMisses();
+
+    request(snapshot, Role.BLUE);
+    assertEquals(misses + snapshot.getHand(Role.BLUE).size(), engine.getCacheMisses());
+
+    GameSnapshot next = snapshots.get(3);
+    misses = engine.getCacheMisses();
+    request(next, Role.RED);
+    assertEquals(misses + next.getHand(Role.RED).size(), engine.getCacheMisses());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEvaluationsAreEvicted() throws Exception {
+    GameSnapshot kept = snapshots.get(5);
+    long keptHash = PositionHash.boardHash(kept.getBoard());
+    // Every other position for both players
+    List<GameSnapshot> others = new ArrayList<>();
+    for (GameSnapshot snapshot : snapshots) {
+      if (PositionHash.boardHash(snapshot.getBoard()) != keptHash) {
+        others.add(snapshot);
+        others.add(snapshot);
+      }
+    }
+    request(kept, Role.RED);
+    int next = 0;
+    while (engine.getCachedCount() < HintEngine.CACHE_SIZE - 10) {
+      request(others.get(next), next++ % 2 == 0 ? Role.RED : Role.BLUE);
+    }
+    // Using the kept position makes it the most recently used again
+    request(kept, Role.RED);
+    while (engine.getCachedCount() < HintEngine.CACHE_SIZE) {
+      request(others.get(next), next++ % 2 == 0 ? Role.RED : Role.BLUE);
+    }
+    long misses = engine.getCacheMisses();
+    while (engine.getCacheMisses() < misses + 20) {
+      request(others.get(next), next++ % 2 == 0 ? Role.RED : Role.BLUE);
+    }
+    assertEquals(HintEngine.CACHE_SIZE, engine.getCachedCount());
+
+    misses = engine.getCacheMisses();
+    request(kept, Role.RED);
+    assertEquals(misses, engine.getCacheMisses());
+
+    misses = engine.getCacheMisses();
+    // Copies of a card share an evaluation, so there are fewer new evaluations than misses
+    while (engine.getCacheMisses() < misses + 2 * HintEngine.CACHE_SIZE) {
+      request(others.get(next), next++ % 2 == 0 ? Role.RED : Role.BLUE);
+    }
+    misses = engine.getCacheMisses();
+    request(kept, Role.RED);
+    assertEquals(misses + kept.getHand(Role.RED).size(), engine.getCacheMisses());
+    assertEquals(HintEngine.CACHE_SIZE, engine.getCachedCount());
+  }
+
+  @Test
+  public void testHintsOfEarlierPositionAreDiscarded() throws Exception {
+    for (int i = 0; i + 1 < snapshots.size(); i++) {
+      GameSnapshot before = snapshots.get(i);
+      GameSnapshot after = snapshots.get(i + 1);
+      Role role = after.getCurrentRole();
+      String expected = hintsOf(after, role).toString();
+
+      engine.requestHints(before, role);
+      engine.requestHints(after, role);
+      int boundary;
+      synchronized (delivered) {
+        boundary = delivered.size();
+      }
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (true) {
+        synchronized (delivered) {
+          if (!delivered.isEmpty()
+              && expected.equals(delivered.get(delivered.size() - 1).toString())) {
+            // Nothing of the earlier position is delivered once the new request is made
+            for (int d = boundary; d < delivered.size(); d++) {
+              for (MoveHint hint : delivered.get(d)) {
+                assertNull(after.getBoard().getCellAt(hint.getRow(), hint.getCol()).getCard());
+              }
+            }
+            break;
+          }
+        }
+        assertTrue("Timed out waiting for hints.", System.nanoTime() < deadline);
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSnapshot() {
+    engine.requestHints(null, Role.RED);
+  }
+
+  private List<MoveHint> request(GameSnapshot snapshot, Role role) throws Exception {
+    // The previous request has delivered everything, so every later delivery is of this one
+    generation++;
+    engine.requestHints(snapshot, role);
+    return awaitHints(snapshot.getHand(role).size());
+  }
+
+  /**
+   * Computes the hints of a position with an engine of its own, which serves no other request.
+   */
+  private static List<MoveHint> hintsOf(GameSnapshot snapshot, Role role) throws Exception {
+    List<List<MoveHint>> own = new ArrayList<>();
+    new HintEngine(hints -> {
+      synchronized (own) {
+        own.add(hints);
+      }
+    }).requestHints(snapshot, role);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (true) {
+      synchronized (own) {
+        if (own.size() == snapshot.getHand(role).size()) {
+          return own.isEmpty() ? List.of() : own.get(own.size() - 1);
+        }
+      }
+      assertTrue("Timed out waiting for hints.", System.nanoTime() < deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  /**
+   * Waits until the current request delivered its hints after every card of the hand.
+   */
+  private List<MoveHint> awaitHints(int handSize) throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (true) {
+      synchronized (delivered) {
+        List<MoveHint> last = null;
+        int count = 0;
+        for (int d = 0; d < delivered.size(); d++) {
+          if (generations.get(d) == generation) {
+            count++;
+            last = delivered.get(d);
+          }
+        }
+        if (count == handSize) {
+          return last == null ? List.of() : last;
+        }
+        assertTrue(count < handSize);
+      }
+      assertTrue("Timed out waiting for hints.", System.nanoTime() < deadline);
+      Thread.sleep(1);
+    }
+  }
+
+  private static int countLegal(GameSnapshot snapshot, Role role) {
+    int count = 0;
+    Board<Card> board = snapshot.getBoard();
+    for (Card card : snapshot.getHand(role)) {
+      for (int r = 0; r < board.getHeight(); r++) {
+        for (int c = 0; c < board.getWidth(); c++) {
+          count += isLegal(board, card, role, r, c) ? 1 : 0;
+        }
+      }
+    }
+    return count;
+  }
+
+  private static boolean isLegal(Board<Card> board, Card card, Role role, int row, int col) {
+    return board.getCellAt(row, col).getCard() == null
+        && board.getCellAt(row, col).getPawns() >= card.getCost()
+        && (board.getCellAt(row, col).getOwner() == null
+        || board.getCellAt(row, col).getOwner() == role);
+  }
+}
@@ -0,0 +1,170 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.CancellationToken;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.FillFirstStrategy;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.Move;
+import cs3500.pawnsboard.model.PonderingStrategy;
+import cs3500.pawnsboard.model.QueensBloodGame;
+import cs3500.pawnsboard.model.ReadonlyGame;
+import cs3500.pawnsboard.model.Role;
+import cs3500.pawnsboard.model.Strategy;
+import cs3500.pawnsboard.model.StrategySelectorImpl;
+import cs3500.pawnsboard.model.TestGames;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import javax.swing.SwingUtilities;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MachineGUIControllerTest {
+
+  private QueensBloodGame game;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(9);
+  }
+
+  @Test
+  public void testMoveIsApplied() throws Exception {
+    MachineGUIController controller = controller(new FillFirstStrategy());
+    int handSize = game.getSnapshot().getHand(Role.RED).size();
+
+    controller.takeTurn();
+    waitFor(() -> game.getSnapshot().getCurrentRole() == Role.BLUE);
+
+    GameSnapshot snapshot = game.getSnapshot();
+    assertEquals(0, snapshot.getConsecutivePass());
+    assertEquals(handSize - 1, snapshot.getHand(Role.RED).size());
+    assertEquals(1, countCards(snapshot));
+  }
+
+  @Test
+  public void testCancelledTurnAppliesNoMove() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    AtomicBoolean released = new AtomicBoolean();
+    Strategy fillFirst = new FillFirstStrategy();
+    MachineGUIController controller = controller((position, forWhom) -> {
+      started.countDown();
+      // A search that ignores interrupts, like a strategy that cannot be cancelled
+      while (!released.get()) {
+        Thread.onSpinWait();
+      }
+      finished.countDown();
+      return fillFirst.makeMove(position, forWhom);
+    });
+    long version = game.getSnapshot().getVersion();
+
+    controller.takeTurn();
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    controller.cancelTurn();
+    released.set(true);
+    assertTrue(finished.await(10, TimeUnit.SECONDS));
+    SwingUtilities.invokeAndWait(() -> { });
+    Thread.sleep(50);
+    SwingUtilities.invokeAndWait(() -> { });
+
+    assertEquals(version, game.getSnapshot().getVersion());
+    assertEquals(Role.RED, game.getSnapshot().getCurrentRole());
+
+    // The cancelled turn leaves the controller ready for the next one
+    controller.takeTurn();
+    waitFor(() -> game.getSnapshot().getCurrentRole() == Role.BLUE);
+    assertEquals(1, countCards(game.getSnapshot()));
+  }
+
+  @Test
+  public void testSearchErrorPassesTurn() throws Exception {
+    MachineGUIController controller = controller((position, forWhom) -> {
+      throw new IllegalStateException("search failed");
+    });
+
+    controller.takeTurn();
+    waitFor(() -> game.getSnapshot().getCurrentRole() == Role.BLUE);
+
+    GameSnapshot snapshot = game.getSnapshot();
+    assertEquals(1, snapshot.getConsecutivePass());
+    assertEquals(0, countCards(snapshot));
+  }
+
+  @Test
+  public void testSearchWaitsForPonderingToStop() throws Exception {
+    CountDownLatch pondering = new CountDownLatch(1);
+    AtomicBoolean ponderRunning = new AtomicBoolean();
+    AtomicBoolean overlapped = new AtomicBoolean();
+    Strategy fillFirst = new FillFirstStrategy();
+    PonderingStrategy strategy = new PonderingStrategy() {
+      @Override
+      public void ponder(GameSnapshot snapshot, Role forWhom, CancellationToken token) {
+        ponderRunning.set(true);
+        pondering.countDown();
+        while (!token.shouldStop()) {
+          Thread.onSpinWait();
+        }
+        // Finishing the node in progress takes a while after the token is cancelled
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        while (System.nanoTime() < until) {
+          Thread.onSpinWait();
+        }
+        ponderRunning.set(false);
+      }
+
+      @Override
+      public Move makeMove(ReadonlyGame<Card> position, Role forWhom, CancellationToken token)
+          throws IOException {
+        overlapped.compareAndSet(false, ponderRunning.get());
+        return fillFirst.makeMove(position, forWhom);
+      }
+    };
+    MachineGUIController controller = controller(strategy);
+    game.addModelListener(controller);
+
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+    assertTrue(pondering.await(10, TimeUnit.SECONDS));
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+
+    controller.takeTurn();
+    waitFor(() -> game.getSnapshot().getCurrentRole() == Role.BLUE);
+    assertFalse(overlapped.get());
+    assertEquals(1, countCards(game.getSnapshot()));
+  }
+
+  private MachineGUIController controller(Strategy strategy) {
+    return new MachineGUIController(game, Role.RED, List.of(strategy),
+        new StrategySelectorImpl());
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue("Timed out waiting for the turn.", System.nanoTime() < deadline);
+      Thread.sleep(10);
+    }
+    SwingUtilities.invokeAndWait(() -> { });
+  }
+
+  private static int countCards(GameSnapshot snapshot) {
+    int count = 0;
+    for (int r = 0; r < snapshot.getBoard().getHeight(); r++) {
+      for (int c = 0; c < snapshot.getBoard().getWidth(); c++) {
+        if (snapshot.getBoard().getCellAt(r, c).getCard() != null) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+}
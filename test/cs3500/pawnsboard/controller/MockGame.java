@@ -0,0 +1,136 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Board;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.Game;
+import cs3500.pawnsboard.model.GameSnapshot;
+import cs3500.pawnsboard.model.ModelEvent;
+import cs3500.pawnsboard.model.Player;
+import cs3500.pawnsboard.model.Role;
+import java.util.List;
+
+public class MockGame implements Game<Card> {
+
+  boolean observerAdded;
+  private Player<Card> currentPlayer;
+
+  public void setCurrentPlayer(Player<Card> currentPlayer) {
+    this.currentPlayer = currentPlayer;
+  }
+
+  @Override
+  public void startGame(List<Card> redDeck, List<Card> blueDeck) {
+
+  }
+
+  @Override
+  public void switchCurrentPlayer() {
+    Role next = currentPlayer.getRole().getOpponent();
+    currentPlayer = new MockPlayer(next);
+  }
+
+  @Override
+  public void placeCard(int row, int col, int cardIndex) {
+
+  }
+
+  @Override
+  public Card drawNewCardForCurrentPlayer() {
+    return null;
+  }
+
+  @Override
+  public void resetConsecutivePass() {
+
+  }
+
+  @Override
+  public void increaseConsecutivePass() {
+
+  }
+
+  @Override
+  public void beginTransaction() {
+
+  }
+
+  @Override
+  public void commitTransaction() {
+
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return false;
+  }
+
+  @Override
+  public Player<Card> getCurrentPlayer() {
+    return currentPlayer;
+  }
+
+  @Override
+  public Board<Card> getBoard() {
+    return null;
+  }
+
+  @Override
+  public int getHandSize() {
+    return 0;
+  }
+
+  @Override
+  public int getSelectedCardIndex() {
+    return -1;
+  }
+
+  @Override
+  public void setSelectedCardIndex(int selectedCardIndex) {
+
+  }
+
+  @Override
+  public int[] getSelectedCellCoordinate() {
+    return new int[]{-1, -1};
+  }
+
+  @Override
+  public void setSelectedCellCoordinate(int selectedRow, int selectedCol) {
+
+  }
+
+  @Override
+  public Role getWonPlayer() {
+    return null;
+  }
+
+  @Override
+  public Player<Card> getPlayer(Role role) {
+    return new MockPlayer(role);
+  }
+
+  @Override
+  public GameSnapshot getSnapshot() {
+    throw new IllegalStateException("Game has not started");
+  }
+
+  @Override
+  public void addModelListener(ModelListener modelListener) {
+    observerAdded = true;
+  }
+
+  @Override
+  public void removeModelListener(ModelListener modelListener) {
+
+  }
+
+  @Override
+  public void notifyModelListeners() {
+
+  }
+
+  @Override
+  public void notifyModelListeners(ModelEvent event) {
+
+  }
+}
@@ -0,0 +1,46 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.model.Board;
+import cs3500.pawnsboard.model.Card;
+import cs3500.pawnsboard.model.Player;
+import cs3500.pawnsboard.model.Role;
+import java.util.List;
+
+public class MockPlayer implements Player<Card> {
+
+  private final Role role;
+
+  public MockPlayer(Role role) {
+    this.role = role;
+  }
+
+  @Override
+  public void initializePlayer(int boardCapacity, List<Card> newDeck) {
+
+  }
+
+  @Override
+  public List<Card> getHand() {
+    return List.of();
+  }
+
+  @Override
+  public int getRemainingDeckSize() {
+    return 0;
+  }
+
+  @Override
+  public Role getRole() {
+    return role;
+  }
+
+  @Override
+  public Card drawNewCard(Board<Card> board) {
+    return null;
+  }
+
+  @Override
+  public Player<Card> clone() {
+    return this;
+  }
+}
@@ -0,0 +1,49 @@
+package cs3500.pawnsboard.controller;
+
+import cs3500.pawnsboard.view.GUIView;
+
+public class MockPlayerController implements PlayerController {
+
+  boolean tookTurn;
+  int turnCount;
+  Runnable onTurn;
+
+  @Override
+  public void takeTurn() {
+    tookTurn = true;
+    turnCount++;
+    if (onTurn != null) {
+      onTurn.run();
+    }
+  }
+
+  @Override
+  public void handleCardClick(int newCardIndex) {
+
+  }
+
+  @Override
+  public void handleCellClick(int row, int col) {
+
+  }
+
+  @Override
+  public void handlePassTurn() {
+
+  }
+
+  @Override
+  public void confirmMove() {
+
+  }
+
+  @Override
+  public void setView(GUIView view) {
+
+  }
+
+  @Override
+  public void onModelUpdate() {
+
+  }
+}
@@ -0,0 +1,131 @@
+package cs3500.pawnsboard.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import cs3500.pawnsboard.model.Role;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TurnSchedulerTest {
+
+  private TurnScheduler scheduler;
+  private List<String> runs;
+  private int depth;
+  private int maxDepth;
+
+  @Before
+  public void setUp() {
+    scheduler = new TurnScheduler(2);
+    runs = new ArrayList<>();
+  }
+
+  @Test
+  public void testIdleRequestRunsImmediately() {
+    assertTrue(scheduler.requestTurn(Role.RED, turn("red")));
+    assertEquals(List.of("red"), runs);
+    assertEquals(0, scheduler.getQueueDepth());
+  }
+
+  @Test
+  public void testRequestDuringTurnIsQueuedNotNested() {
+    scheduler.requestTurn(Role.RED, turn("red", () -> {
+      assertTrue(scheduler.requestTurn(Role.BLUE, turn("blue")));
+      assertEquals(1, scheduler.getQueueDepth());
+      assertEquals(List.of("red"), runs);
+    }));
+    assertEquals(List.of("red", "blue"), runs);
+    assertEquals(1, maxDepth);
+  }
+
+  @Test
+  public void testSecondRequestForSameRoleIsCollapsed() {
+    scheduler.requestTurn(Role.RED, turn("red", () -> {
+      assertTrue(scheduler.requestTurn(Role.BLUE, turn("blue")));
+      assertFalse(scheduler.requestTurn(Role.BLUE, turn("blue again")));
+    }));
+    assertEquals(List.of("red", "blue"), runs);
+    assertEquals(0, scheduler.getRejectedCount());
+  }
+
+  @Test
+  public void testLongChainKeepsConstantDepth() {
+    int[] remaining = {100_000};
+    Runnable[] next = new Runnable[1];
+    next[0] = () -> {
+      depth++;
+      maxDepth = Math.max(maxDepth, depth);
+      if (--remaining[0] > 0) {
+        Role role = remaining[0] % 2 == 0 ? Role.RED : Role.BLUE;
+        scheduler.requestTurn(role, next[0]);
+      }
+      depth--;
+    };
+    scheduler.requestTurn(Role.RED, next[0]);
+    assertEquals(0, remaining[0]);
+    assertEquals(1, maxDepth);
+  }
+
+  @Test
+  public void testFullQueueRejectsRequest() {
+    scheduler = new TurnScheduler(1);
+    scheduler.requestTurn(Role.RED, turn("red", () -> {
+      assertTrue(scheduler.requestTurn(Role.BLUE, turn("blue")));
+      assertFalse(scheduler.requestTurn(Role.RED, turn("red again")));
+    }));
+    assertEquals(List.of("red", "blue"), runs);
+    assertEquals(1, scheduler.getRejectedCount());
+  }
+
+  @Test
+  public void testFailingTurnDoesNotStopLoop() {
+    scheduler.requestTurn(Role.RED, () -> {
+      scheduler.requestTurn(Role.BLUE, turn("blue"));
+      throw new IllegalStateException("turn failed");
+    });
+    assertEquals(List.of("blue"), runs);
+    assertTrue(scheduler.requestTurn(Role.RED, turn("red")));
+    assertEquals(List.of("blue", "red"), runs);
+  }
+
+  @Test
+  public void testCompletedTurnsAreTimed() {
+    scheduler.requestTurn(Role.RED, turn("red"));
+    scheduler.completeTurn(Role.RED);
+    scheduler.completeTurn(Role.RED);
+    scheduler.completeTurn(Role.BLUE);
+    assertEquals(1, scheduler.getTurnCount());
+    assertEquals(scheduler.getLastTurnNanos(), scheduler.getMaxTurnNanos());
+    assertEquals(scheduler.getLastTurnNanos(), scheduler.getAverageTurnNanos());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveQueueDepth() {
+    new TurnScheduler(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullTurn() {
+    scheduler.requestTurn(Role.RED, null);
+  }
+
+  private Runnable turn(String name) {
+    return turn(name, () -> { });
+  }
+
+  private Runnable turn(String name, Runnable body) {
+    return () -> {
+      depth++;
+      maxDepth = Math.max(maxDepth, depth);
+      runs.add(name);
+      try {
+        body.run();
+      } finally {
+        depth--;
+      }
+    };
+  }
+}
@@ -0,0 +1,172 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncStrategyAdapterTest {
+
+  private QueensBloodGame game;
+  private ExecutorService pool;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(13);
+    pool = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void testCompletesWithMoveOfStrategy() throws Exception {
+    Move expected = new FillFirstStrategy().makeMove(game, Role.RED);
+    Move move = new AsyncStrategyAdapter(new FillFirstStrategy(), pool)
+        .makeMoveAsync(game, Role.RED, CancellationToken.none()).get(10, TimeUnit.SECONDS);
+    assertMove(expected, move);
+  }
+
+  @Test
+  public void testSearchesSnapshotTakenWhenRequested() throws Exception {
+    GameSnapshot requested = game.getSnapshot();
+    AtomicBoolean changed = new AtomicBoolean();
+    AtomicReference<ReadonlyGame<Card>> searched = new AtomicReference<>();
+    Strategy strategy = (position, forWhom) -> {
+      while (!changed.get()) {
+        Thread.onSpinWait();
+      }
+      searched.set(position);
+      return Move.passMove();
+    };
+    CompletableFuture<Move> future = new AsyncStrategyAdapter(strategy, pool)
+        .makeMoveAsync(game, Role.RED, CancellationToken.none());
+    Move move = new FillFirstStrategy().makeMove(game, Role.RED);
+    game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+    changed.set(true);
+    future.get(10, TimeUnit.SECONDS);
+
+    assertTrue(searched.get() instanceof SnapshotGame);
+    assertSame(requested, ((SnapshotGame) searched.get()).getSnapshot());
+    assertEquals(requested.getHand(Role.RED), searched.get().getCurrentPlayer().getHand());
+  }
+
+  @Test
+  public void testCooperativeStrategyReturnsBestSoFarAtDeadline() throws Exception {
+    CooperativeStrategy strategy = (position, forWhom, token) -> {
+      Move best = new Move(0, 0, 0);
+      while (!token.shouldStop()) {
+        Thread.onSpinWait();
+      }
+      return best;
+    };
+    CancellationToken token = CancellationToken.withTimeout(30, TimeUnit.MILLISECONDS);
+    Move move = new AsyncStrategyAdapter(strategy, pool)
+        .makeMoveAsync(game, Role.RED, token).get(10, TimeUnit.SECONDS);
+    assertMove(new Move(0, 0, 0), move);
+    assertTrue(token.isCancelled());
+  }
+
+  @Test
+  public void testStrategyThatIgnoresDeadlineTimesOutWithPass() throws Exception {
+    AtomicBoolean released = new AtomicBoolean();
+    CountDownLatch finished = new CountDownLatch(1);
+    Strategy strategy = (position, forWhom) -> {
+      while (!released.get()) {
+        Thread.onSpinWait();
+      }
+      finished.countDown();
+      return new Move(0, 0, 0);
+    };
+    CancellationToken token = CancellationToken.withTimeout(20, TimeUnit.MILLISECONDS);
+    CompletableFuture<Move> future = new AsyncStrategyAdapter(strategy, pool)
+        .makeMoveAsync(game, Role.RED, token);
+
+    assertTrue(future.get(10, TimeUnit.SECONDS).isPass());
+    assertTrue(token.isCancelled());
+    // The search still holds its thread until it returns; its late move is discarded
+    assertEquals(1, finished.getCount());
+    released.set(true);
+    assertTrue(finished.await(10, TimeUnit.SECONDS));
+    assertTrue(future.get().isPass());
+  }
+
+  @Test
+  public void testCancellingFutureStopsCooperativeSearch() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch stopped = new CountDownLatch(1);
+    CooperativeStrategy strategy = (position, forWhom, token) -> {
+      started.countDown();
+      while (!token.shouldStop()) {
+        Thread.onSpinWait();
+      }
+      stopped.countDown();
+      return Move.passMove();
+    };
+    CancellationToken token = CancellationToken.none();
+    CompletableFuture<Move> future = new AsyncStrategyAdapter(strategy, pool)
+        .makeMoveAsync(game, Role.RED, token);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    future.cancel(true);
+    assertTrue(token.isCancelled());
+    assertTrue(stopped.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCancelledTokenPassesWithoutSearching() throws Exception {
+    AtomicBoolean searched = new AtomicBoolean();
+    Strategy strategy = (position, forWhom) -> {
+      searched.set(true);
+      return new Move(0, 0, 0);
+    };
+    CancellationToken token = CancellationToken.none();
+    token.cancel();
+    Move move = new AsyncStrategyAdapter(strategy, pool)
+        .makeMoveAsync(game, Role.RED, token).get(10, TimeUnit.SECONDS);
+    assertTrue(move.isPass());
+    assertFalse(searched.get());
+  }
+
+  @Test
+  public void testSearchErrorCompletesExceptionally() throws Exception {
+    Strategy strategy = (position, forWhom) -> {
+      throw new IOException("search failed");
+    };
+    try {
+      new AsyncStrategyAdapter(strategy, pool)
+          .makeMoveAsync(game, Role.RED, CancellationToken.none()).get(10, TimeUnit.SECONDS);
+      fail("The search error was lost.");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullToken() {
+    new AsyncStrategyAdapter(new FillFirstStrategy(), pool).makeMoveAsync(game, Role.RED, null);
+  }
+
+  private static void assertMove(Move expected, Move actual) {
+    assertEquals(expected.isPass(), actual.isPass());
+    assertEquals(expected.getCardIndex(), actual.getCardIndex());
+    assertEquals(expected.getRow(), actual.getRow());
+    assertEquals(expected.getCol(), actual.getCol());
+  }
+}
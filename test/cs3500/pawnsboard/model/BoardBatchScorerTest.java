@@ -0,0 +1,77 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class BoardBatchScorerTest {
+
+  @Test
+  public void testScoresMatchSimulatedBoards() throws IOException {
+    for (long seed = 1; seed <= 6; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      Strategy strategy = new FillFirstStrategy();
+      while (!game.isGameOver()) {
+        Role role = game.getSnapshot().getCurrentRole();
+        List<Card> hand = game.getSnapshot().getHand(role);
+        assertBatchMatches(game.getSnapshot().getBoard(), hand, role);
+        // A single card is scored by the scalar path, the full hand by the lane-wise one
+        if (!hand.isEmpty()) {
+          assertBatchMatches(game.getSnapshot().getBoard(), hand.subList(0, 1), role);
+        }
+        TestGames.apply(game, strategy.makeMove(game, role));
+      }
+    }
+  }
+
+  @Test
+  public void testScoreOfPosition() throws IOException {
+    Board<Card> board = TestGames.startedGame(1).getSnapshot().getBoard();
+    BoardBatchScorer scorer = new BoardBatchScorer(board);
+    assertEquals(0, scorer.getScore(Role.RED));
+    assertEquals(0, scorer.getScore(Role.BLUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullBoard() {
+    new BoardBatchScorer(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutputTooSmall() throws IOException {
+    Board<Card> board = TestGames.startedGame(1).getSnapshot().getBoard();
+    BoardBatchScorer scorer = new BoardBatchScorer(board);
+    scorer.scorePlacements(Role.RED, new int[]{1, 2}, new int[5], new int[6]);
+  }
+
+  private static void assertBatchMatches(Board<Card> board, List<Card> cards, Role role)
+      throws IOException {
+    int[] values = new int[cards.size()];
+    for (int k = 0; k < values.length; k++) {
+      values[k] = cards.get(k).getValue();
+    }
+    int[] red = new int[board.getHeight() * values.length];
+    int[] blue = new int[red.length];
+    new BoardBatchScorer(board).scorePlacements(role, values, red, blue);
+    for (int r = 0; r < board.getHeight(); r++) {
+      for (int k = 0; k < values.length; k++) {
+        Card card = cards.get(k);
+        for (int c = 0; c < board.getWidth(); c++) {
+          Cell<Card> cell = board.getCellAt(r, c);
+          if (cell.getCard() != null || cell.getPawns() < card.getCost()
+              || (cell.getOwner() != null && cell.getOwner() != role)) {
+            continue;
+          }
+          Board<Card> copy = board.clone();
+          copy.placeCard(new StrategyUtils.DummyPlayer(role, card), 0, r, c);
+          Map<Role, Integer> scores = copy.getScores();
+          assertEquals(scores.get(Role.RED).intValue(), red[r * values.length + k]);
+          assertEquals(scores.get(Role.BLUE).intValue(), blue[r * values.length + k]);
+        }
+      }
+    }
+  }
+}
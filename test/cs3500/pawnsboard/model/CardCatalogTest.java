@@ -0,0 +1,112 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CardCatalogTest {
+
+  // Influences the cell two rows above the card and the cell to its right, as seen by RED
+  private static final int MASK = 1 << 2 | 1 << 13;
+
+  private final CardCatalog catalog = CardCatalog.getInstance();
+
+  @Test
+  public void testInternReturnsSameIdAndCards() {
+    int id = catalog.intern("CatalogTest-Intern", 1, 3, MASK);
+    assertEquals(id, catalog.intern("CatalogTest-Intern", 1, 3, MASK));
+    assertNotEquals(id, catalog.intern("CatalogTest-Intern", 1, 4, MASK));
+    assertTrue(catalog.size() > id);
+
+    for (Role role : Role.values()) {
+      Card card = catalog.getCard(id, role);
+      assertSame(card, catalog.getCard(id, role));
+      assertEquals(role, card.getOwner());
+      assertEquals(id, catalog.idOf(card));
+      assertEquals(id, catalog.idOf(new QueensBloodCard(card)));
+    }
+    assertEquals("CatalogTest-Intern", catalog.getName(id));
+    assertEquals(1, catalog.getCost(id));
+    assertEquals(3, catalog.getValue(id));
+  }
+
+  @Test
+  public void testMasksAndKernelsPerRole() {
+    int id = catalog.intern("CatalogTest-Kernel", 1, 2, MASK);
+
+    assertEquals(MASK, catalog.getMask(id, Role.RED));
+    assertArrayEquals(new int[]{-2, 0, 0, 1}, catalog.getKernel(id, Role.RED));
+    // BLUE plays the card mirrored left to right
+    assertEquals(1 << 2 | 1 << 11, catalog.getMask(id, Role.BLUE));
+    assertArrayEquals(new int[]{-2, 0, 0, -1}, catalog.getKernel(id, Role.BLUE));
+    for (Role role : Role.values()) {
+      assertEquals(PositionHash.influenceMask(catalog.getCard(id, role)),
+          catalog.getMask(id, role));
+    }
+
+    catalog.getKernel(id, Role.RED)[0] = 7;
+    assertEquals(-2, catalog.getKernel(id, Role.RED)[0]);
+  }
+
+  @Test
+  public void testSharedHashMatchesCardHashOfClone() {
+    int id = catalog.intern("CatalogTest-Hash", 2, 2, MASK);
+    for (Role role : Role.values()) {
+      Card shared = catalog.getCard(id, role);
+      Card clone = new QueensBloodCard(shared);
+      assertEquals(Long.valueOf(catalog.getHash(id, role)), catalog.sharedHash(shared));
+      assertNull(catalog.sharedHash(clone));
+      assertEquals(catalog.getHash(id, role), PositionHash.cardHash(clone));
+    }
+    assertNotEquals(catalog.getHash(id, Role.RED), catalog.getHash(id, Role.BLUE));
+  }
+
+  @Test
+  public void testCopyOfBlueCardKeepsOrientation() {
+    char[][] influence = {
+        {'X', 'X', 'I', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'C', 'I', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'}
+    };
+    Card blue = new QueensBloodCard("CatalogTest-Copy", Role.BLUE, 2, 1, influence);
+    Card copy = new QueensBloodCard(blue);
+
+    assertNotSame(blue, copy);
+    assertArrayEquals(blue.getInfluence(), copy.getInfluence());
+    assertTrue(copy.getInfluenceGrid()[2][1]);
+    assertEquals(catalog.idOf(blue), catalog.idOf(copy));
+    assertEquals(PositionHash.cardHash(blue), PositionHash.cardHash(copy));
+
+    // The influence handed out is a copy
+    blue.getInfluence()[2][1] = 'X';
+    assertTrue(blue.getInfluenceGrid()[2][1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInternMaskCoveringCenter() {
+    catalog.intern("CatalogTest-Center", 1, 1, 1 << 12);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInternNegativeCost() {
+    catalog.intern("CatalogTest-Negative", -1, 1, MASK);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownId() {
+    catalog.getCard(Integer.MAX_VALUE, Role.RED);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullRole() {
+    catalog.getMask(catalog.intern("CatalogTest-Role", 1, 1, MASK), null);
+  }
+}
@@ -0,0 +1,160 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameCodecTest {
+
+  private QueensBloodGame game;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(7);
+  }
+
+  @Test
+  public void testRoundTripOfNewGame() throws IOException {
+    byte[] saved = GameCodec.encode(game);
+    QueensBloodGame restored = GameCodec.decode(saved);
+    assertArrayEquals(saved, GameCodec.encode(restored));
+    assertEquals(Role.RED, restored.getSnapshot().getCurrentRole());
+    assertEquals(game.getPlayer(Role.RED).getHand(), restored.getPlayer(Role.RED).getHand());
+  }
+
+  @Test
+  public void testRoundTripKeepsBoardAndTurn() throws IOException {
+    TestGames.playTurns(game, 3);
+    QueensBloodGame restored = GameCodec.decode(GameCodec.encode(game));
+
+    GameSnapshot expected = game.getSnapshot();
+    GameSnapshot actual = restored.getSnapshot();
+    assertEquals(expected.getCurrentRole(), actual.getCurrentRole());
+    assertEquals(expected.getConsecutivePass(), actual.getConsecutivePass());
+    assertEquals(expected.getBoard().getScores(), actual.getBoard().getScores());
+    for (int r = 0; r < 3; r++) {
+      for (int c = 0; c < 5; c++) {
+        Cell<Card> cell = expected.getBoard().getCellAt(r, c);
+        Cell<Card> copy = actual.getBoard().getCellAt(r, c);
+        assertEquals(cell.getOwner(), copy.getOwner());
+        assertEquals(cell.getPawns(), copy.getPawns());
+        assertEquals(cell.getCard(), copy.getCard());
+      }
+    }
+    for (Role role : Role.values()) {
+      assertEquals(expected.getHand(role), actual.getHand(role));
+      assertEquals(expected.getRemainingDeckSize(role), actual.getRemainingDeckSize(role));
+    }
+  }
+
+  @Test
+  public void testRestoredGameContinuesLikeOriginal() throws IOException {
+    TestGames.playTurns(game, 4);
+    QueensBloodGame restored = GameCodec.decode(GameCodec.encode(game));
+    while (!game.isGameOver()) {
+      TestGames.playTurns(game, 1);
+      TestGames.playTurns(restored, 1);
+      assertArrayEquals(GameCodec.encode(game), GameCodec.encode(restored));
+    }
+    assertTrue(restored.isGameOver());
+    assertEquals(game.getWonPlayer(), restored.getWonPlayer());
+  }
+
+  @Test
+  public void testRoundTripKeepsConsecutivePass() throws IOException {
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+    QueensBloodGame restored = GameCodec.decode(GameCodec.encode(game));
+    assertEquals(1, restored.getSnapshot().getConsecutivePass());
+    assertEquals(Role.BLUE, restored.getSnapshot().getCurrentRole());
+  }
+
+  @Test
+  public void testRejectsUnknownFormat() {
+    byte[] saved = GameCodec.encode(game);
+    saved[4]++;
+    assertDecodeFails(saved);
+  }
+
+  @Test
+  public void testRejectsTruncatedGame() {
+    byte[] saved = GameCodec.encode(game);
+    for (int length = 0; length < saved.length; length += 7) {
+      assertDecodeFails(Arrays.copyOf(saved, length));
+    }
+    assertDecodeFails(Arrays.copyOf(saved, saved.length - 1));
+  }
+
+  @Test
+  public void testRejectsTrailingData() {
+    byte[] saved = GameCodec.encode(game);
+    assertDecodeFails(Arrays.copyOf(saved, saved.length + 1));
+  }
+
+  @Test
+  public void testRejectsUnknownCurrentPlayer() {
+    byte[] saved = GameCodec.encode(game);
+    // Magic, version, height, width and hand size come before the current player
+    saved[11] = 9;
+    assertDecodeFails(saved);
+  }
+
+  @Test
+  public void testEncodeRejectsValuesOutOfRange() throws IOException {
+    for (Card card : List.of(TestGames.card("CodecTest-Huge", 70000, 1),
+        TestGames.card("CodecTest-Expensive", 1, 300))) {
+      QueensBloodGame outOfRange = gameWith(card);
+      try {
+        GameCodec.encode(outOfRange);
+        fail("A value out of range was saved.");
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().contains("out of range"));
+      }
+    }
+  }
+
+  @Test
+  public void testRoundTripOfLargestValues() throws IOException {
+    byte[] saved = GameCodec.encode(gameWith(TestGames.card("CodecTest-Largest", 65535, 255)));
+    assertArrayEquals(saved, GameCodec.encode(GameCodec.decode(saved)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testEncodeUnstartedGame() {
+    GameCodec.encode(new QueensBloodGame(3, 5, 5, 7));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEncodeNull() {
+    GameCodec.encode(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeNull() throws IOException {
+    GameCodec.decode(null);
+  }
+
+  private static QueensBloodGame gameWith(Card card) throws IOException {
+    QueensBloodGame started = new QueensBloodGame(3, 5, 5, 7);
+    List<Card> red = TestGames.deck(Role.RED);
+    red.set(0, card);
+    started.startGame(red, TestGames.deck(Role.BLUE));
+    return started;
+  }
+
+  private static void assertDecodeFails(byte[] saved) {
+    try {
+      GameCodec.decode(saved);
+      fail("A corrupt game was restored.");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+}
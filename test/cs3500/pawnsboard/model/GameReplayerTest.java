@@ -0,0 +1,132 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameReplayerTest {
+
+  private QueensBloodGame game;
+  private ByteArrayOutputStream journal;
+  private List<byte[]> savedTurns;
+
+  @Before
+  public void setUp() throws IOException {
+    game = new QueensBloodGame(3, 5, 5, 5);
+    journal = new ByteArrayOutputStream();
+    game.setJournal(new MoveJournal(journal));
+    TestGames.start(game);
+    savedTurns = new ArrayList<>();
+    savedTurns.add(GameCodec.encode(game));
+
+    Strategy strategy = new MaximizeRowScoreStrategy();
+    while (!game.isGameOver()) {
+      TestGames.apply(game, strategy.makeMove(game, game.getCurrentPlayer().getRole()));
+      savedTurns.add(GameCodec.encode(game));
+    }
+  }
+
+  @Test
+  public void testReplayAllMatchesLiveGame() throws IOException {
+    GameReplayer replayer = replayer(journal.toByteArray());
+    QueensBloodGame replayed = replayer.replayAll();
+    assertArrayEquals(GameCodec.encode(game), GameCodec.encode(replayed));
+    assertTrue(replayed.isGameOver());
+    assertEquals(game.getWonPlayer(), replayed.getWonPlayer());
+    assertFalse(replayer.isTruncated());
+  }
+
+  @Test
+  public void testReplayTurnsMatchesEveryTurn() throws IOException {
+    GameReplayer replayer = replayer(journal.toByteArray());
+    assertEquals(savedTurns.size() - 1, replayer.getTurnCount());
+    for (int turn = 0; turn < savedTurns.size(); turn++) {
+      assertArrayEquals(savedTurns.get(turn), GameCodec.encode(replayer.replayTurns(turn)));
+    }
+  }
+
+  @Test
+  public void testReplayedGameCanBeJournaledAgain() throws IOException {
+    QueensBloodGame replayed = replayer(journal.toByteArray()).replay(0);
+    assertArrayEquals(savedTurns.get(0), GameCodec.encode(replayed));
+  }
+
+  @Test
+  public void testReadsUpToLastCompleteRecord() throws IOException {
+    byte[] bytes = journal.toByteArray();
+    GameReplayer whole = replayer(bytes);
+    // The last record is a switch: a type byte and the id of the drawn card
+    GameReplayer cut = replayer(Arrays.copyOf(bytes, bytes.length - 1));
+
+    assertTrue(cut.isTruncated());
+    assertEquals(whole.getChangeCount() - 1, cut.getChangeCount());
+    assertArrayEquals(GameCodec.encode(whole.replay(whole.getChangeCount() - 1)),
+        GameCodec.encode(cut.replayAll()));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDetectsDifferentDraw() throws IOException {
+    byte[] bytes = journal.toByteArray();
+    // Claim that the last switch drew the first card defined in the journal
+    bytes[bytes.length - 2] = 0;
+    bytes[bytes.length - 1] = (byte) (bytes[bytes.length - 1] == 0 ? 1 : 0);
+    GameReplayer replayer = replayer(bytes);
+    replayer.replayAll();
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsUnknownFormat() throws IOException {
+    byte[] bytes = journal.toByteArray();
+    bytes[0]++;
+    replayer(bytes);
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsMissingHeader() throws IOException {
+    replayer(new byte[]{0x50, 0x42});
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsMissingStart() throws IOException {
+    replayer(Arrays.copyOf(journal.toByteArray(), 5));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsUnknownRecordType() throws IOException {
+    byte[] bytes = journal.toByteArray();
+    byte[] extended = Arrays.copyOf(bytes, bytes.length + 1);
+    extended[bytes.length] = 42;
+    replayer(extended);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplayOutOfRange() throws IOException {
+    GameReplayer replayer = replayer(journal.toByteArray());
+    replayer.replay(replayer.getChangeCount() + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplayTurnsOutOfRange() throws IOException {
+    GameReplayer replayer = replayer(journal.toByteArray());
+    replayer.replayTurns(replayer.getTurnCount() + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullStream() throws IOException {
+    new GameReplayer(null);
+  }
+
+  private static GameReplayer replayer(byte[] bytes) throws IOException {
+    return new GameReplayer(new ByteArrayInputStream(bytes));
+  }
+}
@@ -0,0 +1,111 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GameSnapshotTest {
+
+  private QueensBloodGame game;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(11);
+  }
+
+  @Test
+  public void testPlayersAreViewsOfSnapshot() throws IOException {
+    GameSnapshot snapshot = game.getSnapshot();
+    Player<Card> red = game.getPlayer(Role.RED);
+    assertSame(snapshot.getPlayer(Role.RED), red);
+    assertSame(red, game.getCurrentPlayer());
+    List<Card> hand = red.getHand();
+
+    Move move = new FillFirstStrategy().makeMove(game, Role.RED);
+    game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+
+    assertEquals(hand, red.getHand());
+    assertEquals(hand.size() - 1, game.getPlayer(Role.RED).getHand().size());
+    assertEquals(snapshot.getRemainingDeckSize(Role.RED), red.getRemainingDeckSize());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPlayerHandCannotBeModified() {
+    game.getCurrentPlayer().getHand().remove(0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPlayerCannotDraw() {
+    Player<Card> player = game.getCurrentPlayer();
+    player.drawNewCard(game.getBoard());
+  }
+
+  @Test
+  public void testCurrentPlayerFollowsTurns() {
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+    assertEquals(Role.BLUE, game.getCurrentPlayer().getRole());
+    assertEquals(game.getSnapshot().getHand(Role.BLUE), game.getCurrentPlayer().getHand());
+  }
+
+  @Test
+  public void testReaderSeesConsistentSnapshotsWhileGameIsPlayed() throws Exception {
+    GameSnapshot first = game.getSnapshot();
+    int cards = first.getHand(Role.RED).size() + first.getRemainingDeckSize(Role.RED);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      long version = 0;
+      try {
+        while (!done.get()) {
+          GameSnapshot snapshot = game.getSnapshot();
+          assertTrue(snapshot.getVersion() >= version);
+          version = snapshot.getVersion();
+          List<Card> hand = game.getCurrentPlayer().getHand();
+          List<Card> copy = List.copyOf(hand);
+          for (Role role : Role.values()) {
+            assertSame(snapshot.getHand(role), snapshot.getPlayer(role).getHand());
+            assertEquals(cards, countPlaced(snapshot.getBoard(), role)
+                + snapshot.getHand(role).size() + snapshot.getRemainingDeckSize(role));
+          }
+          assertEquals(copy, hand);
+        }
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    });
+    reader.start();
+    try {
+      Strategy strategy = new FillFirstStrategy();
+      while (!game.isGameOver()) {
+        Role role = game.getSnapshot().getCurrentRole();
+        TestGames.apply(game, strategy.makeMove(game, role));
+      }
+    } finally {
+      done.set(true);
+      reader.join();
+    }
+    assertNull(failure.get());
+  }
+
+  private static int countPlaced(Board<Card> board, Role role) {
+    int count = 0;
+    for (int r = 0; r < board.getHeight(); r++) {
+      for (int c = 0; c < board.getWidth(); c++) {
+        Card card = board.getCellAt(r, c).getCard();
+        if (card != null && card.getOwner() == role) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,109 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class HandAnalysisTest {
+
+  private static final int[][] UP = {{1, 2}};
+  private static final int[][] UP_RIGHT = {{1, 2}, {2, 3}};
+  private static final int[][] RIGHT = {{2, 3}};
+
+  @Test
+  public void testIdenticalCardsShareAGroup() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(
+        card("A", 1, 2, UP), card("B", 1, 2, UP), card("C", 2, 2, UP)));
+    assertEquals(2, analysis.getGroupCount());
+    assertEquals(analysis.getGroupOf(0), analysis.getGroupOf(1));
+    assertEquals(List.of(0, 2), analysis.getRepresentatives());
+    assertFalse(analysis.isPruned(0));
+    assertTrue(analysis.isPruned(1));
+  }
+
+  @Test
+  public void testCheaperCardDominates() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(card("A", 2, 3, UP), card("B", 1, 3, UP)));
+    assertEquals(List.of(1), analysis.getUndominated());
+    assertTrue(analysis.isPruned(0));
+    assertFalse(analysis.isPruned(1));
+  }
+
+  @Test
+  public void testHigherValueCardDominates() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(card("A", 1, 2, UP), card("B", 1, 5, UP)));
+    assertEquals(List.of(1), analysis.getUndominated());
+  }
+
+  @Test
+  public void testWiderInfluenceDominates() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(card("A", 1, 2, UP),
+        card("B", 1, 2, UP_RIGHT)));
+    assertEquals(List.of(1), analysis.getUndominated());
+  }
+
+  @Test
+  public void testTradeOffsAreNotDominated() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(
+        card("Cheap", 1, 2, UP), card("Strong", 2, 5, UP), card("Other", 1, 2, RIGHT)));
+    assertEquals(List.of(0, 1, 2), analysis.getUndominated());
+  }
+
+  @Test
+  public void testNarrowerInfluenceIsNotDominatedByCheaperCard() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(card("A", 2, 2, UP_RIGHT),
+        card("B", 1, 2, UP)));
+    assertEquals(List.of(0, 1), analysis.getUndominated());
+  }
+
+  @Test
+  public void testNamesDoNotMatter() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(card("A", 1, 2, UP), card("B", 1, 2, UP)));
+    assertEquals(1, analysis.getGroupCount());
+  }
+
+  @Test
+  public void testDominanceAmongBlueCards() {
+    HandAnalysis analysis = HandAnalysis.of(List.of(
+        new QueensBloodCard("A", Role.BLUE, 2, 1, grid(UP_RIGHT)),
+        new QueensBloodCard("B", Role.BLUE, 2, 1, grid(RIGHT))));
+    assertEquals(List.of(0), analysis.getUndominated());
+  }
+
+  @Test
+  public void testEmptyHand() {
+    HandAnalysis analysis = HandAnalysis.of(List.of());
+    assertEquals(0, analysis.getGroupCount());
+    assertTrue(analysis.getUndominated().isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGroupOfOutOfBounds() {
+    HandAnalysis.of(List.of(card("A", 1, 2, UP))).getGroupOf(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullHand() {
+    HandAnalysis.of(null);
+  }
+
+  private static Card card(String name, int cost, int value, int[][] influenced) {
+    return new QueensBloodCard(name, Role.RED, value, cost, grid(influenced));
+  }
+
+  private static char[][] grid(int[][] influenced) {
+    char[][] grid = new char[5][5];
+    for (int i = 0; i < 5; i++) {
+      for (int j = 0; j < 5; j++) {
+        grid[i][j] = i == 2 && j == 2 ? 'C' : 'X';
+      }
+    }
+    for (int[] cell : influenced) {
+      grid[cell[0]][cell[1]] = 'I';
+    }
+    return grid;
+  }
+}
@@ -0,0 +1,148 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LinearEvaluatorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testIncrementalFeaturesMatchReset() throws IOException {
+    LinearEvaluator evaluator = LinearEvaluator.load(Paths.get("docs/eval.weights"));
+    for (long seed = 1; seed <= 3; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      LinearEvaluator.Accumulator accumulator = evaluator.newAccumulator(3, 5, 2);
+      LinearEvaluator.Accumulator fresh = evaluator.newAccumulator(3, 5, 2);
+      Strategy strategy = new MaximizeRowScoreStrategy();
+      while (!game.isGameOver()) {
+        GameSnapshot snapshot = game.getSnapshot();
+        Role role = snapshot.getCurrentRole();
+        List<Card> redHand = snapshot.getHand(Role.RED);
+        List<Card> blueHand = snapshot.getHand(Role.BLUE);
+        Board<Card> board = snapshot.getBoard();
+        accumulator.reset(board, redHand, blueHand);
+        double[] root = features(accumulator);
+
+        for (int i = 0; i < snapshot.getHand(role).size(); i++) {
+          for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 5; col++) {
+              Board<Card> child = place(accumulator, board, snapshot.getHand(role), i, row, col);
+              if (child == null) {
+                continue;
+              }
+              List<Card> nextRed = role == Role.RED ? without(redHand, i) : redHand;
+              List<Card> nextBlue = role == Role.BLUE ? without(blueHand, i) : blueHand;
+              fresh.reset(child, nextRed, nextBlue);
+              assertArrayEquals(features(fresh), features(accumulator), 0);
+              assertEquals(fresh.evaluate(role), accumulator.evaluate(role), 1e-9);
+
+              respond(accumulator, fresh, child, nextRed, nextBlue, role.getOpponent());
+
+              accumulator.unmake();
+              assertArrayEquals(root, features(accumulator), 0);
+            }
+          }
+        }
+        TestGames.apply(game, strategy.makeMove(game, role));
+      }
+    }
+  }
+
+  @Test
+  public void testSaveAndLoadRoundTrip() throws IOException {
+    LinearEvaluator loaded = LinearEvaluator.load(Paths.get("docs/eval.weights"));
+    Path saved = folder.getRoot().toPath().resolve("saved.weights");
+    loaded.save(saved, "first line\nsecond line");
+
+    List<String> lines = Files.readAllLines(saved);
+    assertEquals("# first line", lines.get(0));
+    assertEquals("# second line", lines.get(1));
+    assertEquals(2 + LinearEvaluator.FEATURE_COUNT, lines.size());
+    assertArrayEquals(loaded.getWeights(), LinearEvaluator.load(saved).getWeights(), 0);
+    assertTrue(loaded.getWeight(LinearEvaluator.Feature.OWNED_CELLS) > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadUnknownFeature() throws IOException {
+    Path saved = folder.getRoot().toPath().resolve("bad.weights");
+    Files.write(saved, List.of("SCORE_MARGIN 1.0", "LUCK 2.0"));
+    LinearEvaluator.load(saved);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUnmakeWithoutPlacement() {
+    LinearEvaluator.scoreOnly().newAccumulator(3, 5, 1).unmake();
+  }
+
+  /**
+   * Checks every placement of the given player's hand one ply deeper, then unmakes it.
+   */
+  private static void respond(LinearEvaluator.Accumulator accumulator,
+      LinearEvaluator.Accumulator fresh, Board<Card> board, List<Card> redHand,
+      List<Card> blueHand, Role role) {
+    double[] before = features(accumulator);
+    List<Card> hand = role == Role.RED ? redHand : blueHand;
+    for (int i = 0; i < hand.size(); i++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          Board<Card> child = place(accumulator, board, hand, i, row, col);
+          if (child == null) {
+            continue;
+          }
+          fresh.reset(child, role == Role.RED ? without(redHand, i) : redHand,
+              role == Role.BLUE ? without(blueHand, i) : blueHand);
+          assertArrayEquals(features(fresh), features(accumulator), 0);
+          accumulator.unmake();
+          assertArrayEquals(before, features(accumulator), 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Places a card of a hand on a copy of the board and records the placement in the accumulator.
+   *
+   * @return the board after the placement, or null if the placement is not legal
+   */
+  private static Board<Card> place(LinearEvaluator.Accumulator accumulator, Board<Card> board,
+      List<Card> hand, int cardIdx, int row, int col) {
+    Card card = hand.get(cardIdx);
+    if (!StrategyUtils.isLegalPlacement(board, card.getOwner(), card, row, col)) {
+      return null;
+    }
+    Board<Card> child = board.clone();
+    accumulator.beginMove(board, row, col);
+    try {
+      child.placeCard(new StrategyUtils.DummyPlayer(card.getOwner(), card), 0, row, col);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    accumulator.endMove(child, card);
+    return child;
+  }
+
+  private static double[] features(LinearEvaluator.Accumulator accumulator) {
+    double[] out = new double[LinearEvaluator.FEATURE_COUNT];
+    accumulator.features(out);
+    return out;
+  }
+
+  private static List<Card> without(List<Card> hand, int index) {
+    List<Card> rest = new ArrayList<>(hand);
+    rest.remove(index);
+    return rest;
+  }
+}
@@ -0,0 +1,46 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import org.junit.Test;
+
+public class MinimaxStrategyTest {
+
+  @Test
+  public void testPonderingWarmsTable() throws IOException {
+    QueensBloodGame game = TestGames.startedGame(17);
+    TestGames.playTurn(game, new FillFirstStrategy());
+    MinimaxStrategy strategy = new MinimaxStrategy();
+
+    strategy.ponder(game.getSnapshot(), Role.RED, CancellationToken.none());
+
+    assertTrue(strategy.getTable().getEntryCount() > 0);
+  }
+
+  @Test
+  public void testPonderedMoveMatchesMoveWithoutPondering() throws IOException {
+    for (long seed = 1; seed <= 4; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      MinimaxStrategy pondering = new MinimaxStrategy();
+      Strategy opponent = new MaximizeRowScoreStrategy();
+      while (!game.isGameOver()) {
+        if (game.getSnapshot().getCurrentRole() == Role.BLUE) {
+          pondering.ponder(game.getSnapshot(), Role.RED, CancellationToken.none());
+          TestGames.playTurn(game, opponent);
+          continue;
+        }
+        Move pondered = pondering.makeMove(game, Role.RED);
+        Move fresh = new MinimaxStrategy().makeMove(game, Role.RED);
+        assertEquals(fresh.isPass(), pondered.isPass());
+        assertEquals(fresh.getCardIndex(), pondered.getCardIndex());
+        assertEquals(fresh.getRow(), pondered.getRow());
+        assertEquals(fresh.getCol(), pondered.getCol());
+        TestGames.apply(game, pondered);
+      }
+      // The searches after pondering found some of their results already in the table
+      assertTrue(pondering.getTable().getHits() > 0);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ModelEventTest {
+
+  @Test
+  public void testCoalesceSingleEventReturnsIt() {
+    ModelEvent drawn = ModelEvent.cardDrawn(Role.RED);
+    assertSame(drawn, ModelEvent.coalesce(List.of(drawn)));
+  }
+
+  @Test
+  public void testCoalesceKeepsHighestPriorityType() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.cardPlaced(Role.RED, 0, 0, List.of(new int[]{0, 0})),
+        ModelEvent.turnSwitched(Role.BLUE),
+        ModelEvent.cardDrawn(Role.BLUE)));
+    assertEquals(ModelEvent.Type.TURN_SWITCHED, coalesced.getType());
+    assertEquals(Role.BLUE, coalesced.getRole());
+  }
+
+  @Test
+  public void testCoalesceGameOverWins() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.stateChanged(),
+        ModelEvent.gameOver(Role.RED),
+        ModelEvent.turnSwitched(Role.BLUE)));
+    assertEquals(ModelEvent.Type.GAME_OVER, coalesced.getType());
+    assertEquals(Role.RED, coalesced.getRole());
+  }
+
+  @Test
+  public void testCoalesceLaterEventOfEqualPriorityWins() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.turnSwitched(Role.BLUE),
+        ModelEvent.turnSwitched(Role.RED)));
+    assertEquals(Role.RED, coalesced.getRole());
+  }
+
+  @Test
+  public void testCoalesceKeepsLastPlacement() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.cardPlaced(Role.RED, 0, 1, List.of(new int[]{0, 1})),
+        ModelEvent.turnSwitched(Role.BLUE),
+        ModelEvent.cardPlaced(Role.BLUE, 2, 4, List.of(new int[]{2, 4}))));
+    assertEquals(2, coalesced.getRow());
+    assertEquals(4, coalesced.getCol());
+  }
+
+  @Test
+  public void testCoalesceWithoutPlacementHasNoCoordinates() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.cardDrawn(Role.RED),
+        ModelEvent.turnSwitched(Role.BLUE)));
+    assertEquals(-1, coalesced.getRow());
+    assertEquals(-1, coalesced.getCol());
+  }
+
+  @Test
+  public void testCoalesceUnitesChangedCellsWithoutDuplicates() {
+    ModelEvent coalesced = ModelEvent.coalesce(List.of(
+        ModelEvent.cardPlaced(Role.RED, 1, 1, List.of(new int[]{1, 1}, new int[]{1, 2})),
+        ModelEvent.selectionChanged(Role.RED, List.of(new int[]{1, 2}, new int[]{0, 0})),
+        ModelEvent.cardPlaced(Role.BLUE, 0, 0, List.of(new int[]{0, 0}))));
+    List<int[]> cells = coalesced.getChangedCells();
+    assertEquals(3, cells.size());
+    assertArrayEquals(new int[]{1, 1}, cells.get(0));
+    assertArrayEquals(new int[]{1, 2}, cells.get(1));
+    assertArrayEquals(new int[]{0, 0}, cells.get(2));
+  }
+
+  @Test
+  public void testChangedCellsAreCopies() {
+    ModelEvent placed = ModelEvent.cardPlaced(Role.RED, 1, 1, List.of(new int[]{1, 1}));
+    placed.getChangedCells().get(0)[0] = 2;
+    assertArrayEquals(new int[]{1, 1}, placed.getChangedCells().get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCoalesceEmptyList() {
+    ModelEvent.coalesce(List.of());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCoalesceNull() {
+    ModelEvent.coalesce(null);
+  }
+}
@@ -0,0 +1,172 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MoveJournalTest {
+
+  private QueensBloodGame game;
+  private FailingStream stream;
+
+  @Before
+  public void setUp() {
+    game = new QueensBloodGame(3, 5, 5, 11);
+    stream = new FailingStream();
+  }
+
+  @Test
+  public void testCountsEveryChange() throws IOException {
+    MoveJournal journal = new MoveJournal(stream);
+    game.setJournal(journal);
+    TestGames.start(game);
+    assertEquals(1, journal.getRecordCount());
+
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+    game.resetConsecutivePass();
+    game.drawNewCardForCurrentPlayer();
+    assertEquals(5, journal.getRecordCount());
+    assertEquals(4, new GameReplayer(stream.read()).getChangeCount());
+  }
+
+  @Test
+  public void testRecordsAreFlushedAsWritten() throws IOException {
+    game.setJournal(new MoveJournal(stream));
+    TestGames.start(game);
+    int size = stream.bytes.size();
+    assertTrue(size > 0);
+    game.increaseConsecutivePass();
+    assertEquals(size + 1, stream.bytes.size());
+  }
+
+  @Test
+  public void testFailedJournalStopsRecording() throws IOException {
+    MoveJournal journal = new MoveJournal(stream);
+    game.setJournal(journal);
+    TestGames.start(game);
+    stream.failing = true;
+
+    game.increaseConsecutivePass();
+    assertTrue(journal.hasFailed());
+    long count = journal.getRecordCount();
+    game.switchCurrentPlayer();
+    assertEquals(count, journal.getRecordCount());
+    assertEquals(Role.BLUE, game.getCurrentPlayer().getRole());
+  }
+
+  @Test
+  public void testGameRefusesChangesOnceRequiredJournalFailed() throws IOException {
+    MoveJournal journal = new MoveJournal(stream, true);
+    game.setJournal(journal);
+    TestGames.start(game);
+    stream.failing = true;
+    game.increaseConsecutivePass();
+    assertTrue(journal.hasFailed());
+
+    try {
+      game.switchCurrentPlayer();
+      fail("An unrecorded change was made.");
+    } catch (IllegalStateException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+    assertEquals(Role.RED, game.getCurrentPlayer().getRole());
+  }
+
+  @Test
+  public void testClosedJournalRecordsNothing() throws IOException {
+    MoveJournal journal = new MoveJournal(stream);
+    game.setJournal(journal);
+    TestGames.start(game);
+    journal.close();
+    assertTrue(stream.closed);
+
+    game.increaseConsecutivePass();
+    assertEquals(1, journal.getRecordCount());
+    assertFalse(journal.hasFailed());
+  }
+
+  @Test
+  public void testValuesOutOfRangeStopJournalBeforeWriting() throws IOException {
+    assertPlaceFails(0, 0, TestGames.card("JournalTest-Huge", 70000, 1));
+    assertPlaceFails(0, 0, TestGames.card("JournalTest-Expensive", 1, 300));
+    assertPlaceFails(256, 0, TestGames.card("JournalTest-Card", 1, 1));
+    assertPlaceFails(0, 70000, TestGames.card("JournalTest-Card", 1, 1));
+  }
+
+  @Test
+  public void testLargestValuesAreRecorded() throws IOException {
+    MoveJournal journal = new MoveJournal(stream);
+    game.setJournal(journal);
+    TestGames.start(game);
+    journal.recordPlace(255, 0, 0, TestGames.card("JournalTest-Largest", 65535, 255));
+    assertFalse(journal.hasFailed());
+    assertEquals(2, journal.getRecordCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testJournalAttachedAfterStart() throws IOException {
+    TestGames.start(game);
+    game.setJournal(new MoveJournal(stream));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullStream() {
+    new MoveJournal(null);
+  }
+
+  /**
+   * Checks that recording a placement with a value out of range stops a journal without writing
+   * any part of the record.
+   */
+  private void assertPlaceFails(int handIndex, int row, Card card) throws IOException {
+    stream = new FailingStream();
+    game = new QueensBloodGame(3, 5, 5, 11);
+    MoveJournal journal = new MoveJournal(stream);
+    game.setJournal(journal);
+    TestGames.start(game);
+    int size = stream.bytes.size();
+
+    journal.recordPlace(handIndex, row, 0, card);
+
+    assertTrue(journal.hasFailed());
+    assertEquals(1, journal.getRecordCount());
+    assertEquals(size, stream.bytes.size());
+    assertEquals(0, new GameReplayer(stream.read()).getChangeCount());
+  }
+
+  /**
+   * A stream in memory that can be made to fail every write.
+   */
+  private static final class FailingStream extends OutputStream {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private boolean failing;
+    private boolean closed;
+
+    @Override
+    public void write(int b) throws IOException {
+      if (failing) {
+        throw new IOException("Disk full.");
+      }
+      bytes.write(b);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    private ByteArrayInputStream read() {
+      return new ByteArrayInputStream(bytes.toByteArray());
+    }
+  }
+}
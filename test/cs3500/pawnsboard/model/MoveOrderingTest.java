@@ -0,0 +1,207 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MoveOrderingTest {
+
+  private static final char[][] FULL_INFLUENCE = {
+      {'I', 'I', 'I', 'I', 'I'},
+      {'I', 'I', 'I', 'I', 'I'},
+      {'I', 'I', 'C', 'I', 'I'},
+      {'I', 'I', 'I', 'I', 'I'},
+      {'I', 'I', 'I', 'I', 'I'}
+  };
+
+  // The influence of the minimax strategy's dummy card
+  private static final char[][] NO_INFLUENCE = {
+      {'X', 'X', 'X', 'X', 'X'},
+      {'X', 'X', 'X', 'X', 'X'},
+      {'X', 'X', 'C', 'X', 'X'},
+      {'X', 'X', 'X', 'X', 'X'},
+      {'X', 'X', 'X', 'X', 'X'}
+  };
+
+  private MoveOrdering ordering;
+
+  @Before
+  public void setUp() {
+    ordering = new MoveOrdering();
+  }
+
+  @Test
+  public void testHashMoveRanksFirst() {
+    for (int i = 0; i < 100; i++) {
+      ordering.recordCutoff(2, 0, 0);
+    }
+    int hashMove = ordering.score(1, true, 0, 0);
+    assertTrue(hashMove > ordering.score(2, false, 0, 0));
+    assertTrue(hashMove > ordering.score(2, false, 25, 0));
+    assertTrue(hashMove > ordering.score(3, false, 25, 0));
+  }
+
+  @Test
+  public void testCapturesRankBeforeQuietMoves() {
+    // Move 1 becomes a killer at depth 0 and move 2 reaches the highest history score
+    ordering.recordCutoff(1, 0, 0);
+    for (int i = 0; i < 1 << 22; i++) {
+      ordering.recordImprovement(2);
+    }
+    int killer = ordering.score(1, false, 0, 0);
+    int quiet = ordering.score(2, false, 0, 0);
+    int capture = ordering.score(3, false, 1, 0);
+    assertTrue(killer > quiet);
+    assertTrue(capture > killer);
+    assertTrue(ordering.score(3, false, 2, 0) > capture);
+    assertTrue(ordering.score(2, false, 1, 0) > capture);
+  }
+
+  @Test
+  public void testCutoffUpdatesKillersAndHistory() {
+    assertEquals(0, ordering.score(1, false, 0, 2));
+
+    ordering.recordCutoff(1, 2, 0);
+
+    int killer = ordering.score(1, false, 0, 2);
+    assertTrue(killer > ordering.score(4, false, 0, 2));
+    // At another depth the move is not a killer and only its history counts
+    assertEquals(4, ordering.score(1, false, 0, 3));
+    assertEquals(1, ordering.getCutoffs());
+    assertEquals(1, ordering.getFirstMoveCutoffs());
+
+    // Only the most recent killers of a depth are kept
+    ordering.recordCutoff(2, 2, 1);
+    ordering.recordCutoff(3, 2, 1);
+    assertEquals(killer, ordering.score(2, false, 0, 2));
+    assertEquals(killer, ordering.score(3, false, 0, 2));
+    assertEquals(4, ordering.score(1, false, 0, 2));
+    assertEquals(3, ordering.getCutoffs());
+    assertEquals(1, ordering.getFirstMoveCutoffs());
+  }
+
+  @Test
+  public void testImprovementAndAgingUpdateHistory() {
+    ordering.recordImprovement(1);
+    ordering.recordImprovement(1);
+    ordering.recordCutoff(1, MoveOrdering.MAX_DEPTH, 0);
+    assertEquals(6, ordering.score(1, false, 0, 0));
+
+    ordering.age();
+    assertEquals(3, ordering.score(1, false, 0, 0));
+    ordering.age();
+    ordering.age();
+    assertEquals(0, ordering.score(1, false, 0, 0));
+  }
+
+  @Test
+  public void testResetCountersKeepsKillers() {
+    ordering.recordNode();
+    ordering.recordCutoff(1, 0, 0);
+    int killer = ordering.score(1, false, 0, 0);
+    assertEquals(1.0, ordering.getCutoffRate(), 0);
+
+    ordering.resetCounters();
+
+    assertEquals(0, ordering.getNodes());
+    assertEquals(0, ordering.getCutoffs());
+    assertEquals(0, ordering.getCutoffRate(), 0);
+    assertEquals(killer, ordering.score(1, false, 0, 0));
+  }
+
+  @Test
+  public void testCountCaptures() throws IOException {
+    Board<Card> board = TestGames.startedGame(1).getSnapshot().getBoard();
+    Card card = new QueensBloodCard("Full", Role.RED, 1, 1, FULL_INFLUENCE);
+    // RED owns the first column and BLUE the last one at the start of the game
+    assertEquals(0, MoveOrdering.countCaptures(board, card, Role.RED, 1, 0));
+    assertEquals(3, MoveOrdering.countCaptures(board, card, Role.RED, 1, 2));
+    assertEquals(0, MoveOrdering.countCaptures(board, card, Role.RED, 1, 1));
+    assertEquals(3, MoveOrdering.countCaptures(board, card, Role.BLUE, 1, 1));
+  }
+
+  @Test
+  public void testOrderedSearchChoosesExhaustiveMove() throws IOException {
+    for (long seed = 1; seed <= 4; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      // The same strategy plays every turn, so its killers and history carry over
+      MinimaxStrategy ordered = new MinimaxStrategy();
+      Strategy opponent = new MaximizeRowScoreStrategy();
+      while (!game.isGameOver()) {
+        if (game.getSnapshot().getCurrentRole() == Role.BLUE) {
+          TestGames.apply(game, opponent.makeMove(game, Role.BLUE));
+          continue;
+        }
+        Move move = ordered.makeMove(game, Role.RED);
+        Move expected = exhaustiveMove(game.getSnapshot(), Role.RED);
+        assertEquals(expected.isPass(), move.isPass());
+        assertEquals(expected.getCardIndex(), move.getCardIndex());
+        assertEquals(expected.getRow(), move.getRow());
+        assertEquals(expected.getCol(), move.getCol());
+        TestGames.apply(game, move);
+      }
+      assertTrue(ordered.getOrdering().getCutoffs() > 0);
+    }
+  }
+
+  /**
+   * Searches every placement and every response of the opponent's dummy card, in board order and
+   * with no pruning, and breaks ties like the minimax strategy.
+   */
+  private static Move exhaustiveMove(GameSnapshot snapshot, Role role) {
+    Board<Card> board = snapshot.getBoard();
+    List<Card> hand = snapshot.getHand(role);
+    Role opponent = role.getOpponent();
+    Card dummy = new QueensBloodCard("DummyOpp", opponent, 1, 1, NO_INFLUENCE);
+    Move best = Move.passMove();
+    int bestWorstCase = Integer.MAX_VALUE;
+    for (int row = 0; row < board.getHeight(); row++) {
+      for (int col = 0; col < board.getWidth(); col++) {
+        for (int cardIdx : HandAnalysis.of(hand).getUndominated()) {
+          Card card = hand.get(cardIdx);
+          if (!StrategyUtils.isLegalPlacement(board, role, card, row, col)) {
+            continue;
+          }
+          Board<Card> afterMove = board.clone();
+          try {
+            afterMove.placeCard(new StrategyUtils.DummyPlayer(role, card), 0, row, col);
+          } catch (IOException | IllegalArgumentException e) {
+            continue;
+          }
+          int worstCase = Integer.MIN_VALUE;
+          for (int r = 0; r < board.getHeight(); r++) {
+            for (int c = 0; c < board.getWidth(); c++) {
+              if (!StrategyUtils.isLegalPlacement(afterMove, opponent, dummy, r, c)) {
+                continue;
+              }
+              Board<Card> afterResponse = afterMove.clone();
+              try {
+                afterResponse.placeCard(new StrategyUtils.DummyPlayer(opponent, dummy), 0, r, c);
+              } catch (IOException | IllegalArgumentException e) {
+                continue;
+              }
+              Map<Role, Integer> scores = afterResponse.getScores();
+              worstCase = Math.max(worstCase,
+                  scores.getOrDefault(opponent, 0) - scores.getOrDefault(role, 0));
+            }
+          }
+          if (worstCase == Integer.MIN_VALUE) {
+            worstCase = 0;
+          }
+          boolean sameCell = !best.isPass() && best.getRow() == row && best.getCol() == col;
+          if (worstCase < bestWorstCase
+              || (worstCase == bestWorstCase && sameCell && cardIdx < best.getCardIndex())) {
+            bestWorstCase = worstCase;
+            best = new Move(cardIdx, row, col);
+          }
+        }
+      }
+    }
+    return best;
+  }
+}
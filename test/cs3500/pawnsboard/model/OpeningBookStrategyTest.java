@@ -0,0 +1,138 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpeningBookStrategyTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path path;
+  private QueensBloodGame game;
+  private Board<Card> board;
+  private List<Card> hand;
+  private Move fallbackMove;
+  private Move legal;
+
+  @Before
+  public void setUp() throws IOException {
+    path = folder.getRoot().toPath().resolve("opening.book");
+    game = TestGames.startedGame(3);
+    board = game.getBoard();
+    hand = game.getPlayer(Role.RED).getHand();
+    fallbackMove = new FillFirstStrategy().makeMove(game, Role.RED);
+    // The last legal placement, so that it differs from the one the fallback finds first
+    for (int i = 0; i < hand.size(); i++) {
+      for (int row = 0; row < board.getHeight(); row++) {
+        for (int col = 0; col < board.getWidth(); col++) {
+          if (StrategyUtils.isLegalPlacement(board, Role.RED, hand.get(i), row, col)) {
+            legal = new Move(i, row, col);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPlaysBookMove() throws IOException {
+    OpeningBookStrategy strategy = strategy(hand.get(legal.getCardIndex()), legal.getRow(),
+        legal.getCol(), Role.RED);
+    assertNotEquals(fallbackMove.toString(), legal.toString());
+    assertSameMove(legal, strategy.makeMove(game, Role.RED));
+    assertEquals(1, strategy.getBookMoveCount());
+    assertEquals(0, strategy.getFallbackMoveCount());
+  }
+
+  @Test
+  public void testPlaysBookMoveWithAnyCopyOfCard() throws IOException {
+    Card card = hand.get(legal.getCardIndex());
+    Card copy = new QueensBloodCard(card.getName(), Role.RED, card.getValue(), card.getCost(),
+        influence(card));
+    OpeningBookStrategy strategy = strategy(copy, legal.getRow(), legal.getCol(), Role.RED);
+    Move move = strategy.makeMove(game, Role.RED);
+    assertEquals(PositionHash.cardHash(card), PositionHash.cardHash(hand.get(move.getCardIndex())));
+    assertEquals(legal.getRow(), move.getRow());
+    assertEquals(legal.getCol(), move.getCol());
+  }
+
+  @Test
+  public void testFallsBackOutsideBook() throws IOException {
+    OpeningBookStrategy strategy = strategy(hand.get(legal.getCardIndex()), legal.getRow(),
+        legal.getCol(), Role.RED);
+    game.increaseConsecutivePass();
+    game.switchCurrentPlayer();
+    Move blue = strategy.makeMove(game, Role.BLUE);
+    assertSameMove(new FillFirstStrategy().makeMove(game, Role.BLUE), blue);
+    assertEquals(1, strategy.getFallbackMoveCount());
+  }
+
+  @Test
+  public void testFallsBackFromLosingMove() throws IOException {
+    OpeningBookStrategy strategy = strategy(hand.get(legal.getCardIndex()), legal.getRow(),
+        legal.getCol(), Role.BLUE);
+    assertSameMove(fallbackMove, strategy.makeMove(game, Role.RED));
+    assertEquals(0, strategy.getBookMoveCount());
+    assertEquals(1, strategy.getFallbackMoveCount());
+  }
+
+  @Test
+  public void testFallsBackFromIllegalMove() throws IOException {
+    int col = board.getWidth() / 2;
+    assertFalse(StrategyUtils.isLegalPlacement(board, Role.RED, hand.get(0), 1, col));
+    OpeningBookStrategy strategy = strategy(hand.get(0), 1, col, Role.RED);
+    assertSameMove(fallbackMove, strategy.makeMove(game, Role.RED));
+    assertEquals(1, strategy.getFallbackMoveCount());
+  }
+
+  @Test
+  public void testFallsBackFromCardNotInHand() throws IOException {
+    Card missing = new QueensBloodCard("Missing", Role.RED, 9, 1, influence(hand.get(0)));
+    OpeningBookStrategy strategy = strategy(missing, legal.getRow(), legal.getCol(), Role.RED);
+    assertSameMove(fallbackMove, strategy.makeMove(game, Role.RED));
+    assertEquals(1, strategy.getFallbackMoveCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullFallback() throws IOException {
+    new OpeningBookStrategy(book(hand.get(0), 0, 0, Role.RED), null);
+  }
+
+  private OpeningBookStrategy strategy(Card card, int row, int col, Role winner)
+      throws IOException {
+    return new OpeningBookStrategy(book(card, row, col, winner), new FillFirstStrategy());
+  }
+
+  private OpeningBook book(Card card, int row, int col, Role winner) throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    builder.beginGame();
+    builder.recordMove(board, Role.RED, card, row, col);
+    builder.endGame(winner);
+    builder.write(path);
+    return OpeningBook.open(path);
+  }
+
+  private static char[][] influence(Card card) {
+    char[][] grid = new char[5][];
+    for (int i = 0; i < 5; i++) {
+      grid[i] = card.getInfluence()[i].clone();
+    }
+    return grid;
+  }
+
+  private static void assertSameMove(Move expected, Move actual) {
+    assertEquals(expected.isPass(), actual.isPass());
+    assertEquals(expected.getCardIndex(), actual.getCardIndex());
+    assertEquals(expected.getRow(), actual.getRow());
+    assertEquals(expected.getCol(), actual.getCol());
+  }
+}
@@ -0,0 +1,201 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OpeningBookTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path path;
+  private QueensBloodGame game;
+  private Board<Card> board;
+  private List<Card> hand;
+
+  @Before
+  public void setUp() throws IOException {
+    path = folder.getRoot().toPath().resolve("opening.book");
+    game = TestGames.startedGame(3);
+    board = game.getBoard();
+    hand = game.getPlayer(Role.RED).getHand();
+  }
+
+  @Test
+  public void testWritesAndProbesMoves() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(1), 0, 0, Role.RED);
+    assertEquals(1, builder.write(path));
+
+    OpeningBook book = OpeningBook.open(path);
+    assertEquals(1, book.getEntryCount());
+    List<OpeningBook.Entry> entries = book.probe(board, Role.RED);
+    assertEquals(1, entries.size());
+    OpeningBook.Entry entry = entries.get(0);
+    assertEquals(PositionHash.cardHash(hand.get(1)), entry.getCardHash());
+    assertEquals(0, entry.getRow());
+    assertEquals(0, entry.getCol());
+    assertEquals(1, entry.getGames());
+    assertEquals(1.0, entry.getScore(), 1e-9);
+  }
+
+  @Test
+  public void testRanksMovesBestFirst() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(0), 1, 0, Role.BLUE);
+    record(builder, hand.get(0), 0, 0, null);
+    record(builder, hand.get(0), 2, 0, Role.RED);
+    record(builder, hand.get(0), 2, 0, Role.RED);
+    assertEquals(3, builder.write(path));
+
+    List<OpeningBook.Entry> entries = OpeningBook.open(path).probe(board, Role.RED);
+    assertEquals(Arrays.asList(2, 0, 1), rows(entries));
+    assertEquals(2, entries.get(0).getGames());
+    assertEquals(0.5, entries.get(1).getScore(), 1e-9);
+    assertEquals(0.0, entries.get(2).getScore(), 1e-9);
+  }
+
+  @Test
+  public void testShrinksScoresOfFewGames() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(0), 0, 0, Role.RED);
+    for (int i = 0; i < 9; i++) {
+      record(builder, hand.get(0), 1, 0, Role.RED);
+    }
+    record(builder, hand.get(0), 1, 0, Role.BLUE);
+    builder.write(path);
+
+    // One win of one game ranks below nine wins of ten games
+    assertEquals(Arrays.asList(1, 0), rows(OpeningBook.open(path).probe(board, Role.RED)));
+  }
+
+  @Test
+  public void testKeepsOnlyMovesOfEnoughGames() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 2, 4);
+    record(builder, hand.get(0), 0, 0, Role.RED);
+    record(builder, hand.get(0), 1, 0, Role.RED);
+    record(builder, hand.get(0), 1, 0, Role.RED);
+    assertEquals(1, builder.write(path));
+    assertEquals(Arrays.asList(1), rows(OpeningBook.open(path).probe(board, Role.RED)));
+  }
+
+  @Test
+  public void testKeepsBestMovesPerPosition() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 1);
+    record(builder, hand.get(0), 0, 0, null);
+    record(builder, hand.get(0), 1, 0, Role.RED);
+    assertEquals(1, builder.write(path));
+    assertEquals(Arrays.asList(1), rows(OpeningBook.open(path).probe(board, Role.RED)));
+  }
+
+  @Test
+  public void testIgnoresMovesAfterMaxPlies() {
+    OpeningBook.Builder builder = new OpeningBook.Builder(1, 1, 4);
+    builder.beginGame();
+    builder.recordPass();
+    builder.recordMove(board, Role.RED, hand.get(0), 0, 0);
+    builder.endGame(Role.RED);
+    assertEquals(0, builder.getPositionCount());
+  }
+
+  @Test
+  public void testUnendedGameIsDiscarded() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    builder.beginGame();
+    builder.recordMove(board, Role.RED, hand.get(0), 0, 0);
+    record(builder, hand.get(0), 1, 0, Role.RED);
+    builder.write(path);
+
+    List<OpeningBook.Entry> entries = OpeningBook.open(path).probe(board, Role.RED);
+    assertEquals(Arrays.asList(1), rows(entries));
+  }
+
+  @Test
+  public void testPositionDependsOnPlayerToMove() throws IOException {
+    assertNotEquals(OpeningBook.positionKey(board, Role.RED),
+        OpeningBook.positionKey(board, Role.BLUE));
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(0), 0, 0, Role.RED);
+    builder.write(path);
+    assertTrue(OpeningBook.open(path).probe(board, Role.BLUE).isEmpty());
+  }
+
+  @Test
+  public void testPositionReachedInAnyOrderSharesEntries() throws IOException {
+    QueensBloodGame other = TestGames.startedGame(4);
+    assertEquals(OpeningBook.positionKey(board, Role.RED),
+        OpeningBook.positionKey(other.getBoard(), Role.RED));
+
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(0), 0, 0, Role.RED);
+    builder.write(path);
+    assertEquals(1, OpeningBook.open(path).probe(other.getBoard(), Role.RED).size());
+  }
+
+  @Test
+  public void testRejectsUnknownFormat() throws IOException {
+    writeOne();
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[0]++;
+    Files.write(path, bytes);
+    TestGames.assertOpenFails("Invalid opening book", () -> OpeningBook.open(path));
+  }
+
+  @Test
+  public void testRejectsWrongEntryCount() throws IOException {
+    writeOne();
+    byte[] bytes = Files.readAllBytes(path);
+    ByteBuffer.wrap(bytes).putInt(8, 2);
+    Files.write(path, bytes);
+    TestGames.assertOpenFails("Invalid opening book", () -> OpeningBook.open(path));
+  }
+
+  @Test
+  public void testRejectsTruncatedHeader() throws IOException {
+    Files.write(path, new byte[8]);
+    TestGames.assertOpenFails("Invalid opening book", () -> OpeningBook.open(path));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParametersNotPositive() {
+    new OpeningBook.Builder(4, 0, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRecordNullCard() {
+    new OpeningBook.Builder(4, 1, 4).recordMove(board, Role.RED, null, 0, 0);
+  }
+
+  private void record(OpeningBook.Builder builder, Card card, int row, int col, Role winner) {
+    builder.beginGame();
+    builder.recordMove(board, Role.RED, card, row, col);
+    builder.endGame(winner);
+  }
+
+  private void writeOne() throws IOException {
+    OpeningBook.Builder builder = new OpeningBook.Builder(4, 1, 4);
+    record(builder, hand.get(0), 0, 0, Role.RED);
+    builder.write(path);
+  }
+
+  private static List<Integer> rows(List<OpeningBook.Entry> entries) {
+    List<Integer> rows = new ArrayList<>();
+    for (OpeningBook.Entry entry : entries) {
+      rows.add(entry.getRow());
+    }
+    return rows;
+  }
+}
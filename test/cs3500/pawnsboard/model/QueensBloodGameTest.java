@@ -0,0 +1,149 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.pawnsboard.controller.ModelListener;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueensBloodGameTest {
+
+  private QueensBloodGame game;
+  private RecordingListener listener;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(5);
+    listener = new RecordingListener();
+    game.addModelListener(listener);
+  }
+
+  @Test
+  public void testEventIsDeliveredWithoutTransaction() {
+    game.setSelectedCardIndex(0);
+    assertEquals(1, listener.events.size());
+    assertEquals(ModelEvent.Type.SELECTION_CHANGED, listener.events.get(0).getType());
+  }
+
+  @Test
+  public void testNestedTransactionNotifiesOnOutermostCommit() throws IOException {
+    game.beginTransaction();
+    game.setSelectedCardIndex(0);
+    game.beginTransaction();
+    Move move = new FillFirstStrategy().makeMove(game, Role.RED);
+    game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+    game.commitTransaction();
+    assertTrue(listener.events.isEmpty());
+
+    game.commitTransaction();
+    assertEquals(1, listener.events.size());
+    assertEquals(ModelEvent.Type.CARD_PLACED, listener.events.get(0).getType());
+  }
+
+  @Test
+  public void testEmptyTransactionNotifiesNothing() {
+    game.beginTransaction();
+    game.commitTransaction();
+    assertTrue(listener.events.isEmpty());
+  }
+
+  @Test
+  public void testTransactionDoesNotDeferOtherThreads() throws Exception {
+    game.beginTransaction();
+    game.setSelectedCardIndex(0);
+    Thread other = new Thread(() -> game.notifyModelListeners(ModelEvent.stateChanged()));
+    other.start();
+    other.join();
+    assertEquals(1, listener.events.size());
+    assertEquals(ModelEvent.Type.STATE_CHANGED, listener.events.get(0).getType());
+
+    game.commitTransaction();
+    assertEquals(2, listener.events.size());
+    assertEquals(ModelEvent.Type.SELECTION_CHANGED, listener.events.get(1).getType());
+  }
+
+  @Test
+  public void testCannotCommitTransactionOfOtherThread() throws Exception {
+    game.beginTransaction();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread other = new Thread(() -> {
+      try {
+        game.commitTransaction();
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    });
+    other.start();
+    other.join();
+    assertTrue(failure.get() instanceof IllegalStateException);
+    game.commitTransaction();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCommitWithoutTransaction() {
+    game.commitTransaction();
+  }
+
+  @Test
+  public void testListenerThrowingOnCommitClosesTransaction() {
+    game.addModelListener(new ModelListener() {
+      @Override
+      public void onModelUpdate() {
+        throw new IllegalStateException("listener failed");
+      }
+    });
+    game.beginTransaction();
+    game.setSelectedCardIndex(0);
+    try {
+      game.commitTransaction();
+      fail("The listener did not throw.");
+    } catch (IllegalStateException e) {
+      assertEquals("listener failed", e.getMessage());
+    }
+    assertEquals(1, listener.events.size());
+
+    try {
+      game.setSelectedCardIndex(1);
+    } catch (IllegalStateException e) {
+      // the failing listener is still registered
+    }
+    assertEquals(2, listener.events.size());
+  }
+
+  @Test
+  public void testFailedChangeInsideTransaction() {
+    game.beginTransaction();
+    try {
+      game.placeCard(0, 2, 0);
+      fail("A card was placed on a cell without pawns.");
+    } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+      // expected
+    } finally {
+      game.commitTransaction();
+    }
+    assertTrue(listener.events.isEmpty());
+    game.setSelectedCardIndex(0);
+    assertEquals(1, listener.events.size());
+  }
+
+  private static final class RecordingListener implements ModelListener {
+
+    private final List<ModelEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onModelUpdate() {
+      // every event is recorded by onModelEvent
+    }
+
+    @Override
+    public void onModelEvent(ModelEvent event) {
+      events.add(event);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadonlyBoardTest {
+
+  private QueensBloodGame game;
+  private Board<Card> board;
+
+  @Before
+  public void setUp() throws IOException {
+    game = TestGames.startedGame(3);
+    board = game.getBoard();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testInitializeBoard() {
+    board.initializeBoard(game.getPlayer(Role.RED), game.getPlayer(Role.BLUE));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPlaceCard() throws IOException {
+    board.placeCard(game.getPlayer(Role.RED), 0, 0, 0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAddCardToCell() {
+    Card card = game.getPlayer(Role.RED).getHand().get(0);
+    board.getCellAt(0, 0).addCard(card, Role.RED);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAddPawnToCell() {
+    board.getCellAt(0, 0).addPawn(Role.RED, 1);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAddPawnToGridCell() {
+    board.getGrid()[1][0].addPawn(Role.RED, 1);
+  }
+
+  @Test
+  public void testGridCannotReplaceCells() {
+    Cell<Card>[][] grid = board.getGrid();
+    grid[0][0] = null;
+    assertNotNull(board.getCellAt(0, 0));
+    assertNotNull(board.getGrid()[0][0]);
+  }
+
+  @Test
+  public void testCloneIsIndependent() throws IOException {
+    Map<Role, Integer> scores = board.getScores();
+    int pawns = board.getCellAt(0, 0).getPawns();
+    Board<Card> copy = board.clone();
+    Card card = game.getPlayer(Role.RED).getHand().get(0);
+    copy.placeCard(new StrategyUtils.DummyPlayer(Role.RED, card), 0, 0, 0);
+
+    assertSame(card, copy.getCellAt(0, 0).getCard());
+    assertNull(board.getCellAt(0, 0).getCard());
+    assertEquals(pawns, board.getCellAt(0, 0).getPawns());
+    assertEquals(scores, board.getScores());
+    assertSame(board, game.getBoard());
+  }
+
+  @Test
+  public void testClonedCellIsIndependent() {
+    Cell<Card> cell = board.getCellAt(1, 0).clone();
+    int pawns = board.getCellAt(1, 0).getPawns();
+    cell.addPawn(Role.RED, 1);
+    assertEquals(pawns, board.getCellAt(1, 0).getPawns());
+  }
+
+  @Test
+  public void testChangesToGameLeaveViewUnchanged() throws IOException {
+    Move move = new FillFirstStrategy().makeMove(game, Role.RED);
+    game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+    assertNull(board.getCellAt(move.getRow(), move.getCol()).getCard());
+    assertNotNull(game.getBoard().getCellAt(move.getRow(), move.getCol()).getCard());
+  }
+}
@@ -0,0 +1,109 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RowEvaluationCacheTest {
+
+  private RowEvaluationCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new RowEvaluationCache();
+  }
+
+  @Test
+  public void testEvaluationsMatchBoardScores() throws IOException {
+    for (long seed = 1; seed <= 6; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      Strategy strategy = seed % 2 == 0 ? new FillFirstStrategy()
+          : new MaximizeRowScoreStrategy();
+      while (!game.isGameOver()) {
+        GameSnapshot snapshot = game.getSnapshot();
+        Board<Card> board = snapshot.getBoard();
+        RowEvaluationCache.BoardEvaluation parent = cache.evaluate(board);
+        assertScores(board, parent);
+
+        Role role = snapshot.getCurrentRole();
+        for (Card card : snapshot.getHand(role)) {
+          for (int row = 0; row < board.getHeight(); row++) {
+            for (int col = 0; col < board.getWidth(); col++) {
+              if (!StrategyUtils.isLegalPlacement(board, role, card, row, col)) {
+                continue;
+              }
+              Board<Card> child = board.clone();
+              child.placeCard(new StrategyUtils.DummyPlayer(role, card), 0, row, col);
+              assertScores(child, cache.evaluateAfterMove(parent, child, row));
+            }
+          }
+        }
+        TestGames.apply(game, strategy.makeMove(game, role));
+      }
+    }
+  }
+
+  @Test
+  public void testRowsOutsideFootprintAreReused() throws IOException {
+    QueensBloodGame game = TestGames.startedGame(7, 3);
+    Board<Card> board = game.getSnapshot().getBoard();
+    RowEvaluationCache.BoardEvaluation parent = cache.evaluate(board);
+    assertEquals(7, cache.getMisses());
+
+    Board<Card> child = board.clone();
+    Card card = game.getSnapshot().getHand(Role.RED).get(0);
+    child.placeCard(new StrategyUtils.DummyPlayer(Role.RED, card), 0, 0, 0);
+    RowEvaluationCache.BoardEvaluation evaluation = cache.evaluateAfterMove(parent, child, 0);
+
+    assertEquals(10, cache.getMisses());
+    assertEquals(4, cache.getHits());
+    for (int r = RowEvaluationCache.FOOTPRINT_RADIUS + 1; r < 7; r++) {
+      assertSame(parent.getRow(r), evaluation.getRow(r));
+    }
+    assertEquals(card.getValue(), evaluation.getRow(0).getSum(Role.RED));
+    assertEquals(card.getValue(), evaluation.getScore(Role.RED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvaluateNull() {
+    cache.evaluate(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvaluateAfterMoveWithDifferentHeight() throws IOException {
+    Board<Card> board = TestGames.startedGame(1).getSnapshot().getBoard();
+    Board<Card> taller = TestGames.startedGame(5, 1).getSnapshot().getBoard();
+    cache.evaluateAfterMove(cache.evaluate(board), taller, 0);
+  }
+
+  private static void assertScores(Board<Card> board,
+      RowEvaluationCache.BoardEvaluation evaluation) {
+    Map<Role, Integer> scores = board.getScores();
+    for (Role role : Role.values()) {
+      assertEquals((int) scores.getOrDefault(role, 0), evaluation.getScore(role));
+    }
+    for (int r = 0; r < board.getHeight(); r++) {
+      int red = 0;
+      int blue = 0;
+      int redPawns = 0;
+      for (int c = 0; c < board.getWidth(); c++) {
+        Cell<Card> cell = board.getCellAt(r, c);
+        if (cell.getCard() != null && cell.getCard().getOwner() == Role.RED) {
+          red += cell.getCard().getValue();
+        } else if (cell.getCard() != null) {
+          blue += cell.getCard().getValue();
+        }
+        if (cell.getOwner() == Role.RED) {
+          redPawns += cell.getPawns();
+        }
+      }
+      assertEquals(red, evaluation.getRow(r).getSum(Role.RED));
+      assertEquals(blue, evaluation.getRow(r).getSum(Role.BLUE));
+      assertEquals(redPawns, evaluation.getRow(r).getPawns(Role.RED));
+    }
+  }
+}
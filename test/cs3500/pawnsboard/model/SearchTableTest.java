@@ -0,0 +1,157 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SearchTableTest {
+
+  private SearchTable table;
+
+  @Before
+  public void setUp() {
+    table = new SearchTable();
+  }
+
+  @Test
+  public void testGetReturnsStoredResult() {
+    table.put(1L, 0, 10L, 7);
+    assertEquals(Integer.valueOf(7), table.get(1L, 10L));
+    assertNull(table.get(1L, 11L));
+    assertNull(table.get(2L, 10L));
+  }
+
+  @Test
+  public void testPutReplacesResult() {
+    table.put(1L, 0, 10L, 7);
+    table.put(1L, 0, 10L, -3);
+    assertEquals(Integer.valueOf(-3), table.get(1L, 10L));
+    assertEquals(1, table.getEntryCount());
+  }
+
+  @Test
+  public void testCountsHitsAndMisses() {
+    table.put(1L, 0, 10L, 7);
+    table.get(1L, 10L);
+    table.get(1L, 10L);
+    table.get(1L, 11L);
+    assertEquals(2, table.getHits());
+    assertEquals(1, table.getMisses());
+  }
+
+  @Test
+  public void testBestMove() {
+    assertNull(table.getBestMove(1L));
+    table.putBestMove(1L, 0, 10L);
+    assertEquals(Long.valueOf(10L), table.getBestMove(1L));
+    table.putBestMove(1L, 0, 12L);
+    assertEquals(Long.valueOf(12L), table.getBestMove(1L));
+  }
+
+  @Test
+  public void testAdvanceRootDropsUnreachablePositions() {
+    table.put(1L, 1, 10L, 1);
+    table.put(2L, 2, 10L, 2);
+    table.put(3L, 2, 10L, 3);
+    table.put(4L, 3, 10L, 4);
+
+    table.advanceRoot(2L, 2);
+
+    assertEquals(2, table.getPositionCount());
+    assertNull(table.get(1L, 10L));
+    assertEquals(Integer.valueOf(2), table.get(2L, 10L));
+    assertNull(table.get(3L, 10L));
+    assertEquals(Integer.valueOf(4), table.get(4L, 10L));
+    assertEquals(2, table.getEntryCount());
+    assertEquals(2L * (SearchTable.POSITION_BYTES + SearchTable.ENTRY_BYTES),
+        table.getEstimatedBytes());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedPositions() {
+    long perPosition = SearchTable.POSITION_BYTES + SearchTable.ENTRY_BYTES;
+    SearchTable small = new SearchTable(3 * perPosition);
+    small.put(1L, 0, 10L, 1);
+    small.put(2L, 0, 10L, 2);
+    small.put(3L, 0, 10L, 3);
+    small.get(1L, 10L);
+
+    small.put(4L, 0, 10L, 4);
+
+    assertEquals(1, small.getEvictions());
+    assertEquals(3, small.getPositionCount());
+    assertNull(small.get(2L, 10L));
+    assertEquals(Integer.valueOf(1), small.get(1L, 10L));
+    assertEquals(Integer.valueOf(4), small.get(4L, 10L));
+    assertTrue(small.getEstimatedBytes() <= 3 * perPosition);
+  }
+
+  @Test
+  public void testKeepsPositionBeingWrittenOverCap() {
+    SearchTable tiny = new SearchTable(1);
+    tiny.put(1L, 0, 10L, 1);
+    tiny.put(1L, 0, 11L, 2);
+    assertEquals(Integer.valueOf(1), tiny.get(1L, 10L));
+    assertEquals(Integer.valueOf(2), tiny.get(1L, 11L));
+  }
+
+  @Test
+  public void testClear() {
+    table.put(1L, 0, 10L, 1);
+    table.putBestMove(1L, 0, 10L);
+    table.clear();
+    assertEquals(0, table.getPositionCount());
+    assertEquals(0, table.getEntryCount());
+    assertEquals(0, table.getEstimatedBytes());
+    assertNull(table.getBestMove(1L));
+  }
+
+  @Test
+  public void testMoveKeyDependsOnEveryPart() {
+    long key = SearchTable.moveKey(5L, Role.RED, 1, 2);
+    assertEquals(key, SearchTable.moveKey(5L, Role.RED, 1, 2));
+    assertNotEquals(key, SearchTable.moveKey(6L, Role.RED, 1, 2));
+    assertNotEquals(key, SearchTable.moveKey(5L, Role.BLUE, 1, 2));
+    assertNotEquals(key, SearchTable.moveKey(5L, Role.RED, 2, 1));
+  }
+
+  @Test
+  public void testCountCards() throws IOException {
+    QueensBloodGame game = TestGames.startedGame(1);
+    assertEquals(0, SearchTable.countCards(game.getBoard()));
+    Move move = new FillFirstStrategy().makeMove(game, Role.RED);
+    game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+    assertEquals(1, SearchTable.countCards(game.getBoard()));
+  }
+
+  @Test
+  public void testReusedTableChoosesSameMoves() throws IOException {
+    for (long seed = 1; seed <= 3; seed++) {
+      QueensBloodGame game = TestGames.startedGame(seed);
+      MinimaxStrategy reused = new MinimaxStrategy();
+      Strategy opponent = new ControlBoardStrategy();
+      while (!game.isGameOver()) {
+        Role role = game.getCurrentPlayer().getRole();
+        Move move;
+        if (role == Role.RED) {
+          move = reused.makeMove(game, role);
+          Move fresh = new MinimaxStrategy().makeMove(game, role);
+          assertEquals(fresh.isPass(), move.isPass());
+          assertEquals(fresh.getCardIndex(), move.getCardIndex());
+          assertEquals(fresh.getRow(), move.getRow());
+          assertEquals(fresh.getCol(), move.getCol());
+        } else {
+          reused.ponder(game.getSnapshot(), Role.RED, CancellationToken.none());
+          move = opponent.makeMove(game, role);
+        }
+        TestGames.apply(game, move);
+      }
+      assertTrue(reused.getTable().getHits() > 0);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import cs3500.pawnsboard.controller.DeckLoader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Games, turns and checks shared by the tests.
+ */
+public final class TestGames {
+
+  /**
+   * The deck both players start with.
+   */
+  public static final String DECK = "docs/deck.config";
+
+  private TestGames() {
+  }
+
+  /**
+   * Loads a new, modifiable copy of the test deck for a player.
+   *
+   * @param role the owner of the cards
+   * @return the deck
+   * @throws IOException if the deck cannot be read
+   */
+  public static List<Card> deck(Role role) throws IOException {
+    return new ArrayList<>(new DeckLoader(DECK).loadDeck(role));
+  }
+
+  /**
+   * Starts a game with the test deck for both players.
+   *
+   * @param game the game to start
+   * @throws IOException if the deck cannot be read
+   */
+  public static void start(QueensBloodGame game) throws IOException {
+    game.startGame(deck(Role.RED), deck(Role.BLUE));
+  }
+
+  /**
+   * Creates and starts a game on a 3x5 board with hands of 5 cards.
+   *
+   * @param seed the seed of the players' draws
+   * @return the started game
+   * @throws IOException if the deck cannot be read
+   */
+  public static QueensBloodGame startedGame(long seed) throws IOException {
+    return startedGame(3, seed);
+  }
+
+  /**
+   * Creates and starts a game on a board 5 columns wide with hands of 5 cards.
+   *
+   * @param rows the number of rows of the board
+   * @param seed the seed of the players' draws
+   * @return the started game
+   * @throws IOException if the deck cannot be read
+   */
+  public static QueensBloodGame startedGame(int rows, long seed) throws IOException {
+    QueensBloodGame game = new QueensBloodGame(rows, 5, 5, seed);
+    start(game);
+    return game;
+  }
+
+  /**
+   * Plays a move for the current player and passes the turn.
+   *
+   * @param game the game
+   * @param move the move of the current player
+   * @throws IOException if the move cannot be recorded
+   */
+  public static void apply(QueensBloodGame game, Move move) throws IOException {
+    if (move.isPass()) {
+      game.increaseConsecutivePass();
+    } else {
+      game.placeCard(move.getRow(), move.getCol(), move.getCardIndex());
+      game.resetConsecutivePass();
+    }
+    game.switchCurrentPlayer();
+  }
+
+  /**
+   * Plays the move a strategy chooses for the current player and passes the turn.
+   *
+   * @param game     the game
+   * @param strategy the strategy of the current player
+   * @throws IOException if the move cannot be recorded
+   */
+  public static void playTurn(QueensBloodGame game, Strategy strategy) throws IOException {
+    apply(game, strategy.makeMove(game, game.getSnapshot().getCurrentRole()));
+  }
+
+  /**
+   * Plays turns with a {@link FillFirstStrategy} for both players, stopping early if the game
+   * ends.
+   *
+   * @param game  the game
+   * @param turns the number of turns to play
+   * @throws IOException if a move cannot be recorded
+   */
+  public static void playTurns(QueensBloodGame game, int turns) throws IOException {
+    Strategy strategy = new FillFirstStrategy();
+    for (int i = 0; i < turns && !game.isGameOver(); i++) {
+      playTurn(game, strategy);
+    }
+  }
+
+  /**
+   * Creates a RED card that influences the cell to its right.
+   *
+   * @param name  the name of the card
+   * @param value the value of the card
+   * @param cost  the cost of the card
+   * @return the card
+   */
+  public static Card card(String name, int value, int cost) {
+    char[][] influence = {
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'C', 'I', 'X'},
+        {'X', 'X', 'X', 'X', 'X'},
+        {'X', 'X', 'X', 'X', 'X'}
+    };
+    return new QueensBloodCard(name, Role.RED, value, cost, influence);
+  }
+
+  /**
+   * Checks that opening a corrupt file fails with an {@link IOException} whose message starts
+   * with the given prefix.
+   *
+   * @param prefix the expected start of the message
+   * @param opener the action opening the file
+   */
+  public static void assertOpenFails(String prefix, Opener opener) {
+    try {
+      opener.open();
+      fail("A corrupt file was opened.");
+    } catch (IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith(prefix));
+    }
+  }
+
+  /**
+   * An action opening a file.
+   */
+  public interface Opener {
+
+    /**
+     * Opens the file.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    void open() throws IOException;
+  }
+}
@@ -0,0 +1,229 @@
+package cs3500.pawnsboard.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WriteAheadLogTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path directory;
+  private List<WriteAheadLog> opened;
+
+  @Before
+  public void setUp() {
+    directory = folder.getRoot().toPath().resolve("wal");
+    opened = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    for (WriteAheadLog log : opened) {
+      log.close();
+    }
+  }
+
+  @Test
+  public void testRecoversGamesAfterCrash() throws IOException {
+    WriteAheadLog log = open(directory);
+    QueensBloodGame first = hostStarted(log, 1, 3);
+    QueensBloodGame second = hostStarted(log, 2, 4);
+    TestGames.playTurns(first, 5);
+    TestGames.playTurns(second, 2);
+
+    WriteAheadLog recovered = open(crash());
+    assertEquals(2, recovered.getGames().size());
+    assertArrayEquals(GameCodec.encode(first), GameCodec.encode(recovered.getGames().get(1)));
+    assertArrayEquals(GameCodec.encode(second), GameCodec.encode(recovered.getGames().get(2)));
+  }
+
+  @Test
+  public void testRecoveredGamesKeepBeingLogged() throws IOException {
+    WriteAheadLog log = open(directory);
+    TestGames.playTurns(hostStarted(log, 1, 3), 2);
+    log.close();
+
+    WriteAheadLog reopened = open(directory);
+    QueensBloodGame game = reopened.getGames().get(1);
+    TestGames.playTurns(game, 3);
+
+    assertArrayEquals(GameCodec.encode(game),
+        GameCodec.encode(open(crash()).getGames().get(1)));
+  }
+
+  @Test
+  public void testRecoversFromCheckpointAndLaterEntries() throws IOException {
+    WriteAheadLog log = open(directory);
+    QueensBloodGame game = hostStarted(log, 1, 3);
+    TestGames.playTurns(game, 3);
+    log.checkpoint();
+    assertEquals(1, count("wal-*.log"));
+    assertEquals(1, count("snapshot-*.bin"));
+    TestGames.playTurns(game, 3);
+
+    assertArrayEquals(GameCodec.encode(game),
+        GameCodec.encode(open(crash()).getGames().get(1)));
+  }
+
+  @Test
+  public void testIgnoresEntryCutShort() throws IOException {
+    WriteAheadLog log = open(directory);
+    QueensBloodGame game = hostStarted(log, 1, 3);
+    TestGames.playTurns(game, 3);
+    byte[] beforeLastChange = GameCodec.encode(game);
+    game.increaseConsecutivePass();
+
+    Path copy = crash();
+    Path segment = newest(copy);
+    byte[] bytes = Files.readAllBytes(segment);
+    Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3));
+
+    assertArrayEquals(beforeLastChange, GameCodec.encode(open(copy).getGames().get(1)));
+  }
+
+  @Test
+  public void testDeletesNewestSegmentWithTornHeader() throws IOException {
+    WriteAheadLog log = open(directory);
+    QueensBloodGame game = hostStarted(log, 1, 3);
+    TestGames.playTurns(game, 2);
+    log.close();
+    Path torn = directory.resolve(String.format("wal-%016x.log", 1L << 40));
+    Files.write(torn, new byte[]{0x50, 0x42});
+
+    WriteAheadLog reopened = open(directory);
+    assertFalse(Files.exists(torn));
+    assertArrayEquals(GameCodec.encode(game), GameCodec.encode(reopened.getGames().get(1)));
+  }
+
+  @Test(expected = IOException.class)
+  public void testRejectsCorruptOlderSegment() throws IOException {
+    WriteAheadLog log = open(directory);
+    TestGames.playTurns(hostStarted(log, 1, 3), 2);
+    log.close();
+    Files.write(directory.resolve(String.format("wal-%016x.log", 1L << 40)),
+        new byte[]{0x50, 0x42});
+    Files.write(directory.resolve(String.format("wal-%016x.log", 1L << 41)), new byte[0]);
+    WriteAheadLog.open(directory, 0);
+  }
+
+  @Test
+  public void testReleasedAndUnstartedGamesAreNotRecovered() throws IOException {
+    WriteAheadLog log = open(directory);
+    hostStarted(log, 1, 3);
+    hostStarted(log, 2, 4);
+    log.host(3, new QueensBloodGame(3, 5, 5, 5));
+    log.release(2);
+
+    assertEquals(List.of(1), new ArrayList<>(open(crash()).getGames().keySet()));
+  }
+
+  @Test
+  public void testGameRefusesChangesOnceLogFailed() throws Exception {
+    WriteAheadLog log = open(directory);
+    QueensBloodGame game = hostStarted(log, 1, 3);
+    Field segment = WriteAheadLog.class.getDeclaredField("segment");
+    segment.setAccessible(true);
+    ((FileChannel) segment.get(log)).close();
+    game.increaseConsecutivePass();
+
+    try {
+      game.switchCurrentPlayer();
+      fail("A change was made that the log cannot hold.");
+    } catch (IllegalStateException e) {
+      assertEquals(Role.RED, game.getCurrentPlayer().getRole());
+    }
+  }
+
+  @Test
+  public void testCountsCommittedEntries() throws IOException {
+    WriteAheadLog log = open(directory);
+    TestGames.playTurns(hostStarted(log, 1, 3), 2);
+    WriteAheadLog.CommitStatistics statistics = log.getCommitStatistics();
+    assertTrue(statistics.getEntryCount() > 0);
+    assertTrue(statistics.getCommitCount() <= statistics.getEntryCount());
+    assertTrue(statistics.getByteCount() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHostIdInUse() throws IOException {
+    WriteAheadLog log = open(directory);
+    log.host(1, new QueensBloodGame(3, 5, 5, 5));
+    log.host(1, new QueensBloodGame(3, 5, 5, 5));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHostAfterClose() throws IOException {
+    WriteAheadLog log = open(directory);
+    log.close();
+    log.host(1, new QueensBloodGame(3, 5, 5, 5));
+  }
+
+  private WriteAheadLog open(Path path) throws IOException {
+    WriteAheadLog log = WriteAheadLog.open(path, 0);
+    opened.add(log);
+    return log;
+  }
+
+  /**
+   * Copies the log directory as it is on disk while the log is still open, as a crash would
+   * leave it.
+   */
+  private Path crash() throws IOException {
+    Path copy = folder.newFolder().toPath();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        Files.copy(file, copy.resolve(file.getFileName()));
+      }
+    }
+    return copy;
+  }
+
+  private Path newest(Path path) throws IOException {
+    Path newest = null;
+    try (DirectoryStream<Path> segments = Files.newDirectoryStream(path, "wal-*.log")) {
+      for (Path segment : segments) {
+        if (newest == null || segment.getFileName().compareTo(newest.getFileName()) > 0) {
+          newest = segment;
+        }
+      }
+    }
+    return newest;
+  }
+
+  private int count(String glob) throws IOException {
+    int count = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+      for (Path ignored : files) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static QueensBloodGame hostStarted(WriteAheadLog log, int gameId, long seed)
+      throws IOException {
+    QueensBloodGame game = new QueensBloodGame(3, 5, 5, seed);
+    log.host(gameId, game);
+    TestGames.start(game);
+    return game;
+  }
+}